@@ -133,15 +133,19 @@ public final class DeterministicNodes {
 
   public void start() {
     for (int index = 0; index < this.nodeInstances.size(); index++) {
-      Injector injector = nodeInstances.get(index);
-      var processor = injector.getInstance(DeterministicProcessor.class);
+      start(index);
+    }
+  }
 
-      ThreadContext.put("self", " " + injector.getInstance(Key.get(String.class, Self.class)));
-      try {
-        processor.start();
-      } finally {
-        ThreadContext.remove("self");
-      }
+  public void start(int nodeIndex) {
+    Injector injector = nodeInstances.get(nodeIndex);
+    var processor = injector.getInstance(DeterministicProcessor.class);
+
+    ThreadContext.put("self", " " + injector.getInstance(Key.get(String.class, Self.class)));
+    try {
+      processor.start();
+    } finally {
+      ThreadContext.remove("self");
     }
   }
 
@@ -164,6 +168,18 @@ public final class DeterministicNodes {
     }
   }
 
+  /** Delivers an event from a node which need not be part of the network, e.g. when replaying. */
+  public void handleRemoteEvent(int receiverIndex, BFTNode origin, Object event) {
+    var injector = nodeInstances.get(receiverIndex);
+    ThreadContext.put("self", " " + injector.getInstance(Key.get(String.class, Self.class)));
+    try {
+      log.debug("Received remote event {} from {}", event, origin);
+      injector.getInstance(DeterministicProcessor.class).handleMessage(origin, event, null);
+    } finally {
+      ThreadContext.remove("self");
+    }
+  }
+
   public SystemCounters getSystemCounters(int nodeIndex) {
     return this.nodeInstances.get(nodeIndex).getInstance(SystemCounters.class);
   }
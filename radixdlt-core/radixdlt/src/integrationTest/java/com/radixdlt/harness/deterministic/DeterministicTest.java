@@ -113,6 +113,7 @@ import com.radixdlt.utils.TimeSupplier;
 import com.radixdlt.utils.UInt256;
 import io.reactivex.rxjava3.schedulers.Timed;
 import java.io.PrintStream;
+import java.util.List;
 import java.util.Objects;
 import java.util.Random;
 import java.util.function.Function;
@@ -165,6 +166,11 @@ public final class DeterministicTest {
       return this;
     }
 
+    public Builder nodes(List<BFTNode> nodes) {
+      this.nodes = ImmutableList.copyOf(nodes);
+      return this;
+    }
+
     /**
      * Override with an incorrect module which should cause a test to fail. TODO: Refactor to make
      * the link between incorrect module and failing test more explicit.
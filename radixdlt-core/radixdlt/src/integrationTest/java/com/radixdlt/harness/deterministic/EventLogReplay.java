@@ -0,0 +1,247 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.harness.deterministic;
+
+import com.radixdlt.crypto.Hasher;
+import com.radixdlt.environment.deterministic.network.ControlledMessage;
+import com.radixdlt.environment.rx.EventLogReader;
+import com.radixdlt.environment.rx.EventLogRecord;
+import com.radixdlt.middleware2.network.RemoteEventCodec;
+import com.radixdlt.serialization.DeserializeException;
+import com.radixdlt.serialization.Serialization;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.radix.network.messaging.Message;
+
+/**
+ * Feeds an event log recorded by a running node into a single node of a {@link DeterministicTest}
+ * and measures how long the node spends processing each type of event.
+ *
+ * <p>Remote events are delivered as recorded. Recorded timers are only counted: the replayed node
+ * schedules its own timers, which fire once the replay has progressed past them in virtual time.
+ * Anything the node sends to other nodes is dropped. Origins of remote events should be nodes of
+ * the test, so that the node is able to address its responses.
+ */
+public final class EventLogReplay {
+  public enum Pace {
+    /** Deliver each event as soon as the previous one has been processed. */
+    AS_FAST_AS_POSSIBLE,
+    /** Deliver each event no earlier than its recorded offset from the start of the log. */
+    RECORDED
+  }
+
+  private final DeterministicTest test;
+  private final int nodeIndex;
+  private final Serialization serialization;
+  private final RemoteEventCodec codec;
+
+  public EventLogReplay(
+      DeterministicTest test, int nodeIndex, Serialization serialization, Hasher hasher) {
+    this.test = Objects.requireNonNull(test);
+    this.nodeIndex = nodeIndex;
+    this.serialization = Objects.requireNonNull(serialization);
+    this.codec = new RemoteEventCodec(hasher);
+  }
+
+  public Report replay(EventLogReader reader, Pace pace) throws IOException {
+    final var report = new Report();
+    final var wallClockStart = System.nanoTime();
+    var firstTimestampNanos = -1L;
+
+    test.getNodes().start(nodeIndex);
+    for (var next = reader.next(); next.isPresent(); next = reader.next()) {
+      var record = next.get();
+      if (firstTimestampNanos < 0) {
+        firstTimestampNanos = record.timestampNanos();
+      }
+      var offsetNanos = record.timestampNanos() - firstTimestampNanos;
+
+      processLocalMessages(TimeUnit.NANOSECONDS.toMillis(offsetNanos), report);
+      if (pace == Pace.RECORDED) {
+        sleepUntil(wallClockStart + offsetNanos);
+      }
+
+      switch (record.kind()) {
+        case REMOTE -> processRemoteEvent(record, report);
+        case TIMER -> report.recordedTimer(record.eventType());
+      }
+    }
+    return report;
+  }
+
+  private void processRemoteEvent(EventLogRecord record, Report report) throws IOException {
+    final Message message;
+    try {
+      message = serialization.fromDson(record.payload(), Message.class);
+    } catch (DeserializeException e) {
+      throw new IOException("Unable to deserialize recorded " + record.eventType(), e);
+    }
+    var event =
+        codec
+            .fromMessage(message)
+            .orElseThrow(() -> new IOException("Unsupported recorded message " + message));
+
+    var start = System.nanoTime();
+    test.getNodes().handleRemoteEvent(nodeIndex, record.origin(), event);
+    report.processed(record.eventType(), System.nanoTime() - start);
+    report.remoteEvent(record.eventType());
+  }
+
+  private void processLocalMessages(long untilMillis, Report report) {
+    var network = test.getNetwork();
+    while (true) {
+      network.dropMessages(m -> !isLocalTo(m, nodeIndex));
+      var due =
+          network.allMessages().stream()
+              .filter(m -> m.arrivalTime() <= untilMillis)
+              .min(Comparator.comparingLong(ControlledMessage::arrivalTime));
+      if (due.isEmpty()) {
+        return;
+      }
+
+      var nextMsg = network.nextMessage(due.get()::equals);
+      var start = System.nanoTime();
+      test.getNodes().handleMessage(nextMsg);
+      var eventType = nextMsg.value().message().getClass().getSimpleName();
+      report.processed(eventType, System.nanoTime() - start);
+    }
+  }
+
+  private static boolean isLocalTo(ControlledMessage message, int nodeIndex) {
+    return message.channelId().senderIndex() == nodeIndex
+        && message.channelId().receiverIndex() == nodeIndex;
+  }
+
+  private static void sleepUntil(long wallClockNanos) {
+    var remainingNanos = wallClockNanos - System.nanoTime();
+    if (remainingNanos > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(remainingNanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Processing time of the replayed node per event type. Processing times include events the node
+   * sent to itself, which is why recorded remote events are also counted separately.
+   */
+  public static final class Report {
+    private final Map<String, LongSummaryStatistics> processingNanos = new HashMap<>();
+    private final Map<String, Long> remoteEvents = new HashMap<>();
+    private final Map<String, Long> recordedTimers = new HashMap<>();
+
+    private void processed(String eventType, long nanos) {
+      processingNanos.computeIfAbsent(eventType, t -> new LongSummaryStatistics()).accept(nanos);
+    }
+
+    private void remoteEvent(String eventType) {
+      remoteEvents.merge(eventType, 1L, Long::sum);
+    }
+
+    private void recordedTimer(String eventType) {
+      recordedTimers.merge(eventType, 1L, Long::sum);
+    }
+
+    public LongSummaryStatistics processingNanos(String eventType) {
+      return processingNanos.getOrDefault(eventType, new LongSummaryStatistics());
+    }
+
+    public long remoteEvents(String eventType) {
+      return remoteEvents.getOrDefault(eventType, 0L);
+    }
+
+    public long recordedTimers(String eventType) {
+      return recordedTimers.getOrDefault(eventType, 0L);
+    }
+
+    /** Prints one line per event type, the types the node spent most time on first. */
+    public void print(PrintStream out) {
+      out.printf("%-32s %10s %14s %12s %12s%n", "event", "count", "total us", "mean us", "max us");
+      processingNanos.entrySet().stream()
+          .sorted(
+              Comparator.<Map.Entry<String, LongSummaryStatistics>>comparingLong(
+                      e -> e.getValue().getSum())
+                  .reversed())
+          .forEach(
+              e ->
+                  out.printf(
+                      "%-32s %10d %14d %12.1f %12d%n",
+                      e.getKey(),
+                      e.getValue().getCount(),
+                      e.getValue().getSum() / 1_000,
+                      e.getValue().getAverage() / 1_000,
+                      e.getValue().getMax() / 1_000));
+      recordedTimers.forEach((type, count) -> out.printf("recorded timer %s: %d%n", type, count));
+    }
+  }
+}
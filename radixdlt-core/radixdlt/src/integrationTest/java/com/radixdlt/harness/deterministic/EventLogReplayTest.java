@@ -0,0 +1,164 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+package com.radixdlt.harness.deterministic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radixdlt.DefaultSerialization;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.crypto.Hasher;
+import com.radixdlt.environment.deterministic.network.ControlledMessage;
+import com.radixdlt.environment.rx.EventLogReader;
+import com.radixdlt.environment.rx.EventLogRecord;
+import com.radixdlt.environment.rx.EventLogWriter;
+import com.radixdlt.hotstuff.Sha256Hasher;
+import com.radixdlt.hotstuff.bft.BFTNode;
+import com.radixdlt.hotstuff.bft.View;
+import com.radixdlt.hotstuff.liveness.ScheduledLocalTimeout;
+import com.radixdlt.middleware2.network.RemoteEventCodec;
+import com.radixdlt.serialization.DsonOutput.Output;
+import com.radixdlt.serialization.Serialization;
+import io.reactivex.rxjava3.schedulers.Timed;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+public class EventLogReplayTest {
+  private static final int REPLAYED_NODE = 0;
+
+  private final Serialization serialization = DefaultSerialization.getInstance();
+  private final Hasher hasher = Sha256Hasher.withDefaultSerialization();
+  private final RemoteEventCodec codec = new RemoteEventCodec(hasher);
+  private final Map<String, Long> recordedRemoteEvents = new HashMap<>();
+  private final Map<String, Long> recordedTimers = new HashMap<>();
+
+  @Test
+  public void replay_of_a_recorded_run_processes_every_recorded_event() throws IOException {
+    var nodes =
+        Stream.generate(ECKeyPair::generateNew)
+            .limit(2)
+            .map(k -> BFTNode.create(k.getPublicKey()))
+            .toList();
+    var eventLog = record(nodes, View.of(10));
+
+    var test = DeterministicTest.builder().nodes(nodes).buildWithoutEpochs();
+    var replay = new EventLogReplay(test, REPLAYED_NODE, serialization, hasher);
+    final EventLogReplay.Report report;
+    try (var reader = new EventLogReader(new ByteArrayInputStream(eventLog))) {
+      report = replay.replay(reader, EventLogReplay.Pace.AS_FAST_AS_POSSIBLE);
+    }
+
+    assertThat(recordedRemoteEvents).containsKeys("Proposal", "Vote");
+    recordedRemoteEvents.forEach(
+        (eventType, count) -> {
+          assertThat(report.remoteEvents(eventType)).as(eventType).isEqualTo(count);
+          assertThat(report.processingNanos(eventType).getCount())
+              .as(eventType)
+              .isGreaterThanOrEqualTo(count);
+        });
+    recordedTimers.forEach(
+        (eventType, count) ->
+            assertThat(report.recordedTimers(eventType)).as(eventType).isEqualTo(count));
+  }
+
+  // Runs the nodes until the given view, recording the events received by the replayed node
+  private byte[] record(List<BFTNode> nodes, View view) throws IOException {
+    var test = DeterministicTest.builder().nodes(nodes).buildWithoutEpochs();
+    var stop = DeterministicTest.hasReachedView(view);
+    var out = new ByteArrayOutputStream();
+    try (var writer = new EventLogWriter(out)) {
+      test.getNodes().start();
+      for (var next = test.getNetwork().nextMessage();
+          !stop.test(next);
+          next = test.getNetwork().nextMessage()) {
+        if (next.value().channelId().receiverIndex() == REPLAYED_NODE) {
+          record(writer, next);
+        }
+        test.getNodes().handleMessage(next);
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private void record(EventLogWriter writer, Timed<ControlledMessage> timed) throws IOException {
+    var message = timed.value();
+    var timestampNanos = timed.time(TimeUnit.NANOSECONDS);
+    var eventType = message.message().getClass().getSimpleName();
+    if (message.channelId().senderIndex() != REPLAYED_NODE) {
+      var wireMessage = codec.toMessage(message.message()).orElseThrow();
+      var payload = serialization.toDson(wireMessage, Output.WIRE);
+      writer.write(EventLogRecord.remote(timestampNanos, eventType, message.origin(), payload));
+      recordedRemoteEvents.merge(eventType, 1L, Long::sum);
+    } else if (message.message() instanceof ScheduledLocalTimeout) {
+      writer.write(EventLogRecord.timer(timestampNanos, eventType));
+      recordedTimers.merge(eventType, 1L, Long::sum);
+    }
+  }
+}
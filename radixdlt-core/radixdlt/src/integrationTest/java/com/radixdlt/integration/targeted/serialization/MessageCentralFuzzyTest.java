@@ -77,6 +77,7 @@ import com.radixdlt.counters.SystemCountersImpl;
 import com.radixdlt.crypto.ECKeyPair;
 import com.radixdlt.integration.Slow;
 import com.radixdlt.network.messaging.EventQueueFactory;
+import com.radixdlt.network.messaging.InboundDecodingShards;
 import com.radixdlt.network.messaging.InboundMessage;
 import com.radixdlt.network.messaging.MessageCentralConfiguration;
 import com.radixdlt.network.messaging.MessageCentralImpl;
@@ -90,6 +91,7 @@ import com.radixdlt.networks.Network;
 import com.radixdlt.serialization.DsonOutput;
 import com.radixdlt.serialization.Serialization;
 import com.radixdlt.utils.Compress;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 import java.util.Comparator;
 import java.util.Random;
@@ -120,7 +122,8 @@ public class MessageCentralFuzzyTest {
 
     when(config.messagingOutboundQueueMax(anyInt())).thenReturn(1);
     when(config.messagingTimeToLive(anyLong())).thenReturn(30_000L);
-    when(peerManager.messages()).thenReturn(inboundMessages);
+    when(peerManager.messages())
+        .thenReturn(inboundMessages.toFlowable(BackpressureStrategy.BUFFER));
 
     when(queueFactory.createEventQueue(anyInt(), any(Comparator.class)))
         .thenReturn(new SimplePriorityBlockingQueue<>(1, OutboundMessageEvent.comparator()));
@@ -134,7 +137,8 @@ public class MessageCentralFuzzyTest {
             queueFactory,
             new SystemCountersImpl(),
             () -> peerControl,
-            Addressing.ofNetwork(Network.LOCALNET));
+            Addressing.ofNetwork(Network.LOCALNET),
+            new InboundDecodingShards(config));
 
     var counter = new AtomicLong(0);
 
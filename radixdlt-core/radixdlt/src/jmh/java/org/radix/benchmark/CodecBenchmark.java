@@ -69,6 +69,10 @@ import com.radixdlt.serialization.ClassScanningSerializerIds;
 import com.radixdlt.serialization.DeserializeException;
 import com.radixdlt.serialization.DsonOutput.Output;
 import com.radixdlt.serialization.Serialization;
+import com.radixdlt.serialization.codec.DsonCodecs;
+import com.radixdlt.serialization.core.ClasspathScanningSerializationPolicy;
+import com.radixdlt.serialization.core.ClasspathScanningSerializerIds;
+import java.util.Arrays;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.config.Configurator;
@@ -99,12 +103,17 @@ import org.radix.serialization.TestSetupUtils;
  *
  * Alternatively, the configuration option {@code org.gradle.daemon=false} can be added to the
  * {@code ~/.gradle/gradle.properties} to completely disable gradle daemons.
+ *
+ * <p>The {@code jackson*} benchmarks use the default serialization, including the build-time
+ * generated DSON codecs. The {@code reflective*} benchmarks use an instance without generated
+ * codecs, so that all objects go through Jackson's bean serializers.
  */
 public class CodecBenchmark {
 
   private static final DummyTestObject testObject;
 
   private static Serialization serialization;
+  private static Serialization reflectiveSerialization;
 
   private static String jacksonJson;
   private static byte[] jacksonBytes;
@@ -117,6 +126,11 @@ public class CodecBenchmark {
     TestSetupUtils.installBouncyCastleProvider();
 
     serialization = DefaultSerialization.getInstance();
+    reflectiveSerialization =
+        Serialization.create(
+            ClasspathScanningSerializerIds.create(),
+            ClasspathScanningSerializationPolicy.create(),
+            DsonCodecs.none());
 
     testObject = new DummyTestObject(true);
 
@@ -125,6 +139,10 @@ public class CodecBenchmark {
 
     System.out.format("DSON bytes length: %s%n", jacksonBytes.length);
     System.out.format("JSON bytes length: %s%n", jacksonJson.length());
+
+    if (!Arrays.equals(jacksonBytes, reflectiveSerialization.toDson(testObject, Output.ALL))) {
+      throw new IllegalStateException("Generated codec output differs from Jackson output");
+    }
   }
 
   @Benchmark
@@ -158,4 +176,21 @@ public class CodecBenchmark {
       throw new IllegalStateException("While deserializing from JSON", ex);
     }
   }
+
+  @Benchmark
+  public void reflectiveToBytesTest(Blackhole bh) {
+    byte[] bytes = reflectiveSerialization.toDson(testObject, Output.WIRE);
+    bh.consume(bytes);
+  }
+
+  @Benchmark
+  public void reflectiveFromBytesTest(Blackhole bh) {
+    try {
+      DummyTestObject newObj =
+          reflectiveSerialization.fromDson(jacksonBytes, DummyTestObject.class);
+      bh.consume(newObj);
+    } catch (DeserializeException ex) {
+      throw new IllegalStateException("While deserializing from DSON", ex);
+    }
+  }
 }
@@ -107,10 +107,12 @@ public class UInt256Benchmark {
       BI_TWO.pow(UInt256.SIZE - 27).subtract(BigInteger.ONE);
   private static final BigInteger BI_LARGE_VALUE2 =
       BI_TWO.pow(UInt256.SIZE - 28).subtract(BigInteger.ONE);
+  private static final BigInteger BI_MEDIUM_VALUE = BI_LARGE_VALUE2.shiftRight(64);
 
   private static final UInt256 UI_SMALL_VALUE = fromBigInt(BI_SMALL_VALUE);
   private static final UInt256 UI_LARGE_VALUE1 = fromBigInt(BI_LARGE_VALUE1);
   private static final UInt256 UI_LARGE_VALUE2 = fromBigInt(BI_LARGE_VALUE2);
+  private static final UInt256 UI_MEDIUM_VALUE = fromBigInt(BI_MEDIUM_VALUE);
 
   static UInt256 fromBigInt(BigInteger bi) {
     return UInt256.from(bi.toByteArray());
@@ -156,6 +158,16 @@ public class UInt256Benchmark {
     bh.consume(BI_LARGE_VALUE1.divide(BI_SMALL_VALUE));
   }
 
+  @Benchmark
+  public void divLargeLargeInt256(Blackhole bh) {
+    bh.consume(UI_LARGE_VALUE1.divide(UI_MEDIUM_VALUE));
+  }
+
+  @Benchmark
+  public void divLargeLargeBigInt(Blackhole bh) {
+    bh.consume(BI_LARGE_VALUE1.divide(BI_MEDIUM_VALUE));
+  }
+
   @Benchmark
   public void sqrtLargeInt256(Blackhole bh) {
     bh.consume(UI_LARGE_VALUE1.isqrt());
@@ -65,7 +65,9 @@
 package org.radix.benchmark;
 
 import com.google.common.math.BigIntegerMath;
+import com.radixdlt.utils.UInt256;
 import com.radixdlt.utils.UInt384;
+import com.radixdlt.utils.UInt384Accumulator;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.concurrent.TimeUnit;
@@ -107,10 +109,14 @@ public class UInt384Benchmark {
       BI_TWO.pow(UInt384.SIZE - 27).subtract(BigInteger.ONE);
   private static final BigInteger BI_LARGE_VALUE2 =
       BI_TWO.pow(UInt384.SIZE - 28).subtract(BigInteger.ONE);
+  private static final BigInteger BI_MEDIUM_VALUE = BI_LARGE_VALUE2.shiftRight(64);
 
   private static final UInt384 UI_SMALL_VALUE = fromBigInt(BI_SMALL_VALUE);
   private static final UInt384 UI_LARGE_VALUE1 = fromBigInt(BI_LARGE_VALUE1);
   private static final UInt384 UI_LARGE_VALUE2 = fromBigInt(BI_LARGE_VALUE2);
+  private static final UInt384 UI_MEDIUM_VALUE = fromBigInt(BI_MEDIUM_VALUE);
+
+  private static final UInt256[] AMOUNTS = amounts(1_000);
 
   static UInt384 fromBigInt(BigInteger bi) {
     return UInt384.from(bi.toByteArray());
@@ -156,6 +162,16 @@ public class UInt384Benchmark {
     bh.consume(BI_LARGE_VALUE1.divide(BI_SMALL_VALUE));
   }
 
+  @Benchmark
+  public void divLargeLargeInt384(Blackhole bh) {
+    bh.consume(UI_LARGE_VALUE1.divide(UI_MEDIUM_VALUE));
+  }
+
+  @Benchmark
+  public void divLargeLargeBigInt(Blackhole bh) {
+    bh.consume(BI_LARGE_VALUE1.divide(BI_MEDIUM_VALUE));
+  }
+
   @Benchmark
   public void sqrtLargeInt384(Blackhole bh) {
     bh.consume(UI_LARGE_VALUE1.isqrt());
@@ -165,4 +181,30 @@ public class UInt384Benchmark {
   public void sqrtLargeBigInt(Blackhole bh) {
     bh.consume(BigIntegerMath.sqrt(BI_LARGE_VALUE1, RoundingMode.FLOOR));
   }
+
+  @Benchmark
+  public void reduceImmutableInt384(Blackhole bh) {
+    var total = UInt384.ZERO;
+    for (var amount : AMOUNTS) {
+      total = total.add(amount);
+    }
+    bh.consume(total);
+  }
+
+  @Benchmark
+  public void reduceAccumulatorInt384(Blackhole bh) {
+    var total = UInt384Accumulator.zero();
+    for (var amount : AMOUNTS) {
+      total.add(amount);
+    }
+    bh.consume(total.toUInt384());
+  }
+
+  private static UInt256[] amounts(int count) {
+    var amounts = new UInt256[count];
+    for (int i = 0; i < count; i++) {
+      amounts[i] = UInt256.MAX_VALUE.subtract(UInt256.from(i));
+    }
+    return amounts;
+  }
 }
@@ -84,6 +84,7 @@ import com.radixdlt.ledger.VerifiedTxnsAndProof;
 import com.radixdlt.mempool.MempoolConfig;
 import com.radixdlt.mempool.MempoolReceiverModule;
 import com.radixdlt.mempool.MempoolRelayerModule;
+import com.radixdlt.middleware2.network.EventLogRecorderModule;
 import com.radixdlt.modules.*;
 import com.radixdlt.network.hostip.HostIpModule;
 import com.radixdlt.network.messaging.MessageCentralModule;
@@ -114,6 +115,7 @@ import com.radixdlt.sync.SyncConfig;
 import com.radixdlt.utils.Bytes;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -248,7 +250,8 @@ public final class RadixNodeModule extends AbstractModule {
 
     // Mempool configuration
     var mempoolMaxSize = properties.get("mempool.maxSize", 10000);
-    install(MempoolConfig.asModule(mempoolMaxSize, 5, 60000, 60000, 100));
+    var mempoolMaxBytes = properties.get("mempool.maxBytes", MempoolConfig.DEFAULT_MAX_BYTES);
+    install(MempoolConfig.asModule(mempoolMaxSize, mempoolMaxBytes, 5, 60000, 60000, 100));
 
     // Sync configuration
     final long syncPatience = properties.get("sync.patience", 5000L);
@@ -324,6 +327,10 @@ public final class RadixNodeModule extends AbstractModule {
 
     // Network
     install(new MessagingModule());
+    var eventLogFile = properties.get("debug.event_log.file", "");
+    if (isNotBlank(eventLogFile)) {
+      install(new EventLogRecorderModule(Path.of(eventLogFile)));
+    }
     install(new MessageCentralModule(properties));
     install(new HostIpModule(properties));
     install(new P2PModule(properties));
@@ -339,6 +346,7 @@ public final class RadixNodeModule extends AbstractModule {
     var endStateApiPort = properties.get("api.end-state.port", DEFAULT_END_STATE_API_PORT);
     var enableTransactions = properties.get("api.transactions.enable", false);
     var enableSign = properties.get("api.sign.enable", false);
+    var enableVirtualThreads = properties.get("api.virtual-threads.enable", false);
 
     install(
         new ApiModule(
@@ -347,7 +355,8 @@ public final class RadixNodeModule extends AbstractModule {
             endStateApiBindAddress,
             endStateApiPort,
             enableTransactions,
-            enableSign));
+            enableSign,
+            enableVirtualThreads));
 
     // Substate Hash Accumulator
     boolean isUpdateEpochHashFileEnabled =
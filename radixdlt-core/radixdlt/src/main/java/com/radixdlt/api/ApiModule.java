@@ -80,8 +80,12 @@ import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.RequestLimitingHandler;
 import io.undertow.util.StatusCodes;
 import java.util.Map;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public final class ApiModule extends AbstractModule {
+  private static final Logger log = LogManager.getLogger();
   private static final int MAXIMUM_CONCURRENT_REQUESTS =
       Runtime.getRuntime().availableProcessors() * 8; // same as workerThreads = ioThreads * 8
   private static final int QUEUE_SIZE = 2000;
@@ -92,6 +96,7 @@ public final class ApiModule extends AbstractModule {
   private final String endStateApiBindAddress;
   private final boolean enableTransactions;
   private final boolean enableSign;
+  private final boolean enableVirtualThreads;
 
   public ApiModule(
       String bindAddress,
@@ -99,13 +104,15 @@ public final class ApiModule extends AbstractModule {
       String endStateApiBindAddress,
       int endStateApiPort,
       boolean enableTransactions,
-      boolean enableSign) {
+      boolean enableSign,
+      boolean enableVirtualThreads) {
     this.bindAddress = bindAddress;
     this.port = port;
     this.endStateApiBindAddress = endStateApiBindAddress;
     this.endStateApiPort = endStateApiPort;
     this.enableTransactions = enableTransactions;
     this.enableSign = enableSign;
+    this.enableVirtualThreads = enableVirtualThreads;
   }
 
   @Override
@@ -148,13 +155,34 @@ public final class ApiModule extends AbstractModule {
     return exceptionHandler;
   }
 
+  @Provides
+  @Singleton
+  Optional<VirtualThreadDispatchHandler> virtualThreadDispatchHandler(
+      Map<HandlerRoute, HttpHandler> handlers) {
+    if (!enableVirtualThreads) {
+      return Optional.empty();
+    }
+
+    var dispatching = VirtualThreadDispatchHandler.wrap(configureRoutes(handlers));
+    if (dispatching.isPresent()) {
+      log.info("API requests are handled on virtual threads");
+    } else {
+      log.warn("Virtual threads are not supported by this JVM, using the worker pool");
+    }
+    return dispatching;
+  }
+
   @Provides
   @Singleton
   @PrimaryApiServer
-  public Undertow primaryApiServer(Map<HandlerRoute, HttpHandler> handlers) {
-    var handler =
-        new RequestLimitingHandler(
-            MAXIMUM_CONCURRENT_REQUESTS, QUEUE_SIZE, configureRoutes(handlers));
+  public Undertow primaryApiServer(
+      Map<HandlerRoute, HttpHandler> handlers,
+      Optional<VirtualThreadDispatchHandler> virtualThreadDispatchHandler) {
+    var routes =
+        virtualThreadDispatchHandler
+            .map(HttpHandler.class::cast)
+            .orElseGet(() -> configureRoutes(handlers));
+    var handler = new RequestLimitingHandler(MAXIMUM_CONCURRENT_REQUESTS, QUEUE_SIZE, routes);
 
     return Undertow.builder().addHttpListener(port, bindAddress).setHandler(handler).build();
   }
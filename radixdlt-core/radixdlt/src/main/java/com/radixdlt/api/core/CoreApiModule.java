@@ -68,7 +68,9 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
 import com.google.inject.multibindings.MapBinder;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.multibindings.ProvidesIntoSet;
 import com.radixdlt.api.HandlerRoute;
+import com.radixdlt.api.core.balances.BerkeleyAccountBalanceStore;
 import com.radixdlt.api.core.handlers.ConstructionBuildHandler;
 import com.radixdlt.api.core.handlers.ConstructionDeriveHandler;
 import com.radixdlt.api.core.handlers.ConstructionFinalizeHandler;
@@ -85,10 +87,16 @@ import com.radixdlt.api.core.handlers.MempoolHandler;
 import com.radixdlt.api.core.handlers.MempoolTransactionHandler;
 import com.radixdlt.api.core.handlers.NetworkConfigurationHandler;
 import com.radixdlt.api.core.handlers.NetworkStatusHandler;
+import com.radixdlt.api.core.handlers.TransactionStreamHandler;
 import com.radixdlt.api.core.handlers.TransactionsHandler;
 import com.radixdlt.api.core.handlers.VoteHandler;
 import com.radixdlt.api.core.handlers.WithdrawVoteHandler;
 import com.radixdlt.api.core.reconstruction.BerkeleyRecoverableProcessedTxnStore;
+import com.radixdlt.api.core.stream.CommittedTransactionStreamModule;
+import com.radixdlt.engine.RadixEngine;
+import com.radixdlt.environment.Runners;
+import com.radixdlt.environment.StartProcessorOnRunner;
+import com.radixdlt.statecomputer.LedgerAndBFTProof;
 import com.radixdlt.store.berkeley.BerkeleyAdditionalStore;
 import io.undertow.server.HttpHandler;
 
@@ -105,6 +113,11 @@ public class CoreApiModule extends AbstractModule {
   public void configure() {
     var routeBinder = MapBinder.newMapBinder(binder(), HandlerRoute.class, HttpHandler.class);
 
+    bind(BerkeleyAccountBalanceStore.class).in(Scopes.SINGLETON);
+    Multibinder.newSetBinder(binder(), BerkeleyAdditionalStore.class)
+        .addBinding()
+        .to(BerkeleyAccountBalanceStore.class);
+
     routeBinder.addBinding(HandlerRoute.post("/entity")).to(EntityHandler.class);
     routeBinder.addBinding(HandlerRoute.post("/mempool")).to(MempoolHandler.class);
     routeBinder
@@ -127,6 +140,10 @@ public class CoreApiModule extends AbstractModule {
           .addBinding()
           .to(BerkeleyRecoverableProcessedTxnStore.class);
       routeBinder.addBinding(HandlerRoute.post("/transactions")).to(TransactionsHandler.class);
+      routeBinder
+          .addBinding(HandlerRoute.get("/transactions/stream"))
+          .to(TransactionStreamHandler.class);
+      install(new CommittedTransactionStreamModule());
     }
     routeBinder
         .addBinding(HandlerRoute.post("/construction/derive"))
@@ -153,4 +170,12 @@ public class CoreApiModule extends AbstractModule {
       routeBinder.addBinding(HandlerRoute.post("/key/withdraw-vote")).to(WithdrawVoteHandler.class);
     }
   }
+
+  // Commits wait for the rebuild to complete, as it reads the ledger under the engine lock
+  @ProvidesIntoSet
+  private StartProcessorOnRunner accountBalancesRebuild(
+      RadixEngine<LedgerAndBFTProof> radixEngine, BerkeleyAccountBalanceStore accountBalanceStore) {
+    return new StartProcessorOnRunner(
+        Runners.CONSENSUS, () -> radixEngine.read(accountBalanceStore::rebuildIfBehind));
+  }
 }
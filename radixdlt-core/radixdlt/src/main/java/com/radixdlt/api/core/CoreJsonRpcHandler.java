@@ -64,10 +64,11 @@
 
 package com.radixdlt.api.core;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.radixdlt.api.core.model.CoreApiErrorCode;
 import com.radixdlt.api.core.model.CoreApiException;
 import com.radixdlt.api.core.openapitools.JSON;
@@ -76,17 +77,21 @@ import com.radixdlt.api.core.openapitools.model.UnexpectedError;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.util.Headers;
+import java.io.IOException;
 
 public abstract class CoreJsonRpcHandler<T, U> implements HttpHandler {
   private static final String CONTENT_TYPE_JSON = "application/json";
   private static final long DEFAULT_MAX_REQUEST_SIZE = 1024L * 1024L;
 
-  private final Class<T> requestClass;
-  private final ObjectMapper objectMapper;
+  private final ObjectReader requestReader;
+  private final ObjectWriter responseWriter;
 
   protected CoreJsonRpcHandler(Class<T> requestClass) {
-    this.requestClass = requestClass;
-    this.objectMapper = JSON.getDefault().getMapper();
+    ObjectMapper objectMapper = JSON.getDefault().getMapper();
+    // Reader and writer are immutable snapshots of the shared mapper configuration, which already
+    // excludes null values, so nothing needs to be reconfigured per request
+    this.requestReader = objectMapper.readerFor(requestClass);
+    this.responseWriter = objectMapper.writer();
   }
 
   public abstract U handleRequest(T request) throws CoreApiException;
@@ -104,11 +109,9 @@ public abstract class CoreJsonRpcHandler<T, U> implements HttpHandler {
 
     T request;
     try {
-      request = objectMapper.readValue(exchange.getInputStream(), requestClass);
+      request = requestReader.readValue(exchange.getInputStream());
     } catch (JsonMappingException | JsonParseException e) {
-      var errorResponse = handleParseException(e);
-      exchange.setStatusCode(500);
-      exchange.getResponseSender().send(objectMapper.writeValueAsString(errorResponse));
+      writeResponse(exchange, 500, handleParseException(e));
       return;
     }
 
@@ -116,15 +119,11 @@ public abstract class CoreJsonRpcHandler<T, U> implements HttpHandler {
     try {
       response = handleRequest(request);
     } catch (CoreApiException e) {
-      var errorResponse = e.toError();
-      exchange.setStatusCode(500);
-      exchange.getResponseSender().send(objectMapper.writeValueAsString(errorResponse));
+      writeResponse(exchange, 500, e.toError());
       return;
     }
 
-    exchange.setStatusCode(200);
-    objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-    exchange.getResponseSender().send(objectMapper.writeValueAsString(response));
+    writeResponse(exchange, 200, response);
   }
 
   public UnexpectedError handleParseException(Exception e) {
@@ -133,4 +132,14 @@ public abstract class CoreJsonRpcHandler<T, U> implements HttpHandler {
         .message(CoreApiErrorCode.BAD_REQUEST.getMessage())
         .details(new InvalidJsonError().cause(e.getMessage()).type("InvalidJsonError"));
   }
+
+  private void writeResponse(HttpServerExchange exchange, int statusCode, Object value)
+      throws IOException {
+    exchange.setStatusCode(statusCode);
+    // Serialize straight into the exchange buffers rather than building the whole response as a
+    // string first; large responses are sent chunked as they are produced
+    try (var out = exchange.getOutputStream()) {
+      responseWriter.writeValue(out, value);
+    }
+  }
 }
@@ -0,0 +1,435 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.api.core.balances;
+
+import static com.google.common.primitives.UnsignedBytes.lexicographicalComparator;
+import static com.sleepycat.je.OperationStatus.SUCCESS;
+
+import com.radixdlt.application.system.state.StakeOwnership;
+import com.radixdlt.application.system.state.StakeOwnershipBucket;
+import com.radixdlt.application.tokens.Bucket;
+import com.radixdlt.application.tokens.ResourceInBucket;
+import com.radixdlt.application.tokens.state.AccountBucket;
+import com.radixdlt.application.tokens.state.ExittingOwnershipBucket;
+import com.radixdlt.application.tokens.state.PreparedUnstakeOwnership;
+import com.radixdlt.application.tokens.state.TokensInAccount;
+import com.radixdlt.constraintmachine.REProcessedTxn;
+import com.radixdlt.constraintmachine.RawSubstateBytes;
+import com.radixdlt.constraintmachine.SystemMapKey;
+import com.radixdlt.crypto.ECPublicKey;
+import com.radixdlt.crypto.exception.PublicKeyException;
+import com.radixdlt.engine.RadixEngineReader;
+import com.radixdlt.identifiers.REAddr;
+import com.radixdlt.statecomputer.LedgerAndBFTProof;
+import com.radixdlt.store.DatabaseEnvironment;
+import com.radixdlt.store.berkeley.BerkeleyAdditionalStore;
+import com.radixdlt.utils.Bytes;
+import com.radixdlt.utils.Longs;
+import com.radixdlt.utils.UInt256;
+import com.radixdlt.utils.UInt384;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Transaction;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Maintains the total amount of every resource held by each account, so that account balances can
+ * be read without walking all of the account's substates.
+ *
+ * <p>Totals are keyed by account, {@link AccountBalanceType} and the resource address or validator
+ * key, and are updated incrementally as substates are booted up and shut down. On a ledger which
+ * existed before the store was added the aggregates are missing, and are rebuilt once from the
+ * account substates on ledger by {@link #rebuildIfBehind(RadixEngineReader)} when the node starts.
+ * Until then {@link #isAt(long)} doesn't hold, so callers fall back to reading substates.
+ */
+public final class BerkeleyAccountBalanceStore implements BerkeleyAdditionalStore {
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final String ACCOUNT_BALANCES_DB_NAME = "radix.account_balances";
+  private static final String ACCOUNT_BALANCES_VERSION_DB_NAME = "radix.account_balances_version";
+  private static final byte[] STATE_VERSION_KEY = "state_version".getBytes(StandardCharsets.UTF_8);
+  private static final int REBUILD_BATCH_SIZE = 10_000;
+  private static final List<Class<? extends ResourceInBucket>> AGGREGATED_SUBSTATES =
+      List.of(TokensInAccount.class, StakeOwnership.class, PreparedUnstakeOwnership.class);
+
+  private DatabaseEnvironment dbEnv;
+  private Database balancesDatabase;
+  private Database versionDatabase;
+  private volatile long stateVersion = -1;
+  // Written by the open ledger transaction, applied once it commits. -1 if nothing is pending.
+  private long pendingStateVersion = -1;
+  private boolean outOfSyncReported;
+
+  @Override
+  public void open(DatabaseEnvironment dbEnv) {
+    this.dbEnv = dbEnv;
+    balancesDatabase = openDatabase(dbEnv, ACCOUNT_BALANCES_DB_NAME);
+    versionDatabase = openDatabase(dbEnv, ACCOUNT_BALANCES_VERSION_DB_NAME);
+    dbEnv.registerDatabase(balancesDatabase);
+    dbEnv.registerDatabase(versionDatabase);
+
+    var value = new DatabaseEntry();
+    var status = versionDatabase.get(null, new DatabaseEntry(STATE_VERSION_KEY), value, null);
+    stateVersion = status == SUCCESS ? Longs.fromByteArray(value.getData()) : 0L;
+  }
+
+  private static Database openDatabase(DatabaseEnvironment dbEnv, String name) {
+    return dbEnv
+        .getEnvironment()
+        .openDatabase(
+            null,
+            name,
+            new DatabaseConfig()
+                .setAllowCreate(true)
+                .setTransactional(true)
+                .setKeyPrefixing(true)
+                .setBtreeComparator(lexicographicalComparator()));
+  }
+
+  @Override
+  public void close() {
+    if (balancesDatabase != null) {
+      dbEnv.unregisterDatabase(balancesDatabase);
+      balancesDatabase.close();
+    }
+
+    if (versionDatabase != null) {
+      dbEnv.unregisterDatabase(versionDatabase);
+      versionDatabase.close();
+    }
+  }
+
+  /** Whether the aggregates reflect the ledger at exactly the given state version. */
+  public boolean isAt(long stateVersion) {
+    return this.stateVersion == stateVersion;
+  }
+
+  /**
+   * Rebuilds the aggregates from the account substates on ledger unless they are already at the
+   * ledger's state version, which is the case on ledgers that existed before the store was added.
+   * Must be called while no ledger transaction can be committed, that is from within {@code
+   * RadixEngine.read}.
+   *
+   * @return whether the aggregates were rebuilt
+   */
+  public boolean rebuildIfBehind(RadixEngineReader<LedgerAndBFTProof> reader) {
+    var ledgerStateVersion = reader.getMetadata().getProof().getStateVersion();
+    if (isAt(ledgerStateVersion)) {
+      return false;
+    }
+
+    logger.info(
+        "Rebuilding account balance aggregates at state version {} (were at {})",
+        ledgerStateVersion,
+        stateVersion);
+    var totals = new HashMap<ByteBuffer, UInt384>();
+    AGGREGATED_SUBSTATES.forEach(substateClass -> addTotals(reader, substateClass, totals));
+
+    // The state version is written last, so that an interrupted rebuild is started over
+    this.stateVersion = -1;
+    versionDatabase.delete(null, new DatabaseEntry(STATE_VERSION_KEY));
+    clearBalances();
+    var entries = totals.entrySet().iterator();
+    while (entries.hasNext()) {
+      var dbTxn = dbEnv.getEnvironment().beginTransaction(null, null);
+      try {
+        for (int i = 0; i < REBUILD_BATCH_SIZE && entries.hasNext(); i++) {
+          var entry = entries.next();
+          var result =
+              balancesDatabase.put(
+                  dbTxn,
+                  new DatabaseEntry(entry.getKey().array()),
+                  new DatabaseEntry(entry.getValue().toByteArray()));
+          if (result != SUCCESS) {
+            throw new IllegalStateException("Unexpected operation status " + result);
+          }
+        }
+        dbTxn.commit();
+      } catch (RuntimeException e) {
+        dbTxn.abort();
+        throw e;
+      }
+    }
+    var result =
+        versionDatabase.put(
+            null,
+            new DatabaseEntry(STATE_VERSION_KEY),
+            new DatabaseEntry(Longs.toByteArray(ledgerStateVersion)));
+    if (result != SUCCESS) {
+      throw new IllegalStateException("Unexpected operation status " + result);
+    }
+    this.stateVersion = ledgerStateVersion;
+    this.outOfSyncReported = false;
+
+    logger.info("Rebuilt {} account balance aggregates", totals.size());
+    return true;
+  }
+
+  private static <T extends ResourceInBucket> void addTotals(
+      RadixEngineReader<LedgerAndBFTProof> reader,
+      Class<T> substateClass,
+      Map<ByteBuffer, UInt384> totals) {
+    reader.reduce(
+        substateClass,
+        totals,
+        (map, substate) -> {
+          key(substate)
+              .ifPresent(
+                  key ->
+                      map.merge(
+                          ByteBuffer.wrap(key), UInt384.from(substate.amount()), UInt384::add));
+          return map;
+        });
+  }
+
+  private void clearBalances() {
+    dbEnv.unregisterDatabase(balancesDatabase);
+    balancesDatabase.close();
+    dbEnv.getEnvironment().truncateDatabase(null, ACCOUNT_BALANCES_DB_NAME, false);
+    balancesDatabase = openDatabase(dbEnv, ACCOUNT_BALANCES_DB_NAME);
+    dbEnv.registerDatabase(balancesDatabase);
+  }
+
+  /** Returns the non-zero totals of the given type held by an account. */
+  public Map<Bucket, UInt384> getBalances(REAddr account, AccountBalanceType type) {
+    var prefix = keyPrefix(account, type);
+    var balances = new HashMap<Bucket, UInt384>();
+    try (var cursor = balancesDatabase.openCursor(null, null)) {
+      var key = new DatabaseEntry(prefix);
+      var value = new DatabaseEntry();
+      var status = cursor.getSearchKeyRange(key, value, null);
+      while (status == SUCCESS && startsWith(key.getData(), prefix)) {
+        var suffix = Arrays.copyOfRange(key.getData(), prefix.length, key.getData().length);
+        balances.put(bucket(account, type, suffix), UInt384.from(value.getData()));
+        status = cursor.getNext(key, value, null);
+      }
+    }
+    return balances;
+  }
+
+  @Override
+  public void process(
+      Transaction dbTxn,
+      REProcessedTxn txn,
+      long stateVersion,
+      Function<SystemMapKey, Optional<RawSubstateBytes>> mapper) {
+    var currentVersion = pendingStateVersion >= 0 ? pendingStateVersion : this.stateVersion;
+    if (currentVersion != stateVersion - 1) {
+      if (!outOfSyncReported) {
+        outOfSyncReported = true;
+        logger.warn(
+            "Account balance aggregates are behind the ledger (at {}, ledger at {}), "
+                + "balances are read from substates until they are rebuilt on the next start.",
+            currentVersion,
+            stateVersion - 1);
+      }
+      return;
+    }
+
+    // Net out all updates of the transaction first, so that each total is written at most once
+    var deltas = new LinkedHashMap<ByteBuffer, Delta>();
+    for (var update : txn.stateUpdates().toList()) {
+      if (update.getParsed() instanceof ResourceInBucket resource) {
+        key(resource)
+            .ifPresent(
+                key ->
+                    deltas
+                        .computeIfAbsent(ByteBuffer.wrap(key), k -> new Delta())
+                        .add(resource.amount(), update.isBootUp()));
+      }
+    }
+
+    deltas.forEach((key, delta) -> apply(dbTxn, key.array(), delta));
+
+    var result =
+        versionDatabase.put(
+            dbTxn,
+            new DatabaseEntry(STATE_VERSION_KEY),
+            new DatabaseEntry(Longs.toByteArray(stateVersion)));
+    if (result != SUCCESS) {
+      throw new IllegalStateException("Unexpected operation status " + result);
+    }
+    this.pendingStateVersion = stateVersion;
+  }
+
+  @Override
+  public void onCommit() {
+    if (pendingStateVersion >= 0) {
+      this.stateVersion = pendingStateVersion;
+      this.pendingStateVersion = -1;
+    }
+  }
+
+  @Override
+  public void onAbort() {
+    this.pendingStateVersion = -1;
+  }
+
+  private void apply(Transaction dbTxn, byte[] key, Delta delta) {
+    var keyEntry = new DatabaseEntry(key);
+    var value = new DatabaseEntry();
+    var current =
+        balancesDatabase.get(dbTxn, keyEntry, value, null) == SUCCESS
+            ? UInt384.from(value.getData())
+            : UInt384.ZERO;
+    var total = current.add(delta.added);
+    if (total.compareTo(delta.removed) < 0) {
+      throw new IllegalStateException(
+          "Account balance would become negative for " + Bytes.toHexString(key));
+    }
+    total = total.subtract(delta.removed);
+
+    var result =
+        total.isZero()
+            ? balancesDatabase.delete(dbTxn, keyEntry)
+            : balancesDatabase.put(dbTxn, keyEntry, new DatabaseEntry(total.toByteArray()));
+    if (result != SUCCESS) {
+      throw new IllegalStateException("Unexpected operation status " + result);
+    }
+  }
+
+  private static Optional<byte[]> key(ResourceInBucket substate) {
+    if (substate instanceof TokensInAccount tokens) {
+      return Optional.of(
+          key(
+              tokens.holdingAddress(),
+              AccountBalanceType.TOKENS,
+              tokens.resourceAddr().getBytes()));
+    } else if (substate instanceof StakeOwnership stake) {
+      return Optional.of(
+          key(
+              stake.owner(),
+              AccountBalanceType.STAKE_OWNERSHIP,
+              stake.delegateKey().getCompressedBytes()));
+    } else if (substate instanceof PreparedUnstakeOwnership unstake) {
+      return Optional.of(
+          key(
+              unstake.owner(),
+              AccountBalanceType.PREPARED_UNSTAKE,
+              unstake.delegateKey().getCompressedBytes()));
+    }
+    return Optional.empty();
+  }
+
+  private static byte[] keyPrefix(REAddr account, AccountBalanceType type) {
+    var accountBytes = account.getBytes();
+    // Length prefixed, so that no account's prefix is a prefix of another account's
+    return ByteBuffer.allocate(1 + accountBytes.length + 1)
+        .put((byte) accountBytes.length)
+        .put(accountBytes)
+        .put(type.id())
+        .array();
+  }
+
+  private static byte[] key(REAddr account, AccountBalanceType type, byte[] suffix) {
+    var prefix = keyPrefix(account, type);
+    return ByteBuffer.allocate(prefix.length + suffix.length).put(prefix).put(suffix).array();
+  }
+
+  private static boolean startsWith(byte[] key, byte[] prefix) {
+    return key.length >= prefix.length
+        && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+  }
+
+  private static Bucket bucket(REAddr account, AccountBalanceType type, byte[] suffix) {
+    return switch (type) {
+      case TOKENS -> AccountBucket.from(REAddr.of(suffix), account);
+      case STAKE_OWNERSHIP -> StakeOwnershipBucket.from(validatorKey(suffix), account);
+      case PREPARED_UNSTAKE -> new ExittingOwnershipBucket(account, validatorKey(suffix));
+    };
+  }
+
+  private static ECPublicKey validatorKey(byte[] bytes) {
+    try {
+      return ECPublicKey.fromBytes(bytes);
+    } catch (PublicKeyException e) {
+      throw new IllegalStateException("Invalid validator key in account balances", e);
+    }
+  }
+
+  private static final class Delta {
+    private UInt384 added = UInt384.ZERO;
+    private UInt384 removed = UInt384.ZERO;
+
+    private void add(UInt256 amount, boolean bootUp) {
+      if (bootUp) {
+        added = added.add(amount);
+      } else {
+        removed = removed.add(amount);
+      }
+    }
+  }
+}
@@ -66,6 +66,7 @@ package com.radixdlt.api.core.handlers;
 
 import com.google.inject.Inject;
 import com.radixdlt.api.core.CoreJsonRpcHandler;
+import com.radixdlt.api.core.balances.BerkeleyAccountBalanceStore;
 import com.radixdlt.api.core.model.CoreApiException;
 import com.radixdlt.api.core.model.CoreModelMapper;
 import com.radixdlt.api.core.openapitools.model.EntityRequest;
@@ -81,12 +82,17 @@ import java.util.function.Function;
 
 public class EntityHandler extends CoreJsonRpcHandler<EntityRequest, EntityResponse> {
   private final RadixEngine<LedgerAndBFTProof> radixEngine;
+  private final BerkeleyAccountBalanceStore accountBalanceStore;
   private final CoreModelMapper modelMapper;
 
   @Inject
-  EntityHandler(RadixEngine<LedgerAndBFTProof> radixEngine, CoreModelMapper modelMapper) {
+  EntityHandler(
+      RadixEngine<LedgerAndBFTProof> radixEngine,
+      BerkeleyAccountBalanceStore accountBalanceStore,
+      CoreModelMapper modelMapper) {
     super(EntityRequest.class);
     this.radixEngine = radixEngine;
+    this.accountBalanceStore = accountBalanceStore;
     this.modelMapper = modelMapper;
   }
 
@@ -114,7 +120,21 @@ public class EntityHandler extends CoreJsonRpcHandler<EntityRequest, EntityRespo
               new EntityResponse()
                   .stateIdentifier(modelMapper.stateIdentifier(proof.getAccumulatorState()));
 
+          // Aggregates can only be used if they are at the same state as the engine
+          var useAccountBalances = accountBalanceStore.isAt(proof.getStateVersion());
           for (var resourceQuery : resourceQueries) {
+            var accountBalances = resourceQuery.accountBalances().filter(b -> useAccountBalances);
+            if (accountBalances.isPresent()) {
+              var query = accountBalances.get();
+              accountBalanceStore
+                  .getBalances(query.account(), query.type())
+                  .forEach(
+                      (bucket, amount) ->
+                          response.addBalancesItem(
+                              modelMapper.resourceOperation(bucket, amount, addressToSymbol)));
+              continue;
+            }
+
             resourceQuery
                 .fold(
                     (index, bucketPredicate) ->
@@ -74,26 +74,34 @@ import com.radixdlt.api.core.openapitools.model.MempoolTransactionResponse;
 import com.radixdlt.api.core.openapitools.model.TransactionNotFoundError;
 import com.radixdlt.application.tokens.state.TokenResourceMetadata;
 import com.radixdlt.atom.SubstateTypeId;
+import com.radixdlt.constraintmachine.REProcessedTxn;
 import com.radixdlt.constraintmachine.SystemMapKey;
 import com.radixdlt.engine.RadixEngine;
+import com.radixdlt.engine.RadixEngineException;
 import com.radixdlt.identifiers.REAddr;
 import com.radixdlt.statecomputer.LedgerAndBFTProof;
+import com.radixdlt.statecomputer.MempoolEntry;
 import com.radixdlt.statecomputer.RadixEngineMempool;
+import com.radixdlt.statecomputer.RadixEngineStateComputer;
+import java.util.Optional;
 
 public class MempoolTransactionHandler
     extends CoreJsonRpcHandler<MempoolTransactionRequest, MempoolTransactionResponse> {
   private final RadixEngineMempool mempool;
+  private final RadixEngineStateComputer radixEngineStateComputer;
   private final CoreModelMapper modelMapper;
   private final Provider<RadixEngine<LedgerAndBFTProof>> radixEngineProvider;
 
   @Inject
   private MempoolTransactionHandler(
       RadixEngineMempool mempool,
+      RadixEngineStateComputer radixEngineStateComputer,
       Provider<RadixEngine<LedgerAndBFTProof>> radixEngineProvider,
       CoreModelMapper modelMapper) {
     super(MempoolTransactionRequest.class);
 
     this.mempool = mempool;
+    this.radixEngineStateComputer = radixEngineStateComputer;
     this.modelMapper = modelMapper;
     this.radixEngineProvider = radixEngineProvider;
   }
@@ -107,6 +115,16 @@ public class MempoolTransactionHandler
     return tokenResourceMetadata.symbol();
   }
 
+  // The mempool only keeps the payload, so the txn is processed again to describe it
+  private Optional<REProcessedTxn> process(MempoolEntry entry) {
+    try {
+      return Optional.of(radixEngineStateComputer.test(entry.getTxn().getPayload(), true));
+    } catch (RadixEngineException e) {
+      // No longer valid against the current state, it's about to be dropped from the mempool
+      return Optional.empty();
+    }
+  }
+
   @Override
   public MempoolTransactionResponse handleRequest(MempoolTransactionRequest request)
       throws CoreApiException {
@@ -114,15 +132,16 @@ public class MempoolTransactionHandler
 
     var transactionIdentifier = request.getTransactionIdentifier();
     var txnId = modelMapper.txnId(transactionIdentifier);
-    var transaction = mempool.getData(map -> map.get(txnId));
-    if (transaction == null) {
-      throw CoreApiException.notFound(
-          new TransactionNotFoundError()
-              .transactionIdentifier(transactionIdentifier)
-              .type(TransactionNotFoundError.class.getSimpleName()));
-    }
+    var processed =
+        Optional.ofNullable(mempool.getData(map -> map.get(txnId)))
+            .flatMap(this::process)
+            .orElseThrow(
+                () ->
+                    CoreApiException.notFound(
+                        new TransactionNotFoundError()
+                            .transactionIdentifier(transactionIdentifier)
+                            .type(TransactionNotFoundError.class.getSimpleName())));
 
-    var processed = transaction.getFirst();
     var transactionModel = modelMapper.transaction(processed, this::symbol);
     return new MempoolTransactionResponse().transaction(transactionModel);
   }
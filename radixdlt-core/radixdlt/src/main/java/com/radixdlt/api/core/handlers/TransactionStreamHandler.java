@@ -0,0 +1,198 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.api.core.handlers;
+
+import com.google.inject.Inject;
+import com.radixdlt.api.core.model.CoreApiException;
+import com.radixdlt.api.core.openapitools.JSON;
+import com.radixdlt.api.core.openapitools.model.InvalidPartialStateIdentifierError;
+import com.radixdlt.api.core.openapitools.model.PartialStateIdentifier;
+import com.radixdlt.api.core.reconstruction.CommittedTransactionReader;
+import com.radixdlt.api.core.stream.CommittedTransactionStream;
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.hotstuff.LedgerProof;
+import com.radixdlt.ledger.AccumulatorState;
+import com.radixdlt.store.berkeley.BerkeleyLedgerEntryStore;
+import io.undertow.Handlers;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.websockets.core.AbstractReceiveListener;
+import io.undertow.websockets.core.WebSocketCallback;
+import io.undertow.websockets.core.WebSocketChannel;
+import io.undertow.websockets.core.WebSockets;
+import org.xnio.IoUtils;
+
+/**
+ * Streams committed transactions over a WebSocket, one text message per transaction, starting
+ * after the state version given by the {@code state_version} query parameter (optionally verified
+ * against {@code transaction_accumulator}), or from the current ledger head if none is given.
+ */
+public final class TransactionStreamHandler implements HttpHandler {
+  private static final String CONTENT_TYPE_JSON = "application/json";
+  private static final String STATE_VERSION_PARAMETER = "state_version";
+  private static final String TRANSACTION_ACCUMULATOR_PARAMETER = "transaction_accumulator";
+
+  private final CommittedTransactionReader transactionReader;
+  private final CommittedTransactionStream transactionStream;
+  private final BerkeleyLedgerEntryStore ledgerEntryStore;
+
+  @Inject
+  TransactionStreamHandler(
+      CommittedTransactionReader transactionReader,
+      CommittedTransactionStream transactionStream,
+      BerkeleyLedgerEntryStore ledgerEntryStore) {
+    this.transactionReader = transactionReader;
+    this.transactionStream = transactionStream;
+    this.ledgerEntryStore = ledgerEntryStore;
+  }
+
+  @Override
+  public void handleRequest(HttpServerExchange exchange) throws Exception {
+    if (exchange.isInIoThread()) {
+      exchange.dispatch(this);
+      return;
+    }
+
+    final AccumulatorState start;
+    try {
+      start = start(exchange);
+    } catch (CoreApiException e) {
+      exchange.setStatusCode(500);
+      exchange.getResponseHeaders().add(Headers.CONTENT_TYPE, CONTENT_TYPE_JSON);
+      exchange
+          .getResponseSender()
+          .send(JSON.getDefault().getMapper().writeValueAsString(e.toError()));
+      return;
+    }
+
+    Handlers.websocket((wsExchange, channel) -> subscribe(channel, start)).handleRequest(exchange);
+  }
+
+  private AccumulatorState start(HttpServerExchange exchange) throws CoreApiException {
+    var stateVersion = exchange.getQueryParameters().get(STATE_VERSION_PARAMETER);
+    if (stateVersion == null || stateVersion.isEmpty()) {
+      return ledgerEntryStore
+          .getLastProof()
+          .map(LedgerProof::getAccumulatorState)
+          .orElseGet(() -> new AccumulatorState(0, HashUtils.zero256()));
+    }
+
+    var accumulator = exchange.getQueryParameters().get(TRANSACTION_ACCUMULATOR_PARAMETER);
+    var partialStateIdentifier =
+        new PartialStateIdentifier()
+            .transactionAccumulator(accumulator == null ? null : accumulator.peekFirst());
+    try {
+      partialStateIdentifier.stateVersion(Long.parseLong(stateVersion.peekFirst()));
+    } catch (NumberFormatException e) {
+      throw CoreApiException.badRequest(
+          new InvalidPartialStateIdentifierError()
+              .invalidPartialStateIdentifier(partialStateIdentifier)
+              .type(InvalidPartialStateIdentifierError.class.getSimpleName()));
+    }
+
+    return transactionReader.accumulatorState(partialStateIdentifier);
+  }
+
+  private void subscribe(WebSocketChannel channel, AccumulatorState start) {
+    var subscription =
+        transactionStream.subscribe(start, new WebSocketSink(channel), channel.getWorker());
+    channel.addCloseTask(c -> subscription.cancel());
+    if (!channel.isOpen()) {
+      subscription.cancel();
+      return;
+    }
+
+    // Nothing is expected from the client, but close frames still need to be handled
+    channel.getReceiveSetter().set(new AbstractReceiveListener() {});
+    channel.resumeReceives();
+  }
+
+  private record WebSocketSink(WebSocketChannel channel)
+      implements CommittedTransactionStream.Sink {
+    @Override
+    public void send(String message, Runnable onSent) {
+      WebSockets.sendText(
+          message,
+          channel,
+          new WebSocketCallback<Void>() {
+            @Override
+            public void complete(WebSocketChannel channel, Void context) {
+              onSent.run();
+            }
+
+            @Override
+            public void onError(WebSocketChannel channel, Void context, Throwable throwable) {
+              IoUtils.safeClose(channel);
+            }
+          });
+    }
+
+    @Override
+    public void close() {
+      IoUtils.safeClose(channel);
+    }
+  }
+}
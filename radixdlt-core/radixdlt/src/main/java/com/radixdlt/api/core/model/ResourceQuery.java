@@ -64,25 +64,38 @@
 
 package com.radixdlt.api.core.model;
 
+import com.radixdlt.api.core.balances.AccountBalanceType;
 import com.radixdlt.application.tokens.ResourceInBucket;
 import com.radixdlt.constraintmachine.SubstateIndex;
 import com.radixdlt.constraintmachine.SystemMapKey;
+import com.radixdlt.identifiers.REAddr;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 public final class ResourceQuery {
+  /** Account balances which answer the query without reading substates, if available. */
+  public record AccountBalances(REAddr account, AccountBalanceType type) {}
+
   private final SubstateIndex<ResourceInBucket> index;
   private final Predicate<ResourceInBucket> predicate;
   private final SystemMapKey systemMapKey;
+  private final AccountBalances accountBalances;
 
   private ResourceQuery(
       SubstateIndex<ResourceInBucket> index,
       Predicate<ResourceInBucket> predicate,
-      SystemMapKey systemMapKey) {
+      SystemMapKey systemMapKey,
+      AccountBalances accountBalances) {
     this.index = index;
     this.predicate = predicate;
     this.systemMapKey = systemMapKey;
+    this.accountBalances = accountBalances;
+  }
+
+  public Optional<AccountBalances> accountBalances() {
+    return Optional.ofNullable(accountBalances);
   }
 
   public <T> T fold(
@@ -96,15 +109,23 @@ public final class ResourceQuery {
   }
 
   public static ResourceQuery from(SystemMapKey systemMapKey) {
-    return new ResourceQuery(null, null, systemMapKey);
+    return new ResourceQuery(null, null, systemMapKey, null);
   }
 
   public static ResourceQuery from(SubstateIndex<ResourceInBucket> index) {
-    return new ResourceQuery(index, b -> true, null);
+    return new ResourceQuery(index, b -> true, null, null);
   }
 
   public static ResourceQuery from(
       SubstateIndex<ResourceInBucket> index, Predicate<ResourceInBucket> predicate) {
-    return new ResourceQuery(index, predicate, null);
+    return new ResourceQuery(index, predicate, null, null);
+  }
+
+  public static ResourceQuery from(
+      SubstateIndex<ResourceInBucket> index,
+      Predicate<ResourceInBucket> predicate,
+      REAddr account,
+      AccountBalanceType type) {
+    return new ResourceQuery(index, predicate, null, new AccountBalances(account, type));
   }
 }
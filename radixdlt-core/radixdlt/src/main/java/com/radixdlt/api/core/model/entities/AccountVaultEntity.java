@@ -67,6 +67,7 @@ package com.radixdlt.api.core.model.entities;
 import static com.radixdlt.atom.SubstateTypeId.STAKE_OWNERSHIP;
 import static com.radixdlt.atom.SubstateTypeId.TOKENS;
 
+import com.radixdlt.api.core.balances.AccountBalanceType;
 import com.radixdlt.api.core.model.Entity;
 import com.radixdlt.api.core.model.KeyQuery;
 import com.radixdlt.api.core.model.Resource;
@@ -154,8 +155,12 @@ public record AccountVaultEntity(REAddr accountAddress) implements Entity {
     var ownershipIndex =
         SubstateIndex.<ResourceInBucket>create(STAKE_OWNERSHIP.id(), StakeOwnership.class);
     return List.of(
-        ResourceQuery.from(tokenIndex),
-        ResourceQuery.from(ownershipIndex, b -> b.bucket().getOwner().equals(accountAddress)));
+        ResourceQuery.from(tokenIndex, b -> true, accountAddress, AccountBalanceType.TOKENS),
+        ResourceQuery.from(
+            ownershipIndex,
+            b -> b.bucket().getOwner().equals(accountAddress),
+            accountAddress,
+            AccountBalanceType.STAKE_OWNERSHIP));
   }
 
   @Override
@@ -66,6 +66,7 @@ package com.radixdlt.api.core.model.entities;
 
 import static com.radixdlt.atom.SubstateTypeId.PREPARED_UNSTAKE;
 
+import com.radixdlt.api.core.balances.AccountBalanceType;
 import com.radixdlt.api.core.model.Entity;
 import com.radixdlt.api.core.model.KeyQuery;
 import com.radixdlt.api.core.model.ResourceQuery;
@@ -103,7 +104,9 @@ public record PreparedUnstakeVaultEntity(REAddr accountAddress) implements Entit
             r ->
                 r.bucket().resourceAddr() == null
                     && r.bucket().getEpochUnlock().equals(0L)
-                    && r.bucket().getOwner().equals(accountAddress));
+                    && r.bucket().getOwner().equals(accountAddress),
+            accountAddress,
+            AccountBalanceType.PREPARED_UNSTAKE);
     return List.of(query);
   }
 
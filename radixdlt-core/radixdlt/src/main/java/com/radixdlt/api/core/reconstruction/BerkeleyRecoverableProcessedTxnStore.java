@@ -108,6 +108,7 @@ import java.util.function.Function;
 public final class BerkeleyRecoverableProcessedTxnStore implements BerkeleyAdditionalStore {
   private static final String RECOVERABLE_TRANSACTIONS_DB_NAME = "radix.recoverable_txns";
   private static final String ACCUMULATOR_HASH_DB_NAME = "radix.accumulator_hash";
+  private DatabaseEnvironment dbEnv;
   private Database recoverableTransactionsDatabase; // Txns by index; Append-only
   private Database accumulatorDatabase; // Txns by index; Append-only
 
@@ -131,6 +132,7 @@ public final class BerkeleyRecoverableProcessedTxnStore implements BerkeleyAddit
 
   @Override
   public void open(DatabaseEnvironment dbEnv) {
+    this.dbEnv = dbEnv;
     recoverableTransactionsDatabase =
         dbEnv
             .getEnvironment()
@@ -155,6 +157,9 @@ public final class BerkeleyRecoverableProcessedTxnStore implements BerkeleyAddit
                     .setKeyPrefixing(true)
                     .setBtreeComparator(lexicographicalComparator()));
 
+    dbEnv.registerDatabase(recoverableTransactionsDatabase);
+    dbEnv.registerDatabase(accumulatorDatabase);
+
     try (var cursor = accumulatorDatabase.openCursor(null, null)) {
       var key = new DatabaseEntry(Longs.toByteArray(Long.MAX_VALUE));
       var value = new DatabaseEntry();
@@ -173,10 +178,12 @@ public final class BerkeleyRecoverableProcessedTxnStore implements BerkeleyAddit
   @Override
   public void close() {
     if (recoverableTransactionsDatabase != null) {
+      dbEnv.unregisterDatabase(recoverableTransactionsDatabase);
       recoverableTransactionsDatabase.close();
     }
 
     if (accumulatorDatabase != null) {
+      dbEnv.unregisterDatabase(accumulatorDatabase);
       accumulatorDatabase.close();
     }
   }
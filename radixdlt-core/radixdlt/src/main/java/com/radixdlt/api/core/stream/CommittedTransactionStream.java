@@ -0,0 +1,305 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.api.core.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.inject.Inject;
+import com.radixdlt.api.core.openapitools.JSON;
+import com.radixdlt.api.core.reconstruction.CommittedTransactionReader;
+import com.radixdlt.environment.EventProcessor;
+import com.radixdlt.ledger.AccumulatorState;
+import com.radixdlt.ledger.LedgerUpdate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Pushes committed transactions to subscribers as they land on ledger. A subscriber starts from a
+ * state version of its choice and is backfilled from the transaction store until it has caught up,
+ * after which it is fed straight from {@link LedgerUpdate}s. The transactions of each update are
+ * reconstructed and serialized once and shared between all subscribers which are caught up.
+ *
+ * <p>Each subscriber has a bounded number of messages in flight. A subscriber which falls behind
+ * stops receiving live updates and goes back to reading from the store at its own pace, rather
+ * than having updates buffered for it without limit.
+ */
+public final class CommittedTransactionStream {
+  private static final Logger logger = LogManager.getLogger();
+
+  static final int MAX_IN_FLIGHT = 1000;
+  static final int BACKFILL_PAGE_SIZE = 100;
+
+  /** Destination of the serialized transactions of a single subscriber. */
+  public interface Sink {
+    /**
+     * Sends a serialized transaction. {@code onSent} is invoked once the message has been written;
+     * on failure the sink is expected to close itself.
+     */
+    void send(String message, Runnable onSent);
+
+    void close();
+  }
+
+  public interface Subscription {
+    void cancel();
+  }
+
+  private final CommittedTransactionReader transactionReader;
+  private final ObjectWriter writer = JSON.getDefault().getMapper().writer();
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  // Only accessed from the ledger update processor
+  private AccumulatorState head;
+
+  @Inject
+  CommittedTransactionStream(CommittedTransactionReader transactionReader) {
+    this.transactionReader = transactionReader;
+  }
+
+  /**
+   * Subscribes to the transactions committed after the given accumulator state.
+   *
+   * @param start the accumulator state to stream from
+   * @param sink the destination of the transactions
+   * @param executor executor used to read transactions from the store
+   * @return the subscription, which must be cancelled once the sink is gone
+   */
+  public Subscription subscribe(AccumulatorState start, Sink sink, Executor executor) {
+    var subscriber = new Subscriber(start, sink, executor);
+    subscribers.add(subscriber);
+    synchronized (subscriber) {
+      subscriber.scheduleBackfill();
+    }
+    return subscriber;
+  }
+
+  int subscriberCount() {
+    return subscribers.size();
+  }
+
+  public EventProcessor<LedgerUpdate> ledgerUpdateEventProcessor() {
+    return ledgerUpdate -> {
+      if (subscribers.isEmpty()) {
+        head = null;
+        return;
+      }
+
+      var txns = ledgerUpdate.getNewTxns();
+      if (txns.isEmpty()) {
+        return;
+      }
+
+      var fromVersion = ledgerUpdate.getTail().getStateVersion() - txns.size();
+      try {
+        var from =
+            head != null && head.getStateVersion() == fromVersion
+                ? head
+                : transactionReader
+                    .accumulatorState(fromVersion)
+                    .orElseThrow(
+                        () -> new IllegalStateException("Unknown state version " + fromVersion));
+        var page = transactionReader.read(from, txns);
+        var messages = serialize(page);
+        head = page.accumulatorState();
+        subscribers.forEach(s -> s.offer(fromVersion, messages, page.accumulatorState()));
+      } catch (RuntimeException e) {
+        // Subscribers notice the gap on the next update and catch up from the store
+        head = null;
+        logger.warn("Unable to stream transactions from state version {}", fromVersion, e);
+      }
+    };
+  }
+
+  private List<String> serialize(CommittedTransactionReader.Page page) {
+    return page.transactions().stream()
+        .map(
+            transaction -> {
+              try {
+                return writer.writeValueAsString(transaction);
+              } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unable to serialize committed transaction", e);
+              }
+            })
+        .toList();
+  }
+
+  private final class Subscriber implements Subscription {
+    private final Sink sink;
+    private final Executor executor;
+    // Accumulator state after the last transaction handed to the sink
+    private AccumulatorState cursor;
+    private int inFlight;
+    private boolean catchingUp = true;
+    private boolean backfilling;
+    private long missedUpdates;
+    private boolean cancelled;
+
+    private Subscriber(AccumulatorState start, Sink sink, Executor executor) {
+      this.cursor = start;
+      this.sink = sink;
+      this.executor = executor;
+    }
+
+    private synchronized void offer(
+        long fromVersion, List<String> messages, AccumulatorState to) {
+      if (cancelled || to.getStateVersion() <= cursor.getStateVersion()) {
+        return;
+      }
+
+      if (!catchingUp
+          && fromVersion == cursor.getStateVersion()
+          && inFlight + messages.size() <= MAX_IN_FLIGHT) {
+        cursor = to;
+        send(messages);
+      } else {
+        catchingUp = true;
+        missedUpdates++;
+        scheduleBackfill();
+      }
+    }
+
+    private void send(List<String> messages) {
+      inFlight += messages.size();
+      messages.forEach(message -> sink.send(message, this::onSent));
+    }
+
+    private synchronized void onSent() {
+      inFlight--;
+      scheduleBackfill();
+    }
+
+    private void scheduleBackfill() {
+      if (cancelled
+          || !catchingUp
+          || backfilling
+          || inFlight > MAX_IN_FLIGHT - BACKFILL_PAGE_SIZE) {
+        return;
+      }
+
+      backfilling = true;
+      try {
+        executor.execute(this::backfill);
+      } catch (RejectedExecutionException e) {
+        backfilling = false;
+        cancel();
+      }
+    }
+
+    private void backfill() {
+      final AccumulatorState from;
+      final long missedBefore;
+      synchronized (this) {
+        from = cursor;
+        missedBefore = missedUpdates;
+      }
+
+      final CommittedTransactionReader.Page page;
+      final List<String> messages;
+      try {
+        page = transactionReader.read(from, BACKFILL_PAGE_SIZE);
+        messages = serialize(page);
+      } catch (RuntimeException e) {
+        logger.warn("Unable to read transactions after {}, closing stream", from, e);
+        cancel();
+        return;
+      }
+
+      synchronized (this) {
+        backfilling = false;
+        if (cancelled) {
+          return;
+        }
+
+        if (!messages.isEmpty()) {
+          cursor = page.accumulatorState();
+          send(messages);
+          scheduleBackfill();
+        } else if (missedBefore == missedUpdates) {
+          // Nothing left in the store and no update went by while reading, so live updates
+          // continue exactly where the store ended
+          catchingUp = false;
+        } else {
+          scheduleBackfill();
+        }
+      }
+    }
+
+    @Override
+    public void cancel() {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        cancelled = true;
+      }
+      subscribers.remove(this);
+      sink.close();
+    }
+  }
+}
@@ -82,7 +82,10 @@ public final class PeersHandler extends SystemGetJsonHandler<SystemPeersResponse
   @Override
   public SystemPeersResponse handleRequest() {
     var response = new SystemPeersResponse();
-    peersView.peers().map(systemModelMapper::peer).forEach(response::addPeersItem);
+    peersView
+        .peers()
+        .map(peer -> systemModelMapper.peer(peer, peersView.linkInfo(peer.getNodeId())))
+        .forEach(response::addPeersItem);
     return response;
   }
 }
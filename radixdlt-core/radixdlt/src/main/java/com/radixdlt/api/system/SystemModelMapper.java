@@ -80,6 +80,7 @@ import com.radixdlt.api.system.openapitools.model.NetworkingMetrics;
 import com.radixdlt.api.system.openapitools.model.NetworkingOutboundMetrics;
 import com.radixdlt.api.system.openapitools.model.Peer;
 import com.radixdlt.api.system.openapitools.model.PeerChannel;
+import com.radixdlt.api.system.openapitools.model.PeerLink;
 import com.radixdlt.api.system.openapitools.model.SyncConfiguration;
 import com.radixdlt.api.system.openapitools.model.SyncMetrics;
 import com.radixdlt.counters.SystemCounters;
@@ -93,6 +94,7 @@ import com.radixdlt.networks.Addressing;
 import com.radixdlt.sync.SyncConfig;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Optional;
 
 public final class SystemModelMapper {
   private final Addressing addressing;
@@ -205,7 +207,7 @@ public final class SystemModelMapper {
         .requestTimeouts(counters.get(BFT_SYNC_REQUEST_TIMEOUTS));
   }
 
-  public Peer peer(PeersView.PeerInfo peerInfo) {
+  public Peer peer(PeersView.PeerInfo peerInfo, Optional<PeersView.PeerLinkInfo> linkInfo) {
     var peerId = addressing.forNodes().of(peerInfo.getNodeId().getPublicKey());
     var peer = new Peer().peerId(peerId);
 
@@ -222,9 +224,19 @@ public final class SystemModelMapper {
               channel.getUri().map(RadixNodeUri::toString).ifPresent(peerChannel::uri);
               peer.addChannelsItem(peerChannel);
             });
+    linkInfo.map(this::peerLink).ifPresent(peer::link);
     return peer;
   }
 
+  public PeerLink peerLink(PeersView.PeerLinkInfo linkInfo) {
+    return new PeerLink()
+        .rttMicros(linkInfo.getRttMicros())
+        .rttVariationMicros(linkInfo.getRttVariationMicros())
+        .minRttMicros(linkInfo.getMinRttMicros())
+        .bandwidthBytesPerSecond(linkInfo.getBandwidthBytesPerSecond())
+        .samples(linkInfo.getSamples());
+  }
+
   public Address address(PeerAddressEntry entry) {
     return new Address()
         .uri(entry.getUri().toString())
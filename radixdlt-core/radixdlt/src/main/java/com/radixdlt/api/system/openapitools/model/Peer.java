@@ -27,7 +27,8 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
  */
 @JsonPropertyOrder({
   Peer.JSON_PROPERTY_PEER_ID,
-  Peer.JSON_PROPERTY_CHANNELS
+  Peer.JSON_PROPERTY_CHANNELS,
+  Peer.JSON_PROPERTY_LINK
 })
 @javax.annotation.processing.Generated(value = "org.openapitools.codegen.languages.JavaClientCodegen", date = "2022-01-20T22:11:26.095756951+01:00[Europe/Warsaw]")
 public class Peer {
@@ -37,6 +38,9 @@ public class Peer {
   public static final String JSON_PROPERTY_CHANNELS = "channels";
   private List<PeerChannel> channels = new ArrayList<>();
 
+  public static final String JSON_PROPERTY_LINK = "link";
+  private PeerLink link;
+
   public Peer peerId(String peerId) {
     this.peerId = peerId;
     return this;
@@ -94,6 +98,32 @@ public class Peer {
   }
 
 
+  public Peer link(PeerLink link) {
+    this.link = link;
+    return this;
+  }
+
+   /**
+   * Get link
+   * @return link
+  **/
+  @javax.annotation.Nullable
+  @ApiModelProperty(value = "")
+  @JsonProperty(JSON_PROPERTY_LINK)
+  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+
+  public PeerLink getLink() {
+    return link;
+  }
+
+
+  @JsonProperty(JSON_PROPERTY_LINK)
+  @JsonInclude(value = JsonInclude.Include.USE_DEFAULTS)
+  public void setLink(PeerLink link) {
+    this.link = link;
+  }
+
+
   /**
    * Return true if this Peer object is equal to o.
    */
@@ -107,12 +137,13 @@ public class Peer {
     }
     Peer peer = (Peer) o;
     return Objects.equals(this.peerId, peer.peerId) &&
-        Objects.equals(this.channels, peer.channels);
+        Objects.equals(this.channels, peer.channels) &&
+        Objects.equals(this.link, peer.link);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(peerId, channels);
+    return Objects.hash(peerId, channels, link);
   }
 
   @Override
@@ -121,6 +152,7 @@ public class Peer {
     sb.append("class Peer {\n");
     sb.append("    peerId: ").append(toIndentedString(peerId)).append("\n");
     sb.append("    channels: ").append(toIndentedString(channels)).append("\n");
+    sb.append("    link: ").append(toIndentedString(link)).append("\n");
     sb.append("}");
     return sb.toString();
   }
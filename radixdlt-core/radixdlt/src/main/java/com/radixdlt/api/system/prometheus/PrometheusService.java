@@ -78,14 +78,17 @@ import com.radixdlt.hotstuff.bft.BFTNode;
 import com.radixdlt.hotstuff.bft.BFTValidatorSet;
 import com.radixdlt.hotstuff.bft.Self;
 import com.radixdlt.identifiers.REAddr;
+import com.radixdlt.network.messaging.InboundDecodingShards;
 import com.radixdlt.network.p2p.PeersView;
 import com.radixdlt.networks.Addressing;
 import com.radixdlt.properties.RuntimeProperties;
 import com.radixdlt.statecomputer.forks.CurrentForkView;
+import com.radixdlt.store.DatabaseStatsCollector;
 import com.radixdlt.systeminfo.InMemorySystemInfo;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.util.*;
+import java.util.function.ToLongFunction;
 import javax.management.InstanceNotFoundException;
 import javax.management.MBeanServerConnection;
 import javax.management.MalformedObjectNameException;
@@ -125,6 +128,8 @@ public class PrometheusService {
       COUNTER_PREFIX + "radix_engine_cur_epoch_completed_proposals";
   private static final String MISSED_PROPOSALS =
       COUNTER_PREFIX + "radix_engine_cur_epoch_missed_proposals";
+  private static final String DATABASE_RECORDS = "bdb_database_records";
+  private static final String INBOUND_SHARD_PREFIX = "messages_inbound_shard_";
 
   private final SystemCounters systemCounters;
   private final HealthInfoService healthInfoService;
@@ -135,6 +140,8 @@ public class PrometheusService {
   private final PeersView peersView;
   private final CurrentForkView currentForkView;
   private final EngineStatusService engineStatusService;
+  private final DatabaseStatsCollector databaseStatsCollector;
+  private final InboundDecodingShards inboundDecodingShards;
 
   @Inject
   public PrometheusService(
@@ -146,7 +153,9 @@ public class PrometheusService {
       @Self BFTNode self,
       Addressing addressing,
       CurrentForkView currentForkView,
-      EngineStatusService engineStatusService) {
+      EngineStatusService engineStatusService,
+      DatabaseStatsCollector databaseStatsCollector,
+      InboundDecodingShards inboundDecodingShards) {
     boolean enableTransactions = properties.get("api.transactions.enable", false);
     this.endpointStatuses = Map.of("transactions", enableTransactions);
     this.systemCounters = systemCounters;
@@ -157,6 +166,8 @@ public class PrometheusService {
     this.addressing = addressing;
     this.currentForkView = currentForkView;
     this.engineStatusService = engineStatusService;
+    this.databaseStatsCollector = databaseStatsCollector;
+    this.inboundDecodingShards = inboundDecodingShards;
   }
 
   public String getMetrics() {
@@ -190,6 +201,8 @@ public class PrometheusService {
     appendCandidateForkVotingResult(builder);
 
     appendJMXCounters(builder);
+    appendDatabaseRecordCounts(builder);
+    appendInboundDecodingShards(builder);
 
     appendCounterExtended(
         builder,
@@ -214,6 +227,81 @@ public class PrometheusService {
         engineStatusService.getCandidateForkVotingResultPercentage());
   }
 
+  private void appendDatabaseRecordCounts(StringBuilder builder) {
+    var recordCounts = databaseStatsCollector.getDatabaseRecordCounts();
+    if (recordCounts.isEmpty()) {
+      return;
+    }
+
+    builder
+        .append("# HELP ")
+        .append(DATABASE_RECORDS)
+        .append(" Number of records per database, as of the last sample.\n")
+        .append("# TYPE ")
+        .append(DATABASE_RECORDS)
+        .append(' ')
+        .append(COUNTER)
+        .append('\n');
+    new TreeMap<>(recordCounts)
+        .forEach(
+            (database, records) ->
+                builder
+                    .append(DATABASE_RECORDS)
+                    .append("{database=\"")
+                    .append(database)
+                    .append("\"} ")
+                    .append(records.doubleValue())
+                    .append('\n'));
+  }
+
+  private void appendInboundDecodingShards(StringBuilder builder) {
+    appendShardMetric(
+        builder,
+        "avg_queued_time",
+        "Average time in ms inbound messages waited for the decoding shard.",
+        InboundDecodingShards.Shard::avgQueuedTime);
+    appendShardMetric(
+        builder,
+        "avg_decode_time",
+        "Average time in ms the decoding shard took per inbound message.",
+        InboundDecodingShards.Shard::avgDecodeTime);
+    appendShardMetric(
+        builder,
+        "decoded_messages",
+        "Number of inbound messages decoded by the shard.",
+        InboundDecodingShards.Shard::decodedMessages);
+  }
+
+  private void appendShardMetric(
+      StringBuilder builder,
+      String suffix,
+      String help,
+      ToLongFunction<InboundDecodingShards.Shard> metric) {
+    var name = INBOUND_SHARD_PREFIX + suffix;
+    builder
+        .append("# HELP ")
+        .append(name)
+        .append(' ')
+        .append(help)
+        .append('\n')
+        .append("# TYPE ")
+        .append(name)
+        .append(' ')
+        .append(COUNTER)
+        .append('\n');
+    inboundDecodingShards
+        .shards()
+        .forEach(
+            shard ->
+                builder
+                    .append(name)
+                    .append("{shard=\"")
+                    .append(shard.index())
+                    .append("\"} ")
+                    .append((double) metric.applyAsLong(shard))
+                    .append('\n'));
+  }
+
   private String prepareNodeInfo() {
     var builder = new StringBuilder("nodeinfo{");
     addEndpontStatuses(builder);
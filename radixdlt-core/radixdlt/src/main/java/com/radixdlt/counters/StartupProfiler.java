@@ -0,0 +1,235 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.counters;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.utils.ThreadFactories;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Records the wall clock time of each phase of node startup, and runs phases which do not depend
+ * on each other concurrently.
+ *
+ * <p>Timings are held here until the node has started and {@link SystemCounters} is available, at
+ * which point they are exported with {@link #export(SystemCounters)}.
+ */
+@Singleton
+public final class StartupProfiler {
+  /** Phases of node startup, with the counter each is exported as. */
+  public enum Phase {
+    SERIALIZATION(CounterType.STARTUP_SERIALIZATION_TIME_MS),
+    INJECTOR(CounterType.STARTUP_INJECTOR_TIME_MS),
+    LEDGER_STORE(CounterType.STARTUP_LEDGER_STORE_TIME_MS),
+    ADDITIONAL_STORES(CounterType.STARTUP_ADDITIONAL_STORES_TIME_MS),
+    ADDRESS_BOOK(CounterType.STARTUP_ADDRESS_BOOK_TIME_MS),
+    NODE_GRAPH(CounterType.STARTUP_NODE_GRAPH_TIME_MS),
+    RUNNERS(CounterType.STARTUP_RUNNERS_TIME_MS);
+
+    private final CounterType counterType;
+
+    Phase(CounterType counterType) {
+      this.counterType = counterType;
+    }
+
+    public CounterType counterType() {
+      return counterType;
+    }
+  }
+
+  private final ThreadFactory threadFactory = ThreadFactories.daemonThreads("Startup-%d");
+  private final Map<Phase, Long> elapsedMillis = new EnumMap<>(Phase.class);
+
+  @Inject
+  public StartupProfiler() {
+    // Nothing to do here
+  }
+
+  /**
+   * Runs the specified phase on the calling thread, recording its duration.
+   *
+   * @param phase the phase to record
+   * @param runnable the phase to run
+   */
+  public void time(Phase phase, Runnable runnable) {
+    time(
+        phase,
+        () -> {
+          runnable.run();
+          return null;
+        });
+  }
+
+  /**
+   * Runs the specified phase on the calling thread, recording its duration.
+   *
+   * @param phase the phase to record
+   * @param supplier the phase to run
+   * @return the result of the phase
+   */
+  public <T> T time(Phase phase, Supplier<T> supplier) {
+    final var start = System.nanoTime();
+    try {
+      return supplier.get();
+    } finally {
+      record(phase, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Starts the specified phase on a new thread, recording its duration. Use {@link
+   * #await(CompletableFuture)} to wait for the phase to complete.
+   *
+   * @param phase the phase to record
+   * @param supplier the phase to run
+   * @return a future which completes with the result of the phase
+   */
+  public <T> CompletableFuture<T> timeAsync(Phase phase, Supplier<T> supplier) {
+    return CompletableFuture.supplyAsync(
+        () -> time(phase, supplier), command -> threadFactory.newThread(command).start());
+  }
+
+  /**
+   * Starts all tasks of the specified phase concurrently, each on a new thread. The recorded
+   * duration is the time until the last task completes.
+   *
+   * @param phase the phase to record
+   * @param tasks the tasks making up the phase
+   * @return a future which completes when all tasks have completed
+   */
+  public CompletableFuture<Void> timeAllAsync(Phase phase, Collection<? extends Runnable> tasks) {
+    final var start = System.nanoTime();
+    var futures =
+        tasks.stream()
+            .map(
+                task ->
+                    CompletableFuture.runAsync(
+                        task, command -> threadFactory.newThread(command).start()))
+            .toArray(CompletableFuture<?>[]::new);
+    return CompletableFuture.allOf(futures)
+        .whenComplete((result, e) -> record(phase, System.nanoTime() - start));
+  }
+
+  /**
+   * Waits for a phase started with {@link #timeAsync(Phase, Supplier)} or {@link
+   * #timeAllAsync(Phase, Collection)} to complete, rethrowing any exception thrown by the phase.
+   *
+   * @param future the future returned when the phase was started
+   * @return the result of the phase
+   */
+  public static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Sets the startup counters for all phases recorded so far.
+   *
+   * @param systemCounters the counters to set
+   */
+  public synchronized void export(SystemCounters systemCounters) {
+    elapsedMillis.forEach((phase, millis) -> systemCounters.set(phase.counterType(), millis));
+  }
+
+  /**
+   * Returns the recorded duration of the specified phase.
+   *
+   * @param phase the phase to return the duration of
+   * @return the duration in milliseconds, or {@code -1} if the phase has not completed
+   */
+  public synchronized long elapsedMillis(Phase phase) {
+    return elapsedMillis.getOrDefault(phase, -1L);
+  }
+
+  private synchronized void record(Phase phase, long elapsedNanos) {
+    elapsedMillis.merge(phase, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Long::sum);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return elapsedMillis.entrySet().stream()
+        .map(e -> String.format("%s=%sms", e.getKey().name().toLowerCase(Locale.US), e.getValue()))
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+}
@@ -91,6 +91,8 @@ public interface SystemCounters {
     BFT_SYNC_REQUESTS_SENT("bft.sync.requests_sent"),
     BFT_SYNC_REQUESTS_RECEIVED("bft.sync.requests_received"),
     BFT_SYNC_REQUEST_TIMEOUTS("bft.sync.request_timeouts"),
+    BFT_SYNC_RESPONSE_CACHE_HITS("bft.sync.response_cache_hits"),
+    BFT_SYNC_REDUNDANT_RESPONSES("bft.sync.redundant_responses"),
 
     /** Number of views that timed out. Rescheduled timeouts of the same view are not counted */
     BFT_VERTEX_STORE_SIZE("bft.vertex_store.size"),
@@ -104,6 +106,8 @@ public interface SystemCounters {
     COUNT_BDB_LEDGER_CONTAINS("count.bdb.ledger.contains"),
     COUNT_BDB_LEDGER_CONTAINS_TX("count.bdb.ledger.contains_tx"),
     COUNT_BDB_LEDGER_ENTRIES("count.bdb.ledger.entries"),
+    COUNT_BDB_LEDGER_EPOCH_PROOF("count.bdb.ledger.epoch_proof"),
+    COUNT_BDB_LEDGER_GET("count.bdb.ledger.get"),
     COUNT_BDB_LEDGER_GET_FIRST("count.bdb.ledger.get_first"),
     COUNT_BDB_LEDGER_GET_LAST("count.bdb.ledger.get_last"),
     COUNT_BDB_LEDGER_GET_NEXT("count.bdb.ledger.get_next"),
@@ -114,11 +118,15 @@ public interface SystemCounters {
     COUNT_BDB_LEDGER_SAVE("count.bdb.ledger.save"),
     COUNT_BDB_LEDGER_SEARCH("count.bdb.ledger.search"),
     COUNT_BDB_LEDGER_TOTAL("count.bdb.ledger.total"),
+    COUNT_BDB_LEDGER_TXN_COMMIT("count.bdb.ledger.txn_commit"),
     COUNT_BDB_LEDGER_BYTES_READ("count.bdb.ledger.bytes.read"),
     COUNT_BDB_LEDGER_BYTES_WRITE("count.bdb.ledger.bytes.write"),
     COUNT_BDB_LEDGER_DELETES("count.bdb.ledger.deletes"),
     COUNT_BDB_LEDGER_PROOFS_ADDED("count.bdb.ledger.proofs.added"),
     COUNT_BDB_LEDGER_PROOFS_REMOVED("count.bdb.ledger.proofs.removed"),
+    COUNT_BDB_LEDGER_CACHE_HITS("count.bdb.ledger.cache.hits"),
+    COUNT_BDB_LEDGER_CACHE_MISSES("count.bdb.ledger.cache.misses"),
+    COUNT_BDB_LEDGER_EPOCH_BOUNDARY_INDEX_HITS("count.bdb.ledger.epoch_boundary_index.hits"),
 
     COUNT_BDB_ADDRESS_BOOK_TOTAL("count.bdb.address_book.total"),
     COUNT_BDB_ADDRESS_BOOK_BYTES_READ("count.bdb.address_book.bytes.read"),
@@ -149,6 +157,7 @@ public interface SystemCounters {
     ELAPSED_BDB_LEDGER_CREATE_TX("elapsed.bdb.ledger.create_tx"),
     ELAPSED_BDB_LEDGER_CONTAINS_TX("elapsed.bdb.ledger.contains_tx"),
     ELAPSED_BDB_LEDGER_ENTRIES("elapsed.bdb.ledger.entries"),
+    ELAPSED_BDB_LEDGER_EPOCH_PROOF("elapsed.bdb.ledger.epoch_proof"),
     ELAPSED_BDB_LEDGER_GET("elapsed.bdb.ledger.get"),
     ELAPSED_BDB_LEDGER_GET_FIRST("elapsed.bdb.ledger.get_first"),
     ELAPSED_BDB_LEDGER_GET_LAST("elapsed.bdb.ledger.get_last"),
@@ -158,9 +167,33 @@ public interface SystemCounters {
     ELAPSED_BDB_LEDGER_SAVE("elapsed.bdb.ledger.save"),
     ELAPSED_BDB_LEDGER_SEARCH("elapsed.bdb.ledger.search"),
     ELAPSED_BDB_LEDGER_TOTAL("elapsed.bdb.ledger.total"),
+    ELAPSED_BDB_LEDGER_TXN_COMMIT("elapsed.bdb.ledger.txn_commit"),
 
     ELAPSED_BDB_SAFETY_STATE("elapsed.bdb.safety_state"),
 
+    ELAPSED_BDB_ENV_STATS("elapsed.bdb.env_stats"),
+
+    // Berkeley DB environment statistics, sampled periodically
+    BDB_ENV_CACHE_TOTAL_BYTES("bdb.env.cache.total_bytes"),
+    BDB_ENV_CACHE_DATA_BYTES("bdb.env.cache.data_bytes"),
+    BDB_ENV_CACHE_MISSES("bdb.env.cache.misses"),
+    BDB_ENV_CACHE_BIN_FETCHES("bdb.env.cache.bin_fetches"),
+    BDB_ENV_CACHE_BIN_FETCH_MISSES("bdb.env.cache.bin_fetch_misses"),
+    BDB_ENV_CACHE_LN_FETCHES("bdb.env.cache.ln_fetches"),
+    BDB_ENV_CACHE_LN_FETCH_MISSES("bdb.env.cache.ln_fetch_misses"),
+    BDB_ENV_CLEANER_RUNS("bdb.env.cleaner.runs"),
+    BDB_ENV_CLEANER_DELETIONS("bdb.env.cleaner.deletions"),
+    BDB_ENV_CLEANER_PENDING_LNS("bdb.env.cleaner.pending_lns"),
+    BDB_ENV_CLEANER_MIN_UTILIZATION("bdb.env.cleaner.min_utilization"),
+    BDB_ENV_CHECKPOINTS("bdb.env.checkpoints"),
+    BDB_ENV_CHECKPOINT_INTERVAL_BYTES("bdb.env.checkpoint.interval_bytes"),
+    BDB_ENV_LOCK_REQUESTS("bdb.env.lock.requests"),
+    BDB_ENV_LOCK_WAITS("bdb.env.lock.waits"),
+    BDB_ENV_LOG_FILES("bdb.env.log.files"),
+    BDB_ENV_LOG_TOTAL_BYTES("bdb.env.log.total_bytes"),
+    BDB_ENV_LOG_ACTIVE_BYTES("bdb.env.log.active_bytes"),
+    BDB_ENV_LOG_FSYNCS("bdb.env.log.fsyncs"),
+
     PERSISTENCE_VERTEX_STORE_SAVES("persistence.vertex_store_saves"),
     PERSISTENCE_SAFETY_STORE_SAVES("persistence.safety_store_saves"),
 
@@ -170,6 +203,13 @@ public interface SystemCounters {
     EPOCH_MANAGER_QUEUED_CONSENSUS_EVENTS("epoch_manager.queued_consensus_events"),
 
     STARTUP_TIME_MS("startup.time_ms"),
+    STARTUP_SERIALIZATION_TIME_MS("startup.serialization_time_ms"),
+    STARTUP_INJECTOR_TIME_MS("startup.injector_time_ms"),
+    STARTUP_LEDGER_STORE_TIME_MS("startup.ledger_store_time_ms"),
+    STARTUP_ADDITIONAL_STORES_TIME_MS("startup.additional_stores_time_ms"),
+    STARTUP_ADDRESS_BOOK_TIME_MS("startup.address_book_time_ms"),
+    STARTUP_NODE_GRAPH_TIME_MS("startup.node_graph_time_ms"),
+    STARTUP_RUNNERS_TIME_MS("startup.runners_time_ms"),
 
     HASHED_BYTES("hashed.bytes"),
 
@@ -184,13 +224,20 @@ public interface SystemCounters {
     SYNC_TARGET_STATE_VERSION("sync.target_state_version"),
 
     MEMPOOL_CURRENT_SIZE("mempool.current_size"),
+    MEMPOOL_CURRENT_BYTES("mempool.current_bytes"),
     MEMPOOL_RELAYS_SENT("mempool.relays_sent"),
     MEMPOOL_ADD_SUCCESS("mempool.add_success"),
     MEMPOOL_ADD_FAILURE("mempool.add_failure"),
+    MEMPOOL_REJECTED_STATELESS("mempool.rejected.stateless"),
+    MEMPOOL_REJECTED_STATEFUL("mempool.rejected.stateful"),
+    MEMPOOL_REJECTED_DUPLICATE("mempool.rejected.duplicate"),
+    MEMPOOL_REJECTED_FULL("mempool.rejected.full"),
+    MEMPOOL_EVICTED("mempool.evicted"),
 
     RADIX_ENGINE_INVALID_PROPOSED_COMMANDS("radix_engine.invalid_proposed_commands"),
     RADIX_ENGINE_USER_TRANSACTIONS("radix_engine.user_transactions"),
     RADIX_ENGINE_SYSTEM_TRANSACTIONS("radix_engine.system_transactions"),
+    RADIX_ENGINE_FEE_CONSTRUCTION_RETRIES("radix_engine.fee_construction_retries"),
 
     MESSAGES_INBOUND_AVG_QUEUED_TIME("messages.inbound.avg_queued_time"),
     MESSAGES_INBOUND_TOTAL_QUEUED_TIME("messages.inbound.total_queued_time"),
@@ -205,6 +252,14 @@ public interface SystemCounters {
     MESSAGES_OUTBOUND_SENT("messages.outbound.sent"),
 
     NETWORKING_TCP_DROPPED_MESSAGES("networking.tcp.dropped_messages"),
+    NETWORKING_TCP_DROPPED_CONSENSUS_MESSAGES("networking.tcp.dropped_consensus_messages"),
+    NETWORKING_TCP_DROPPED_BFT_SYNC_MESSAGES("networking.tcp.dropped_bft_sync_messages"),
+    NETWORKING_TCP_DROPPED_LEDGER_SYNC_MESSAGES("networking.tcp.dropped_ledger_sync_messages"),
+    NETWORKING_TCP_DROPPED_MEMPOOL_MESSAGES("networking.tcp.dropped_mempool_messages"),
+    NETWORKING_TCP_DROPPED_DISCOVERY_MESSAGES("networking.tcp.dropped_discovery_messages"),
+    NETWORKING_TCP_FLUSHES("networking.tcp.flushes"),
+    NETWORKING_TCP_FLUSHED_BYTES("networking.tcp.flushed_bytes"),
+    NETWORKING_TCP_NATIVE_TRANSPORT("networking.tcp.native_transport"),
     NETWORKING_BYTES_SENT("networking.bytes_sent"),
     NETWORKING_BYTES_RECEIVED("networking.bytes_received"),
     NETWORKING_P2P_ACTIVE_INBOUND_CHANNELS("networking.p2p.active_inbound_channels"),
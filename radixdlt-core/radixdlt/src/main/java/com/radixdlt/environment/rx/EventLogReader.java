@@ -0,0 +1,188 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.environment.rx;
+
+import com.radixdlt.crypto.ECPublicKey;
+import com.radixdlt.crypto.exception.PublicKeyException;
+import com.radixdlt.hotstuff.bft.BFTNode;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/** Reads {@link EventLogRecord}s written by an {@link EventLogWriter}. */
+public final class EventLogReader implements Closeable {
+  private final DataInputStream in;
+  private final List<String> eventTypes = new ArrayList<>();
+  private final List<BFTNode> origins = new ArrayList<>();
+  private long lastTimestampNanos = 0L;
+
+  public EventLogReader(InputStream in) throws IOException {
+    this.in = new DataInputStream(new BufferedInputStream(in));
+    var magic = this.in.readInt();
+    if (magic != EventLogWriter.MAGIC) {
+      throw new IOException(String.format("Not an event log, magic was %08x", magic));
+    }
+    var version = this.in.readUnsignedByte();
+    if (version != EventLogWriter.VERSION) {
+      throw new IOException("Unsupported event log version " + version);
+    }
+  }
+
+  /**
+   * Reads the next record of the log.
+   *
+   * @return the next record, or empty once the end of the log has been reached
+   * @throws IOException if the log is truncated or malformed
+   */
+  public Optional<EventLogRecord> next() throws IOException {
+    final int first = in.read();
+    if (first < 0) {
+      return Optional.empty();
+    }
+
+    var timestampNanos = lastTimestampNanos + unzigzag(readVarLong(first));
+    lastTimestampNanos = timestampNanos;
+
+    var kindOrdinal = in.readUnsignedByte();
+    if (kindOrdinal >= EventLogRecord.Kind.values().length) {
+      throw new IOException("Unknown record kind " + kindOrdinal);
+    }
+    var kind = EventLogRecord.Kind.values()[kindOrdinal];
+
+    var eventTypeIndex = readIndex(eventTypes.size());
+    if (eventTypeIndex == eventTypes.size()) {
+      eventTypes.add(in.readUTF());
+    }
+    var eventType = eventTypes.get(eventTypeIndex);
+
+    if (kind == EventLogRecord.Kind.TIMER) {
+      return Optional.of(EventLogRecord.timer(timestampNanos, eventType));
+    }
+
+    var originIndex = readIndex(origins.size());
+    if (originIndex == origins.size()) {
+      origins.add(readOrigin());
+    }
+    var origin = origins.get(originIndex);
+    return Optional.of(EventLogRecord.remote(timestampNanos, eventType, origin, readBytes()));
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  private BFTNode readOrigin() throws IOException {
+    try {
+      return BFTNode.create(ECPublicKey.fromBytes(readBytes()));
+    } catch (PublicKeyException e) {
+      throw new IOException("Invalid origin key in event log", e);
+    }
+  }
+
+  private int readIndex(int size) throws IOException {
+    var index = readVarLong(in.readUnsignedByte());
+    if (index > size) {
+      throw new IOException(String.format("Index %s out of range, %s known", index, size));
+    }
+    return (int) index;
+  }
+
+  private byte[] readBytes() throws IOException {
+    var length = readVarLong(in.readUnsignedByte());
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("Invalid payload length " + length);
+    }
+    var bytes = new byte[(int) length];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private long readVarLong(int first) throws IOException {
+    long value = first & 0x7F;
+    int b = first;
+    for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+      if (shift > 63) {
+        throw new IOException("Malformed varint");
+      }
+      b = in.read();
+      if (b < 0) {
+        throw new EOFException();
+      }
+      value |= (long) (b & 0x7F) << shift;
+    }
+    return value;
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
@@ -86,12 +86,27 @@ public final class RxEnvironment implements Environment {
   private final Map<TypeLiteral<?>, Subject<?>> typeLiteralSubjects;
   private final ScheduledExecutorService executorService;
   private final Map<Class<?>, RxRemoteDispatcher<?>> remoteDispatchers;
+  private final EventRecorder recorder;
 
   public RxEnvironment(
       Set<TypeLiteral<?>> localEventTypeLiterals,
       Set<Class<?>> localEventClasses,
       ScheduledExecutorService executorService,
       Set<RxRemoteDispatcher<?>> remoteDispatchers) {
+    this(
+        localEventTypeLiterals,
+        localEventClasses,
+        executorService,
+        remoteDispatchers,
+        EventRecorder.disabled());
+  }
+
+  public RxEnvironment(
+      Set<TypeLiteral<?>> localEventTypeLiterals,
+      Set<Class<?>> localEventClasses,
+      ScheduledExecutorService executorService,
+      Set<RxRemoteDispatcher<?>> remoteDispatchers,
+      EventRecorder recorder) {
     this.typeLiteralSubjects =
         localEventTypeLiterals.stream()
             .collect(Collectors.toMap(c -> c, c -> ReplaySubject.createWithSize(5).toSerialized()));
@@ -102,6 +117,7 @@ public final class RxEnvironment implements Environment {
     this.remoteDispatchers =
         remoteDispatchers.stream()
             .collect(Collectors.toMap(RxRemoteDispatcher::eventClass, d -> d));
+    this.recorder = Objects.requireNonNull(recorder);
   }
 
   private <T> Optional<Subject<T>> getSubject(TypeLiteral<T> t) {
@@ -128,7 +144,7 @@ public final class RxEnvironment implements Environment {
     return (e, millis) ->
         getSubject(eventClass)
             .ifPresent(
-                s -> executorService.schedule(() -> s.onNext(e), millis, TimeUnit.MILLISECONDS));
+                s -> executorService.schedule(() -> fire(s, e), millis, TimeUnit.MILLISECONDS));
   }
 
   @Override
@@ -136,7 +152,12 @@ public final class RxEnvironment implements Environment {
     return (e, millis) ->
         getSubject(typeLiteral)
             .ifPresent(
-                s -> executorService.schedule(() -> s.onNext(e), millis, TimeUnit.MILLISECONDS));
+                s -> executorService.schedule(() -> fire(s, e), millis, TimeUnit.MILLISECONDS));
+  }
+
+  private <T> void fire(Subject<T> subject, T event) {
+    recorder.timerEvent(event);
+    subject.onNext(event);
   }
 
   @Override
@@ -69,6 +69,7 @@ import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import com.google.inject.TypeLiteral;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.multibindings.OptionalBinder;
 import com.google.inject.multibindings.ProvidesIntoMap;
 import com.google.inject.multibindings.StringMapKey;
 import com.radixdlt.environment.Environment;
@@ -90,6 +91,7 @@ import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
 import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -116,6 +118,7 @@ public final class RxEnvironmentModule extends AbstractModule {
     Multibinder.newSetBinder(binder(), new TypeLiteral<EventProcessorOnRunner<?>>() {});
     Multibinder.newSetBinder(binder(), new TypeLiteral<RemoteEventProcessorOnRunner<?>>() {});
     Multibinder.newSetBinder(binder(), new TypeLiteral<ScheduledEventProducerOnRunner<?>>() {});
+    OptionalBinder.newOptionalBinder(binder(), EventRecorder.class);
   }
 
   @Provides
@@ -124,13 +127,14 @@ public final class RxEnvironmentModule extends AbstractModule {
       ScheduledExecutorService ses,
       Set<RxRemoteDispatcher<?>> dispatchers,
       @LocalEvents
-          Set<Class<?>> localProcessedEventClasses // TODO: remove, infer from ProcessorOnRunners
-      ) {
+          Set<Class<?>> localProcessedEventClasses, // TODO: remove, infer from ProcessorOnRunners
+      Optional<EventRecorder> recorder) {
     return new RxEnvironment(
         Set.of(new TypeLiteral<Epoched<ScheduledLocalTimeout>>() {}),
         localProcessedEventClasses,
         ses,
-        dispatchers);
+        dispatchers,
+        recorder.orElse(EventRecorder.disabled()));
   }
 
   @ProvidesIntoMap
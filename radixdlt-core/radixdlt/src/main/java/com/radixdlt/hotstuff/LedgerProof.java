@@ -150,6 +150,10 @@ public final class LedgerProof {
     return new DtoLedgerProof(opaque, ledgerHeader, signatures);
   }
 
+  public HashCode getOpaque() {
+    return opaque;
+  }
+
   public LedgerHeader getRaw() {
     return ledgerHeader;
   }
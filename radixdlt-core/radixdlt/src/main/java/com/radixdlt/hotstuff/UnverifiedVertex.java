@@ -183,6 +183,10 @@ public final class UnverifiedVertex {
     return qc;
   }
 
+  public UnverifiedVertex withQC(QuorumCertificate qc) {
+    return new UnverifiedVertex(qc, this.view, this.txns, this.proposer, this.proposerTimedOut);
+  }
+
   public View getView() {
     return view;
   }
@@ -67,9 +67,11 @@ package com.radixdlt.hotstuff.bft;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.UnsignedBytes;
 import com.radixdlt.crypto.ECPublicKey;
 import com.radixdlt.utils.UInt256;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Objects;
 import java.util.StringJoiner;
 import java.util.function.Function;
@@ -81,12 +83,26 @@ import java.util.stream.Stream;
  * <p>Note that this set will validate for set sizes less than 4, as long as all validators sign.
  */
 public final class BFTValidatorSet {
+  // Orders the indices by key, so that equal sets index their validators identically no matter in
+  // which order they were built
+  private static final Comparator<BFTValidator> INDEX_ORDER =
+      Comparator.comparing(
+          v -> v.getNode().getKey().getCompressedBytes(),
+          UnsignedBytes.lexicographicalComparator());
+
   private final ImmutableBiMap<BFTNode, BFTValidator> validators;
 
   // Because we will base power on tokens and because tokens have a max limit
   // of 2^256 this should never overflow
   private final transient UInt256 totalPower;
 
+  // Dense per set indices of validators, in INDEX_ORDER
+  private final transient ImmutableMap<BFTNode, Integer> indices;
+  private final transient BFTValidator[] validatorsByIndex;
+  // 128 bit powers split into high and low words, null if the total power needs more than 128 bits
+  private final transient long[] powersHigh;
+  private final transient long[] powersLow;
+
   private BFTValidatorSet(Collection<BFTValidator> validators) {
     this(validators.stream());
   }
@@ -101,6 +117,27 @@ public final class BFTValidatorSet {
             .map(BFTValidator::getPower)
             .reduce(UInt256::add)
             .orElse(UInt256.ZERO);
+
+    this.validatorsByIndex =
+        this.validators.values().stream().sorted(INDEX_ORDER).toArray(BFTValidator[]::new);
+    var indicesBuilder = ImmutableMap.<BFTNode, Integer>builder();
+    for (int i = 0; i < validatorsByIndex.length; i++) {
+      indicesBuilder.put(validatorsByIndex[i].getNode(), i);
+    }
+    this.indices = indicesBuilder.build();
+
+    if (this.totalPower.getHigh().isZero()) {
+      this.powersHigh = new long[validatorsByIndex.length];
+      this.powersLow = new long[validatorsByIndex.length];
+      for (int i = 0; i < validatorsByIndex.length; i++) {
+        var power = validatorsByIndex[i].getPower().getLow();
+        this.powersHigh[i] = power.getHigh();
+        this.powersLow[i] = power.getLow();
+      }
+    } else {
+      this.powersHigh = null;
+      this.powersLow = null;
+    }
   }
 
   /**
@@ -154,6 +191,40 @@ public final class BFTValidatorSet {
     return getPower(BFTNode.create(publicKey));
   }
 
+  /**
+   * Returns the dense index of the given node within this set, or -1 if the node is not part of
+   * the set. Indices follow the order of the validators' keys, so equal sets assign equal indices.
+   */
+  public int indexOf(BFTNode node) {
+    var index = indices.get(node);
+    return index == null ? -1 : index;
+  }
+
+  public int size() {
+    return validatorsByIndex.length;
+  }
+
+  public BFTNode nodeAt(int index) {
+    return validatorsByIndex[index].getNode();
+  }
+
+  public UInt256 powerAt(int index) {
+    return validatorsByIndex[index].getPower();
+  }
+
+  /** Whether the total power fits into 128 bits, and so the split power accessors can be used. */
+  boolean hasCompactPowers() {
+    return powersHigh != null;
+  }
+
+  long powerHighAt(int index) {
+    return powersHigh[index];
+  }
+
+  long powerLowAt(int index) {
+    return powersLow[index];
+  }
+
   public UInt256 getTotalPower() {
     return totalPower;
   }
@@ -70,20 +70,28 @@ import com.radixdlt.crypto.ECDSASignature;
 import com.radixdlt.hotstuff.TimestampedECDSASignature;
 import com.radixdlt.hotstuff.TimestampedECDSASignatures;
 import com.radixdlt.utils.UInt256;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Objects;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * Keeps track of current validation state for a thing that needs multiple correct signatures for a
  * quorum.
+ *
+ * <p>Signatures are kept by the dense index of their signer within the validator set. Signed power
+ * is accumulated as an unsigned 128 bit value in two longs, falling back to {@link UInt256} for
+ * validator sets whose total power does not fit into 128 bits.
  */
 @NotThreadSafe
 public final class ValidationState {
 
   private final BFTValidatorSet validatorSet;
-  private final Map<BFTNode, TimestampedECDSASignature> signedNodes;
+  private final TimestampedECDSASignature[] signatures;
+  private final transient BitSet signers;
+  private final transient boolean compactPowers;
+  private transient long signedPowerHigh;
+  private transient long signedPowerLow;
   private transient UInt256 signedPower;
   private final transient UInt256 threshold;
 
@@ -98,7 +106,9 @@ public final class ValidationState {
 
   private ValidationState(BFTValidatorSet validatorSet) {
     this.validatorSet = Objects.requireNonNull(validatorSet);
-    this.signedNodes = new HashMap<>();
+    this.signatures = new TimestampedECDSASignature[validatorSet.size()];
+    this.signers = new BitSet(validatorSet.size());
+    this.compactPowers = validatorSet.hasCompactPowers();
     this.signedPower = UInt256.ZERO;
     this.threshold = threshold(validatorSet.getTotalPower());
   }
@@ -109,13 +119,20 @@ public final class ValidationState {
    * @param node the node who's signature is to be removed
    */
   public void removeSignature(BFTNode node) {
-    if (this.validatorSet.containsNode(node)) {
-      this.signedNodes.computeIfPresent(
-          node,
-          (k, v) -> {
-            this.signedPower = this.signedPower.subtract(this.validatorSet.getPower(node));
-            return null;
-          });
+    var index = this.validatorSet.indexOf(node);
+    if (index < 0 || !this.signers.get(index)) {
+      return;
+    }
+
+    this.signers.clear(index);
+    this.signatures[index] = null;
+    if (compactPowers) {
+      var low = validatorSet.powerLowAt(index);
+      var borrow = Long.compareUnsigned(this.signedPowerLow, low) < 0 ? 1L : 0L;
+      this.signedPowerLow -= low;
+      this.signedPowerHigh -= validatorSet.powerHighAt(index) + borrow;
+    } else {
+      this.signedPower = this.signedPower.subtract(validatorSet.powerAt(index));
     }
   }
 
@@ -129,17 +146,22 @@ public final class ValidationState {
    * @return whether the key was added or not
    */
   public boolean addSignature(BFTNode node, long timestamp, ECDSASignature signature) {
-    if (validatorSet.containsNode(node) && !this.signedNodes.containsKey(node)) {
-      this.signedNodes.computeIfAbsent(
-          node,
-          k -> {
-            UInt256 weight = this.validatorSet.getPower(node);
-            this.signedPower = this.signedPower.add(weight);
-            return TimestampedECDSASignature.from(timestamp, signature);
-          });
-      return true;
+    var index = this.validatorSet.indexOf(node);
+    if (index < 0 || this.signers.get(index)) {
+      return false;
     }
-    return false;
+
+    this.signatures[index] = TimestampedECDSASignature.from(timestamp, signature);
+    this.signers.set(index);
+    if (compactPowers) {
+      var low = this.signedPowerLow + validatorSet.powerLowAt(index);
+      var carry = Long.compareUnsigned(low, this.signedPowerLow) < 0 ? 1L : 0L;
+      this.signedPowerLow = low;
+      this.signedPowerHigh += validatorSet.powerHighAt(index) + carry;
+    } else {
+      this.signedPower = this.signedPower.add(validatorSet.powerAt(index));
+    }
+    return true;
   }
 
   /**
@@ -148,7 +170,7 @@ public final class ValidationState {
    * @return {@code true} if we have not accumulated any signatures, {@code false} otherwise.
    */
   public boolean isEmpty() {
-    return this.signedNodes.isEmpty();
+    return this.signers.isEmpty();
   }
 
   /**
@@ -157,7 +179,16 @@ public final class ValidationState {
    * @return {@code true} if we have enough valid signatures to form a quorum,
    */
   public boolean complete() {
-    return signedPower.compareTo(threshold) >= 0;
+    if (!compactPowers) {
+      return signedPower.compareTo(threshold) >= 0;
+    }
+
+    var thresholdLow = threshold.getLow();
+    var cmp = Long.compareUnsigned(signedPowerHigh, thresholdLow.getHigh());
+    if (cmp == 0) {
+      cmp = Long.compareUnsigned(signedPowerLow, thresholdLow.getLow());
+    }
+    return cmp >= 0;
   }
 
   /**
@@ -166,7 +197,11 @@ public final class ValidationState {
    * @return an {@link ECDSASignatures} object for our current set of valid signatures
    */
   public TimestampedECDSASignatures signatures() {
-    return new TimestampedECDSASignatures(ImmutableMap.copyOf(this.signedNodes));
+    var builder = ImmutableMap.<BFTNode, TimestampedECDSASignature>builder();
+    for (int i = signers.nextSetBit(0); i >= 0; i = signers.nextSetBit(i + 1)) {
+      builder.put(validatorSet.nodeAt(i), signatures[i]);
+    }
+    return new TimestampedECDSASignatures(builder.build());
   }
 
   @VisibleForTesting
@@ -183,7 +218,7 @@ public final class ValidationState {
 
   @Override
   public int hashCode() {
-    return Objects.hash(validatorSet, signedNodes);
+    return Objects.hash(validatorSet, Arrays.hashCode(signatures));
   }
 
   @Override
@@ -194,7 +229,7 @@ public final class ValidationState {
     if (obj instanceof ValidationState) {
       ValidationState that = (ValidationState) obj;
       return Objects.equals(this.validatorSet, that.validatorSet)
-          && Objects.equals(this.signedNodes, that.signedNodes);
+          && Arrays.equals(this.signatures, that.signatures);
     }
     return false;
   }
@@ -203,6 +238,6 @@ public final class ValidationState {
   public String toString() {
     return String.format(
         "%s[validatorSet=%s, signedNodes=%s]",
-        getClass().getSimpleName(), validatorSet, signedNodes);
+        getClass().getSimpleName(), validatorSet, signatures().getSignatures());
   }
 }
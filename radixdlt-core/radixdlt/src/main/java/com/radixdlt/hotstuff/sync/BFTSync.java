@@ -87,6 +87,7 @@ import com.radixdlt.hotstuff.bft.ViewVotingResult.FormedTC;
 import com.radixdlt.hotstuff.liveness.PacemakerReducer;
 import com.radixdlt.hotstuff.safety.SafetyRules;
 import com.radixdlt.ledger.LedgerUpdate;
+import com.radixdlt.network.p2p.PeerLinkStatistics;
 import com.radixdlt.sync.messages.local.LocalSyncRequest;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -157,6 +158,9 @@ public final class BFTSync implements BFTSyncer {
       Comparator.comparing((Map.Entry<GetVerticesRequest, SyncRequestState> e) -> e.getValue().view)
           .reversed(); // Prioritise by highest view
 
+  // Number of peers a GetVerticesRequest is sent to at once, the first valid response wins
+  private static final int SYNC_REQUEST_FANOUT = 3;
+
   private static final Logger log = LogManager.getLogger();
   private final BFTNode self;
   private final VertexStore vertexStore;
@@ -170,6 +174,7 @@ public final class BFTSync implements BFTSyncer {
   private final EventDispatcher<LocalSyncRequest> localSyncRequestEventDispatcher;
   private final ScheduledEventDispatcher<VertexRequestTimeout> timeoutDispatcher;
   private final Random random;
+  private final PeerLinkStatistics peerLinkStatistics;
   private final int bftSyncPatienceMillis;
   private final SystemCounters systemCounters;
   private LedgerProof currentLedgerHeader;
@@ -193,6 +198,7 @@ public final class BFTSync implements BFTSyncer {
       ScheduledEventDispatcher<VertexRequestTimeout> timeoutDispatcher,
       LedgerProof currentLedgerHeader,
       Random random,
+      PeerLinkStatistics peerLinkStatistics,
       int bftSyncPatienceMillis,
       SystemCounters systemCounters) {
     this.self = self;
@@ -207,6 +213,7 @@ public final class BFTSync implements BFTSyncer {
     this.timeoutDispatcher = Objects.requireNonNull(timeoutDispatcher);
     this.currentLedgerHeader = Objects.requireNonNull(currentLedgerHeader);
     this.random = random;
+    this.peerLinkStatistics = Objects.requireNonNull(peerLinkStatistics);
     this.bftSyncPatienceMillis = bftSyncPatienceMillis;
     this.systemCounters = Objects.requireNonNull(systemCounters);
   }
@@ -415,7 +422,9 @@ public final class BFTSync implements BFTSyncer {
       if (this.syncRequestRateLimiter.tryAcquire()) {
         VertexRequestTimeout scheduledTimeout = VertexRequestTimeout.create(request);
         this.timeoutDispatcher.dispatch(scheduledTimeout, bftSyncPatienceMillis);
-        this.requestSender.dispatch(authors.get(0), request);
+        for (var recipient : syncRequestRecipients(authors)) {
+          this.requestSender.dispatch(recipient, request);
+        }
       } else {
         log.warn("RATE_LIMIT: Request dropped");
       }
@@ -424,6 +433,25 @@ public final class BFTSync implements BFTSyncer {
     syncRequestState.syncIds.add(syncId);
   }
 
+  /**
+   * Selects the peers to send a sync request to: the preferred author (first on the list) and a
+   * random sample of the remaining QC signers, biased towards those with the lowest round trip
+   * time.
+   */
+  private ImmutableList<BFTNode> syncRequestRecipients(ImmutableList<BFTNode> authors) {
+    if (authors.size() <= SYNC_REQUEST_FANOUT) {
+      return authors;
+    }
+
+    final var others = new ArrayList<>(authors.subList(1, authors.size()));
+    Collections.shuffle(others, random);
+    final var ranked = peerLinkStatistics.rankByLatency(others, random);
+    return ImmutableList.<BFTNode>builder()
+        .add(authors.get(0))
+        .addAll(ranked.subList(0, SYNC_REQUEST_FANOUT - 1))
+        .build();
+  }
+
   private void rebuildAndSyncQC(SyncState syncState) {
     log.debug(
         "SYNC_STATE: Rebuilding and syncing QC: sync={} curRoot={}",
@@ -555,6 +583,16 @@ public final class BFTSync implements BFTSyncer {
   }
 
   private void processGetVerticesResponse(BFTNode sender, GetVerticesResponse response) {
+    var firstVertex = response.getVertices().get(0);
+    var requestInfo = new GetVerticesRequest(firstVertex.getId(), response.getVertices().size());
+
+    if (!bftSyncing.containsKey(requestInfo)) {
+      // Requests are sent to several peers and only the first valid response is used,
+      // so there's no need to verify the rest
+      systemCounters.increment(CounterType.BFT_SYNC_REDUNDANT_RESPONSES);
+      return;
+    }
+
     final var allVerticesHaveValidQc =
         response.getVertices().stream()
             .allMatch(v -> safetyRules.verifyQcAgainstTheValidatorSet(v.getQC()));
@@ -569,8 +607,6 @@ public final class BFTSync implements BFTSyncer {
 
     log.debug("SYNC_VERTICES: Received GetVerticesResponse {}", response);
 
-    var firstVertex = response.getVertices().get(0);
-    var requestInfo = new GetVerticesRequest(firstVertex.getId(), response.getVertices().size());
     var syncRequestState = bftSyncing.remove(requestInfo);
 
     if (syncRequestState != null) {
@@ -70,18 +70,31 @@ import com.radixdlt.environment.RemoteEventDispatcher;
 import com.radixdlt.environment.RemoteEventProcessor;
 import com.radixdlt.hotstuff.bft.BFTNode;
 import com.radixdlt.hotstuff.bft.VertexStore;
+import com.radixdlt.hotstuff.bft.View;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-/** Processor of sync requests and responds with info from a VertexStore */
+/**
+ * Processor of sync requests and responds with info from a VertexStore.
+ *
+ * <p>Responses are cached for the view of the current highest QC, so that when many peers ask for
+ * the same vertices (e.g. after a network partition heals) the same response instance is sent to
+ * all of them and its encoded form can be reused by the network layer.
+ */
 public final class VertexStoreBFTSyncRequestProcessor
     implements RemoteEventProcessor<GetVerticesRequest> {
   private static final Logger log = LogManager.getLogger();
+  private static final int MAX_CACHED_RESPONSES = 64;
+
   private final VertexStore vertexStore;
   private final RemoteEventDispatcher<GetVerticesErrorResponse> errorResponseDispatcher;
   private final RemoteEventDispatcher<GetVerticesResponse> responseDispatcher;
   private final SystemCounters systemCounters;
+  private final Map<GetVerticesRequest, GetVerticesResponse> cachedResponses = new HashMap<>();
+  private View cachedResponsesView = View.genesis();
 
   @Inject
   public VertexStoreBFTSyncRequestProcessor(
@@ -101,11 +114,30 @@ public final class VertexStoreBFTSyncRequestProcessor
     systemCounters.increment(SystemCounters.CounterType.BFT_SYNC_REQUESTS_RECEIVED);
 
     log.debug("SYNC_VERTICES: Received GetVerticesRequest {}", request);
+    final var currentView = vertexStore.highQC().highestQC().getView();
+    if (!currentView.equals(cachedResponsesView)) {
+      cachedResponses.clear();
+      cachedResponsesView = currentView;
+    }
+
+    final var cachedResponse = cachedResponses.get(request);
+    if (cachedResponse != null) {
+      systemCounters.increment(SystemCounters.CounterType.BFT_SYNC_RESPONSE_CACHE_HITS);
+      log.debug("SYNC_VERTICES: Sending cached Response {}", cachedResponse);
+      this.responseDispatcher.dispatch(sender, cachedResponse);
+      return;
+    }
+
     var verticesMaybe = vertexStore.getVertices(request.getVertexId(), request.getCount());
     verticesMaybe.ifPresentOrElse(
         fetched -> {
           log.debug("SYNC_VERTICES: Sending Response {}", fetched);
-          this.responseDispatcher.dispatch(sender, new GetVerticesResponse(fetched));
+          final var response = new GetVerticesResponse(fetched);
+          if (cachedResponses.size() >= MAX_CACHED_RESPONSES) {
+            cachedResponses.clear();
+          }
+          cachedResponses.put(request, response);
+          this.responseDispatcher.dispatch(sender, response);
         },
         () -> {
           log.debug("SYNC_VERTICES: Sending error response {}", vertexStore.highQC());
@@ -68,6 +68,8 @@ import com.google.inject.AbstractModule;
 
 /** Configuration parameters for mempool. */
 public final class MempoolConfig {
+  public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
   private MempoolConfig() {
     throw new IllegalStateException("Cannot instantiate.");
   }
@@ -82,10 +84,22 @@ public final class MempoolConfig {
       long relayInitialDelay,
       long relayRepeatDelay,
       int relayMaxPeers) {
+    return asModule(
+        maxSize, DEFAULT_MAX_BYTES, throttleMs, relayInitialDelay, relayRepeatDelay, relayMaxPeers);
+  }
+
+  public static AbstractModule asModule(
+      int maxSize,
+      long maxBytes,
+      long throttleMs,
+      long relayInitialDelay,
+      long relayRepeatDelay,
+      int relayMaxPeers) {
     return new AbstractModule() {
       @Override
       protected void configure() {
         bindConstant().annotatedWith(MempoolMaxSize.class).to(maxSize);
+        bindConstant().annotatedWith(MempoolMaxBytes.class).to(maxBytes);
         bindConstant().annotatedWith(MempoolThrottleMs.class).to(throttleMs);
         bindConstant().annotatedWith(MempoolRelayInitialDelay.class).to(relayInitialDelay);
         bindConstant().annotatedWith(MempoolRelayRepeatDelay.class).to(relayRepeatDelay);
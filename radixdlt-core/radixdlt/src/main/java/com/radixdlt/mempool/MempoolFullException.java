@@ -75,6 +75,13 @@ public class MempoolFullException extends MempoolRejectedException {
     this.maxSize = maxSize;
   }
 
+  public MempoolFullException(int curSize, int maxSize, long curBytes, long maxBytes) {
+    super(
+        String.format(
+            "Mempool full: %s of %s items, %s of %s bytes", curSize, maxSize, curBytes, maxBytes));
+    this.maxSize = maxSize;
+  }
+
   public int getMaxSize() {
     return maxSize;
   }
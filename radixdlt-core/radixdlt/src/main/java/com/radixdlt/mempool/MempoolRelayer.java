@@ -72,10 +72,12 @@ import com.radixdlt.counters.SystemCounters.CounterType;
 import com.radixdlt.environment.EventProcessor;
 import com.radixdlt.environment.RemoteEventDispatcher;
 import com.radixdlt.hotstuff.bft.BFTNode;
+import com.radixdlt.network.p2p.PeerLinkStatistics;
 import com.radixdlt.network.p2p.PeersView;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Random;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 
@@ -83,6 +85,8 @@ import javax.inject.Inject;
 @Singleton
 public final class MempoolRelayer {
   private final PeersView peersView;
+  private final PeerLinkStatistics peerLinkStatistics;
+  private final Random random;
   private final RemoteEventDispatcher<MempoolAdd> remoteEventDispatcher;
   private final SystemCounters counters;
   private final Mempool<?> mempool;
@@ -95,6 +99,8 @@ public final class MempoolRelayer {
       Mempool<?> mempool,
       RemoteEventDispatcher<MempoolAdd> remoteEventDispatcher,
       PeersView peersView,
+      PeerLinkStatistics peerLinkStatistics,
+      Random random,
       @MempoolRelayInitialDelay long initialDelay,
       @MempoolRelayRepeatDelay long repeatDelay,
       @MempoolRelayMaxPeers int maxPeers,
@@ -102,6 +108,8 @@ public final class MempoolRelayer {
     this.mempool = mempool;
     this.remoteEventDispatcher = Objects.requireNonNull(remoteEventDispatcher);
     this.peersView = Objects.requireNonNull(peersView);
+    this.peerLinkStatistics = Objects.requireNonNull(peerLinkStatistics);
+    this.random = Objects.requireNonNull(random);
     this.initialDelay = initialDelay;
     this.repeatDelay = repeatDelay;
     this.maxPeers = maxPeers;
@@ -137,8 +145,8 @@ public final class MempoolRelayer {
     final var peers =
         this.peersView.peers().map(PeersView.PeerInfo::bftNode).collect(Collectors.toList());
     peers.removeAll(ignorePeers);
-    Collections.shuffle(peers);
-    peers.stream()
+    Collections.shuffle(peers, random);
+    this.peerLinkStatistics.rankByLatency(peers, random).stream()
         .limit(maxPeers)
         .forEach(
             peer -> {
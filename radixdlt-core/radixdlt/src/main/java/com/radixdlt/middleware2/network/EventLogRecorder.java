@@ -0,0 +1,197 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.middleware2.network;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.radixdlt.environment.rx.EventLogRecord;
+import com.radixdlt.environment.rx.EventLogWriter;
+import com.radixdlt.environment.rx.EventRecorder;
+import com.radixdlt.hotstuff.bft.BFTNode;
+import com.radixdlt.serialization.DsonOutput.Output;
+import com.radixdlt.serialization.Serialization;
+import com.radixdlt.utils.ThreadFactories;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Captures inbound remote events and fired timers into an event log for offline replay.
+ *
+ * <p>Dispatching threads only enqueue the event; serialization and file output happen on a
+ * dedicated writer thread. Should the writer fall behind, events are dropped rather than delaying
+ * the node. The log is flushed whenever the writer catches up, so at most the backlog of a busy
+ * second is lost when the node exits.
+ */
+public final class EventLogRecorder implements EventRecorder, Closeable {
+  private static final Logger log = LogManager.getLogger();
+  private static final int QUEUE_CAPACITY = 65_536;
+  private static final long FLUSH_INTERVAL_MS = 1_000L;
+
+  private record Entry(long timestampNanos, BFTNode origin, Object event) {}
+
+  private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+  private final RateLimiter droppedLogRateLimiter = RateLimiter.create(1.0);
+  private final AtomicLong dropped = new AtomicLong();
+  private final long startNanos = System.nanoTime();
+  private final EventLogWriter writer;
+  private final Serialization serialization;
+  private final RemoteEventCodec codec;
+  private final Thread writerThread;
+  private volatile boolean running = true;
+
+  private EventLogRecorder(
+      EventLogWriter writer, Serialization serialization, RemoteEventCodec codec) {
+    this.writer = Objects.requireNonNull(writer);
+    this.serialization = Objects.requireNonNull(serialization);
+    this.codec = Objects.requireNonNull(codec);
+    this.writerThread = ThreadFactories.daemonThreads("EventLogRecorder").newThread(this::run);
+  }
+
+  public static EventLogRecorder start(
+      Path file, Serialization serialization, RemoteEventCodec codec) throws IOException {
+    var writer = new EventLogWriter(Files.newOutputStream(file));
+    var recorder = new EventLogRecorder(writer, serialization, codec);
+    recorder.writerThread.start();
+    log.info("Recording inbound events to {}", file);
+    return recorder;
+  }
+
+  @Override
+  public void remoteEvent(BFTNode origin, Object event) {
+    enqueue(new Entry(System.nanoTime() - startNanos, origin, event));
+  }
+
+  @Override
+  public void timerEvent(Object event) {
+    enqueue(new Entry(System.nanoTime() - startNanos, null, event));
+  }
+
+  public long droppedCount() {
+    return dropped.get();
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    try {
+      writerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void enqueue(Entry entry) {
+    if (running && !queue.offer(entry)) {
+      var total = dropped.incrementAndGet();
+      if (droppedLogRateLimiter.tryAcquire()) {
+        log.warn("Event log writer is falling behind, {} events dropped so far", total);
+      }
+    }
+  }
+
+  private void run() {
+    try (writer) {
+      while (running || !queue.isEmpty()) {
+        var entry = queue.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (entry != null) {
+          write(entry);
+        }
+        if (queue.isEmpty()) {
+          writer.flush();
+        }
+      }
+    } catch (IOException e) {
+      log.error("Failed to write event log, recording stopped", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      running = false;
+    }
+  }
+
+  private void write(Entry entry) throws IOException {
+    var eventType = entry.event().getClass().getSimpleName();
+    if (entry.origin() == null) {
+      writer.write(EventLogRecord.timer(entry.timestampNanos(), eventType));
+      return;
+    }
+
+    // Peer management events are not relevant to replaying consensus and are not captured
+    var message = codec.toMessage(entry.event());
+    if (message.isPresent()) {
+      var payload = serialization.toDson(message.get(), Output.WIRE);
+      writer.write(
+          EventLogRecord.remote(entry.timestampNanos(), eventType, entry.origin(), payload));
+    }
+  }
+}
@@ -92,6 +92,12 @@ public final class GetVerticesResponseMessage extends Message {
     return vertices;
   }
 
+  @Override
+  protected boolean retainWireEncoding() {
+    // the same response is sent to every peer asking for these vertices
+    return true;
+  }
+
   @Override
   public String toString() {
     return String.format("%s[%s]", getClass().getSimpleName(), vertices);
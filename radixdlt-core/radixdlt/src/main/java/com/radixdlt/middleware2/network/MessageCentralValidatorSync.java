@@ -64,6 +64,8 @@
 
 package com.radixdlt.middleware2.network;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
 import com.radixdlt.crypto.Hasher;
@@ -78,14 +80,25 @@ import com.radixdlt.network.messaging.MessageCentral;
 import com.radixdlt.network.p2p.NodeId;
 import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Flowable;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.function.BiFunction;
 import org.radix.network.messaging.Message;
 
 /** Network interface for syncing vertices using the MessageCentral */
 public class MessageCentralValidatorSync {
+  // Bounded well below the messaging TTL, as a reused message keeps its original timestamp
+  private static final Duration RESPONSE_MESSAGE_REUSE_PERIOD = Duration.ofSeconds(5);
+
   private final MessageCentral messageCentral;
   private final Hasher hasher;
+  // Keyed by identity, responses served from the sync request processor's cache map to the
+  // same message and are only serialized once
+  private final Cache<GetVerticesResponse, GetVerticesResponseMessage> responseMessages =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .expireAfterWrite(RESPONSE_MESSAGE_REUSE_PERIOD)
+          .build();
 
   @Inject
   public MessageCentralValidatorSync(MessageCentral messageCentral, Hasher hasher) {
@@ -112,11 +125,15 @@ public class MessageCentralValidatorSync {
   }
 
   private void sendGetVerticesResponse(BFTNode node, GetVerticesResponse response) {
-    var rawVertices = response.getVertices().stream().map(VerifiedVertex::toSerializable).toList();
-    var msg = new GetVerticesResponseMessage(rawVertices);
+    var msg = responseMessages.asMap().computeIfAbsent(response, this::toResponseMessage);
     this.messageCentral.send(NodeId.fromPublicKey(node.getKey()), msg);
   }
 
+  private GetVerticesResponseMessage toResponseMessage(GetVerticesResponse response) {
+    var rawVertices = response.getVertices().stream().map(VerifiedVertex::toSerializable).toList();
+    return new GetVerticesResponseMessage(rawVertices);
+  }
+
   public void sendGetVerticesErrorResponse(BFTNode node, GetVerticesErrorResponse response) {
     var request = response.request();
     var requestMsg = new GetVerticesRequestMessage(request.getVertexId(), request.getCount());
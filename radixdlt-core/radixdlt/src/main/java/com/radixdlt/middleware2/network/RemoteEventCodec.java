@@ -0,0 +1,168 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.middleware2.network;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Inject;
+import com.radixdlt.crypto.Hasher;
+import com.radixdlt.hotstuff.Proposal;
+import com.radixdlt.hotstuff.Vote;
+import com.radixdlt.hotstuff.bft.VerifiedVertex;
+import com.radixdlt.hotstuff.sync.GetVerticesErrorResponse;
+import com.radixdlt.hotstuff.sync.GetVerticesRequest;
+import com.radixdlt.hotstuff.sync.GetVerticesResponse;
+import com.radixdlt.mempool.MempoolAdd;
+import com.radixdlt.sync.messages.remote.LedgerStatusUpdate;
+import com.radixdlt.sync.messages.remote.StatusRequest;
+import com.radixdlt.sync.messages.remote.StatusResponse;
+import com.radixdlt.sync.messages.remote.SyncRequest;
+import com.radixdlt.sync.messages.remote.SyncResponse;
+import java.util.Objects;
+import java.util.Optional;
+import org.radix.network.messaging.Message;
+
+/**
+ * Converts consensus, vertex sync, ledger sync and mempool remote events to and from the wire
+ * messages they arrive in, mirroring the conversions of the {@code MessageCentral*} classes. Used
+ * to persist remote events, which are not serializable themselves.
+ */
+public final class RemoteEventCodec {
+  private final Hasher hasher;
+
+  @Inject
+  public RemoteEventCodec(Hasher hasher) {
+    this.hasher = Objects.requireNonNull(hasher);
+  }
+
+  public Optional<Message> toMessage(Object event) {
+    if (event instanceof Proposal proposal) {
+      return Optional.of(new ConsensusEventMessage(proposal));
+    } else if (event instanceof Vote vote) {
+      return Optional.of(new ConsensusEventMessage(vote));
+    } else if (event instanceof GetVerticesRequest request) {
+      return Optional.of(requestMessage(request));
+    } else if (event instanceof GetVerticesResponse response) {
+      var rawVertices =
+          response.getVertices().stream().map(VerifiedVertex::toSerializable).toList();
+      return Optional.of(new GetVerticesResponseMessage(rawVertices));
+    } else if (event instanceof GetVerticesErrorResponse response) {
+      var request = requestMessage(response.request());
+      return Optional.of(new GetVerticesErrorResponseMessage(response.highQC(), request));
+    } else if (event instanceof SyncRequest request) {
+      return Optional.of(new SyncRequestMessage(request.getHeader()));
+    } else if (event instanceof SyncResponse response) {
+      return Optional.of(new SyncResponseMessage(response.getTxnsAndProof()));
+    } else if (event instanceof StatusRequest) {
+      return Optional.of(new StatusRequestMessage());
+    } else if (event instanceof StatusResponse response) {
+      return Optional.of(new StatusResponseMessage(response.getHeader()));
+    } else if (event instanceof LedgerStatusUpdate update) {
+      return Optional.of(new LedgerStatusUpdateMessage(update.getHeader()));
+    } else if (event instanceof MempoolAdd mempoolAdd) {
+      return Optional.of(MempoolAddMessage.from(mempoolAdd.txns()));
+    } else {
+      return Optional.empty();
+    }
+  }
+
+  public Optional<Object> fromMessage(Message message) {
+    if (message instanceof ConsensusEventMessage consensusEvent) {
+      return Optional.of(consensusEvent.getConsensusMessage());
+    } else if (message instanceof GetVerticesRequestMessage request) {
+      return Optional.of(request(request));
+    } else if (message instanceof GetVerticesResponseMessage response) {
+      var hashedVertices =
+          response.getVertices().stream()
+              .map(v -> new VerifiedVertex(v, hasher.hash(v)))
+              .collect(ImmutableList.toImmutableList());
+      return Optional.of(new GetVerticesResponse(hashedVertices));
+    } else if (message instanceof GetVerticesErrorResponseMessage response) {
+      var request = request(response.request());
+      return Optional.of(new GetVerticesErrorResponse(response.highQC(), request));
+    } else if (message instanceof SyncRequestMessage request) {
+      return Optional.of(SyncRequest.create(request.getCurrentHeader()));
+    } else if (message instanceof SyncResponseMessage response) {
+      return Optional.of(SyncResponse.create(response.getCommands()));
+    } else if (message instanceof StatusRequestMessage) {
+      return Optional.of(StatusRequest.create());
+    } else if (message instanceof StatusResponseMessage response) {
+      return Optional.of(StatusResponse.create(response.getHeader()));
+    } else if (message instanceof LedgerStatusUpdateMessage update) {
+      return Optional.of(LedgerStatusUpdate.create(update.getHeader()));
+    } else if (message instanceof MempoolAddMessage mempoolAdd) {
+      return Optional.of(MempoolAdd.create(mempoolAdd.getTxns()));
+    } else {
+      return Optional.empty();
+    }
+  }
+
+  private static GetVerticesRequestMessage requestMessage(GetVerticesRequest request) {
+    return new GetVerticesRequestMessage(request.getVertexId(), request.getCount());
+  }
+
+  private static GetVerticesRequest request(GetVerticesRequestMessage message) {
+    return new GetVerticesRequest(message.getVertexId(), message.getCount());
+  }
+}
@@ -114,6 +114,7 @@ import com.radixdlt.hotstuff.sync.GetVerticesRequest;
 import com.radixdlt.hotstuff.sync.VertexRequestTimeout;
 import com.radixdlt.hotstuff.sync.VertexStoreBFTSyncRequestProcessor;
 import com.radixdlt.middleware2.network.GetVerticesRequestRateLimit;
+import com.radixdlt.network.p2p.PeerLinkStatistics;
 import com.radixdlt.store.LastProof;
 import com.radixdlt.sync.messages.local.LocalSyncRequest;
 import com.radixdlt.utils.TimeSupplier;
@@ -255,6 +256,7 @@ public final class ConsensusModule extends AbstractModule {
       ScheduledEventDispatcher<VertexRequestTimeout> timeoutDispatcher,
       @LastProof LedgerProof ledgerLastProof, // Use this instead of configuration.getRoot()
       Random random,
+      PeerLinkStatistics peerLinkStatistics,
       @BFTSyncPatienceMillis int bftSyncPatienceMillis,
       Hasher hasher,
       SafetyRules safetyRules,
@@ -272,6 +274,7 @@ public final class ConsensusModule extends AbstractModule {
         timeoutDispatcher,
         ledgerLastProof,
         random,
+        peerLinkStatistics,
         bftSyncPatienceMillis,
         counters);
   }
@@ -121,6 +121,7 @@ import com.radixdlt.hotstuff.sync.VertexRequestTimeout;
 import com.radixdlt.hotstuff.sync.VertexStoreBFTSyncRequestProcessor;
 import com.radixdlt.ledger.LedgerUpdate;
 import com.radixdlt.middleware2.network.GetVerticesRequestRateLimit;
+import com.radixdlt.network.p2p.PeerLinkStatistics;
 import com.radixdlt.statecomputer.forks.CurrentForkView;
 import com.radixdlt.store.LastEpochProof;
 import com.radixdlt.sync.messages.local.LocalSyncRequest;
@@ -336,6 +337,7 @@ public class EpochsConsensusModule extends AbstractModule {
       EventDispatcher<LocalSyncRequest> syncLedgerRequestSender,
       ScheduledEventDispatcher<VertexRequestTimeout> timeoutDispatcher,
       Random random,
+      PeerLinkStatistics peerLinkStatistics,
       @BFTSyncPatienceMillis int bftSyncPatienceMillis,
       SystemCounters counters,
       Hasher hasher) {
@@ -353,6 +355,7 @@ public class EpochsConsensusModule extends AbstractModule {
             timeoutDispatcher,
             configuration.getVertexStoreState().getRootHeader(),
             random,
+            peerLinkStatistics,
             bftSyncPatienceMillis,
             counters);
   }
@@ -82,6 +82,7 @@ import com.radixdlt.epochs.LocalSyncServiceFactory;
 import com.radixdlt.ledger.AccumulatorState;
 import com.radixdlt.ledger.LedgerAccumulatorVerifier;
 import com.radixdlt.ledger.LedgerUpdate;
+import com.radixdlt.network.p2p.PeerLinkStatistics;
 import com.radixdlt.network.p2p.PeersView;
 import com.radixdlt.sync.LocalSyncService.InvalidSyncResponseHandler;
 import com.radixdlt.sync.LocalSyncService.VerifiedSyncResponseHandler;
@@ -99,7 +100,9 @@ import com.radixdlt.sync.messages.remote.StatusResponse;
 import com.radixdlt.sync.messages.remote.SyncRequest;
 import com.radixdlt.sync.messages.remote.SyncResponse;
 import com.radixdlt.sync.validation.RemoteSyncResponseSignaturesVerifier;
+import com.radixdlt.utils.TimeSupplier;
 import java.util.Comparator;
+import java.util.Random;
 
 /** Epoch+Sync extension */
 public class EpochsSyncModule extends AbstractModule {
@@ -215,6 +218,9 @@ public class EpochsSyncModule extends AbstractModule {
       SyncConfig syncConfig,
       SystemCounters systemCounters,
       PeersView peersView,
+      PeerLinkStatistics peerLinkStatistics,
+      TimeSupplier timeSupplier,
+      Random random,
       Comparator<AccumulatorState> accComparator,
       RemoteSyncResponseSignaturesVerifier signaturesVerifier,
       LedgerAccumulatorVerifier accumulatorVerifier,
@@ -230,6 +236,9 @@ public class EpochsSyncModule extends AbstractModule {
             syncConfig,
             systemCounters,
             peersView,
+            peerLinkStatistics,
+            timeSupplier,
+            random,
             accComparator,
             remoteSyncResponseValidatorSetVerifier,
             signaturesVerifier,
@@ -0,0 +1,201 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.network.messaging;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.radixdlt.api.system.health.MovingAverage;
+import com.radixdlt.network.p2p.NodeId;
+import com.radixdlt.utils.ThreadFactories;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Worker threads that decode inbound messages. Each message is assigned to a shard by its source,
+ * so messages from a single peer are decoded in order, while messages from different peers are
+ * decoded in parallel. Queue and decode times are tracked per shard.
+ */
+@Singleton
+public final class InboundDecodingShards {
+  private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60L;
+
+  private final List<Shard> shards;
+
+  @Inject
+  public InboundDecodingShards(MessageCentralConfiguration config) {
+    this(config.messagingInboundDecoderThreads(Runtime.getRuntime().availableProcessors()));
+  }
+
+  InboundDecodingShards(int shardCount) {
+    this.shards = IntStream.range(0, Math.max(1, shardCount)).mapToObj(Shard::new).toList();
+  }
+
+  public List<Shard> shards() {
+    return shards;
+  }
+
+  int count() {
+    return shards.size();
+  }
+
+  int shardOf(NodeId source) {
+    return Math.floorMod(source.hashCode(), shards.size());
+  }
+
+  Shard shard(int index) {
+    return shards.get(index);
+  }
+
+  /** Average time messages spent queued before being decoded, averaged over the shards. */
+  long avgQueuedTime() {
+    return (long) shards.stream().mapToLong(Shard::avgQueuedTime).average().orElse(0.0);
+  }
+
+  long totalQueuedTime() {
+    return shards.stream().mapToLong(Shard::totalQueuedTime).sum();
+  }
+
+  /** Average time it took to decode a message, averaged over the shards. */
+  long avgDecodeTime() {
+    return (long) shards.stream().mapToLong(Shard::avgDecodeTime).average().orElse(0.0);
+  }
+
+  long totalDecodeTime() {
+    return shards.stream().mapToLong(Shard::totalDecodeTime).sum();
+  }
+
+  /**
+   * A single decoding thread, which is stopped while the shard is idle. The statistics are only
+   * updated from the shard's own thread, and published through volatile fields for readers on other
+   * threads. Times are in milliseconds.
+   */
+  public static final class Shard {
+    private final int index;
+    private final Scheduler scheduler;
+    private final MovingAverage queuedTimeAverage = MovingAverage.create(5L);
+    private final MovingAverage decodeTimeAverage = MovingAverage.create(5L);
+
+    private volatile long avgQueuedTime;
+    private volatile long totalQueuedTime;
+    private volatile long avgDecodeTime;
+    private volatile long totalDecodeTime;
+    private volatile long decodedMessages;
+
+    private Shard(int index) {
+      this.index = index;
+      final var executor =
+          new ThreadPoolExecutor(
+              1,
+              1,
+              IDLE_THREAD_TIMEOUT_SECONDS,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              ThreadFactories.daemonThreads("InboundDecoder-" + index + "-%d"));
+      executor.allowCoreThreadTimeOut(true);
+      this.scheduler = Schedulers.from(executor);
+    }
+
+    Scheduler scheduler() {
+      return scheduler;
+    }
+
+    void record(long queuedTime, long decodeTime) {
+      this.avgQueuedTime = queuedTimeAverage.update(queuedTime).asLong();
+      this.totalQueuedTime = Math.max(this.totalQueuedTime + queuedTime, 0L);
+      this.avgDecodeTime = decodeTimeAverage.update(decodeTime).asLong();
+      this.totalDecodeTime = Math.max(this.totalDecodeTime + decodeTime, 0L);
+      this.decodedMessages = this.decodedMessages + 1;
+    }
+
+    public int index() {
+      return index;
+    }
+
+    public long avgQueuedTime() {
+      return avgQueuedTime;
+    }
+
+    public long totalQueuedTime() {
+      return totalQueuedTime;
+    }
+
+    public long avgDecodeTime() {
+      return avgDecodeTime;
+    }
+
+    public long totalDecodeTime() {
+      return totalDecodeTime;
+    }
+
+    public long decodedMessages() {
+      return decodedMessages;
+    }
+  }
+}
@@ -96,6 +96,15 @@ public interface MessageCentralConfiguration {
    */
   long messagingTimeToLive(long defaultValue);
 
+  /**
+   * Retrieves the number of threads that decode inbound messages. Messages from a single peer are
+   * always decoded by the same thread.
+   *
+   * @param defaultValue a default value if no special configuration value is set
+   * @return The number of inbound decoding threads
+   */
+  int messagingInboundDecoderThreads(int defaultValue);
+
   /**
    * Create a configuration from specified {@link RuntimeProperties}.
    *
@@ -118,6 +127,11 @@ public interface MessageCentralConfiguration {
       public long messagingTimeToLive(long defaultValue) {
         return properties.get("messaging.time_to_live", defaultValue);
       }
+
+      @Override
+      public int messagingInboundDecoderThreads(int defaultValue) {
+        return properties.get("messaging.inbound.decoder_threads", defaultValue);
+      }
     };
   }
 }
@@ -68,7 +68,6 @@ import com.google.common.base.Stopwatch;
 import com.google.common.util.concurrent.RateLimiter;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
-import com.radixdlt.api.system.health.MovingAverage;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.counters.SystemCounters.CounterType;
 import com.radixdlt.network.p2p.NodeId;
@@ -78,7 +77,6 @@ import com.radixdlt.networks.Addressing;
 import com.radixdlt.serialization.Serialization;
 import com.radixdlt.utils.TimeSupplier;
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -105,10 +103,7 @@ public final class MessageCentralImpl implements MessageCentral {
   private final RateLimiter outboundLogRateLimiter = RateLimiter.create(1.0);
   private final RateLimiter discardedInboundMessagesLogRateLimiter = RateLimiter.create(1.0);
 
-  private final MovingAverage avgMessageQueuedTime = MovingAverage.create(5L);
-  private final MovingAverage avgMessageProcessingTime = MovingAverage.create(5L);
-  private long totalMessageQueuedTime = 0L;
-  private long totalMessageProcessingTime = 0L;
+  private final InboundDecodingShards decodingShards;
 
   private final Observable<MessageFromPeer<Message>> peerMessages;
 
@@ -125,8 +120,10 @@ public final class MessageCentralImpl implements MessageCentral {
       EventQueueFactory<OutboundMessageEvent> outboundEventQueueFactory,
       SystemCounters counters,
       Provider<PeerControl> peerControl,
-      Addressing addressing) {
+      Addressing addressing,
+      InboundDecodingShards decodingShards) {
     this.counters = Objects.requireNonNull(counters);
+    this.decodingShards = Objects.requireNonNull(decodingShards);
     this.outboundQueue =
         outboundEventQueueFactory.createEventQueue(
             config.messagingOutboundQueueMax(16384), OutboundMessageEvent.comparator());
@@ -151,22 +148,29 @@ public final class MessageCentralImpl implements MessageCentral {
             log);
     this.outboundThreadPool.start();
 
+    // Messages are decoded in parallel across the shards, but in order for any given peer
     this.peerMessages =
         peerManager
             .messages()
-            .observeOn(Schedulers.computation())
-            .map(this::processInboundMessage)
+            .groupBy(message -> decodingShards.shardOf(message.source()))
+            .flatMap(
+                messages -> {
+                  final var shard = decodingShards.shard(messages.getKey());
+                  return messages
+                      .observeOn(shard.scheduler())
+                      .map(message -> processInboundMessage(shard, message));
+                },
+                decodingShards.count())
             .filter(Optional::isPresent)
             .map(Optional::get)
+            .toObservable()
             .publish()
             .autoConnect();
   }
 
-  private Optional<MessageFromPeer<Message>> processInboundMessage(InboundMessage inboundMessage) {
+  private Optional<MessageFromPeer<Message>> processInboundMessage(
+      InboundDecodingShards.Shard shard, InboundMessage inboundMessage) {
     final var messageQueuedTime = Time.currentTimestamp() - inboundMessage.receiveTime();
-    avgMessageQueuedTime.update(messageQueuedTime);
-    totalMessageQueuedTime = Math.max(totalMessageQueuedTime + messageQueuedTime, 0L);
-    updateCounters();
     final var processingStopwatch = Stopwatch.createStarted();
     try {
       return this.messagePreprocessor
@@ -183,7 +187,7 @@ public final class MessageCentralImpl implements MessageCentral {
                 return Optional.empty();
               },
               messageFromPeer -> {
-                logPreprocessedMessageAndUpdateCounters(messageFromPeer, processingStopwatch);
+                logPreprocessedMessage(messageFromPeer);
                 return Optional.of(messageFromPeer);
               });
     } catch (Exception ex) {
@@ -191,27 +195,26 @@ public final class MessageCentralImpl implements MessageCentral {
           String.format("Message preprocessing from %s failed", inboundMessage.source());
       log.error(msg, ex);
       return Optional.empty();
+    } finally {
+      shard.record(messageQueuedTime, processingStopwatch.elapsed(TimeUnit.MILLISECONDS));
+      updateCounters();
     }
   }
 
-  private <T> void logPreprocessedMessageAndUpdateCounters(
-      MessageFromPeer<T> message, Stopwatch processingStopwatch) {
-    final var messageProcessingTime = processingStopwatch.elapsed(TimeUnit.MILLISECONDS);
-    avgMessageProcessingTime.update(messageProcessingTime);
-    totalMessageProcessingTime = Math.max(totalMessageProcessingTime + messageProcessingTime, 0L);
-    updateCounters();
+  private <T> void logPreprocessedMessage(MessageFromPeer<T> message) {
     if (log.isTraceEnabled()) {
       log.trace("Received from {}: {}", message.getSource(), message.getMessage());
     }
   }
 
   private void updateCounters() {
-    this.counters.set(CounterType.MESSAGES_INBOUND_AVG_QUEUED_TIME, avgMessageQueuedTime.asLong());
-    this.counters.set(CounterType.MESSAGES_INBOUND_TOTAL_QUEUED_TIME, totalMessageQueuedTime);
+    this.counters.set(CounterType.MESSAGES_INBOUND_AVG_QUEUED_TIME, decodingShards.avgQueuedTime());
     this.counters.set(
-        CounterType.MESSAGES_INBOUND_AVG_PROCESSING_TIME, avgMessageProcessingTime.asLong());
+        CounterType.MESSAGES_INBOUND_TOTAL_QUEUED_TIME, decodingShards.totalQueuedTime());
     this.counters.set(
-        CounterType.MESSAGES_INBOUND_TOTAL_PROCESSING_TIME, totalMessageProcessingTime);
+        CounterType.MESSAGES_INBOUND_AVG_PROCESSING_TIME, decodingShards.avgDecodeTime());
+    this.counters.set(
+        CounterType.MESSAGES_INBOUND_TOTAL_PROCESSING_TIME, decodingShards.totalDecodeTime());
   }
 
   @Override
@@ -69,22 +69,27 @@ import static com.radixdlt.network.messaging.MessagingErrors.MESSAGE_EXPIRED;
 
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.middleware2.network.ConsensusEventMessage;
+import com.radixdlt.middleware2.network.GetVerticesErrorResponseMessage;
+import com.radixdlt.middleware2.network.GetVerticesRequestMessage;
+import com.radixdlt.middleware2.network.GetVerticesResponseMessage;
 import com.radixdlt.network.p2p.NodeId;
 import com.radixdlt.network.p2p.PeerManager;
 import com.radixdlt.network.p2p.transport.PeerChannel;
 import com.radixdlt.networks.Addressing;
-import com.radixdlt.serialization.DsonOutput.Output;
 import com.radixdlt.serialization.Serialization;
-import com.radixdlt.utils.Compress;
 import com.radixdlt.utils.TimeSupplier;
 import com.radixdlt.utils.functional.Result;
 import com.radixdlt.utils.functional.Tuple.Unit;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.radix.network.messages.PeerPingMessage;
+import org.radix.network.messages.PeerPongMessage;
 import org.radix.network.messaging.Message;
 
 /*
@@ -95,6 +100,19 @@ import org.radix.network.messaging.Message;
 class MessageDispatcher {
   private static final Logger log = LogManager.getLogger();
 
+  /**
+   * Messages that are flushed to the socket immediately. Everything else can be coalesced with
+   * other outbound messages to the same peer.
+   */
+  private static final Set<Class<? extends Message>> LATENCY_SENSITIVE_MESSAGES =
+      Set.of(
+          ConsensusEventMessage.class,
+          GetVerticesRequestMessage.class,
+          GetVerticesResponseMessage.class,
+          GetVerticesErrorResponseMessage.class,
+          PeerPingMessage.class,
+          PeerPongMessage.class);
+
   private final long messageTtlMs;
   private final SystemCounters counters;
   private final Serialization serialization;
@@ -133,17 +151,18 @@ class MessageDispatcher {
     }
 
     final var bytes = serialize(message);
+    final var latencySensitive = LATENCY_SENSITIVE_MESSAGES.contains(message.getClass());
 
     return peerManager
         .findOrCreateChannel(outboundMessage.receiver())
-        .thenApply(channel -> send(channel, bytes))
+        .thenApply(channel -> send(channel, bytes, latencySensitive))
         .thenApply(this::updateStatistics)
         .exceptionally(t -> completionException(t, receiver, message));
   }
 
-  private Result<Unit> send(PeerChannel channel, byte[] bytes) {
+  private Result<Unit> send(PeerChannel channel, byte[] bytes, boolean latencySensitive) {
     this.counters.add(CounterType.NETWORKING_BYTES_SENT, bytes.length);
-    return channel.send(bytes);
+    return channel.send(bytes, latencySensitive);
   }
 
   private Result<Unit> completionException(Throwable cause, NodeId receiver, Message message) {
@@ -165,8 +184,7 @@ class MessageDispatcher {
 
   private byte[] serialize(Message out) {
     try {
-      byte[] uncompressed = serialization.toDson(out, Output.WIRE);
-      return Compress.compress(uncompressed);
+      return out.toCompressedWireBytes(serialization);
     } catch (IOException e) {
       throw new UncheckedIOException("While serializing message", e);
     }
@@ -69,7 +69,9 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Scopes;
 import com.google.inject.Singleton;
+import com.google.inject.multibindings.OptionalBinder;
 import com.google.inject.multibindings.ProvidesIntoSet;
+import com.radixdlt.environment.rx.EventRecorder;
 import com.radixdlt.environment.rx.RemoteEvent;
 import com.radixdlt.environment.rx.RxRemoteDispatcher;
 import com.radixdlt.environment.rx.RxRemoteEnvironment;
@@ -96,6 +98,7 @@ import com.radixdlt.sync.messages.remote.StatusResponse;
 import com.radixdlt.sync.messages.remote.SyncRequest;
 import com.radixdlt.sync.messages.remote.SyncResponse;
 import io.reactivex.rxjava3.core.Flowable;
+import java.util.Optional;
 
 /** Network related module */
 public final class MessagingModule extends AbstractModule {
@@ -114,6 +117,8 @@ public final class MessagingModule extends AbstractModule {
 
     // Network BFT messages
     bind(MessageCentralBFTNetwork.class).in(Scopes.SINGLETON);
+
+    OptionalBinder.newOptionalBinder(binder(), EventRecorder.class);
   }
 
   @ProvidesIntoSet
@@ -215,11 +220,44 @@ public final class MessagingModule extends AbstractModule {
         LedgerStatusUpdate.class, messageCentralLedgerSync.ledgerStatusUpdateDispatcher());
   }
 
-  // TODO: Clean this up
   @Provides
   @Singleton
-  @SuppressWarnings("unchecked")
   RxRemoteEnvironment rxRemoteEnvironment(
+      MessageCentralMempool messageCentralMempool,
+      MessageCentralLedgerSync messageCentralLedgerSync,
+      MessageCentralBFTNetwork messageCentralBFT,
+      MessageCentralValidatorSync messageCentralBFTSync,
+      MessageCentralPeerLiveness messageCentralPeerLiveness,
+      MessageCentralPeerDiscovery messageCentralPeerDiscovery,
+      Optional<EventRecorder> recorder) {
+    final var remoteEnvironment =
+        messageCentralRemoteEnvironment(
+            messageCentralMempool,
+            messageCentralLedgerSync,
+            messageCentralBFT,
+            messageCentralBFTSync,
+            messageCentralPeerLiveness,
+            messageCentralPeerDiscovery);
+    return recorder
+        .<RxRemoteEnvironment>map(r -> recordingRemoteEnvironment(remoteEnvironment, r))
+        .orElse(remoteEnvironment);
+  }
+
+  private static RxRemoteEnvironment recordingRemoteEnvironment(
+      RxRemoteEnvironment remoteEnvironment, EventRecorder recorder) {
+    return new RxRemoteEnvironment() {
+      @Override
+      public <T> Flowable<RemoteEvent<T>> remoteEvents(Class<T> remoteEventClass) {
+        return remoteEnvironment
+            .remoteEvents(remoteEventClass)
+            .doOnNext(e -> recorder.remoteEvent(e.getOrigin(), e.getEvent()));
+      }
+    };
+  }
+
+  // TODO: Clean this up
+  @SuppressWarnings("unchecked")
+  private static RxRemoteEnvironment messageCentralRemoteEnvironment(
       MessageCentralMempool messageCentralMempool,
       MessageCentralLedgerSync messageCentralLedgerSync,
       MessageCentralBFTNetwork messageCentralBFT,
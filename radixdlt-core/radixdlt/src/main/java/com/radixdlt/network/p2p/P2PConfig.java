@@ -124,6 +124,18 @@ public interface P2PConfig {
    */
   long pingTimeout();
 
+  /**
+   * Specifies whether the Linux native (epoll) transport should be used when available. The NIO
+   * transport is used otherwise.
+   */
+  boolean useNativeTransport();
+
+  /**
+   * The number of unflushed bytes after which the outbound data of a channel is flushed to the
+   * socket, regardless of whether there are more writes pending. Zero disables write coalescing.
+   */
+  int writeCoalescingMaxBytes();
+
   /**
    * Create a configuration from specified {@link RuntimeProperties}.
    *
@@ -199,6 +211,16 @@ public interface P2PConfig {
       public long pingTimeout() {
         return properties.get("network.p2p.ping_timeout", 5000);
       }
+
+      @Override
+      public boolean useNativeTransport() {
+        return properties.get("network.p2p.use_native_transport", true);
+      }
+
+      @Override
+      public int writeCoalescingMaxBytes() {
+        return properties.get("network.p2p.write_coalescing_max_bytes", 65536);
+      }
     };
   }
 }
@@ -0,0 +1,219 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+package com.radixdlt.network.p2p;
+
+import com.google.inject.Singleton;
+import com.radixdlt.hotstuff.bft.BFTNode;
+import com.radixdlt.network.p2p.PeersView.PeerLinkInfo;
+import com.radixdlt.utils.RTTStatistics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+
+/**
+ * Keeps a running round trip time and bandwidth estimate for every peer, fed by liveness pings and
+ * sync round trips, and uses it to order peers so that relay and sync prefer the closest ones.
+ */
+@Singleton
+public final class PeerLinkStatistics {
+  // Gains used by TCP for its smoothed RTT and RTT variation estimators (RFC 6298)
+  private static final double RTT_ALPHA = 0.125;
+  private static final double RTT_BETA = 0.25;
+  private static final double BANDWIDTH_ALPHA = 0.25;
+
+  // A peer's score is its smoothed RTT stretched by a random factor in [1, 1 + JITTER), so that a
+  // peer within roughly twice the RTT of the best one still gets picked some of the time
+  private static final double JITTER = 1.0;
+
+  private final Map<NodeId, Link> links = new ConcurrentHashMap<>();
+
+  @Inject
+  public PeerLinkStatistics() {
+    // Nothing to do here
+  }
+
+  /**
+   * Records the time (in milliseconds, as measured by the node's {@code TimeSupplier}) between
+   * sending a small request to a peer and receiving its reply.
+   */
+  public void recordRoundTrip(NodeId nodeId, long elapsedMillis) {
+    this.links.computeIfAbsent(nodeId, unused -> new Link()).roundTrip(toMicros(elapsedMillis));
+  }
+
+  /** Records the time (in milliseconds) it took a peer to serve a bulk response of given size. */
+  public void recordTransfer(NodeId nodeId, long elapsedMillis, long bytes) {
+    if (bytes <= 0) {
+      return;
+    }
+    this.links
+        .computeIfAbsent(nodeId, unused -> new Link())
+        .transfer(toMicros(elapsedMillis), bytes);
+  }
+
+  /** Drops everything known about a peer, e.g. once it has been found unresponsive. */
+  public void forget(NodeId nodeId) {
+    this.links.remove(nodeId);
+  }
+
+  public Optional<PeerLinkInfo> linkInfo(NodeId nodeId) {
+    return Optional.ofNullable(this.links.get(nodeId)).flatMap(Link::info);
+  }
+
+  /**
+   * Orders the given peers by their smoothed round trip time, each one stretched by a random
+   * factor so that selection favours close peers without always picking the same ones. Peers with
+   * no samples are ranked as if they had the median RTT of the measured ones. If nothing has been
+   * measured the input order is returned unchanged, so callers should shuffle beforehand wherever
+   * they want a random pick.
+   */
+  public List<BFTNode> rankByLatency(Collection<BFTNode> peers, Random random) {
+    final var ranked = new ArrayList<>(peers);
+    final var rtts = new HashMap<BFTNode, Double>();
+    for (var peer : ranked) {
+      final var link = this.links.get(NodeId.fromPublicKey(peer.getKey()));
+      if (link != null) {
+        link.smoothedRtt().ifPresent(rtt -> rtts.put(peer, rtt));
+      }
+    }
+
+    if (rtts.isEmpty()) {
+      return ranked;
+    }
+
+    final var unknownRtt = median(rtts.values());
+    final var scores = new HashMap<BFTNode, Double>();
+    for (var peer : ranked) {
+      final var rtt = rtts.getOrDefault(peer, unknownRtt);
+      scores.put(peer, rtt * (1.0 + JITTER * random.nextDouble()));
+    }
+    ranked.sort(Comparator.comparingDouble(scores::get));
+    return ranked;
+  }
+
+  private static double median(Collection<Double> values) {
+    final var sorted = values.stream().mapToDouble(Double::doubleValue).toArray();
+    Arrays.sort(sorted);
+    final var mid = sorted.length / 2;
+    return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2.0;
+  }
+
+  private static double toMicros(long millis) {
+    return (double) TimeUnit.MILLISECONDS.toMicros(Math.max(0L, millis));
+  }
+
+  private static final class Link {
+    private final RTTStatistics rttStatistics = new RTTStatistics();
+    private double smoothedRtt;
+    private double rttVariation;
+    private double bandwidth;
+
+    synchronized void roundTrip(double rttMicros) {
+      if (this.rttStatistics.count() == 0) {
+        this.smoothedRtt = rttMicros;
+        this.rttVariation = rttMicros / 2.0;
+      } else {
+        final var deviation = Math.abs(this.smoothedRtt - rttMicros);
+        this.rttVariation = (1.0 - RTT_BETA) * this.rttVariation + RTT_BETA * deviation;
+        this.smoothedRtt = (1.0 - RTT_ALPHA) * this.smoothedRtt + RTT_ALPHA * rttMicros;
+      }
+      this.rttStatistics.update(rttMicros);
+    }
+
+    synchronized void transfer(double elapsedMicros, long bytes) {
+      final var sample =
+          bytes * (double) TimeUnit.SECONDS.toMicros(1) / Math.max(elapsedMicros, 1.0);
+      this.bandwidth =
+          this.bandwidth == 0.0
+              ? sample
+              : (1.0 - BANDWIDTH_ALPHA) * this.bandwidth + BANDWIDTH_ALPHA * sample;
+    }
+
+    synchronized Optional<Double> smoothedRtt() {
+      return this.rttStatistics.count() == 0 ? Optional.empty() : Optional.of(this.smoothedRtt);
+    }
+
+    synchronized Optional<PeerLinkInfo> info() {
+      if (this.rttStatistics.count() == 0 && this.bandwidth == 0.0) {
+        return Optional.empty();
+      }
+      final var minRtt = this.rttStatistics.count() == 0 ? 0.0 : this.rttStatistics.min();
+      return Optional.of(
+          PeerLinkInfo.create(
+              Math.round(this.smoothedRtt),
+              Math.round(this.rttVariation),
+              Math.round(minRtt),
+              Math.round(this.bandwidth),
+              this.rttStatistics.count()));
+    }
+  }
+}
@@ -92,8 +92,8 @@ import com.radixdlt.networks.Addressing;
 import com.radixdlt.utils.Lists;
 import com.radixdlt.utils.functional.Result;
 import com.radixdlt.utils.functional.Tuple.Unit;
-import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.processors.PublishProcessor;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Map;
@@ -119,8 +119,8 @@ public final class PeerManager {
   private final SystemCounters counters;
   private final Object lock = new Object();
   private final Map<NodeId, Set<PeerChannel>> activeChannels = new ConcurrentHashMap<>();
-  private final PublishSubject<Observable<InboundMessage>> inboundMessagesFromChannels =
-      PublishSubject.create();
+  private final PublishProcessor<Flowable<InboundMessage>> inboundMessagesFromChannels =
+      PublishProcessor.create();
 
   @Inject
   public PeerManager(
@@ -140,8 +140,12 @@ public final class PeerManager {
     log.info("Node URI: {}", self);
   }
 
-  public Observable<InboundMessage> messages() {
-    return Observable.merge(inboundMessagesFromChannels);
+  /**
+   * Inbound messages from all the active channels. Backpressure is propagated to the channels, so
+   * that a slow consumer makes each channel drop messages according to its inbound lanes' policies.
+   */
+  public Flowable<InboundMessage> messages() {
+    return Flowable.merge(inboundMessagesFromChannels, Integer.MAX_VALUE);
   }
 
   public CompletableFuture<PeerChannel> findOrCreateChannel(NodeId nodeId) {
@@ -252,7 +256,7 @@ public final class PeerManager {
       if (channel.isOutbound()) {
         channel.getUri().ifPresent(this.addressBook.get()::addOrUpdatePeerWithSuccessfulConnection);
       }
-      inboundMessagesFromChannels.onNext(channel.inboundMessages().toObservable());
+      inboundMessagesFromChannels.onNext(channel.inboundMessages());
 
       if (channel.isInbound() && !this.shouldAcceptInboundPeer(channel.getRemoteNodeId())) {
         channel.disconnect();
@@ -68,16 +68,19 @@ import static java.util.stream.Collectors.groupingBy;
 
 import com.google.common.collect.ImmutableList;
 import com.radixdlt.network.p2p.transport.PeerChannel;
+import java.util.Optional;
 import java.util.stream.Stream;
 import javax.inject.Inject;
 
 /** A Peers view using PeersManager */
 public final class PeerManagerPeersView implements PeersView {
   private final PeerManager peerManager;
+  private final PeerLinkStatistics peerLinkStatistics;
 
   @Inject
-  public PeerManagerPeersView(PeerManager peerManager) {
+  public PeerManagerPeersView(PeerManager peerManager, PeerLinkStatistics peerLinkStatistics) {
     this.peerManager = peerManager;
+    this.peerLinkStatistics = peerLinkStatistics;
   }
 
   @Override
@@ -99,4 +102,9 @@ public final class PeerManagerPeersView implements PeersView {
               return PeerInfo.create(e.getKey(), channelsInfo);
             });
   }
+
+  @Override
+  public Optional<PeerLinkInfo> linkInfo(NodeId nodeId) {
+    return this.peerLinkStatistics.linkInfo(nodeId);
+  }
 }
@@ -180,8 +180,102 @@ public interface PeersView {
     }
   }
 
+  final class PeerLinkInfo {
+    private final long rttMicros;
+    private final long rttVariationMicros;
+    private final long minRttMicros;
+    private final long bandwidthBytesPerSecond;
+    private final long samples;
+
+    public static PeerLinkInfo create(
+        long rttMicros,
+        long rttVariationMicros,
+        long minRttMicros,
+        long bandwidthBytesPerSecond,
+        long samples) {
+      return new PeerLinkInfo(
+          rttMicros, rttVariationMicros, minRttMicros, bandwidthBytesPerSecond, samples);
+    }
+
+    private PeerLinkInfo(
+        long rttMicros,
+        long rttVariationMicros,
+        long minRttMicros,
+        long bandwidthBytesPerSecond,
+        long samples) {
+      this.rttMicros = rttMicros;
+      this.rttVariationMicros = rttVariationMicros;
+      this.minRttMicros = minRttMicros;
+      this.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+      this.samples = samples;
+    }
+
+    /** Smoothed round trip time. */
+    public long getRttMicros() {
+      return rttMicros;
+    }
+
+    /** Smoothed mean deviation of the round trip time. */
+    public long getRttVariationMicros() {
+      return rttVariationMicros;
+    }
+
+    public long getMinRttMicros() {
+      return minRttMicros;
+    }
+
+    /** Smoothed bandwidth observed on bulk transfers, zero if none has been measured yet. */
+    public long getBandwidthBytesPerSecond() {
+      return bandwidthBytesPerSecond;
+    }
+
+    /** Number of round trip samples the estimate is based on. */
+    public long getSamples() {
+      return samples;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final var other = (PeerLinkInfo) o;
+      return rttMicros == other.rttMicros
+          && rttVariationMicros == other.rttVariationMicros
+          && minRttMicros == other.minRttMicros
+          && bandwidthBytesPerSecond == other.bandwidthBytesPerSecond
+          && samples == other.samples;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          rttMicros, rttVariationMicros, minRttMicros, bandwidthBytesPerSecond, samples);
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%s{rtt=%sus rttvar=%sus min=%sus bw=%sB/s samples=%s}",
+          this.getClass().getSimpleName(),
+          rttMicros,
+          rttVariationMicros,
+          minRttMicros,
+          bandwidthBytesPerSecond,
+          samples);
+    }
+  }
+
   Stream<PeerInfo> peers();
 
+  /** Returns the measured link quality to the given peer, if any samples have been taken. */
+  default Optional<PeerLinkInfo> linkInfo(NodeId nodeId) {
+    return Optional.empty();
+  }
+
   default boolean hasPeer(BFTNode bftNode) {
     return peers().anyMatch(peer -> peer.nodeId.getPublicKey().equals(bftNode.getKey()));
   }
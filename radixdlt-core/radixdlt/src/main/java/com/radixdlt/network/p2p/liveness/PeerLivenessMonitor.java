@@ -72,17 +72,20 @@ import com.radixdlt.environment.ScheduledEventDispatcher;
 import com.radixdlt.hotstuff.bft.BFTNode;
 import com.radixdlt.network.p2p.NodeId;
 import com.radixdlt.network.p2p.P2PConfig;
+import com.radixdlt.network.p2p.PeerLinkStatistics;
 import com.radixdlt.network.p2p.PeerEvent;
 import com.radixdlt.network.p2p.PeerEvent.PeerLostLiveness;
 import com.radixdlt.network.p2p.PeersView;
-import java.util.HashSet;
+import com.radixdlt.utils.TimeSupplier;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import javax.inject.Inject;
 
 /**
  * Periodically pings peers and awaits for pong response if pong is not received on time then it
- * fires a PeerLostLiveness event.
+ * fires a PeerLostLiveness event. The ping-pong round trip times are fed to {@link
+ * PeerLinkStatistics}.
  */
 public final class PeerLivenessMonitor {
   private final P2PConfig config;
@@ -91,8 +94,11 @@ public final class PeerLivenessMonitor {
   private final RemoteEventDispatcher<Ping> pingEventDispatcher;
   private final RemoteEventDispatcher<Pong> pongEventDispatcher;
   private final ScheduledEventDispatcher<PeerPingTimeout> pingTimeoutEventDispatcher;
+  private final PeerLinkStatistics peerLinkStatistics;
+  private final TimeSupplier timeSupplier;
 
-  private final Set<NodeId> waitingForPong = new HashSet<>();
+  // Peers we're awaiting a pong from, along with the time the ping was sent
+  private final Map<NodeId, Long> waitingForPong = new HashMap<>();
 
   @Inject
   public PeerLivenessMonitor(
@@ -101,7 +107,9 @@ public final class PeerLivenessMonitor {
       EventDispatcher<PeerEvent> peerEventDispatcher,
       RemoteEventDispatcher<Ping> pingEventDispatcher,
       RemoteEventDispatcher<Pong> pongEventDispatcher,
-      ScheduledEventDispatcher<PeerPingTimeout> pingTimeoutEventDispatcher) {
+      ScheduledEventDispatcher<PeerPingTimeout> pingTimeoutEventDispatcher,
+      PeerLinkStatistics peerLinkStatistics,
+      TimeSupplier timeSupplier) {
     if (config.peerLivenessCheckInterval() <= config.pingTimeout()) {
       throw new IllegalArgumentException("pingTimeout must be smaller than livenessCheckInterval");
     }
@@ -111,6 +119,8 @@ public final class PeerLivenessMonitor {
     this.pingEventDispatcher = Objects.requireNonNull(pingEventDispatcher);
     this.pongEventDispatcher = Objects.requireNonNull(pongEventDispatcher);
     this.pingTimeoutEventDispatcher = Objects.requireNonNull(pingTimeoutEventDispatcher);
+    this.peerLinkStatistics = Objects.requireNonNull(peerLinkStatistics);
+    this.timeSupplier = Objects.requireNonNull(timeSupplier);
   }
 
   public EventProcessor<PeersLivenessCheckTrigger> peersLivenessCheckTriggerEventProcessor() {
@@ -120,19 +130,20 @@ public final class PeerLivenessMonitor {
   private void pingPeer(PeersView.PeerInfo peerInfo) {
     final var nodeId = peerInfo.getNodeId();
 
-    if (this.waitingForPong.contains(nodeId)) {
+    if (this.waitingForPong.containsKey(nodeId)) {
       return; // already pinged
     }
 
-    this.waitingForPong.add(nodeId);
+    this.waitingForPong.put(nodeId, timeSupplier.currentTime());
     this.pingEventDispatcher.dispatch(BFTNode.create(nodeId.getPublicKey()), Ping.create());
     this.pingTimeoutEventDispatcher.dispatch(PeerPingTimeout.create(nodeId), config.pingTimeout());
   }
 
   public EventProcessor<PeerPingTimeout> pingTimeoutEventProcessor() {
     return timeout -> {
-      final var waitingForPeer = this.waitingForPong.remove(timeout.getNodeId());
+      final var waitingForPeer = this.waitingForPong.remove(timeout.getNodeId()) != null;
       if (waitingForPeer) {
+        this.peerLinkStatistics.forget(timeout.getNodeId());
         this.peerEventDispatcher.dispatch(new PeerLostLiveness(timeout.getNodeId()));
       }
     };
@@ -143,6 +154,12 @@ public final class PeerLivenessMonitor {
   }
 
   public RemoteEventProcessor<Pong> pongRemoteEventProcessor() {
-    return (sender, pong) -> this.waitingForPong.remove(NodeId.fromPublicKey(sender.getKey()));
+    return (sender, pong) -> {
+      final var nodeId = NodeId.fromPublicKey(sender.getKey());
+      final var pingSentAt = this.waitingForPong.remove(nodeId);
+      if (pingSentAt != null) {
+        this.peerLinkStatistics.recordRoundTrip(nodeId, timeSupplier.currentTime() - pingSentAt);
+      }
+    };
   }
 }
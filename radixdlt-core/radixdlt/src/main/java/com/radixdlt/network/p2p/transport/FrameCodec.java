@@ -109,6 +109,12 @@ public final class FrameCodec {
     ingressMac = secrets.getIngressMac();
   }
 
+  /** Returns the number of bytes {@link #writeFrame} produces for a payload of given length. */
+  public static int frameSize(int payloadLength) {
+    final var paddingSize = payloadLength % 16 == 0 ? 0 : 16 - (payloadLength % 16);
+    return HEADER_SIZE + payloadLength + paddingSize + MAC_SIZE;
+  }
+
   public void writeFrame(byte[] frame, OutputStream out) throws IOException {
     final var headBuffer = new byte[32];
     headBuffer[0] = (byte) (frame.length >> 16);
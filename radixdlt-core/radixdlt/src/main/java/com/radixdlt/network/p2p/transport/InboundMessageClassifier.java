@@ -0,0 +1,290 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.network.p2p.transport;
+
+import com.radixdlt.serialization.SerializerConstants;
+import com.radixdlt.utils.Compress;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Determines the {@link InboundMessageClass} of an inbound message without deserializing it. The
+ * top level DSON map is walked, skipping over the values, until the serializer ID property is
+ * found. The message is decompressed as it is walked, and decompression stops once the serializer
+ * ID has been read, so this is cheap compared to the full deserialization done later by the message
+ * preprocessor.
+ *
+ * <p>Malformed messages are classified as {@link InboundMessageClass#MEMPOOL}, they'll be rejected
+ * once they are deserialized.
+ */
+final class InboundMessageClassifier {
+  private static final byte[] SERIALIZER_NAME =
+      SerializerConstants.SERIALIZER_NAME.getBytes(StandardCharsets.UTF_8);
+  private static final int MAX_DEPTH = 64;
+  private static final int MAX_SERIALIZER_ID_LENGTH = 256;
+
+  private static final int MAJOR_TYPE_BYTES = 2;
+  private static final int MAJOR_TYPE_TEXT = 3;
+  private static final int MAJOR_TYPE_MAP = 5;
+  private static final int MAJOR_TYPE_TAG = 6;
+  private static final int MAJOR_TYPE_SIMPLE = 7;
+  private static final int INDEFINITE = 31;
+  private static final int BREAK = 0xFF;
+
+  private InboundMessageClassifier() {
+    throw new IllegalStateException("Can't construct");
+  }
+
+  static InboundMessageClass classify(byte[] compressedMessage) {
+    try (var in = Compress.uncompressedStream(compressedMessage)) {
+      return new Reader(in)
+          .topLevelSerializerId()
+          .map(InboundMessageClass::forSerializerId)
+          .orElse(InboundMessageClass.MEMPOOL);
+    } catch (IOException | RuntimeException e) {
+      return InboundMessageClass.MEMPOOL;
+    }
+  }
+
+  /**
+   * Returns the serializer ID of the top level object in the specified DSON encoded bytes.
+   *
+   * @throws IllegalArgumentException if the data is not well formed
+   */
+  static Optional<String> serializerId(byte[] dson) throws IOException {
+    return new Reader(new ByteArrayInputStream(dson)).topLevelSerializerId();
+  }
+
+  private static final class Reader {
+    private final InputStream in;
+    private int peeked = -1;
+
+    private Reader(InputStream in) {
+      this.in = in;
+    }
+
+    Optional<String> topLevelSerializerId() throws IOException {
+      final var head = next();
+      if (head >>> 5 != MAJOR_TYPE_MAP) {
+        return Optional.empty();
+      }
+      final var entries = length(head);
+      for (long i = 0; entries < 0 ? !atBreak() : i < entries; i++) {
+        final var keyHead = next();
+        if (isDefiniteText(keyHead)) {
+          if (isSerializerName(length(keyHead))) {
+            final var valueHead = next();
+            return isDefiniteText(valueHead) ? Optional.of(text(valueHead)) : Optional.empty();
+          }
+        } else {
+          skipItem(keyHead, 1);
+        }
+        skipItem(next(), 1);
+      }
+      return Optional.empty();
+    }
+
+    private static boolean isDefiniteText(int head) {
+      return head >>> 5 == MAJOR_TYPE_TEXT && (head & 0x1F) != INDEFINITE;
+    }
+
+    /** Consumes a text of the given length, returning whether it is the serializer name. */
+    private boolean isSerializerName(long length) throws IOException {
+      if (length != SERIALIZER_NAME.length) {
+        skip(length);
+        return false;
+      }
+      return Arrays.equals(SERIALIZER_NAME, bytes((int) length));
+    }
+
+    private void skipItem(int head, int depth) throws IOException {
+      if (depth > MAX_DEPTH) {
+        throw new IllegalArgumentException("DSON nested too deeply");
+      }
+
+      final var majorType = head >>> 5;
+      if (majorType < MAJOR_TYPE_BYTES || majorType == MAJOR_TYPE_SIMPLE) {
+        if (head == BREAK) {
+          throw new IllegalArgumentException("Unexpected break");
+        }
+        // Integers, simple values and floats, only the argument needs to be skipped
+        skip(argumentSize(head & 0x1F));
+        return;
+      }
+
+      final var length = length(head);
+      if (majorType == MAJOR_TYPE_TAG) {
+        skipItem(next(), depth + 1);
+      } else if (length < 0) {
+        skipUntilBreak(depth);
+      } else if (majorType == MAJOR_TYPE_BYTES || majorType == MAJOR_TYPE_TEXT) {
+        skip(length);
+      } else {
+        final var items = majorType == MAJOR_TYPE_MAP ? length * 2 : length;
+        for (long i = 0; i < items; i++) {
+          skipItem(next(), depth + 1);
+        }
+      }
+    }
+
+    private void skipUntilBreak(int depth) throws IOException {
+      while (!atBreak()) {
+        skipItem(next(), depth + 1);
+      }
+    }
+
+    private boolean atBreak() throws IOException {
+      final var b = next();
+      if (b == BREAK) {
+        return true;
+      }
+      peeked = b;
+      return false;
+    }
+
+    private String text(int head) throws IOException {
+      final var length = length(head);
+      if (length > MAX_SERIALIZER_ID_LENGTH) {
+        throw new IllegalArgumentException("Serializer ID too long");
+      }
+      return new String(bytes((int) length), StandardCharsets.UTF_8);
+    }
+
+    /** Reads the length argument of the item with the given initial byte, -1 if indefinite. */
+    private long length(int head) throws IOException {
+      final var info = head & 0x1F;
+      if (info < 24) {
+        return info;
+      } else if (info == INDEFINITE) {
+        return -1;
+      }
+
+      final var bytes = argumentSize(info);
+      long value = 0;
+      for (int i = 0; i < bytes; i++) {
+        value = (value << 8) | next();
+      }
+      if (value < 0) {
+        throw new IllegalArgumentException("Length too large");
+      }
+      return value;
+    }
+
+    private static int argumentSize(int info) {
+      if (info < 24 || info == INDEFINITE) {
+        return 0;
+      }
+      return switch (info) {
+        case 24 -> 1;
+        case 25 -> 2;
+        case 26 -> 4;
+        case 27 -> 8;
+        default -> throw new IllegalArgumentException("Reserved additional info " + info);
+      };
+    }
+
+    private int next() throws IOException {
+      if (peeked >= 0) {
+        final var b = peeked;
+        peeked = -1;
+        return b;
+      }
+      final var b = in.read();
+      if (b < 0) {
+        throw unexpectedEnd();
+      }
+      return b;
+    }
+
+    private byte[] bytes(int length) throws IOException {
+      final var bytes = new byte[length];
+      for (int i = 0; i < length; i++) {
+        bytes[i] = (byte) next();
+      }
+      return bytes;
+    }
+
+    private void skip(long length) throws IOException {
+      if (length > 0 && peeked >= 0) {
+        peeked = -1;
+        length--;
+      }
+      try {
+        in.skipNBytes(length);
+      } catch (EOFException e) {
+        throw unexpectedEnd();
+      }
+    }
+
+    private static IllegalArgumentException unexpectedEnd() {
+      return new IllegalArgumentException("Unexpected end of DSON data");
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.network.p2p.transport;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.network.messaging.InboundMessage;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Inbound message buffer of a single channel, split into a bounded lane per {@link
+ * InboundMessageClass}. Each lane holds up to {@code laneCapacity} messages and applies its class'
+ * overflow strategy when full, so a flood of e.g. mempool messages only causes mempool messages to
+ * be dropped, while consensus messages keep flowing.
+ *
+ * <p>Messages must be offered from a single thread at a time (the channel's event loop).
+ */
+@SuppressWarnings("UnstableApiUsage")
+final class InboundMessageLanes {
+  private static final Logger log = LogManager.getLogger();
+
+  private final RateLimiter droppedMessagesRateLimiter = RateLimiter.create(1.0);
+  private final Map<InboundMessageClass, PublishProcessor<InboundMessage>> sinks =
+      new EnumMap<>(InboundMessageClass.class);
+  private final Flowable<InboundMessage> messages;
+  private final SystemCounters counters;
+  private final Object channel;
+
+  InboundMessageLanes(int laneCapacity, SystemCounters counters, Object channel) {
+    this.counters = requireNonNull(counters);
+    this.channel = requireNonNull(channel);
+
+    final var lanes = new ArrayList<Flowable<InboundMessage>>();
+    for (var messageClass : InboundMessageClass.values()) {
+      final var sink = PublishProcessor.<InboundMessage>create();
+      sinks.put(messageClass, sink);
+      lanes.add(
+          sink.onBackpressureBuffer(
+              laneCapacity, () -> onOverflow(messageClass), messageClass.overflowStrategy()));
+    }
+    this.messages = Flowable.merge(lanes);
+  }
+
+  Flowable<InboundMessage> messages() {
+    return messages;
+  }
+
+  void offer(InboundMessage message) {
+    sinks.get(InboundMessageClassifier.classify(message.message())).onNext(message);
+  }
+
+  void complete() {
+    sinks.values().forEach(PublishProcessor::onComplete);
+  }
+
+  private void onOverflow(InboundMessageClass messageClass) {
+    counters.increment(CounterType.NETWORKING_TCP_DROPPED_MESSAGES);
+    counters.increment(messageClass.droppedCounter());
+    final var logLevel = droppedMessagesRateLimiter.tryAcquire() ? Level.WARN : Level.TRACE;
+    if (log.isEnabled(logLevel)) {
+      log.log(logLevel, "TCP {} msg buffer overflow, dropping msg on {}", messageClass, channel);
+    }
+  }
+}
@@ -68,7 +68,6 @@ import static com.radixdlt.network.messaging.MessagingErrors.IO_ERROR;
 import static com.radixdlt.utils.functional.Tuple.unitResult;
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.util.concurrent.RateLimiter;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.crypto.ECKeyOps;
 import com.radixdlt.environment.EventDispatcher;
@@ -91,20 +90,16 @@ import com.radixdlt.utils.functional.Result;
 import com.radixdlt.utils.functional.Tuple.Unit;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
-import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.socket.SocketChannel;
-import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
 import io.reactivex.rxjava3.core.Flowable;
-import io.reactivex.rxjava3.processors.PublishProcessor;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.security.SecureRandom;
 import java.time.Duration;
 import java.util.Optional;
-import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.radix.time.Time;
@@ -124,16 +119,14 @@ public final class PeerChannel extends SimpleChannelInboundHandler<ByteBuf> {
   }
 
   private final Object lock = new Object();
-  private final RateLimiter droppedMessagesRateLimiter = RateLimiter.create(1.0);
-  private final PublishProcessor<InboundMessage> inboundMessageSink = PublishProcessor.create();
-  private final Flowable<InboundMessage> inboundMessages;
-  private final SystemCounters counters;
+  private final InboundMessageLanes inboundMessageLanes;
   private final Addressing addressing;
   private final EventDispatcher<PeerEvent> peerEventDispatcher;
   private final Optional<RadixNodeUri> uri;
   private final AuthHandshaker authHandshaker;
   private final boolean isInitiator;
   private final SocketChannel nettyChannel;
+  private final WriteCoalescer writeCoalescer;
   private Optional<InetSocketAddress> remoteAddress;
 
   private ChannelState state = ChannelState.INACTIVE;
@@ -156,7 +149,6 @@ public final class PeerChannel extends SimpleChannelInboundHandler<ByteBuf> {
       Optional<RadixNodeUri> uri,
       SocketChannel nettyChannel,
       Optional<InetSocketAddress> remoteAddress) {
-    this.counters = requireNonNull(counters);
     this.addressing = requireNonNull(addressing);
     this.peerEventDispatcher = requireNonNull(peerEventDispatcher);
     this.uri = requireNonNull(uri);
@@ -166,29 +158,19 @@ public final class PeerChannel extends SimpleChannelInboundHandler<ByteBuf> {
     this.authHandshaker =
         new AuthHandshaker(serialization, secureRandom, ecKeyOps, networkId, newestForkName);
     this.nettyChannel = requireNonNull(nettyChannel);
+    this.writeCoalescer =
+        new WriteCoalescer(nettyChannel, counters, config.writeCoalescingMaxBytes());
     this.remoteAddress = requireNonNull(remoteAddress);
 
     this.isInitiator = uri.isPresent();
 
-    this.inboundMessages =
-        inboundMessageSink.onBackpressureBuffer(
-            config.channelBufferSize(),
-            this::onInboundMessageBufferOverflow,
-            BackpressureOverflowStrategy.DROP_LATEST);
+    this.inboundMessageLanes = new InboundMessageLanes(config.channelBufferSize(), counters, this);
 
     if (this.nettyChannel.isActive()) {
       this.init();
     }
   }
 
-  private void onInboundMessageBufferOverflow() {
-    this.counters.increment(SystemCounters.CounterType.NETWORKING_TCP_DROPPED_MESSAGES);
-    final var logLevel = droppedMessagesRateLimiter.tryAcquire() ? Level.WARN : Level.TRACE;
-    if (log.isEnabled(logLevel)) {
-      log.log(logLevel, "TCP msg buffer overflow, dropping msg on {}", this);
-    }
-  }
-
   private void initHandshake(NodeId remoteNodeId) {
     final var initiatePacket = authHandshaker.initiate(remoteNodeId.getPublicKey());
 
@@ -200,7 +182,7 @@ public final class PeerChannel extends SimpleChannelInboundHandler<ByteBuf> {
   }
 
   public Flowable<InboundMessage> inboundMessages() {
-    return inboundMessages;
+    return inboundMessageLanes.messages();
   }
 
   private void handleHandshakeData(ByteBuf data) throws IOException {
@@ -250,7 +232,8 @@ public final class PeerChannel extends SimpleChannelInboundHandler<ByteBuf> {
     synchronized (this.lock) {
       final var maybeFrame = this.frameCodec.tryReadSingleFrame(buf);
       maybeFrame.ifPresentOrElse(
-          frame -> inboundMessageSink.onNext(new InboundMessage(receiveTime, remoteNodeId, frame)),
+          frame ->
+              inboundMessageLanes.offer(new InboundMessage(receiveTime, remoteNodeId, frame)),
           () -> log.error("Failed to read a complete frame: {}", this));
     }
   }
@@ -292,7 +275,7 @@ public final class PeerChannel extends SimpleChannelInboundHandler<ByteBuf> {
 
     final var prevState = this.state;
     this.state = ChannelState.INACTIVE;
-    this.inboundMessageSink.onComplete();
+    this.inboundMessageLanes.complete();
 
     if (prevState == ChannelState.ACTIVE) {
       // only send out event if peer was previously active
@@ -301,22 +284,33 @@ public final class PeerChannel extends SimpleChannelInboundHandler<ByteBuf> {
   }
 
   private void write(ByteBuf data) {
-    this.nettyChannel.writeAndFlush(data);
+    this.writeCoalescer.write(data, true);
   }
 
   public Result<Unit> send(byte[] data) {
+    return send(data, true);
+  }
+
+  /**
+   * Sends the data to the peer.
+   *
+   * @param data the message to send
+   * @param latencySensitive whether the data should be flushed to the socket right away, or can be
+   *     coalesced with subsequent writes
+   */
+  public Result<Unit> send(byte[] data, boolean latencySensitive) {
     synchronized (this.lock) {
       if (this.state != ChannelState.ACTIVE) {
         return IO_ERROR.result();
       } else {
         try {
           // we don't need to release the buffer manually as this is done by Netty (in
-          // writeAndFlush)
-          final var buf = PooledByteBufAllocator.DEFAULT.buffer(data.length);
+          // write)
+          final var buf = this.nettyChannel.alloc().directBuffer(FrameCodec.frameSize(data.length));
           try (var out = new ByteBufOutputStream(buf)) {
             this.frameCodec.writeFrame(data, out);
           }
-          this.write(buf);
+          this.writeCoalescer.write(buf, latencySensitive);
           this.outMessagesStats.tick();
           return unitResult();
         } catch (IOException e) {
@@ -77,9 +77,9 @@ import com.radixdlt.serialization.Serialization;
 import com.radixdlt.statecomputer.forks.ForkConfig;
 import com.radixdlt.statecomputer.forks.NewestForkConfig;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.EventLoopGroup;
 import java.security.SecureRandom;
 import java.util.Objects;
 import java.util.Optional;
@@ -95,7 +95,8 @@ public final class PeerOutboundBootstrapImpl implements PeerOutboundBootstrap {
   private final ECKeyOps ecKeyOps;
   private final EventDispatcher<PeerEvent> peerEventDispatcher;
 
-  private final NioEventLoopGroup clientWorkerGroup;
+  private final NettyTransport transport;
+  private final EventLoopGroup clientWorkerGroup;
 
   @Inject
   public PeerOutboundBootstrapImpl(
@@ -118,7 +119,8 @@ public final class PeerOutboundBootstrapImpl implements PeerOutboundBootstrap {
     this.ecKeyOps = Objects.requireNonNull(ecKeyOps);
     this.peerEventDispatcher = Objects.requireNonNull(peerEventDispatcher);
 
-    this.clientWorkerGroup = new NioEventLoopGroup();
+    this.transport = NettyTransport.select(config);
+    this.clientWorkerGroup = transport.newEventLoopGroup();
   }
 
   @Override
@@ -126,9 +128,10 @@ public final class PeerOutboundBootstrapImpl implements PeerOutboundBootstrap {
     final var bootstrap = new Bootstrap();
     bootstrap
         .group(clientWorkerGroup)
-        .channel(NioSocketChannel.class)
+        .channel(transport.socketChannelClass())
         .option(ChannelOption.TCP_NODELAY, true)
         .option(ChannelOption.SO_KEEPALIVE, true)
+        .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
         .handler(
             new PeerChannelInitializer(
                 config,
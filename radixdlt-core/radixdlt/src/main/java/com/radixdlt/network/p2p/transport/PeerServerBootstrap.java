@@ -66,6 +66,7 @@ package com.radixdlt.network.p2p.transport;
 
 import com.google.inject.Inject;
 import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
 import com.radixdlt.crypto.ECKeyOps;
 import com.radixdlt.environment.EventDispatcher;
 import com.radixdlt.network.p2p.P2PConfig;
@@ -76,14 +77,16 @@ import com.radixdlt.serialization.Serialization;
 import com.radixdlt.statecomputer.forks.ForkConfig;
 import com.radixdlt.statecomputer.forks.NewestForkConfig;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import java.security.SecureRandom;
 import java.util.Objects;
 import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public final class PeerServerBootstrap {
+  private static final Logger log = LogManager.getLogger();
   private static final int BACKLOG_SIZE = 100;
 
   private final P2PConfig config;
@@ -119,15 +122,21 @@ public final class PeerServerBootstrap {
   }
 
   public void start() throws InterruptedException {
-    final var serverGroup = new NioEventLoopGroup(1);
-    final var workerGroup = new NioEventLoopGroup();
+    final var transport = NettyTransport.select(config);
+    counters.set(CounterType.NETWORKING_TCP_NATIVE_TRANSPORT, transport.isNative() ? 1 : 0);
+    log.info("Starting p2p server using {} transport", transport);
+
+    final var serverGroup = transport.newEventLoopGroup(1);
+    final var workerGroup = transport.newEventLoopGroup();
 
     final var serverBootstrap = new ServerBootstrap();
     serverBootstrap
         .group(serverGroup, workerGroup)
-        .channel(NioServerSocketChannel.class)
+        .channel(transport.serverChannelClass())
         .option(ChannelOption.SO_BACKLOG, BACKLOG_SIZE)
         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, config.peerConnectionTimeout())
+        .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+        .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
         .childHandler(
             new PeerChannelInitializer(
                 config,
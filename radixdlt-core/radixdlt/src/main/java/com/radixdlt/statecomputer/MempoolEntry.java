@@ -0,0 +1,206 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+package com.radixdlt.statecomputer;
+
+import com.google.common.collect.ImmutableList;
+import com.radixdlt.atom.SubstateId;
+import com.radixdlt.atom.Txn;
+import com.radixdlt.constraintmachine.REProcessedTxn;
+import com.radixdlt.constraintmachine.REStateUpdate;
+import com.radixdlt.identifiers.AID;
+import com.radixdlt.mempool.MempoolMetadata;
+import com.radixdlt.utils.UInt256;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * What {@link RadixEngineMempool} keeps of a txn once it has been verified: the payload and just
+ * the bits of the processed txn needed to order, evict and detect conflicts. The full processed
+ * txn (instructions, state updates, deserialized substates and events) is dropped.
+ */
+public final class MempoolEntry {
+  // Rough per entry heap usage besides the payload: the entry itself, its txn, id, metadata and
+  // fee, plus the map and ordering nodes referencing it
+  static final int ENTRY_OVERHEAD_BYTES = 320;
+  // Rough heap usage of a substate id along with its conflict index node
+  static final int SUBSTATE_OVERHEAD_BYTES = 112;
+
+  /** The cheapest entries to keep first: lowest fee per byte, then the oldest, then by id. */
+  static final Comparator<MempoolEntry> EVICTION_ORDER =
+      Comparator.comparing(MempoolEntry::getFeePerByte)
+          .thenComparingLong(e -> e.getMetadata().getInserted())
+          .thenComparing(MempoolEntry::getTxnId);
+
+  private final Txn txn;
+  private final UInt256 fee;
+  private final UInt256 feePerByte;
+  private final int size;
+  private final ImmutableList<SubstateId> substateDependencies;
+  private final ImmutableList<SubstateId> conflictKeys;
+  private final MempoolMetadata metadata;
+
+  private MempoolEntry(
+      Txn txn,
+      UInt256 fee,
+      int size,
+      ImmutableList<SubstateId> substateDependencies,
+      ImmutableList<SubstateId> conflictKeys,
+      MempoolMetadata metadata) {
+    this.txn = txn;
+    this.fee = fee;
+    this.feePerByte = feePerByte(fee, txn.getPayload().length);
+    this.size = size;
+    this.substateDependencies = substateDependencies;
+    this.conflictKeys = conflictKeys;
+    this.metadata = metadata;
+  }
+
+  public static MempoolEntry create(REProcessedTxn processed, long inserted) {
+    final var txn = processed.getTxn();
+    final var substateDependencies =
+        processed.substateDependencies().distinct().collect(ImmutableList.toImmutableList());
+    final var conflictKeys =
+        processed
+            .stateUpdates()
+            .filter(REStateUpdate::isShutDown)
+            .map(REStateUpdate::getId)
+            .distinct()
+            .collect(ImmutableList.toImmutableList());
+    final var size =
+        ENTRY_OVERHEAD_BYTES
+            + txn.getPayload().length
+            + SUBSTATE_OVERHEAD_BYTES * (substateDependencies.size() + conflictKeys.size());
+    return new MempoolEntry(
+        txn,
+        processed.getFeePaid(),
+        size,
+        substateDependencies,
+        conflictKeys,
+        MempoolMetadata.create(inserted));
+  }
+
+  /** The fee per payload byte, rounded down. */
+  public static UInt256 feePerByte(UInt256 fee, int payloadSize) {
+    return fee.divide(UInt256.from(Math.max(1, payloadSize)));
+  }
+
+  public Txn getTxn() {
+    return txn;
+  }
+
+  public AID getTxnId() {
+    return txn.getId();
+  }
+
+  public UInt256 getFee() {
+    return fee;
+  }
+
+  public UInt256 getFeePerByte() {
+    return feePerByte;
+  }
+
+  /** Approximate heap usage of this entry in bytes. */
+  public int getSize() {
+    return size;
+  }
+
+  /** Substates this txn reads or shuts down, it can no longer be committed once they're gone. */
+  public ImmutableList<SubstateId> getSubstateDependencies() {
+    return substateDependencies;
+  }
+
+  /** Substates this txn shuts down, any other txn depending on them conflicts with it. */
+  public ImmutableList<SubstateId> getConflictKeys() {
+    return conflictKeys;
+  }
+
+  public MempoolMetadata getMetadata() {
+    return metadata;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final var other = (MempoolEntry) o;
+    return Objects.equals(txn, other.txn);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(txn);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s{txn=%s fee=%s size=%s %s}",
+        getClass().getSimpleName(), txn.getId(), fee, size, metadata);
+  }
+}
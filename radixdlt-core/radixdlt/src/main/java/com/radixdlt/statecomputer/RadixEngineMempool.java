@@ -64,31 +64,37 @@
 
 package com.radixdlt.statecomputer;
 
-import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.radixdlt.atom.SubstateId;
 import com.radixdlt.atom.Txn;
 import com.radixdlt.constraintmachine.REProcessedTxn;
 import com.radixdlt.constraintmachine.REStateUpdate;
+import com.radixdlt.constraintmachine.exceptions.AuthorizationException;
+import com.radixdlt.engine.PreparsedTxn;
 import com.radixdlt.engine.RadixEngine;
 import com.radixdlt.engine.RadixEngineException;
-import com.radixdlt.engine.RadixEngineResult;
+import com.radixdlt.engine.TxnVerificationResult;
+import com.radixdlt.engine.parser.exceptions.TxnParseException;
 import com.radixdlt.identifiers.AID;
 import com.radixdlt.mempool.Mempool;
 import com.radixdlt.mempool.MempoolDuplicateException;
 import com.radixdlt.mempool.MempoolFullException;
+import com.radixdlt.mempool.MempoolMaxBytes;
 import com.radixdlt.mempool.MempoolMaxSize;
 import com.radixdlt.mempool.MempoolMetadata;
 import com.radixdlt.mempool.MempoolRejectedException;
-import com.radixdlt.utils.Pair;
+import com.radixdlt.utils.UInt256;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -96,66 +102,245 @@ import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-/** A mempool which uses internal radix engine to be more efficient. */
+/**
+ * A mempool which uses internal radix engine to be more efficient. Only a compact {@link
+ * MempoolEntry} is kept per txn, and the mempool is bounded both by count and by an approximate
+ * memory budget. Once either is reached a new txn evicts the entries ranking below it in {@link
+ * MempoolEntry#EVICTION_ORDER} (lowest fee per byte, then oldest) to make room, or is rejected if
+ * there aren't enough of them.
+ */
 @Singleton
 public final class RadixEngineMempool implements Mempool<REProcessedTxn> {
   private static final Logger logger = LogManager.getLogger();
 
-  private final ConcurrentHashMap<AID, Pair<REProcessedTxn, MempoolMetadata>> data =
-      new ConcurrentHashMap<>();
-  private final Map<SubstateId, Set<AID>> substateIndex = new ConcurrentHashMap<>();
+  private final Object lock = new Object();
+  private final Map<AID, MempoolEntry> data = new HashMap<>();
+  private final TreeSet<MempoolEntry> evictionOrder = new TreeSet<>(MempoolEntry.EVICTION_ORDER);
+  // Txns depending on each substate, updated in place
+  private final Map<SubstateId, Set<AID>> substateIndex = new HashMap<>();
   private final RadixEngine<LedgerAndBFTProof> radixEngine;
   private final int maxSize;
+  private final long maxBytes;
+  private long currentBytes;
 
   @Inject
   public RadixEngineMempool(
-      RadixEngine<LedgerAndBFTProof> radixEngine, @MempoolMaxSize int maxSize) {
+      RadixEngine<LedgerAndBFTProof> radixEngine,
+      @MempoolMaxSize int maxSize,
+      @MempoolMaxBytes long maxBytes) {
     if (maxSize <= 0) {
       throw new IllegalArgumentException("mempool.maxSize must be positive: " + maxSize);
     }
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("mempool.maxBytes must be positive: " + maxBytes);
+    }
     this.maxSize = maxSize;
+    this.maxBytes = maxBytes;
     this.radixEngine = radixEngine;
   }
 
-  public <T> T getData(Function<Map<AID, Pair<REProcessedTxn, MempoolMetadata>>, T> mapper) {
-    return mapper.apply(data);
+  public <T> T getData(Function<Map<AID, MempoolEntry>, T> mapper) {
+    synchronized (lock) {
+      return mapper.apply(Collections.unmodifiableMap(data));
+    }
+  }
+
+  /** Whether the mempool currently holds the txn with the given id. */
+  public boolean contains(AID txnId) {
+    synchronized (lock) {
+      return this.data.containsKey(txnId);
+    }
   }
 
   @Override
   public REProcessedTxn add(Txn txn) throws MempoolRejectedException {
+    final var rejection = new AtomicReference<MempoolRejectedException>();
+    final var added = addAll(List.of(preparse(txn)), (rejected, e) -> rejection.set(e));
+    if (rejection.get() != null) {
+      throw rejection.get();
+    }
+    return added.get(0);
+  }
+
+  /**
+   * Stateless admission stage: parses the transaction and recovers its signing key. Doesn't access
+   * the ledger state and is safe to call concurrently.
+   */
+  public PreparsedTxn preparse(Txn txn) throws MempoolRejectedException {
+    try {
+      return radixEngine.preparse(txn);
+    } catch (TxnParseException | AuthorizationException e) {
+      throw new MempoolRejectedException(new RadixEngineException(0, 1, txn, e));
+    }
+  }
+
+  public List<REProcessedTxn> addAll(
+      List<PreparsedTxn> candidates, BiConsumer<Txn, MempoolRejectedException> onRejected) {
+    return addAll(candidates, onRejected, evicted -> {});
+  }
+
+  /**
+   * Stateful admission stage: verifies the candidates against the current ledger state in a single
+   * branch, and adds the ones which are valid. Each candidate is verified independently of the
+   * others.
+   *
+   * @param candidates transactions which passed {@link #preparse(Txn)}
+   * @param onRejected called for every candidate which wasn't added
+   * @param onEvicted called for every txn evicted to make room for a candidate
+   * @return the added transactions still in the mempool once the whole batch is processed, in
+   *     order
+   */
+  public List<REProcessedTxn> addAll(
+      List<PreparsedTxn> candidates,
+      BiConsumer<Txn, MempoolRejectedException> onRejected,
+      Consumer<Txn> onEvicted) {
     if (radixEngine.isShutDown()) {
-      throw new MempoolRejectedException("The engine is shut down");
+      candidates.forEach(
+          c -> onRejected.accept(c.txn(), new MempoolRejectedException("The engine is shut down")));
+      return List.of();
     }
 
-    if (this.data.size() >= maxSize) {
-      throw new MempoolFullException(this.data.size(), maxSize);
+    final var toVerify = new ArrayList<PreparsedTxn>(candidates.size());
+    final var ids = new HashSet<AID>();
+    synchronized (lock) {
+      final var now = System.currentTimeMillis();
+      for (var candidate : candidates) {
+        final var txn = candidate.txn();
+        final var minSize = MempoolEntry.ENTRY_OVERHEAD_BYTES + txn.getPayload().length;
+        final var feePerByte =
+            MempoolEntry.feePerByte(candidate.parsedTxn().getFeePaid(), txn.getPayload().length);
+        if (this.data.containsKey(txn.getId()) || !ids.add(txn.getId())) {
+          onRejected.accept(
+              txn,
+              new MempoolDuplicateException(
+                  String.format("Mempool already has command %s", txn.getId())));
+        } else if (!canMakeRoom(minSize, feePerByte, now)) {
+          // Saves verifying a txn which would be rejected anyway
+          onRejected.accept(txn, fullException());
+        } else {
+          toVerify.add(candidate);
+        }
+      }
     }
 
-    if (this.data.containsKey(txn.getId())) {
-      throw new MempoolDuplicateException(
-          String.format("Mempool already has command %s", txn.getId()));
+    if (toVerify.isEmpty()) {
+      return List.of();
     }
 
-    final RadixEngineResult<LedgerAndBFTProof> result;
+    final List<TxnVerificationResult> results;
     try {
-      RadixEngine.RadixEngineBranch<LedgerAndBFTProof> checker = radixEngine.transientBranch();
-      result = checker.execute(List.of(txn));
+      results = radixEngine.transientBranch().verifyEach(toVerify);
     } catch (RadixEngineException e) {
-      // TODO: allow missing dependency atoms to live for a certain amount of time
-      throw new MempoolRejectedException(e);
+      toVerify.forEach(c -> onRejected.accept(c.txn(), new MempoolRejectedException(e)));
+      return List.of();
     } finally {
       radixEngine.deleteBranches();
     }
 
-    var mempoolTxn = MempoolMetadata.create(System.currentTimeMillis());
-    var data = Pair.of(result.getProcessedTxn(), mempoolTxn);
-    this.data.put(txn.getId(), data);
-    result
-        .getProcessedTxn()
-        .substateDependencies()
-        .forEach(substateId -> substateIndex.merge(substateId, Set.of(txn.getId()), Sets::union));
+    final var added = new ArrayList<REProcessedTxn>(results.size());
+    synchronized (lock) {
+      for (int i = 0; i < results.size(); i++) {
+        final var result = results.get(i);
+        if (result instanceof TxnVerificationResult.Accepted accepted) {
+          final var processed = accepted.processedTxn();
+          final var entry = MempoolEntry.create(processed, System.currentTimeMillis());
+          if (makeRoom(entry, onEvicted)) {
+            insert(entry);
+            added.add(processed);
+          } else {
+            onRejected.accept(processed.getTxn(), fullException());
+          }
+        } else if (result instanceof TxnVerificationResult.Rejected rejected) {
+          // TODO: allow missing dependency atoms to live for a certain amount of time
+          final var txn = toVerify.get(i).txn();
+          onRejected.accept(txn, new MempoolRejectedException(rejected.exception()));
+        }
+      }
+      // A later candidate may have evicted one added earlier in this batch
+      added.removeIf(processed -> !this.data.containsKey(processed.getTxnId()));
+    }
+
+    return added;
+  }
+
+  private MempoolFullException fullException() {
+    return new MempoolFullException(this.data.size(), maxSize, this.currentBytes, maxBytes);
+  }
+
+  private boolean fits(long size, int count, long bytes) {
+    return count < maxSize && bytes + size <= maxBytes;
+  }
+
+  /**
+   * Whether a txn of the given size and fee per byte, inserted at the given time, would fit once
+   * the entries ranking below it were evicted.
+   */
+  private boolean canMakeRoom(long size, UInt256 feePerByte, long inserted) {
+    var count = this.data.size();
+    var bytes = this.currentBytes;
+    for (var victim : this.evictionOrder) {
+      if (fits(size, count, bytes) || !ranksBelow(victim, feePerByte, inserted)) {
+        break;
+      }
+      count--;
+      bytes -= victim.getSize();
+    }
+    return fits(size, count, bytes);
+  }
+
+  private boolean makeRoom(MempoolEntry entry, Consumer<Txn> onEvicted) {
+    final var inserted = entry.getMetadata().getInserted();
+    if (!canMakeRoom(entry.getSize(), entry.getFeePerByte(), inserted)) {
+      return false;
+    }
+
+    final var evicted = new ArrayList<Txn>();
+    while (!fits(entry.getSize(), this.data.size(), this.currentBytes)) {
+      final var victim = this.evictionOrder.first();
+      remove(victim.getTxnId());
+      evicted.add(victim.getTxn());
+    }
+
+    if (!evicted.isEmpty()) {
+      logger.debug("Evicted {} txns from mempool to make room for {}", evicted.size(), entry);
+      evicted.forEach(onEvicted);
+    }
+    return true;
+  }
 
-    return result.getProcessedTxn();
+  private static boolean ranksBelow(MempoolEntry victim, UInt256 feePerByte, long inserted) {
+    final var byFee = victim.getFeePerByte().compareTo(feePerByte);
+    return byFee < 0 || (byFee == 0 && victim.getMetadata().getInserted() <= inserted);
+  }
+
+  private void insert(MempoolEntry entry) {
+    final var txnId = entry.getTxnId();
+    this.data.put(txnId, entry);
+    this.evictionOrder.add(entry);
+    this.currentBytes += entry.getSize();
+    for (var substateId : entry.getSubstateDependencies()) {
+      this.substateIndex.computeIfAbsent(substateId, unused -> new HashSet<>()).add(txnId);
+    }
+  }
+
+  private MempoolEntry remove(AID txnId) {
+    final var entry = this.data.remove(txnId);
+    if (entry == null) {
+      return null;
+    }
+
+    this.evictionOrder.remove(entry);
+    this.currentBytes -= entry.getSize();
+    for (var substateId : entry.getSubstateDependencies()) {
+      final var txnIds = this.substateIndex.get(substateId);
+      if (txnIds != null) {
+        txnIds.remove(txnId);
+        if (txnIds.isEmpty()) {
+          this.substateIndex.remove(substateId);
+        }
+      }
+    }
+    return entry;
   }
 
   @Override
@@ -164,26 +349,27 @@ public final class RadixEngineMempool implements Mempool<REProcessedTxn> {
     final var committedIds =
         transactions.stream().map(p -> p.getTxn().getId()).collect(Collectors.toSet());
 
-    transactions.stream()
-        .flatMap(REProcessedTxn::stateUpdates)
-        .filter(REStateUpdate::isShutDown)
-        .forEach(
-            instruction -> {
-              var substateId = instruction.getId();
-              Set<AID> txnIds = substateIndex.remove(substateId);
-              if (txnIds == null) {
-                return;
-              }
-
-              for (var txnId : txnIds) {
-                var toRemove = data.remove(txnId);
-                // TODO: Cleanup
-                if (toRemove != null
-                    && !committedIds.contains(toRemove.getFirst().getTxn().getId())) {
-                  removed.add(toRemove.getFirst().getTxn());
+    synchronized (lock) {
+      committedIds.forEach(this::remove);
+
+      transactions.stream()
+          .flatMap(REProcessedTxn::stateUpdates)
+          .filter(REStateUpdate::isShutDown)
+          .forEach(
+              instruction -> {
+                final var txnIds = substateIndex.get(instruction.getId());
+                if (txnIds == null) {
+                  return;
+                }
+
+                for (var txnId : List.copyOf(txnIds)) {
+                  final var toRemove = remove(txnId);
+                  if (toRemove != null) {
+                    removed.add(toRemove.getTxn());
+                  }
                 }
-              }
-            });
+              });
+    }
 
     if (!removed.isEmpty()) {
       logger.debug("Evicting {} txns from mempool", removed.size());
@@ -198,57 +384,69 @@ public final class RadixEngineMempool implements Mempool<REProcessedTxn> {
       return List.of();
     }
 
-    // TODO: Order by highest fees paid
-    var copy = new TreeSet<>(data.keySet());
-    prepared.stream()
-        .flatMap(REProcessedTxn::stateUpdates)
-        .filter(REStateUpdate::isShutDown)
-        .flatMap(i -> substateIndex.getOrDefault(i.getId(), Set.of()).stream())
-        .distinct()
-        .forEach(copy::remove);
-
-    var txns = new ArrayList<Txn>();
-
-    for (int i = 0; i < count && !copy.isEmpty(); i++) {
-      var txId = copy.first();
-      copy.remove(txId);
-      var txnData = data.get(txId);
-      txnData
-          .getFirst()
-          .stateUpdates()
+    synchronized (lock) {
+      // TODO: Order by highest fees paid
+      var copy = new TreeSet<>(data.keySet());
+      prepared.stream()
+          .flatMap(REProcessedTxn::stateUpdates)
           .filter(REStateUpdate::isShutDown)
-          .flatMap(inst -> substateIndex.getOrDefault(inst.getId(), Set.of()).stream())
+          .flatMap(i -> substateIndex.getOrDefault(i.getId(), Set.of()).stream())
           .distinct()
           .forEach(copy::remove);
 
-      txns.add(txnData.getFirst().getTxn());
-    }
+      var txns = new ArrayList<Txn>();
+
+      for (int i = 0; i < count && !copy.isEmpty(); i++) {
+        var txId = copy.first();
+        copy.remove(txId);
+        var entry = data.get(txId);
+        entry.getConflictKeys().stream()
+            .flatMap(substateId -> substateIndex.getOrDefault(substateId, Set.of()).stream())
+            .distinct()
+            .forEach(copy::remove);
+
+        txns.add(entry.getTxn());
+      }
 
-    return txns;
+      return txns;
+    }
   }
 
   public Set<SubstateId> getShuttingDownSubstates() {
-    return new HashSet<>(substateIndex.keySet());
+    synchronized (lock) {
+      return new HashSet<>(substateIndex.keySet());
+    }
   }
 
   @Override
   public List<Txn> scanUpdateAndGet(
       Predicate<MempoolMetadata> predicate, Consumer<MempoolMetadata> operator) {
-    return this.data.values().stream()
-        .filter(e -> predicate.test(e.getSecond()))
-        .peek(e -> operator.accept(e.getSecond()))
-        .map(e -> e.getFirst().getTxn())
-        .toList();
+    synchronized (lock) {
+      return this.data.values().stream()
+          .filter(e -> predicate.test(e.getMetadata()))
+          .peek(e -> operator.accept(e.getMetadata()))
+          .map(MempoolEntry::getTxn)
+          .toList();
+    }
   }
 
   public int getCount() {
-    return this.data.size();
+    synchronized (lock) {
+      return this.data.size();
+    }
+  }
+
+  /** Approximate heap usage of the txns currently held, as counted against the memory budget. */
+  public long getBytes() {
+    synchronized (lock) {
+      return this.currentBytes;
+    }
   }
 
   @Override
   public String toString() {
     return String.format(
         "%s[%x:%s/%s]",
-        getClass().getSimpleName(), System.identityHashCode(this), this.data.size(), maxSize);
+        getClass().getSimpleName(), System.identityHashCode(this), getCount(), maxSize);
   }
 }
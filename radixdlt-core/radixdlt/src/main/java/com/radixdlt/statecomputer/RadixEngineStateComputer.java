@@ -80,6 +80,7 @@ import com.radixdlt.crypto.ECDSASignature;
 import com.radixdlt.crypto.ECPublicKey;
 import com.radixdlt.crypto.Hasher;
 import com.radixdlt.engine.PostProcessorException;
+import com.radixdlt.engine.PreparsedTxn;
 import com.radixdlt.engine.RadixEngine;
 import com.radixdlt.engine.RadixEngine.RadixEngineBranch;
 import com.radixdlt.engine.RadixEngineException;
@@ -109,13 +110,17 @@ import com.radixdlt.ledger.VerifiedTxnsAndProof;
 import com.radixdlt.mempool.MempoolAdd;
 import com.radixdlt.mempool.MempoolAddSuccess;
 import com.radixdlt.mempool.MempoolDuplicateException;
+import com.radixdlt.mempool.MempoolFullException;
 import com.radixdlt.mempool.MempoolRejectedException;
 import com.radixdlt.statecomputer.forks.ForkConfig;
 import com.radixdlt.statecomputer.forks.Forks;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.LongFunction;
 import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
@@ -200,41 +205,122 @@ public final class RadixEngineStateComputer implements StateComputer {
   }
 
   public REProcessedTxn addToMempool(Txn txn, BFTNode origin) throws MempoolRejectedException {
+    if (isKnownToMempool(txn)) {
+      throw new MempoolDuplicateException(
+          String.format("Mempool already has command %s", txn.getId()));
+    }
+    final var candidate = preparseForMempool(txn);
     synchronized (lock) {
-      try {
-        var processed = mempool.add(txn);
-
-        systemCounters.increment(CounterType.MEMPOOL_ADD_SUCCESS);
-        systemCounters.set(CounterType.MEMPOOL_CURRENT_SIZE, mempool.getCount());
-
-        var success = MempoolAddSuccess.create(txn, processed, origin);
-        mempoolAddSuccessEventDispatcher.dispatch(success);
-
-        return processed;
-      } catch (MempoolDuplicateException e) {
-        throw e;
-      } catch (MempoolRejectedException e) {
-        systemCounters.increment(CounterType.MEMPOOL_ADD_FAILURE);
-        throw e;
+      final var rejection = new AtomicReference<MempoolRejectedException>();
+      final var added =
+          addToMempool(List.of(candidate), origin, (rejected, e) -> rejection.set(e));
+      if (rejection.get() != null) {
+        throw rejection.get();
       }
+      return added.get(0);
     }
   }
 
   @Override
   public void addToMempool(MempoolAdd mempoolAdd, @Nullable BFTNode origin) {
-    mempoolAdd
-        .txns()
-        .forEach(
-            txn -> {
-              try {
-                addToMempool(txn, origin);
-              } catch (MempoolDuplicateException ex) {
-                log.trace(
-                    "Transaction {} was not added as it was already in the mempool", txn.getId());
-              } catch (MempoolRejectedException ex) {
-                log.debug("Transaction {} was not added to the mempool", txn.getId(), ex);
-              }
-            });
+    // The stateless stage (parsing, signature recovery) runs in parallel and outside of the lock,
+    // the candidates which pass it are then verified against the ledger state as a single batch.
+    // Txns already in the mempool, most of those relayed during a spam wave, are dropped first.
+    final var txns = mempoolAdd.txns();
+    final var candidates =
+        (txns.size() > 1 ? txns.parallelStream() : txns.stream())
+            .filter(txn -> !isKnownToMempool(txn))
+            .map(this::tryPreparseForMempool)
+            .flatMap(Optional::stream)
+            .toList();
+
+    if (candidates.isEmpty()) {
+      return;
+    }
+
+    synchronized (lock) {
+      addToMempool(candidates, origin, RadixEngineStateComputer::logMempoolRejection);
+    }
+  }
+
+  private boolean isKnownToMempool(Txn txn) {
+    if (mempool.contains(txn.getId())) {
+      systemCounters.increment(CounterType.MEMPOOL_REJECTED_DUPLICATE);
+      log.trace("Transaction {} was not added as it was already in the mempool", txn.getId());
+      return true;
+    }
+    return false;
+  }
+
+  private PreparsedTxn preparseForMempool(Txn txn) throws MempoolRejectedException {
+    try {
+      return mempool.preparse(txn);
+    } catch (MempoolRejectedException e) {
+      systemCounters.increment(CounterType.MEMPOOL_REJECTED_STATELESS);
+      systemCounters.increment(CounterType.MEMPOOL_ADD_FAILURE);
+      throw e;
+    }
+  }
+
+  private Optional<PreparsedTxn> tryPreparseForMempool(Txn txn) {
+    try {
+      return Optional.of(preparseForMempool(txn));
+    } catch (MempoolRejectedException e) {
+      logMempoolRejection(txn, e);
+      return Optional.empty();
+    }
+  }
+
+  private List<REProcessedTxn> addToMempool(
+      List<PreparsedTxn> candidates,
+      BFTNode origin,
+      BiConsumer<Txn, MempoolRejectedException> onRejected) {
+    final var evicted = new ArrayList<Txn>();
+    final var added =
+        mempool.addAll(
+            candidates,
+            (txn, e) -> {
+              countStatefulRejection(e);
+              onRejected.accept(txn, e);
+            },
+            evicted::add);
+
+    systemCounters.add(CounterType.MEMPOOL_ADD_SUCCESS, added.size());
+    systemCounters.add(CounterType.MEMPOOL_EVICTED, evicted.size());
+    systemCounters.set(CounterType.MEMPOOL_CURRENT_SIZE, mempool.getCount());
+    systemCounters.set(CounterType.MEMPOOL_CURRENT_BYTES, mempool.getBytes());
+    if (!evicted.isEmpty()) {
+      mempoolAtomsRemovedEventDispatcher.dispatch(TxnsRemovedFromMempool.create(evicted));
+    }
+
+    for (var processed : added) {
+      var success = MempoolAddSuccess.create(processed.getTxn(), processed, origin);
+      mempoolAddSuccessEventDispatcher.dispatch(success);
+    }
+
+    return added;
+  }
+
+  private void countStatefulRejection(MempoolRejectedException e) {
+    if (e instanceof MempoolDuplicateException) {
+      systemCounters.increment(CounterType.MEMPOOL_REJECTED_DUPLICATE);
+      return;
+    }
+
+    if (e instanceof MempoolFullException) {
+      systemCounters.increment(CounterType.MEMPOOL_REJECTED_FULL);
+    } else {
+      systemCounters.increment(CounterType.MEMPOOL_REJECTED_STATEFUL);
+    }
+    systemCounters.increment(CounterType.MEMPOOL_ADD_FAILURE);
+  }
+
+  private static void logMempoolRejection(Txn txn, MempoolRejectedException e) {
+    if (e instanceof MempoolDuplicateException) {
+      log.trace("Transaction {} was not added as it was already in the mempool", txn.getId());
+    } else {
+      log.debug("Transaction {} was not added to the mempool", txn.getId(), e);
+    }
   }
 
   @Override
@@ -409,6 +495,10 @@ public final class RadixEngineStateComputer implements StateComputer {
       // TODO: Move this into engine
       var removed = this.mempool.committed(txCommitted);
       systemCounters.set(CounterType.MEMPOOL_CURRENT_SIZE, mempool.getCount());
+      systemCounters.set(CounterType.MEMPOOL_CURRENT_BYTES, mempool.getBytes());
+      systemCounters.set(
+          CounterType.RADIX_ENGINE_FEE_CONSTRUCTION_RETRIES,
+          radixEngine.getFeeConstructionRetries());
       if (!removed.isEmpty()) {
         var atomsRemovedFromMempool = TxnsRemovedFromMempool.create(removed);
         mempoolAtomsRemovedEventDispatcher.dispatch(atomsRemovedFromMempool);
@@ -125,6 +125,7 @@ public class BerkeleySubstateAccumulatorHashStore implements BerkeleyAdditionalS
   public static final String ERROR_WHEN_OPENING_THE_EPOCHS_HASH_FILE =
       "Error when opening the epochs hash file.";
 
+  private DatabaseEnvironment dbEnv;
   private Database substateAccumulatorHashDatabase;
   private Database epochHashDatabase;
   private Database lastEpochHashVerifiedDatabase;
@@ -170,6 +171,7 @@ public class BerkeleySubstateAccumulatorHashStore implements BerkeleyAdditionalS
 
   @Override
   public void open(DatabaseEnvironment dbEnv) {
+    this.dbEnv = dbEnv;
     this.substateAccumulatorHashDatabase = openDatabase(dbEnv, "radix.substate_hash_accumulator");
     this.epochHashDatabase = openDatabase(dbEnv, "radix.epoch_hash");
     this.lastEpochHashVerifiedDatabase = openDatabase(dbEnv, "radix.last_epoch_hash_verified");
@@ -198,20 +200,26 @@ public class BerkeleySubstateAccumulatorHashStore implements BerkeleyAdditionalS
   }
 
   private Database openDatabase(DatabaseEnvironment dbEnv, String databaseName) {
-    return dbEnv
-        .getEnvironment()
-        .openDatabase(
-            null,
-            databaseName,
-            new DatabaseConfig()
-                .setAllowCreate(true)
-                .setTransactional(true)
-                .setKeyPrefixing(true)
-                .setBtreeComparator(lexicographicalComparator()));
+    var database =
+        dbEnv
+            .getEnvironment()
+            .openDatabase(
+                null,
+                databaseName,
+                new DatabaseConfig()
+                    .setAllowCreate(true)
+                    .setTransactional(true)
+                    .setKeyPrefixing(true)
+                    .setBtreeComparator(lexicographicalComparator()));
+    dbEnv.registerDatabase(database);
+    return database;
   }
 
   @Override
   public void close() {
+    this.dbEnv.unregisterDatabase(this.substateAccumulatorHashDatabase);
+    this.dbEnv.unregisterDatabase(this.epochHashDatabase);
+    this.dbEnv.unregisterDatabase(this.lastEpochHashVerifiedDatabase);
     this.substateAccumulatorHashDatabase.close();
     this.epochHashDatabase.close();
     this.lastEpochHashVerifiedDatabase.close();
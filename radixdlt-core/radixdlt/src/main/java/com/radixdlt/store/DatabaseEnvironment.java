@@ -72,25 +72,53 @@ import static com.sleepycat.je.EnvironmentConfig.LOG_FILE_CACHE_SIZE;
 import static com.sleepycat.je.EnvironmentConfig.TREE_MAX_EMBEDDED_LN;
 
 import com.google.inject.Inject;
+import com.radixdlt.utils.ThreadFactories;
 import com.sleepycat.je.CacheMode;
+import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.Durability;
 import com.sleepycat.je.Environment;
 import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.Transaction;
+import com.sleepycat.je.TransactionConfig;
 import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
 import java.text.StringCharacterIterator;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 public final class DatabaseEnvironment {
   private static final Logger log = LogManager.getLogger();
 
+  private final DatabaseDurability durability;
+  private final Set<Flushable> flushables = new CopyOnWriteArraySet<>();
+  private final Set<Database> databases = new CopyOnWriteArraySet<>();
+  private final ReadWriteLock flushableLock = new ReentrantReadWriteLock();
+  private final AtomicInteger syncsInProgress = new AtomicInteger();
+  private final ScheduledExecutorService groupCommitExecutor;
   private Environment environment;
 
+  public DatabaseEnvironment(String databaseLocation, long cacheSize) {
+    this(databaseLocation, cacheSize, DatabaseDurability.sync());
+  }
+
   @Inject
   public DatabaseEnvironment(
-      @DatabaseLocation String databaseLocation, @DatabaseCacheSize long cacheSize) {
+      @DatabaseLocation String databaseLocation,
+      @DatabaseCacheSize long cacheSize,
+      DatabaseDurability durability) {
+    this.durability = durability;
     var dbHome = new File(databaseLocation);
     dbHome.mkdir();
 
@@ -100,7 +128,8 @@ public final class DatabaseEnvironment {
     environmentConfig.setTransactional(true);
     environmentConfig.setAllowCreate(true);
     environmentConfig.setLockTimeout(30, TimeUnit.SECONDS);
-    environmentConfig.setDurability(Durability.COMMIT_SYNC);
+    environmentConfig.setDurability(
+        durability.isGroupCommit() ? Durability.COMMIT_WRITE_NO_SYNC : Durability.COMMIT_SYNC);
     environmentConfig.setConfigParam(LOG_FILE_CACHE_SIZE, "256");
     environmentConfig.setConfigParam(ENV_RUN_CHECKPOINTER, "true");
     environmentConfig.setConfigParam(ENV_RUN_CLEANER, "true");
@@ -113,9 +142,156 @@ public final class DatabaseEnvironment {
     environment = new Environment(dbHome, environmentConfig);
 
     log.info("DB cache size set to {} ({} bytes)", toHumanReadable(cacheSize), cacheSize);
+    log.info("DB durability set to {}", durability);
+
+    if (durability.isGroupCommit()) {
+      var interval = durability.getGroupCommitIntervalMs();
+      var threadFactory = ThreadFactories.daemonThreads("DBGroupCommit");
+      groupCommitExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+      groupCommitExecutor.scheduleWithFixedDelay(
+          this::syncSafely, interval, interval, TimeUnit.MILLISECONDS);
+    } else {
+      groupCommitExecutor = null;
+    }
+  }
+
+  public DatabaseDurability getDurability() {
+    return durability;
+  }
+
+  /**
+   * Begins a transaction which is synced to disk on commit regardless of the configured
+   * durability. To be used for state which must never be lost, such as the BFT safety state. The
+   * transaction must be committed with {@link #commitSynced(Transaction)}.
+   */
+  public Transaction beginSyncedTransaction() {
+    var config = new TransactionConfig().setDurability(Durability.COMMIT_SYNC);
+    return getEnvironment().beginTransaction(null, config);
+  }
+
+  /**
+   * Commits a transaction started with {@link #beginSyncedTransaction()}. In group commit mode
+   * syncing the JE log also makes earlier unsynced commits durable, so registered logs are flushed
+   * first.
+   */
+  public void commitSynced(Transaction transaction) throws IOException {
+    if (!durability.isGroupCommit()) {
+      // Every commit has already flushed the logs it refers to
+      transaction.commit();
+      return;
+    }
+
+    beginSync();
+    try {
+      flushFlushables();
+      transaction.commit();
+    } finally {
+      syncsInProgress.decrementAndGet();
+    }
+  }
+
+  /**
+   * Commits a transaction which refers to data appended to registered logs. In sync mode, and in
+   * group commit mode while a sync of the JE log is in progress, the logs are flushed first, as
+   * the commit may reach disk before the next sync flushes them.
+   */
+  public void commit(Transaction transaction) throws IOException {
+    var lock = flushableLock.readLock();
+    lock.lock();
+    try {
+      if (!durability.isGroupCommit() || syncsInProgress.get() > 0) {
+        flushFlushables();
+      }
+      transaction.commit();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the lock to hold while appending to a registered log. Syncs start only once appends in
+   * progress are complete, so that a flush never captures a partially written entry.
+   */
+  public Lock flushableAppendLock() {
+    return flushableLock.readLock();
+  }
+
+  /**
+   * Registers a log kept outside of JE whose entries are referenced from JE. Such logs are flushed
+   * before every sync of the JE log, so that a synced JE commit never refers to data which has not
+   * reached disk.
+   */
+  public void addFlushable(Flushable flushable) {
+    flushables.add(flushable);
+  }
+
+  public void removeFlushable(Flushable flushable) {
+    flushables.remove(flushable);
+  }
+
+  /**
+   * Registers an open database so that its statistics are sampled by the {@link
+   * DatabaseStatsCollector}. Databases must be unregistered before they are closed.
+   */
+  public void registerDatabase(Database database) {
+    databases.add(database);
+  }
+
+  public void unregisterDatabase(Database database) {
+    databases.remove(database);
+  }
+
+  public Set<Database> getDatabases() {
+    return Collections.unmodifiableSet(databases);
+  }
+
+  /** Syncs all writes committed so far to disk. */
+  public void sync() throws IOException {
+    beginSync();
+    try {
+      flushFlushables();
+      getEnvironment().flushLog(true);
+    } finally {
+      syncsInProgress.decrementAndGet();
+    }
+  }
+
+  // Once this returns every later commit flushes its own logs until the sync ends, so the flushes
+  // and the JE sync themselves can run without blocking commits
+  private void beginSync() {
+    var lock = flushableLock.writeLock();
+    lock.lock();
+    try {
+      syncsInProgress.incrementAndGet();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void flushFlushables() throws IOException {
+    for (var flushable : flushables) {
+      flushable.flush();
+    }
+  }
+
+  private void syncSafely() {
+    try {
+      sync();
+    } catch (Exception e) {
+      log.error("Unable to sync database to disk", e);
+    }
   }
 
   public void stop() {
+    if (groupCommitExecutor != null) {
+      groupCommitExecutor.shutdown();
+      try {
+        groupCommitExecutor.awaitTermination(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      syncSafely();
+    }
     try {
       environment.close();
     } catch (DatabaseException e) {
@@ -65,7 +65,10 @@
 package com.radixdlt.store;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
 import com.google.inject.Provides;
+import com.google.inject.multibindings.OptionalBinder;
 import com.radixdlt.properties.RuntimeProperties;
 
 /** Manages conversion of runtime properties to guice type properties */
@@ -75,6 +78,16 @@ public final class DatabasePropertiesModule extends AbstractModule {
   private final long maxCacheSizeLimit = (long) (maxMemory * 0.25);
   private final long defaultCacheSize = (long) (maxMemory * 0.125);
 
+  @Override
+  protected void configure() {
+    OptionalBinder.newOptionalBinder(binder(), DatabaseDurability.class)
+        .setBinding()
+        .toProvider(DatabaseDurabilityProvider.class);
+    OptionalBinder.newOptionalBinder(binder(), StoreConfig.class)
+        .setBinding()
+        .toProvider(StoreConfigProvider.class);
+  }
+
   @Provides
   @DatabaseLocation
   String databaseLocation(RuntimeProperties properties) {
@@ -90,4 +103,41 @@ public final class DatabasePropertiesModule extends AbstractModule {
 
     return Math.min(Math.max(cacheSize, minCacheSize), maxCacheSize);
   }
+
+  static final class DatabaseDurabilityProvider implements Provider<DatabaseDurability> {
+    private final RuntimeProperties properties;
+
+    @Inject
+    DatabaseDurabilityProvider(RuntimeProperties properties) {
+      this.properties = properties;
+    }
+
+    @Override
+    public DatabaseDurability get() {
+      var durability = properties.get("db.durability", "sync");
+      return switch (durability) {
+        case "sync" -> DatabaseDurability.sync();
+        case "group_commit" ->
+            DatabaseDurability.groupCommit(properties.get("db.group_commit.interval_ms", 100L));
+        default -> throw new IllegalArgumentException("Unknown db.durability: " + durability);
+      };
+    }
+  }
+
+  static final class StoreConfigProvider implements Provider<StoreConfig> {
+    private final RuntimeProperties properties;
+
+    @Inject
+    StoreConfigProvider(RuntimeProperties properties) {
+      this.properties = properties;
+    }
+
+    @Override
+    public StoreConfig get() {
+      return new StoreConfig(
+          StoreConfig.DEFAULT_MINIMUM_PROOF_BLOCK_SIZE,
+          properties.get("db.hot_substate_cache.size", StoreConfig.DEFAULT_HOT_SUBSTATE_CACHE_SIZE),
+          properties.get("db.compact_proofs.enable", false));
+    }
+  }
 }
@@ -0,0 +1,227 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+package com.radixdlt.store;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.properties.RuntimeProperties;
+import com.radixdlt.utils.ThreadFactories;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.EnvironmentStats;
+import com.sleepycat.je.StatsConfig;
+import java.io.File;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Periodically samples Berkeley DB environment statistics into {@link SystemCounters}, and
+ * optionally the record counts of the databases registered with the {@link DatabaseEnvironment}.
+ * Exact record counts require a walk over the whole btree of each database, which competes with the
+ * ledger for cache and IO, so they are only sampled when explicitly enabled.
+ */
+@Singleton
+public final class DatabaseStatsCollector {
+  private static final Logger log = LogManager.getLogger();
+
+  private static final long DEFAULT_INTERVAL_MS = 10_000L;
+  private static final long DEFAULT_DATABASE_INTERVAL_MS = 0L;
+
+  private final DatabaseEnvironment dbEnv;
+  private final SystemCounters systemCounters;
+  private final long intervalMs;
+  private final long databaseIntervalMs;
+  private final StatsConfig statsConfig = new StatsConfig();
+  private volatile Map<String, Long> databaseRecordCounts = ImmutableMap.of();
+  private ScheduledExecutorService executor;
+
+  @Inject
+  public DatabaseStatsCollector(
+      DatabaseEnvironment dbEnv, SystemCounters systemCounters, RuntimeProperties properties) {
+    this(
+        dbEnv,
+        systemCounters,
+        properties.get("db.stats.interval_ms", DEFAULT_INTERVAL_MS),
+        properties.get("db.stats.database_interval_ms", DEFAULT_DATABASE_INTERVAL_MS));
+  }
+
+  DatabaseStatsCollector(
+      DatabaseEnvironment dbEnv,
+      SystemCounters systemCounters,
+      long intervalMs,
+      long databaseIntervalMs) {
+    this.dbEnv = dbEnv;
+    this.systemCounters = systemCounters;
+    this.intervalMs = intervalMs;
+    this.databaseIntervalMs = databaseIntervalMs;
+  }
+
+  public synchronized void start() {
+    if (executor != null || intervalMs <= 0) {
+      return;
+    }
+
+    executor = Executors.newSingleThreadScheduledExecutor(ThreadFactories.daemonThreads("DBStats"));
+    executor.scheduleWithFixedDelay(
+        () -> runSafely(this::sampleEnvironment), 0, intervalMs, TimeUnit.MILLISECONDS);
+    if (databaseIntervalMs > 0) {
+      executor.scheduleWithFixedDelay(
+          () -> runSafely(this::sampleDatabases),
+          databaseIntervalMs,
+          databaseIntervalMs,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  public synchronized void stop() {
+    if (executor == null) {
+      return;
+    }
+
+    executor.shutdownNow();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    executor = null;
+  }
+
+  /**
+   * Returns the record counts of the registered databases as of the last sample, by name. Empty
+   * unless database sampling is enabled.
+   */
+  public Map<String, Long> getDatabaseRecordCounts() {
+    return databaseRecordCounts;
+  }
+
+  private void runSafely(Runnable sampler) {
+    try {
+      sampler.run();
+    } catch (Exception e) {
+      log.warn("Unable to sample database statistics", e);
+    }
+  }
+
+  void sampleEnvironment() {
+    var start = System.nanoTime();
+    var environment = dbEnv.getEnvironment();
+    var stats = environment.getStats(statsConfig);
+
+    var values = new EnumMap<CounterType, Long>(CounterType.class);
+    putEnvironmentStats(values, stats);
+    values.put(CounterType.BDB_ENV_LOG_FILES, countLogFiles(environment.getHome()));
+    systemCounters.setAll(values);
+
+    var elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    systemCounters.add(CounterType.ELAPSED_BDB_ENV_STATS, elapsedMicros);
+  }
+
+  void sampleDatabases() {
+    var counts = new HashMap<String, Long>();
+    for (Database database : dbEnv.getDatabases()) {
+      try {
+        counts.put(database.getDatabaseName(), database.count());
+      } catch (IllegalStateException e) {
+        // Database was closed after the set of databases was read, skip it
+      }
+    }
+    databaseRecordCounts = ImmutableMap.copyOf(counts);
+  }
+
+  private static void putEnvironmentStats(Map<CounterType, Long> values, EnvironmentStats stats) {
+    values.put(CounterType.BDB_ENV_CACHE_TOTAL_BYTES, stats.getCacheTotalBytes());
+    values.put(CounterType.BDB_ENV_CACHE_DATA_BYTES, stats.getDataBytes());
+    values.put(CounterType.BDB_ENV_CACHE_MISSES, stats.getNCacheMiss());
+    values.put(CounterType.BDB_ENV_CACHE_BIN_FETCHES, stats.getNBINsFetch());
+    values.put(CounterType.BDB_ENV_CACHE_BIN_FETCH_MISSES, stats.getNBINsFetchMiss());
+    values.put(CounterType.BDB_ENV_CACHE_LN_FETCHES, stats.getNLNsFetch());
+    values.put(CounterType.BDB_ENV_CACHE_LN_FETCH_MISSES, stats.getNLNsFetchMiss());
+    values.put(CounterType.BDB_ENV_CLEANER_RUNS, stats.getNCleanerRuns());
+    values.put(CounterType.BDB_ENV_CLEANER_DELETIONS, stats.getNCleanerDeletions());
+    values.put(CounterType.BDB_ENV_CLEANER_PENDING_LNS, (long) stats.getPendingLNQueueSize());
+    values.put(
+        CounterType.BDB_ENV_CLEANER_MIN_UTILIZATION, (long) stats.getCurrentMinUtilization());
+    values.put(CounterType.BDB_ENV_CHECKPOINTS, stats.getNCheckpoints());
+    values.put(CounterType.BDB_ENV_CHECKPOINT_INTERVAL_BYTES, stats.getLastCheckpointInterval());
+    values.put(CounterType.BDB_ENV_LOCK_REQUESTS, stats.getNRequests());
+    values.put(CounterType.BDB_ENV_LOCK_WAITS, stats.getNWaits());
+    values.put(CounterType.BDB_ENV_LOG_TOTAL_BYTES, stats.getTotalLogSize());
+    values.put(CounterType.BDB_ENV_LOG_ACTIVE_BYTES, stats.getActiveLogSize());
+    values.put(CounterType.BDB_ENV_LOG_FSYNCS, stats.getNFSyncs());
+  }
+
+  private static long countLogFiles(File home) {
+    var files = home.listFiles((dir, name) -> name.endsWith(".jdb"));
+    return files == null ? 0L : files.length;
+  }
+}
@@ -67,6 +67,7 @@ package com.radixdlt.store;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Scopes;
+import com.google.inject.multibindings.OptionalBinder;
 import com.google.inject.multibindings.ProvidesIntoSet;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.counters.SystemCounters.CounterType;
@@ -91,6 +92,12 @@ public class PersistenceModule extends AbstractModule {
     bind(PersistentSafetyStateStore.class).to(BerkeleySafetyStateStore.class);
     bind(BerkeleySafetyStateStore.class).in(Scopes.SINGLETON);
     bind(DatabaseEnvironment.class).in(Scopes.SINGLETON);
+    OptionalBinder.newOptionalBinder(binder(), DatabaseDurability.class)
+        .setDefault()
+        .toInstance(DatabaseDurability.sync());
+    OptionalBinder.newOptionalBinder(binder(), StoreConfig.class)
+        .setDefault()
+        .toInstance(new StoreConfig(StoreConfig.DEFAULT_MINIMUM_PROOF_BLOCK_SIZE));
   }
 
   @Provides
@@ -98,11 +105,6 @@ public class PersistenceModule extends AbstractModule {
     return store.loadLastVertexStoreState();
   }
 
-  @Provides
-  StoreConfig storeConfig() {
-    return new StoreConfig(1000);
-  }
-
   @ProvidesIntoSet
   @ProcessOnDispatch
   public EventProcessor<BFTHighQCUpdate> persistQC(
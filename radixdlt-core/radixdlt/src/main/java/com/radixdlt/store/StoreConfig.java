@@ -66,16 +66,40 @@ package com.radixdlt.store;
 
 /** Specifies high level configuration options for persistent storage */
 public final class StoreConfig {
+  public static final int DEFAULT_MINIMUM_PROOF_BLOCK_SIZE = 1000;
+  public static final int DEFAULT_HOT_SUBSTATE_CACHE_SIZE = 10_000;
+
   private final int minimumProofBlockSize;
+  private final int hotSubstateCacheSize;
+  private final boolean compactProofs;
 
   public StoreConfig(int minimumProofBlockSize) {
+    this(minimumProofBlockSize, DEFAULT_HOT_SUBSTATE_CACHE_SIZE, false);
+  }
+
+  public StoreConfig(int minimumProofBlockSize, int hotSubstateCacheSize, boolean compactProofs) {
     if (minimumProofBlockSize < 1) {
       throw new IllegalArgumentException("Proof block size must be >= 1.");
     }
+    if (hotSubstateCacheSize < 0) {
+      throw new IllegalArgumentException("Hot substate cache size must be >= 0.");
+    }
     this.minimumProofBlockSize = minimumProofBlockSize;
+    this.hotSubstateCacheSize = hotSubstateCacheSize;
+    this.compactProofs = compactProofs;
   }
 
   public int getMinimumProofBlockSize() {
     return minimumProofBlockSize;
   }
+
+  /** Maximum number of committed substate reads kept on heap, 0 disables the cache */
+  public int getHotSubstateCacheSize() {
+    return hotSubstateCacheSize;
+  }
+
+  /** Whether proofs and vertex store certificates are persisted with signer bitmaps */
+  public boolean isCompactProofs() {
+    return compactProofs;
+  }
 }
@@ -87,4 +87,13 @@ public interface BerkeleyAdditionalStore {
       REProcessedTxn txn,
       long stateVersion,
       Function<SystemMapKey, Optional<RawSubstateBytes>> mapper);
+
+  /**
+   * Called after the ledger transaction passed to {@link #process} has been committed. In memory
+   * state derived from processed transactions should only be updated here.
+   */
+  default void onCommit() {}
+
+  /** Called after the ledger transaction passed to {@link #process} has been aborted. */
+  default void onAbort() {}
 }
@@ -95,11 +95,13 @@ import com.radixdlt.constraintmachine.SubstateIndex;
 import com.radixdlt.constraintmachine.SystemMapKey;
 import com.radixdlt.constraintmachine.exceptions.VirtualParentStateDoesNotExist;
 import com.radixdlt.constraintmachine.exceptions.VirtualSubstateAlreadyDownException;
+import com.radixdlt.counters.StartupProfiler;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.counters.SystemCounters.CounterType;
 import com.radixdlt.crypto.ECPublicKey;
 import com.radixdlt.engine.RadixEngineException;
 import com.radixdlt.hotstuff.LedgerProof;
+import com.radixdlt.hotstuff.bft.BFTNode;
 import com.radixdlt.hotstuff.bft.PersistentVertexStore;
 import com.radixdlt.hotstuff.bft.VerifiedVertexStoreState;
 import com.radixdlt.identifiers.AID;
@@ -139,7 +141,9 @@ import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
@@ -147,6 +151,8 @@ import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -192,9 +198,25 @@ public final class BerkeleyLedgerEntryStore
   private static final String EPOCH_PROOF_DB_NAME = "radix.epoch_proof_db";
   private static final String LEDGER_NAME = "radix.ledger";
   private Database txnDatabase; // Txns by state version; Append-only
+  // Txn entry layout: log offset (8 bytes), stored size (8 bytes), AID
+  private static final int TXN_ENTRY_AID_OFFSET = Long.BYTES + Long.BYTES;
   private AppendLog txnLog; // Atom data append only log
 
   private final Set<BerkeleyAdditionalStore> additionalStores;
+  private final HotSubstateCache hotSubstateCache;
+  private final EpochBoundaryIndex epochBoundaryIndex =
+      new EpochBoundaryIndex(typeByte -> indexKeyLength((byte) typeByte));
+
+  private static final int MAX_CACHED_EPOCH_SIGNERS = 8;
+  private static final int PROOF_MIGRATION_BATCH_SIZE = 1000;
+  private final CompactProofCodec proofCodec;
+  private final Map<Long, List<BFTNode>> epochSigners =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<BFTNode>> eldest) {
+          return size() > MAX_CACHED_EPOCH_SIGNERS;
+        }
+      };
 
   @Inject
   public BerkeleyLedgerEntryStore(
@@ -202,17 +224,23 @@ public final class BerkeleyLedgerEntryStore
       DatabaseEnvironment dbEnv,
       StoreConfig storeConfig,
       SystemCounters systemCounters,
-      Set<BerkeleyAdditionalStore> additionalStores) {
+      Set<BerkeleyAdditionalStore> additionalStores,
+      StartupProfiler startupProfiler) {
     this.serialization = Objects.requireNonNull(serialization);
     this.dbEnv = Objects.requireNonNull(dbEnv);
     this.systemCounters = Objects.requireNonNull(systemCounters);
     this.storeConfig = storeConfig;
     this.additionalStores = additionalStores;
+    this.hotSubstateCache =
+        new HotSubstateCache(storeConfig.getHotSubstateCacheSize(), systemCounters);
+    this.proofCodec = new CompactProofCodec(serialization);
 
-    this.open();
+    startupProfiler.time(StartupProfiler.Phase.LEDGER_STORE, () -> this.open(startupProfiler));
   }
 
   public void close() {
+    openDatabases().forEach(dbEnv::unregisterDatabase);
+
     safeClose(txnDatabase);
     safeClose(resourceDatabase);
     safeClose(mapDatabase);
@@ -232,6 +260,8 @@ public final class BerkeleyLedgerEntryStore
     additionalStores.forEach(BerkeleyAdditionalStore::close);
 
     if (txnLog != null) {
+      dbEnv.removeFlushable(txnLog);
+      flushTxnLog();
       txnLog.close();
     }
   }
@@ -247,13 +277,16 @@ public final class BerkeleyLedgerEntryStore
   public <R> R transaction(TransactionEngineStoreConsumer<LedgerAndBFTProof, R> consumer)
       throws RadixEngineException {
     var dbTxn = createTransaction();
+    var writes = hotSubstateCache.newWrites();
+    var indexWrites = epochBoundaryIndex.newWrites();
+    final R result;
     try {
-      var result =
+      result =
           consumer.start(
               new EngineStoreInTransaction<>() {
                 @Override
                 public void storeTxn(REProcessedTxn txn) {
-                  BerkeleyLedgerEntryStore.this.storeTxn(dbTxn, txn);
+                  BerkeleyLedgerEntryStore.this.storeTxn(dbTxn, writes, indexWrites, txn);
                 }
 
                 @Override
@@ -266,7 +299,8 @@ public final class BerkeleyLedgerEntryStore
                     throws VirtualSubstateAlreadyDownException, VirtualParentStateDoesNotExist {
                   var parent = substateId.getVirtualParent().orElseThrow();
 
-                  var parentState = BerkeleyLedgerEntryStore.this.loadSubstate(dbTxn, parent);
+                  var parentState =
+                      BerkeleyLedgerEntryStore.this.loadSubstate(dbTxn, writes, parent);
                   if (parentState.isEmpty()) {
                     throw new VirtualParentStateDoesNotExist(parent);
                   }
@@ -277,7 +311,7 @@ public final class BerkeleyLedgerEntryStore
                   }
                   buf.position(buf.position() - 1);
 
-                  if (BerkeleyLedgerEntryStore.this.isVirtualDown(dbTxn, substateId)) {
+                  if (BerkeleyLedgerEntryStore.this.isVirtualDown(dbTxn, writes, substateId)) {
                     throw new VirtualSubstateAlreadyDownException(substateId);
                   }
 
@@ -286,25 +320,51 @@ public final class BerkeleyLedgerEntryStore
 
                 @Override
                 public Optional<ByteBuffer> loadSubstate(SubstateId substateId) {
-                  return BerkeleyLedgerEntryStore.this.loadSubstate(dbTxn, substateId);
+                  return BerkeleyLedgerEntryStore.this.loadSubstate(dbTxn, writes, substateId);
                 }
 
                 @Override
                 public CloseableCursor<RawSubstateBytes> openIndexedCursor(SubstateIndex<?> index) {
-                  return BerkeleyLedgerEntryStore.this.openIndexedCursor(dbTxn, index);
+                  return BerkeleyLedgerEntryStore.this.openIndexedCursor(
+                      dbTxn, indexWrites, index);
                 }
 
                 @Override
                 public Optional<ByteBuffer> loadResource(REAddr addr) {
-                  return BerkeleyLedgerEntryStore.this.loadAddr(dbTxn, addr);
+                  return BerkeleyLedgerEntryStore.this.loadAddr(dbTxn, writes, addr);
                 }
               });
-      dbTxn.commit();
-      return result;
+      withTime(
+          () -> commitWithTxnLog(dbTxn),
+          CounterType.ELAPSED_BDB_LEDGER_TXN_COMMIT,
+          CounterType.COUNT_BDB_LEDGER_TXN_COMMIT);
     } catch (Exception e) {
       dbTxn.abort();
+      additionalStores.forEach(BerkeleyAdditionalStore::onAbort);
       throw e;
     }
+
+    // The commit has succeeded, so failures from here on must not abort it
+    hotSubstateCache.apply(writes);
+    epochBoundaryIndex.apply(indexWrites);
+    additionalStores.forEach(BerkeleyAdditionalStore::onCommit);
+    return result;
+  }
+
+  private void commitWithTxnLog(com.sleepycat.je.Transaction dbTxn) {
+    try {
+      dbEnv.commit(dbTxn);
+    } catch (IOException e) {
+      throw new BerkeleyStoreException("Unable to flush transaction log", e);
+    }
+  }
+
+  private void flushTxnLog() {
+    try {
+      txnLog.flush();
+    } catch (IOException e) {
+      throw new BerkeleyStoreException("Unable to flush transaction log", e);
+    }
   }
 
   @Override
@@ -314,30 +374,45 @@ public final class BerkeleyLedgerEntryStore
 
   @Override
   public CloseableCursor<RawSubstateBytes> openIndexedCursor(SubstateIndex<?> index) {
-    return BerkeleyLedgerEntryStore.this.openIndexedCursor(null, index);
+    return BerkeleyLedgerEntryStore.this.openIndexedCursor(null, null, index);
   }
 
-  private Optional<RawSubstateBytes> getInternal(Transaction dbTxn, SystemMapKey mapKey) {
-    var key = new DatabaseEntry(mapKey.array());
-    var substateId = new DatabaseEntry();
-    var result = mapDatabase.get(dbTxn, key, substateId, null);
-    if (result != SUCCESS) {
-      return Optional.empty();
-    }
+  private Optional<RawSubstateBytes> getInternal(
+      Transaction dbTxn, HotSubstateCache.Writes writes, SystemMapKey mapKey) {
+    return hotSubstateCache.get(
+        mapKey,
+        writes,
+        () -> {
+          var key = new DatabaseEntry(mapKey.array());
+          var substateId = new DatabaseEntry();
+          var result =
+              withTime(
+                  () -> mapDatabase.get(dbTxn, key, substateId, null),
+                  CounterType.ELAPSED_BDB_LEDGER_GET,
+                  CounterType.COUNT_BDB_LEDGER_GET);
+          if (result != SUCCESS) {
+            return Optional.empty();
+          }
 
-    var substate = loadSubstate(dbTxn, SubstateId.fromBytes(substateId.getData())).orElseThrow();
-    var substateBytes = new RawSubstateBytes(substateId.getData(), substate.array());
-    return Optional.of(substateBytes);
+          var id = SubstateId.fromBytes(substateId.getData());
+          var substate = loadSubstate(dbTxn, writes, id).orElseThrow();
+          var substateBytes = new RawSubstateBytes(substateId.getData(), substate.array());
+          return Optional.of(substateBytes);
+        });
   }
 
   @Override
   public Optional<RawSubstateBytes> get(SystemMapKey mapKey) {
-    return getInternal(null, mapKey);
+    return getInternal(null, null, mapKey);
   }
 
-  private void storeTxn(Transaction dbTxn, REProcessedTxn txn) {
+  private void storeTxn(
+      Transaction dbTxn,
+      HotSubstateCache.Writes writes,
+      EpochBoundaryIndex.Writes indexWrites,
+      REProcessedTxn txn) {
     withTime(
-        () -> doStore(dbTxn, txn),
+        () -> doStore(dbTxn, writes, indexWrites, txn),
         CounterType.ELAPSED_BDB_LEDGER_STORE,
         CounterType.COUNT_BDB_LEDGER_STORE);
   }
@@ -380,7 +455,7 @@ public final class BerkeleyLedgerEntryStore
       }
 
       final var headerKey = toHeaderKey(proof);
-      final var headerData = entry(serialize(proof));
+      final var headerData = entry(serializeProof(dbTxn, proof));
       this.putNoOverwriteOrElseThrow(
           proofCursor,
           headerKey,
@@ -573,8 +648,7 @@ public final class BerkeleyLedgerEntryStore
             if (status == SUCCESS) {
               addBytesRead(value, pKey);
               try {
-                return Optional.of(
-                    serialization.fromDson(value.getData(), SerializedVertexStoreState.class));
+                return Optional.of(deserializeVertexStoreState(value.getData()));
               } catch (DeserializeException e) {
                 throw new IllegalStateException(e);
               }
@@ -599,7 +673,7 @@ public final class BerkeleyLedgerEntryStore
         CounterType.COUNT_BDB_LEDGER_SAVE);
   }
 
-  private void open() {
+  private void open(StartupProfiler startupProfiler) {
     var primaryConfig = buildPrimaryConfig();
     var rriConfig = buildRriConfig();
     var pendingConfig = buildPendingConfig();
@@ -629,97 +703,7 @@ public final class BerkeleyLedgerEntryStore
                             }
 
                             var substateTypeId = data.getData()[data.getOffset()];
-                            final int prefixIndexSize;
-                            if (substateTypeId == SubstateTypeId.TOKENS.id()) {
-                              // Indexing not necessary for verification at the moment but useful
-                              // for construction
-
-                              // 0: Type Byte
-                              // 1: Reserved Byte
-                              // 2-37: Account Address
-                              prefixIndexSize = 2 + (1 + ECPublicKey.COMPRESSED_BYTES);
-                            } else if (substateTypeId == SubstateTypeId.STAKE_OWNERSHIP.id()) {
-                              // Indexing not necessary for verification at the moment but useful
-                              // for construction
-
-                              // This should have had validator keys and account addresses switched
-                              // so that
-                              // prefix indexing could be done against account addresses rather than
-                              // validators
-                              // so that actions like "Unstake Everything" could be implemented and
-                              // queries against
-                              // accounts. A later to do...
-
-                              // 0: Type Byte
-                              // 1: Reserved Byte
-                              // 2-36: Validator Key
-                              // 37-69: Account Address
-                              prefixIndexSize =
-                                  2
-                                      + ECPublicKey.COMPRESSED_BYTES
-                                      + (1 + ECPublicKey.COMPRESSED_BYTES);
-                            } else if (substateTypeId == SubstateTypeId.EXITING_STAKE.id()) {
-                              // 0: Type Byte
-                              // 1: Reserved Byte
-                              // 2-5: Epoch
-                              // 6-40: Validator Key
-                              // 41-73: Account Address
-                              prefixIndexSize =
-                                  2
-                                      + Long.BYTES
-                                      + ECPublicKey.COMPRESSED_BYTES
-                                      + (1 + ECPublicKey.COMPRESSED_BYTES);
-                            } else if (substateTypeId == SubstateTypeId.PREPARED_STAKE.id()) {
-                              // 0: Type Byte
-                              // 1: Reserved Byte
-                              // 2-36: Validator Key
-                              // 37-69: Account Address
-                              prefixIndexSize =
-                                  2
-                                      + ECPublicKey.COMPRESSED_BYTES
-                                      + (1 + ECPublicKey.COMPRESSED_BYTES);
-                            } else if (substateTypeId == SubstateTypeId.PREPARED_UNSTAKE.id()) {
-                              // 0: Type Byte
-                              // 1: Reserved Byte
-                              // 2-36: Validator Key
-                              // 37-69: Account Address
-                              prefixIndexSize =
-                                  2
-                                      + ECPublicKey.COMPRESSED_BYTES
-                                      + (1 + ECPublicKey.COMPRESSED_BYTES);
-                            } else if (substateTypeId == SubstateTypeId.VALIDATOR_OWNER_COPY.id()) {
-                              // 0: Type Byte
-                              // 1: Reserved Byte
-                              // 2: Optional flag
-                              // 3-6: Epoch
-                              // 7-41: Validator Key
-                              prefixIndexSize = 3 + Long.BYTES + ECPublicKey.COMPRESSED_BYTES;
-                            } else if (substateTypeId
-                                == SubstateTypeId.VALIDATOR_REGISTERED_FLAG_COPY.id()) {
-                              // 0: Type Byte
-                              // 1: Reserved Byte
-                              // 2: Optional flag
-                              // 3-6: Epoch
-                              // 7-41: Validator Key
-                              prefixIndexSize = 3 + Long.BYTES + ECPublicKey.COMPRESSED_BYTES;
-                            } else if (substateTypeId == SubstateTypeId.VALIDATOR_RAKE_COPY.id()) {
-                              // 0: Type Byte
-                              // 1: Reserved Byte
-                              // 2: Optional flag
-                              // 3-6: Epoch
-                              // 7-41: Validator Key
-                              prefixIndexSize = 3 + Long.BYTES + ECPublicKey.COMPRESSED_BYTES;
-                            } else if (substateTypeId == SubstateTypeId.VALIDATOR_STAKE_DATA.id()) {
-                              // 0: Type Byte
-                              // 1: Reserved Byte
-                              // 2: Registered Byte
-                              // 3-34: Stake amount
-                              // 35-67: Validator key
-                              prefixIndexSize = 3 + UInt256.BYTES + ECPublicKey.COMPRESSED_BYTES;
-                            } else {
-                              // 0: Type Byte
-                              prefixIndexSize = 1;
-                            }
+                            var prefixIndexSize = indexKeyLength(substateTypeId);
                             // Index by substate type
                             result.setData(data.getData(), data.getOffset(), prefixIndexSize);
                             return true;
@@ -747,13 +731,181 @@ public final class BerkeleyLedgerEntryStore
       throw new BerkeleyStoreException("Error while opening databases", e);
     }
 
-    this.additionalStores.forEach(b -> b.open(dbEnv));
+    // Additional stores only use their own databases, so can be opened while the ledger recovers
+    var additionalStoresOpened =
+        startupProfiler.timeAllAsync(
+            StartupProfiler.Phase.ADDITIONAL_STORES,
+            additionalStores.stream()
+                .map(store -> (Runnable) () -> store.open(dbEnv))
+                .collect(Collectors.toList()));
+
+    recoverTxnLog();
+    dbEnv.addFlushable(txnLog);
+    loadEpochBoundaryIndex();
+    openDatabases().forEach(dbEnv::registerDatabase);
+
+    if (storeConfig.isCompactProofs()) {
+      migrateToCompactProofs();
+    }
+
+    StartupProfiler.await(additionalStoresOpened);
+  }
 
-    if (System.getProperty("db.check_integrity", "1").equals("1")) {
-      // TODO implement integrity check
-      // TODO perhaps we should implement recovery instead?
-      // TODO recovering should be integrated with recovering of ClientApiStore
+  private void loadEpochBoundaryIndex() {
+    try (var cursor = indexedSubstatesDatabase.openCursor(null, null)) {
+      for (var typeByte : EpochBoundaryIndex.trackedTypes()) {
+        var key = entry(new byte[] {typeByte});
+        var substateId = entry();
+        var value = entry();
+        var status = cursor.getSearchKeyRange(key, substateId, value, null);
+        while (status == SUCCESS && key.getData()[0] == typeByte) {
+          epochBoundaryIndex.load(new RawSubstateBytes(substateId.getData(), value.getData()));
+          status = cursor.getNext(key, substateId, value, null);
+        }
+      }
+    }
+    log.info("Loaded {} epoch boundary substates into memory", epochBoundaryIndex.size());
+  }
+
+  private List<Database> openDatabases() {
+    return Stream.of(
+            txnDatabase,
+            resourceDatabase,
+            mapDatabase,
+            substatesDatabase,
+            indexedSubstatesDatabase,
+            proofDatabase,
+            epochProofDatabase,
+            vertexStoreDatabase,
+            forkConfigDatabase,
+            forksVotingResultsDatabase)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  /**
+   * Brings the transaction log in line with the last transaction committed to JE. JE recovery
+   * always ends on a committed transaction, which includes its proof, so the JE state is consistent
+   * by itself. After a crash the log may however contain payloads of transactions whose JE commit
+   * was lost, which are truncated here. The opposite, JE referencing payloads which are missing
+   * from the log, is prevented by flushing the log before JE is synced and cannot be recovered
+   * from.
+   */
+  private void recoverTxnLog() {
+    final long expectedEnd;
+    try (var cursor = txnDatabase.openCursor(null, null)) {
+      var key = entry();
+      var data = entry();
+      if (cursor.getLast(key, data, DEFAULT) != SUCCESS) {
+        expectedEnd = 0;
+      } else {
+        var offset = Longs.fromByteArray(data.getData());
+        var size = Longs.fromByteArray(data.getData(), Long.BYTES);
+        expectedEnd = offset + size;
+      }
     }
+
+    var position = txnLog.position();
+    if (position > expectedEnd) {
+      log.warn(
+          "Transaction log is ahead of the ledger ({} > {} bytes), truncating uncommitted entries",
+          position,
+          expectedEnd);
+      txnLog.truncate(expectedEnd);
+    } else if (position < expectedEnd) {
+      throw new BerkeleyStoreException(
+          "Transaction log is missing committed transactions ("
+              + position
+              + " < "
+              + expectedEnd
+              + " bytes), the ledger database has to be re-synced");
+    }
+  }
+
+  // Length of the secondary index key of a substate, a prefix of the substate bytes
+  static int indexKeyLength(byte substateTypeId) {
+    final int prefixIndexSize;
+    if (substateTypeId == SubstateTypeId.TOKENS.id()) {
+      // Indexing not necessary for verification at the moment but useful for construction
+
+      // 0: Type Byte
+      // 1: Reserved Byte
+      // 2-37: Account Address
+      prefixIndexSize = 2 + (1 + ECPublicKey.COMPRESSED_BYTES);
+    } else if (substateTypeId == SubstateTypeId.STAKE_OWNERSHIP.id()) {
+      // Indexing not necessary for verification at the moment but useful for construction
+
+      // This should have had validator keys and account addresses switched so that prefix
+      // indexing could be done against account addresses rather than validators so that actions
+      // like "Unstake Everything" could be implemented and queries against accounts. A later to
+      // do...
+
+      // 0: Type Byte
+      // 1: Reserved Byte
+      // 2-36: Validator Key
+      // 37-69: Account Address
+      prefixIndexSize = 2 + ECPublicKey.COMPRESSED_BYTES + (1 + ECPublicKey.COMPRESSED_BYTES);
+    } else if (substateTypeId == SubstateTypeId.EXITING_STAKE.id()) {
+      // 0: Type Byte
+      // 1: Reserved Byte
+      // 2-5: Epoch
+      // 6-40: Validator Key
+      // 41-73: Account Address
+      prefixIndexSize =
+          2 + Long.BYTES + ECPublicKey.COMPRESSED_BYTES + (1 + ECPublicKey.COMPRESSED_BYTES);
+    } else if (substateTypeId == SubstateTypeId.PREPARED_STAKE.id()) {
+      // 0: Type Byte
+      // 1: Reserved Byte
+      // 2-36: Validator Key
+      // 37-69: Account Address
+      prefixIndexSize = 2 + ECPublicKey.COMPRESSED_BYTES + (1 + ECPublicKey.COMPRESSED_BYTES);
+    } else if (substateTypeId == SubstateTypeId.PREPARED_UNSTAKE.id()) {
+      // 0: Type Byte
+      // 1: Reserved Byte
+      // 2-36: Validator Key
+      // 37-69: Account Address
+      prefixIndexSize = 2 + ECPublicKey.COMPRESSED_BYTES + (1 + ECPublicKey.COMPRESSED_BYTES);
+    } else if (substateTypeId == SubstateTypeId.VALIDATOR_OWNER_COPY.id()) {
+      // 0: Type Byte
+      // 1: Reserved Byte
+      // 2: Optional flag
+      // 3-6: Epoch
+      // 7-41: Validator Key
+      prefixIndexSize = 3 + Long.BYTES + ECPublicKey.COMPRESSED_BYTES;
+    } else if (substateTypeId == SubstateTypeId.VALIDATOR_REGISTERED_FLAG_COPY.id()) {
+      // 0: Type Byte
+      // 1: Reserved Byte
+      // 2: Optional flag
+      // 3-6: Epoch
+      // 7-41: Validator Key
+      prefixIndexSize = 3 + Long.BYTES + ECPublicKey.COMPRESSED_BYTES;
+    } else if (substateTypeId == SubstateTypeId.VALIDATOR_RAKE_COPY.id()) {
+      // 0: Type Byte
+      // 1: Reserved Byte
+      // 2: Optional flag
+      // 3-6: Epoch
+      // 7-41: Validator Key
+      prefixIndexSize = 3 + Long.BYTES + ECPublicKey.COMPRESSED_BYTES;
+    } else if (substateTypeId == SubstateTypeId.VALIDATOR_STAKE_DATA.id()) {
+      // 0: Type Byte
+      // 1: Reserved Byte
+      // 2: Registered Byte
+      // 3-34: Stake amount
+      // 35-67: Validator key
+      prefixIndexSize = 3 + UInt256.BYTES + ECPublicKey.COMPRESSED_BYTES;
+    } else {
+      // 0: Type Byte
+      prefixIndexSize = 1;
+    }
+    return prefixIndexSize;
+  }
+
+  // Whether cursors over an index prefix of the given substate type iterate in descending order
+  static boolean isReverseIndexed(byte substateTypeId) {
+    return substateTypeId == SubstateTypeId.VALIDATOR_STAKE_DATA.id()
+        || substateTypeId == SubstateTypeId.VALIDATOR_RAKE_COPY.id()
+        || substateTypeId == SubstateTypeId.VALIDATOR_OWNER_COPY.id()
+        || substateTypeId == SubstateTypeId.VALIDATOR_REGISTERED_FLAG_COPY.id();
   }
 
   private SecondaryConfig buildEpochProofConfig() {
@@ -831,7 +983,7 @@ public final class BerkeleyLedgerEntryStore
       com.sleepycat.je.Transaction transaction, VerifiedVertexStoreState vertexStoreState) {
     var rootId = vertexStoreState.getRoot().getId();
     var vertexKey = entry(rootId.asBytes());
-    var vertexEntry = serializeAll(vertexStoreState.toSerialized());
+    var vertexEntry = entry(serializeVertexStoreState(transaction, vertexStoreState));
 
     try (var cursor = vertexStoreDatabase.openCursor(transaction, null)) {
       var status = cursor.getLast(null, null, DEFAULT);
@@ -880,11 +1032,7 @@ public final class BerkeleyLedgerEntryStore
       this.dbTxn = dbTxn;
       this.db = db;
       this.indexableBytes = indexableBytes;
-      this.reverse =
-          indexableBytes[0] == SubstateTypeId.VALIDATOR_STAKE_DATA.id()
-              || indexableBytes[0] == SubstateTypeId.VALIDATOR_RAKE_COPY.id()
-              || indexableBytes[0] == SubstateTypeId.VALIDATOR_OWNER_COPY.id()
-              || indexableBytes[0] == SubstateTypeId.VALIDATOR_REGISTERED_FLAG_COPY.id();
+      this.reverse = isReverseIndexed(indexableBytes[0]);
     }
 
     private void open() {
@@ -942,10 +1090,23 @@ public final class BerkeleyLedgerEntryStore
   }
 
   private CloseableCursor<RawSubstateBytes> openIndexedCursor(
-      Transaction dbTxn, SubstateIndex<?> index) {
-    var cursor = new BerkeleySubstateCursor(dbTxn, indexedSubstatesDatabase, index.getPrefix());
-    cursor.open();
-    return cursor;
+      Transaction dbTxn, EpochBoundaryIndex.Writes indexWrites, SubstateIndex<?> index) {
+    var prefix = index.getPrefix();
+    var indexed = epochBoundaryIndex.openCursor(prefix, isReverseIndexed(prefix[0]), indexWrites);
+    if (indexed.isPresent()) {
+      systemCounters.increment(CounterType.COUNT_BDB_LEDGER_EPOCH_BOUNDARY_INDEX_HITS);
+      return indexed.get();
+    }
+
+    return withTime(
+        () -> {
+          var cursor =
+              new BerkeleySubstateCursor(dbTxn, indexedSubstatesDatabase, index.getPrefix());
+          cursor.open();
+          return cursor;
+        },
+        CounterType.ELAPSED_BDB_LEDGER_SEARCH,
+        CounterType.COUNT_BDB_LEDGER_SEARCH);
   }
 
   private void upParticle(
@@ -975,35 +1136,41 @@ public final class BerkeleyLedgerEntryStore
     return e.getData().length == 0 ? REOp.DOWN : REOp.UP;
   }
 
-  private Optional<ByteBuffer> entryToSubstate(DatabaseEntry e) {
-    if (entryToSpin(e) == REOp.DOWN) {
-      return Optional.empty();
-    }
-    return Optional.of(ByteBuffer.wrap(e.getData()));
-  }
-
   private void insertIntoMapDatabaseOrFail(
-      com.sleepycat.je.Transaction txn, SystemMapKey mapKey, SubstateId substateId) {
+      com.sleepycat.je.Transaction txn,
+      HotSubstateCache.Writes writes,
+      SystemMapKey mapKey,
+      RawSubstateBytes substate) {
     var key = new DatabaseEntry(mapKey.array());
-    var value = new DatabaseEntry(substateId.asBytes());
+    var value = new DatabaseEntry(substate.getId());
     var result = mapDatabase.putNoOverwrite(txn, key, value);
     if (result != SUCCESS) {
       throw new IllegalStateException("Unable to insert into map database");
     }
+    writes.put(mapKey, Optional.of(substate));
   }
 
-  private void deleteFromMapDatabaseOrFail(com.sleepycat.je.Transaction txn, SystemMapKey mapKey) {
+  private void deleteFromMapDatabaseOrFail(
+      com.sleepycat.je.Transaction txn, HotSubstateCache.Writes writes, SystemMapKey mapKey) {
     var key = new DatabaseEntry(mapKey.array());
     var result = mapDatabase.delete(txn, key);
     if (result != SUCCESS) {
       throw new IllegalStateException("Unable to delete from map database");
     }
+    writes.put(mapKey, Optional.empty());
   }
 
-  private void executeStateUpdate(com.sleepycat.je.Transaction txn, REStateUpdate stateUpdate) {
+  private void executeStateUpdate(
+      com.sleepycat.je.Transaction txn,
+      HotSubstateCache.Writes writes,
+      EpochBoundaryIndex.Writes indexWrites,
+      REStateUpdate stateUpdate) {
     if (stateUpdate.isBootUp()) {
       var buf = stateUpdate.getStateBuf();
       upParticle(txn, buf, stateUpdate.getId());
+      var substate = stateUpdate.getRawSubstateBytes();
+      writes.put(stateUpdate.getId(), Optional.of(substate.getData()));
+      epochBoundaryIndex.bootUp(indexWrites, substate);
 
       // FIXME: Superhack
       if (stateUpdate.getParsed() instanceof TokenResource) {
@@ -1012,6 +1179,7 @@ public final class BerkeleyLedgerEntryStore
         var buf2 = stateUpdate.getStateBuf();
         var value = new DatabaseEntry(buf2.array(), buf2.position(), buf2.remaining());
         resourceDatabase.putNoOverwrite(txn, new DatabaseEntry(addr.getBytes()), value);
+        writes.put(addr, Optional.of(substate.getData()));
       }
 
       // TODO: The following is not required for verification. Only useful for construction
@@ -1020,38 +1188,41 @@ public final class BerkeleyLedgerEntryStore
         var p = (VirtualParent) stateUpdate.getParsed();
         var typeByte = p.data()[0];
         var mapKey = SystemMapKey.ofSystem(typeByte);
-        insertIntoMapDatabaseOrFail(txn, mapKey, stateUpdate.getId());
+        insertIntoMapDatabaseOrFail(txn, writes, mapKey, substate);
       } else if (stateUpdate.getParsed() instanceof ResourceData) {
         var p = (ResourceData) stateUpdate.getParsed();
         var mapKey = SystemMapKey.ofResourceData(p.addr(), stateUpdate.typeByte());
-        insertIntoMapDatabaseOrFail(txn, mapKey, stateUpdate.getId());
+        insertIntoMapDatabaseOrFail(txn, writes, mapKey, substate);
       } else if (stateUpdate.getParsed() instanceof ValidatorData) {
         var p = (ValidatorData) stateUpdate.getParsed();
         var mapKey =
             SystemMapKey.ofSystem(stateUpdate.typeByte(), p.validatorKey().getCompressedBytes());
-        insertIntoMapDatabaseOrFail(txn, mapKey, stateUpdate.getId());
+        insertIntoMapDatabaseOrFail(txn, writes, mapKey, substate);
       } else if (stateUpdate.getParsed() instanceof SystemData) {
         var mapKey = SystemMapKey.ofSystem(stateUpdate.typeByte());
-        insertIntoMapDatabaseOrFail(txn, mapKey, stateUpdate.getId());
+        insertIntoMapDatabaseOrFail(txn, writes, mapKey, substate);
       }
     } else if (stateUpdate.isShutDown()) {
       if (stateUpdate.getId().isVirtual()) {
         downVirtualSubstate(txn, stateUpdate.getId());
+        writes.put(stateUpdate.getId(), Optional.of(new byte[0]));
       } else {
         downSubstate(txn, stateUpdate.getId());
+        writes.put(stateUpdate.getId(), Optional.empty());
+        epochBoundaryIndex.shutDown(indexWrites, stateUpdate.getId());
 
         if (stateUpdate.getParsed() instanceof ResourceData) {
           var p = (ResourceData) stateUpdate.getParsed();
           var mapKey = SystemMapKey.ofResourceData(p.addr(), stateUpdate.typeByte());
-          deleteFromMapDatabaseOrFail(txn, mapKey);
+          deleteFromMapDatabaseOrFail(txn, writes, mapKey);
         } else if (stateUpdate.getParsed() instanceof ValidatorData) {
           var p = (ValidatorData) stateUpdate.getParsed();
           var mapKey =
               SystemMapKey.ofSystem(stateUpdate.typeByte(), p.validatorKey().getCompressedBytes());
-          deleteFromMapDatabaseOrFail(txn, mapKey);
+          deleteFromMapDatabaseOrFail(txn, writes, mapKey);
         } else if (stateUpdate.getParsed() instanceof SystemData) {
           var mapKey = SystemMapKey.ofSystem(stateUpdate.typeByte());
-          deleteFromMapDatabaseOrFail(txn, mapKey);
+          deleteFromMapDatabaseOrFail(txn, writes, mapKey);
         }
       }
     } else {
@@ -1059,7 +1230,11 @@ public final class BerkeleyLedgerEntryStore
     }
   }
 
-  private void doStore(Transaction dbTxn, REProcessedTxn txn) {
+  private void doStore(
+      Transaction dbTxn,
+      HotSubstateCache.Writes writes,
+      EpochBoundaryIndex.Writes indexWrites,
+      REProcessedTxn txn) {
     final long stateVersion;
     final long expectedOffset;
     try (var cursor = txnDatabase.openCursor(dbTxn, null)) {
@@ -1081,7 +1256,7 @@ public final class BerkeleyLedgerEntryStore
       // Transaction / Syncing database
       var aid = txn.getTxn().getId();
       // Write atom data as soon as possible
-      var storedSize = txnLog.write(txn.getTxn().getPayload(), expectedOffset);
+      var storedSize = appendToTxnLog(txn.getTxn().getPayload(), expectedOffset);
       // Store atom indices
       var pKey = toPKey(stateVersion);
       var atomPosData = txnEntry(expectedOffset, storedSize, aid);
@@ -1104,7 +1279,7 @@ public final class BerkeleyLedgerEntryStore
                 elapsed.elapsed(TimeUnit.SECONDS));
           }
           try {
-            this.executeStateUpdate(dbTxn, stateUpdate);
+            this.executeStateUpdate(dbTxn, writes, indexWrites, stateUpdate);
             count++;
           } catch (Exception e) {
             if (dbTxn != null) {
@@ -1118,7 +1293,7 @@ public final class BerkeleyLedgerEntryStore
       }
 
       additionalStores.forEach(
-          b -> b.process(dbTxn, txn, stateVersion, k -> getInternal(dbTxn, k)));
+          b -> b.process(dbTxn, txn, stateVersion, k -> getInternal(dbTxn, writes, k)));
 
     } catch (Exception e) {
       if (dbTxn != null) {
@@ -1128,6 +1303,16 @@ public final class BerkeleyLedgerEntryStore
     }
   }
 
+  private long appendToTxnLog(byte[] payload, long expectedOffset) throws IOException {
+    var appendLock = dbEnv.flushableAppendLock();
+    appendLock.lock();
+    try {
+      return txnLog.write(payload, expectedOffset);
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
   private com.sleepycat.je.Transaction beginTransaction() {
     return dbEnv.getEnvironment().beginTransaction(null, null);
   }
@@ -1136,10 +1321,6 @@ public final class BerkeleyLedgerEntryStore
     return serialization.toDson(instance, Output.PERSIST);
   }
 
-  private <T> DatabaseEntry serializeAll(T instance) {
-    return entry(serialization.toDson(instance, Output.ALL));
-  }
-
   @Override
   public VerifiedTxnsAndProof getNextCommittedTxns(DtoLedgerProof start) {
 
@@ -1155,7 +1336,7 @@ public final class BerkeleyLedgerEntryStore
       if (headerCursorStatus != SUCCESS) {
         return null;
       }
-      nextHeader = deserializeOrElseFail(headerValue.getData(), LedgerProof.class);
+      nextHeader = deserializeProof(txn, headerValue.getData());
     } finally {
       txn.commit();
     }
@@ -1172,9 +1353,7 @@ public final class BerkeleyLedgerEntryStore
         if (atomCursorStatus != SUCCESS) {
           throw new BerkeleyStoreException("Atom database search failure");
         }
-        var offset = fromByteArray(atomPosData.getData());
-        var txnBytes = txnLog.read(offset);
-        txns.add(Txn.create(txnBytes));
+        txns.add(readTxn(atomPosData));
         atomCursorStatus = txnCursor.getNext(atomSearchKey, atomPosData, DEFAULT);
         count++;
       } while (count < atomCount);
@@ -1189,6 +1368,7 @@ public final class BerkeleyLedgerEntryStore
   }
 
   public List<Txn> getCommittedTxns(long stateVersion, long limit) {
+    final var startTime = System.nanoTime();
     try (var txnCursor = txnDatabase.openCursor(null, null)) {
       var iterator =
           new Iterator<Txn>() {
@@ -1209,58 +1389,93 @@ public final class BerkeleyLedgerEntryStore
               if (status != SUCCESS) {
                 throw new NoSuchElementException();
               }
-              var offset = fromByteArray(value.getData());
-              byte[] txnBytes;
+              Txn next;
               try {
-                txnBytes = txnLog.read(offset);
+                next = readTxn(value);
               } catch (IOException e) {
                 throw new IllegalStateException("Unable to read transaction", e);
               }
-              Txn next = Txn.create(txnBytes);
 
               status = txnCursor.getNext(key, value, null);
               return next;
             }
           };
       return Streams.stream(iterator).limit(limit).onClose(txnCursor::close).toList();
+    } finally {
+      addTime(
+          startTime, CounterType.ELAPSED_BDB_LEDGER_ENTRIES, CounterType.COUNT_BDB_LEDGER_ENTRIES);
     }
   }
 
-  @Override
-  public Optional<ByteBuffer> loadResource(REAddr addr) {
-    return loadAddr(null, addr);
-  }
-
-  private Optional<ByteBuffer> loadAddr(Transaction dbTxn, REAddr addr) {
-    var buf = ByteBuffer.allocate(128);
-    buf.put(addr.getBytes());
-    var pos = buf.position();
-    var key = new DatabaseEntry(buf.array(), 0, pos);
-    var value = entry();
-    var status = resourceDatabase.get(dbTxn, key, value, DEFAULT);
-    if (status != SUCCESS) {
-      return Optional.empty();
-    }
-
-    return entryToSubstate(value);
-  }
-
-  private boolean isVirtualDown(Transaction dbTxn, SubstateId substateId) {
-    var key = entry(substateId.asBytes());
-    var value = entry();
-    var status = substatesDatabase.get(dbTxn, key, value, DEFAULT);
-    return status == SUCCESS;
+  /**
+   * Reads a transaction from the append log given its entry in the txn database. The id stored
+   * alongside the log position is reused so that served transactions don't have to be rehashed.
+   */
+  private Txn readTxn(DatabaseEntry txnPosData) throws IOException {
+    var data = txnPosData.getData();
+    var offset = fromByteArray(data);
+    var txnBytes = txnLog.read(offset);
+    var aid = AID.from(data, TXN_ENTRY_AID_OFFSET);
+    return Txn.createWithKnownId(txnBytes, aid);
   }
 
-  private Optional<ByteBuffer> loadSubstate(Transaction dbTxn, SubstateId substateId) {
-    var key = entry(substateId.asBytes());
-    var value = entry();
-    var status = substatesDatabase.get(dbTxn, key, value, DEFAULT);
-    if (status != SUCCESS) {
-      return Optional.empty();
-    }
-
-    return entryToSubstate(value);
+  @Override
+  public Optional<ByteBuffer> loadResource(REAddr addr) {
+    return loadAddr(null, null, addr);
+  }
+
+  private Optional<ByteBuffer> loadAddr(
+      Transaction dbTxn, HotSubstateCache.Writes writes, REAddr addr) {
+    Optional<byte[]> resource =
+        hotSubstateCache.get(
+            addr,
+            writes,
+            () ->
+                withTime(
+                    () -> {
+                      var buf = ByteBuffer.allocate(128);
+                      buf.put(addr.getBytes());
+                      var pos = buf.position();
+                      var key = new DatabaseEntry(buf.array(), 0, pos);
+                      var value = entry();
+                      var status = resourceDatabase.get(dbTxn, key, value, DEFAULT);
+                      return status == SUCCESS ? Optional.of(value.getData()) : Optional.empty();
+                    },
+                    CounterType.ELAPSED_BDB_LEDGER_GET,
+                    CounterType.COUNT_BDB_LEDGER_GET));
+    return resource.flatMap(this::toSubstate);
+  }
+
+  private boolean isVirtualDown(
+      Transaction dbTxn, HotSubstateCache.Writes writes, SubstateId substateId) {
+    return loadSubstateEntry(dbTxn, writes, substateId).isPresent();
+  }
+
+  private Optional<ByteBuffer> loadSubstate(
+      Transaction dbTxn, HotSubstateCache.Writes writes, SubstateId substateId) {
+    return loadSubstateEntry(dbTxn, writes, substateId).flatMap(this::toSubstate);
+  }
+
+  // Raw substate database entry, where an empty array marks a (virtually) downed substate
+  private Optional<byte[]> loadSubstateEntry(
+      Transaction dbTxn, HotSubstateCache.Writes writes, SubstateId substateId) {
+    return hotSubstateCache.get(
+        substateId,
+        writes,
+        () ->
+            withTime(
+                () -> {
+                  var key = entry(substateId.asBytes());
+                  var value = entry();
+                  var status = substatesDatabase.get(dbTxn, key, value, DEFAULT);
+                  return status == SUCCESS ? Optional.of(value.getData()) : Optional.empty();
+                },
+                CounterType.ELAPSED_BDB_LEDGER_GET,
+                CounterType.COUNT_BDB_LEDGER_GET));
+  }
+
+  private Optional<ByteBuffer> toSubstate(byte[] data) {
+    return data.length == 0 ? Optional.empty() : Optional.of(ByteBuffer.wrap(data));
   }
 
   @Override
@@ -1276,7 +1491,7 @@ public final class BerkeleyLedgerEntryStore
                 .map(
                     status -> {
                       addBytesRead(value, pKey);
-                      return deserializeOrElseFail(value.getData(), LedgerProof.class);
+                      return deserializeProof(null, value.getData());
                     });
           }
         },
@@ -1286,13 +1501,142 @@ public final class BerkeleyLedgerEntryStore
 
   @Override
   public Optional<LedgerProof> getEpochProof(long epoch) {
+    return withTime(
+        () -> {
+          var value = entry();
+          var status = epochProofDatabase.get(null, toPKey(epoch), value, null);
+          if (status != SUCCESS) {
+            return Optional.empty();
+          }
+
+          return Optional.of(deserializeProof(null, value.getData()));
+        },
+        CounterType.ELAPSED_BDB_LEDGER_EPOCH_PROOF,
+        CounterType.COUNT_BDB_LEDGER_EPOCH_PROOF);
+  }
+
+  private byte[] serializeProof(Transaction dbTxn, LedgerProof proof) {
+    if (storeConfig.isCompactProofs()) {
+      var compact =
+          signersOfEpoch(dbTxn, proof.getEpoch()).flatMap(s -> proofCodec.encode(proof, s));
+      if (compact.isPresent()) {
+        return compact.get();
+      }
+    }
+    return serialize(proof);
+  }
+
+  private LedgerProof deserializeProof(Transaction dbTxn, byte[] data) {
+    if (!CompactProofCodec.isCompact(data)) {
+      return deserializeOrElseFail(data, LedgerProof.class);
+    }
+
+    try {
+      var epoch = proofCodec.decodeWithoutSignatures(data).getEpoch();
+      var signers =
+          signersOfEpoch(dbTxn, epoch)
+              .orElseThrow(() -> new BerkeleyStoreException("Missing validators of " + epoch));
+      return proofCodec.decode(data, signers);
+    } catch (DeserializeException e) {
+      throw new BerkeleyStoreException("Could not deserialize", e);
+    }
+  }
+
+  private byte[] serializeVertexStoreState(
+      Transaction dbTxn, VerifiedVertexStoreState vertexStoreState) {
+    var state = vertexStoreState.toSerialized();
+    if (storeConfig.isCompactProofs()) {
+      var compact = proofCodec.encode(state, epoch -> signersOfEpoch(dbTxn, epoch));
+      if (compact.isPresent()) {
+        return compact.get();
+      }
+    }
+    return serialization.toDson(state, Output.ALL);
+  }
+
+  private SerializedVertexStoreState deserializeVertexStoreState(byte[] data)
+      throws DeserializeException {
+    return CompactProofCodec.isCompact(data)
+        ? proofCodec.decodeVertexStoreState(data, epoch -> signersOfEpoch(null, epoch))
+        : serialization.fromDson(data, SerializedVertexStoreState.class);
+  }
+
+  // Validators of an epoch, in signer bitmap order, from the proof which started the epoch
+  private Optional<List<BFTNode>> signersOfEpoch(Transaction dbTxn, long epoch) {
+    synchronized (epochSigners) {
+      var cached = epochSigners.get(epoch);
+      if (cached != null) {
+        return Optional.of(cached);
+      }
+    }
+
     var value = entry();
-    var status = epochProofDatabase.get(null, toPKey(epoch), value, null);
-    if (status != SUCCESS) {
+    if (epochProofDatabase.get(dbTxn, toPKey(epoch), value, null) != SUCCESS) {
       return Optional.empty();
     }
 
-    return Optional.of(deserializeOrElseFail(value.getData(), LedgerProof.class));
+    final LedgerProof epochProof;
+    try {
+      epochProof =
+          CompactProofCodec.isCompact(value.getData())
+              ? proofCodec.decodeWithoutSignatures(value.getData())
+              : serialization.fromDson(value.getData(), LedgerProof.class);
+    } catch (DeserializeException e) {
+      throw new BerkeleyStoreException("Could not deserialize", e);
+    }
+
+    Optional<List<BFTNode>> signers =
+        epochProof.getNextValidatorSet().map(CompactProofCodec::signerOrder);
+    signers.ifPresent(
+        s -> {
+          synchronized (epochSigners) {
+            epochSigners.put(epoch, s);
+          }
+        });
+    return signers;
+  }
+
+  /** Re-encodes proofs persisted as DSON with the compact encoding. */
+  private void migrateToCompactProofs() {
+    var migrated = 0L;
+    var savedBytes = 0L;
+    byte[] nextKey = null;
+    var done = false;
+    while (!done) {
+      var dbTxn = beginTransaction();
+      try (var cursor = proofDatabase.openCursor(dbTxn, null)) {
+        var key = nextKey == null ? entry() : entry(nextKey);
+        var value = entry();
+        var status =
+            nextKey == null
+                ? cursor.getFirst(key, value, DEFAULT)
+                : cursor.getSearchKeyRange(key, value, DEFAULT);
+        var count = 0;
+        while (status == SUCCESS && count < PROOF_MIGRATION_BATCH_SIZE) {
+          if (!CompactProofCodec.isCompact(value.getData())) {
+            var proof = deserializeOrElseFail(value.getData(), LedgerProof.class);
+            var compact = serializeProof(dbTxn, proof);
+            if (CompactProofCodec.isCompact(compact)) {
+              executeOrElseThrow(() -> cursor.putCurrent(entry(compact)), "Proof migration failed");
+              migrated++;
+              savedBytes += value.getSize() - compact.length;
+            }
+          }
+          count++;
+          status = cursor.getNext(key, value, DEFAULT);
+        }
+        done = status != SUCCESS;
+        nextKey = key.getData();
+      } catch (Exception e) {
+        dbTxn.abort();
+        throw new BerkeleyStoreException("Unable to migrate proofs", e);
+      }
+      dbTxn.commit();
+    }
+
+    if (migrated > 0) {
+      log.info("Migrated {} proofs to the compact encoding, saving {} bytes", migrated, savedBytes);
+    }
   }
 
   private <T> T deserializeOrElseFail(byte[] data, Class<T> c) {
@@ -1318,7 +1662,7 @@ public final class BerkeleyLedgerEntryStore
   }
 
   private static DatabaseEntry txnEntry(long offset, long size, AID aid) {
-    var buf = ByteBuffer.allocate(Long.BYTES + Long.BYTES + AID.BYTES);
+    var buf = ByteBuffer.allocate(TXN_ENTRY_AID_OFFSET + AID.BYTES);
     buf.putLong(offset);
     buf.putLong(size);
     buf.put(aid.getBytes());
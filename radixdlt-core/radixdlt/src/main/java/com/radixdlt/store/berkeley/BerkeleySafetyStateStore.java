@@ -182,7 +182,7 @@ public final class BerkeleySafetyStateStore implements PersistentSafetyStateStor
 
     final var start = System.nanoTime();
 
-    final var transaction = dbEnv.getEnvironment().beginTransaction(null, null);
+    final var transaction = dbEnv.beginSyncedTransaction();
     try {
       final byte[] serializedState = serialization.toDson(safetyState, DsonOutput.Output.PERSIST);
 
@@ -196,7 +196,7 @@ public final class BerkeleySafetyStateStore implements PersistentSafetyStateStor
         addBytesWrite(key.getSize() + data.getSize());
       }
 
-      transaction.commit();
+      dbEnv.commitSynced(transaction);
 
       cleanupUnused();
     } catch (Exception e) {
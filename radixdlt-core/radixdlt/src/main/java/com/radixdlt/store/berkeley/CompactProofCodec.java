@@ -0,0 +1,386 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.store.berkeley;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.UnsignedBytes;
+import com.radixdlt.atom.REFieldSerialization;
+import com.radixdlt.hotstuff.HighQC;
+import com.radixdlt.hotstuff.LedgerProof;
+import com.radixdlt.hotstuff.QuorumCertificate;
+import com.radixdlt.hotstuff.TimeoutCertificate;
+import com.radixdlt.hotstuff.TimestampedECDSASignature;
+import com.radixdlt.hotstuff.TimestampedECDSASignatures;
+import com.radixdlt.hotstuff.UnverifiedVertex;
+import com.radixdlt.hotstuff.bft.BFTNode;
+import com.radixdlt.hotstuff.bft.BFTValidatorSet;
+import com.radixdlt.serialization.DeserializeException;
+import com.radixdlt.serialization.DsonOutput.Output;
+import com.radixdlt.serialization.Serialization;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+
+/**
+ * Compact persisted encoding of {@link LedgerProof}s and of the certificates within a {@link
+ * SerializedVertexStoreState}. Instead of a DSON map keyed by full public keys, signatures are
+ * stored as a bitmap of signers, indexed against the validator set of the certificate's epoch
+ * sorted by public key, followed by the raw timestamp and signature of each signer:
+ *
+ * <pre>
+ *   proof:        [0x00] [DSON length (int)] [DSON of the proof without signatures] [signatures]
+ *   vertex store: [0x00] [DSON length (int)] [DSON of the state without signatures]
+ *                 [certificate count (short)] [signatures]*
+ *   signatures:   [validator count (short)] [signer bitmap] ([timestamp (long)] [sig (65 bytes)])*
+ * </pre>
+ *
+ * A leading zero byte never starts a DSON encoded object, so both encodings can be told apart.
+ *
+ * <p>The certificates of a vertex store state are stored in the order they are visited by {@link
+ * #mapSignatures}. Unsigned certificates, such as the genesis QC of an epoch, are stored with a
+ * validator count of zero, as they may be persisted before the validators of their epoch are.
+ */
+final class CompactProofCodec {
+  private static final byte COMPACT_PREFIX = 0x00;
+  private static final int SIGNATURE_BYTES = 32 * 2 + 1;
+  private static final Comparator<BFTNode> KEY_ORDER =
+      Comparator.comparing(
+          n -> n.getKey().getCompressedBytes(), UnsignedBytes.lexicographicalComparator());
+
+  private final Serialization serialization;
+
+  CompactProofCodec(Serialization serialization) {
+    this.serialization = serialization;
+  }
+
+  /** Returns the nodes of the given validator set in the order used for signer bitmaps. */
+  static ImmutableList<BFTNode> signerOrder(BFTValidatorSet validatorSet) {
+    return validatorSet.nodes().stream().sorted(KEY_ORDER).collect(ImmutableList.toImmutableList());
+  }
+
+  static boolean isCompact(byte[] data) {
+    return data.length > 0 && data[0] == COMPACT_PREFIX;
+  }
+
+  /**
+   * Encodes the proof against the given signer order, or returns empty if the proof cannot be
+   * represented losslessly, in which case the DSON encoding has to be used.
+   */
+  Optional<byte[]> encode(LedgerProof proof, List<BFTNode> signers) {
+    var signatures = encodeSignatures(proof.getSignatures(), signers);
+    if (signatures.isEmpty()) {
+      return Optional.empty();
+    }
+
+    var unsigned = serialization.toDson(withoutSignatures(proof), Output.PERSIST);
+    var buf =
+        ByteBuffer.allocate(1 + Integer.BYTES + unsigned.length + signatures.get().length);
+    buf.put(COMPACT_PREFIX);
+    buf.putInt(unsigned.length);
+    buf.put(unsigned);
+    buf.put(signatures.get());
+    return Optional.of(buf.array());
+  }
+
+  /** Decodes the proof without its signatures, which is enough to read the ledger header. */
+  LedgerProof decodeWithoutSignatures(byte[] data) throws DeserializeException {
+    var buf = ByteBuffer.wrap(data, 1, data.length - 1);
+    var length = buf.getInt();
+    return serialization.fromDson(data, buf.position(), length, LedgerProof.class);
+  }
+
+  LedgerProof decode(byte[] data, List<BFTNode> signers) throws DeserializeException {
+    var unsigned = decodeWithoutSignatures(data);
+    var buf = ByteBuffer.wrap(data, 1, data.length - 1);
+    var length = buf.getInt();
+    buf.position(buf.position() + length);
+
+    var signatures = decodeSignatures(buf, signers);
+    if (buf.hasRemaining()) {
+      throw new DeserializeException("Unexpected trailing bytes in compact proof");
+    }
+
+    return new LedgerProof(unsigned.getOpaque(), unsigned.getRaw(), signatures);
+  }
+
+  /**
+   * Encodes the state with the signatures of each of its certificates stored against the signer
+   * order of the certificate's epoch, or returns empty if the state cannot be represented
+   * losslessly, in which case the DSON encoding has to be used.
+   */
+  Optional<byte[]> encode(
+      SerializedVertexStoreState state, LongFunction<Optional<List<BFTNode>>> signersOfEpoch) {
+    var certificates = new ArrayList<Optional<byte[]>>();
+    var unsigned =
+        mapSignatures(
+            state,
+            (epoch, signatures) -> {
+              var signers =
+                  signatures.count() == 0
+                      ? Optional.<List<BFTNode>>of(List.of())
+                      : signersOfEpoch.apply(epoch);
+              certificates.add(signers.flatMap(s -> encodeSignatures(signatures, s)));
+              return new TimestampedECDSASignatures();
+            });
+
+    // Certificates which only differ in their signatures collapse once these are removed
+    if (certificates.size() > Short.MAX_VALUE
+        || certificates.stream().anyMatch(Optional::isEmpty)
+        || hasSeparateCommittedQC(state.getHighQC())
+            != hasSeparateCommittedQC(unsigned.getHighQC())) {
+      return Optional.empty();
+    }
+
+    var dson = serialization.toDson(unsigned, Output.ALL);
+    var length = 1 + Integer.BYTES + dson.length + Short.BYTES;
+    for (var certificate : certificates) {
+      length += certificate.get().length;
+    }
+    var buf = ByteBuffer.allocate(length);
+    buf.put(COMPACT_PREFIX);
+    buf.putInt(dson.length);
+    buf.put(dson);
+    buf.putShort((short) certificates.size());
+    certificates.forEach(c -> buf.put(c.get()));
+    return Optional.of(buf.array());
+  }
+
+  SerializedVertexStoreState decodeVertexStoreState(
+      byte[] data, LongFunction<Optional<List<BFTNode>>> signersOfEpoch)
+      throws DeserializeException {
+    var buf = ByteBuffer.wrap(data, 1, data.length - 1);
+    var length = buf.getInt();
+    var unsigned =
+        serialization.fromDson(data, buf.position(), length, SerializedVertexStoreState.class);
+    buf.position(buf.position() + length);
+
+    var epochs = new ArrayList<Long>();
+    mapSignatures(
+        unsigned,
+        (epoch, signatures) -> {
+          epochs.add(epoch);
+          return signatures;
+        });
+    var certificateCount = buf.getShort();
+    if (certificateCount != epochs.size()) {
+      throw new DeserializeException(
+          "State was encoded with " + certificateCount + " certificates but has " + epochs.size());
+    }
+
+    var certificates = new ArrayList<TimestampedECDSASignatures>(certificateCount);
+    for (var epoch : epochs) {
+      var signers =
+          buf.getShort(buf.position()) == 0
+              ? List.<BFTNode>of()
+              : signersOfEpoch
+                  .apply(epoch)
+                  .orElseThrow(() -> new DeserializeException("Missing validators of " + epoch));
+      certificates.add(decodeSignatures(buf, signers));
+    }
+    if (buf.hasRemaining()) {
+      throw new DeserializeException("Unexpected trailing bytes in compact vertex store state");
+    }
+
+    var signatures = certificates.iterator();
+    return mapSignatures(unsigned, (epoch, unused) -> signatures.next());
+  }
+
+  /**
+   * Rebuilds the state with the signatures of each of its certificates replaced by the given
+   * mapper, which is called with the epoch and signatures of each certificate in a fixed order.
+   */
+  private static SerializedVertexStoreState mapSignatures(
+      SerializedVertexStoreState state,
+      BiFunction<Long, TimestampedECDSASignatures, TimestampedECDSASignatures> mapper) {
+    var root = withSignatures(state.getRoot(), mapper);
+    var vertices = ImmutableList.<UnverifiedVertex>builder();
+    for (var vertex : state.getVertices()) {
+      vertices.add(withSignatures(vertex, mapper));
+    }
+
+    var highQC = state.getHighQC();
+    var highestQC = withSignatures(highQC.highestQC(), mapper);
+    var highestCommittedQC =
+        hasSeparateCommittedQC(highQC)
+            ? withSignatures(highQC.highestCommittedQC(), mapper)
+            : highestQC;
+    var highQCTimeout = highQC.highestTC().map(tc -> withSignatures(tc, mapper));
+    var highestTC = state.getHighestTC().map(tc -> withSignatures(tc, mapper));
+
+    return new SerializedVertexStoreState(
+        HighQC.from(highestQC, highestCommittedQC, highQCTimeout),
+        root,
+        vertices.build(),
+        highestTC.orElse(null));
+  }
+
+  private static UnverifiedVertex withSignatures(
+      UnverifiedVertex vertex,
+      BiFunction<Long, TimestampedECDSASignatures, TimestampedECDSASignatures> mapper) {
+    return vertex.withQC(withSignatures(vertex.getQC(), mapper));
+  }
+
+  private static QuorumCertificate withSignatures(
+      QuorumCertificate qc,
+      BiFunction<Long, TimestampedECDSASignatures, TimestampedECDSASignatures> mapper) {
+    return new QuorumCertificate(
+        qc.getVoteData(), mapper.apply(qc.getEpoch(), qc.getTimestampedSignatures()));
+  }
+
+  private static TimeoutCertificate withSignatures(
+      TimeoutCertificate tc,
+      BiFunction<Long, TimestampedECDSASignatures, TimestampedECDSASignatures> mapper) {
+    return new TimeoutCertificate(
+        tc.getEpoch(), tc.getView(), mapper.apply(tc.getEpoch(), tc.getTimestampedSignatures()));
+  }
+
+  private static boolean hasSeparateCommittedQC(HighQC highQC) {
+    return !highQC.highestCommittedQC().equals(highQC.highestQC());
+  }
+
+  private static Optional<byte[]> encodeSignatures(
+      TimestampedECDSASignatures timestampedSignatures, List<BFTNode> signers) {
+    if (signers.size() > Short.MAX_VALUE) {
+      return Optional.empty();
+    }
+
+    var indices = new HashMap<BFTNode, Integer>();
+    for (int i = 0; i < signers.size(); i++) {
+      indices.put(signers.get(i), i);
+    }
+
+    var signatures = timestampedSignatures.getSignatures();
+    var bitmap = new BitSet(signers.size());
+    var bySigner = new TimestampedECDSASignature[signers.size()];
+    for (var e : signatures.entrySet()) {
+      var index = indices.get(e.getKey());
+      if (index == null || !roundTrips(e.getValue())) {
+        return Optional.empty();
+      }
+      bitmap.set(index);
+      bySigner[index] = e.getValue();
+    }
+
+    var bitmapBytes = (signers.size() + 7) / 8;
+    var buf =
+        ByteBuffer.allocate(
+            Short.BYTES + bitmapBytes + signatures.size() * (Long.BYTES + SIGNATURE_BYTES));
+    buf.putShort((short) signers.size());
+    var bits = bitmap.toByteArray();
+    buf.put(bits);
+    buf.position(buf.position() + bitmapBytes - bits.length);
+    for (int i = bitmap.nextSetBit(0); i >= 0; i = bitmap.nextSetBit(i + 1)) {
+      buf.putLong(bySigner[i].timestamp());
+      buf.put(REFieldSerialization.serializeSignature(bySigner[i].signature()));
+    }
+    return Optional.of(buf.array());
+  }
+
+  private static TimestampedECDSASignatures decodeSignatures(
+      ByteBuffer buf, List<BFTNode> signers) throws DeserializeException {
+    var validatorCount = buf.getShort();
+    if (validatorCount != signers.size()) {
+      throw new DeserializeException(
+          "Signatures were encoded against "
+              + validatorCount
+              + " validators but got "
+              + signers.size());
+    }
+    var bitmapBytes = new byte[(validatorCount + 7) / 8];
+    buf.get(bitmapBytes);
+    var bitmap = BitSet.valueOf(bitmapBytes);
+
+    var signatures = new HashMap<BFTNode, TimestampedECDSASignature>();
+    for (int i = bitmap.nextSetBit(0); i >= 0; i = bitmap.nextSetBit(i + 1)) {
+      if (i >= validatorCount) {
+        throw new DeserializeException("Signer index " + i + " out of bounds");
+      }
+      var timestamp = buf.getLong();
+      var signature = REFieldSerialization.deserializeSignature(buf);
+      signatures.put(signers.get(i), TimestampedECDSASignature.from(timestamp, signature));
+    }
+    return new TimestampedECDSASignatures(signatures);
+  }
+
+  private static LedgerProof withoutSignatures(LedgerProof proof) {
+    return new LedgerProof(proof.getOpaque(), proof.getRaw(), new TimestampedECDSASignatures());
+  }
+
+  private static boolean roundTrips(TimestampedECDSASignature signature) {
+    var bytes = REFieldSerialization.serializeSignature(signature.signature());
+    try {
+      var decoded = REFieldSerialization.deserializeSignature(ByteBuffer.wrap(bytes));
+      return decoded.equals(signature.signature());
+    } catch (DeserializeException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,305 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+package com.radixdlt.store.berkeley;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.radixdlt.atom.CloseableCursor;
+import com.radixdlt.atom.SubstateId;
+import com.radixdlt.atom.SubstateTypeId;
+import com.radixdlt.constraintmachine.RawSubstateBytes;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * In-memory copy of the secondary substate index for the substate types which are processed in
+ * bulk at every epoch boundary: prepared stakes and unstakes, exiting stakes, validator BFT data,
+ * validator stake data and pending validator updates. Serving these from memory keeps epoch change
+ * construction and verification from scanning and deserializing the JE secondary database on the
+ * consensus path.
+ *
+ * <p>Entries are keyed by the secondary key followed by the substate id, which is the order in
+ * which the secondary database returns them. As with {@link HotSubstateCache}, updates made inside
+ * a ledger transaction are collected in {@link Writes}, are visible to cursors opened within that
+ * transaction, and are applied to the shared index once the database transaction has committed.
+ */
+final class EpochBoundaryIndex {
+  private static final Comparator<byte[]> COMPARATOR = UnsignedBytes.lexicographicalComparator();
+
+  private static final Set<Byte> TRACKED_TYPES =
+      Set.of(
+          SubstateTypeId.PREPARED_STAKE.id(),
+          SubstateTypeId.PREPARED_UNSTAKE.id(),
+          SubstateTypeId.EXITING_STAKE.id(),
+          SubstateTypeId.VALIDATOR_BFT_DATA.id(),
+          SubstateTypeId.VALIDATOR_STAKE_DATA.id(),
+          SubstateTypeId.VALIDATOR_RAKE_COPY.id(),
+          SubstateTypeId.VALIDATOR_OWNER_COPY.id(),
+          SubstateTypeId.VALIDATOR_REGISTERED_FLAG_COPY.id());
+
+  // Length of the secondary key of a substate, by substate type
+  private final IntUnaryOperator keyLength;
+  private final NavigableMap<byte[], RawSubstateBytes> entries =
+      new ConcurrentSkipListMap<>(COMPARATOR);
+  private final Map<SubstateId, byte[]> keys = new ConcurrentHashMap<>();
+
+  EpochBoundaryIndex(IntUnaryOperator keyLength) {
+    this.keyLength = keyLength;
+  }
+
+  /** Index updates made by a single, not yet committed, ledger transaction. */
+  static final class Writes {
+    private final NavigableMap<byte[], RawSubstateBytes> ups = new TreeMap<>(COMPARATOR);
+    private final Map<SubstateId, byte[]> upKeys = new HashMap<>();
+    private final Set<byte[]> downs = new TreeSet<>(COMPARATOR);
+  }
+
+  static Set<Byte> trackedTypes() {
+    return TRACKED_TYPES;
+  }
+
+  static boolean isTracked(byte typeByte) {
+    return TRACKED_TYPES.contains(typeByte);
+  }
+
+  Writes newWrites() {
+    return new Writes();
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  /** Adds a committed substate, read from the secondary database when the store is opened. */
+  void load(RawSubstateBytes substate) {
+    var key = key(substate);
+    entries.put(key, substate);
+    keys.put(SubstateId.fromBytes(substate.getId()), key);
+  }
+
+  void bootUp(Writes writes, RawSubstateBytes substate) {
+    if (!isTracked(substate.getData()[0])) {
+      return;
+    }
+
+    var key = key(substate);
+    writes.ups.put(key, substate);
+    writes.upKeys.put(SubstateId.fromBytes(substate.getId()), key);
+  }
+
+  void shutDown(Writes writes, SubstateId substateId) {
+    var localKey = writes.upKeys.remove(substateId);
+    if (localKey != null) {
+      writes.ups.remove(localKey);
+      return;
+    }
+
+    var key = keys.get(substateId);
+    if (key != null) {
+      writes.downs.add(key);
+    }
+  }
+
+  synchronized void apply(Writes writes) {
+    for (var key : writes.downs) {
+      var removed = entries.remove(key);
+      if (removed != null) {
+        keys.remove(SubstateId.fromBytes(removed.getId()));
+      }
+    }
+    writes.ups.forEach(
+        (key, substate) -> {
+          entries.put(key, substate);
+          keys.put(SubstateId.fromBytes(substate.getId()), key);
+        });
+  }
+
+  /**
+   * Opens a cursor over the substates whose secondary key starts with the given prefix, merged with
+   * the uncommitted {@code writes} if any. Returns empty if the prefix is not covered by this index,
+   * in which case the secondary database has to be used.
+   */
+  Optional<CloseableCursor<RawSubstateBytes>> openCursor(
+      byte[] prefix, boolean reverse, Writes writes) {
+    if (prefix.length == 0
+        || !isTracked(prefix[0])
+        || prefix.length > keyLength.applyAsInt(prefix[0])) {
+      return Optional.empty();
+    }
+
+    var committed = range(entries, prefix, reverse);
+    if (writes == null) {
+      return Optional.of(CloseableCursor.wrapIterator(committed.values().iterator()));
+    }
+
+    var committedEntries = committed.entrySet().iterator();
+    var localEntries = range(writes.ups, prefix, reverse).entrySet().iterator();
+    var comparator = reverse ? COMPARATOR.reversed() : COMPARATOR;
+    return Optional.of(
+        new MergingCursor(committedEntries, localEntries, writes.downs, comparator));
+  }
+
+  private static NavigableMap<byte[], RawSubstateBytes> range(
+      NavigableMap<byte[], RawSubstateBytes> map, byte[] prefix, boolean reverse) {
+    var successor = successor(prefix);
+    var range =
+        successor.isPresent()
+            ? map.subMap(prefix, true, successor.get(), false)
+            : map.tailMap(prefix, true);
+    return reverse ? range.descendingMap() : range;
+  }
+
+  // Smallest key greater than all keys starting with the given prefix, if any
+  private static Optional<byte[]> successor(byte[] prefix) {
+    for (int i = prefix.length - 1; i >= 0; i--) {
+      if (prefix[i] != (byte) 0xff) {
+        var successor = Arrays.copyOf(prefix, i + 1);
+        successor[i]++;
+        return Optional.of(successor);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private byte[] key(RawSubstateBytes substate) {
+    var data = substate.getData();
+    var id = substate.getId();
+    var length = keyLength.applyAsInt(data[0]);
+    var key = Arrays.copyOf(data, length + id.length);
+    System.arraycopy(id, 0, key, length, id.length);
+    return key;
+  }
+
+  private static final class MergingCursor implements CloseableCursor<RawSubstateBytes> {
+    private final Iterator<Map.Entry<byte[], RawSubstateBytes>> committed;
+    private final Iterator<Map.Entry<byte[], RawSubstateBytes>> local;
+    private final Set<byte[]> downs;
+    private final Comparator<byte[]> comparator;
+    private Map.Entry<byte[], RawSubstateBytes> nextCommitted;
+    private Map.Entry<byte[], RawSubstateBytes> nextLocal;
+
+    private MergingCursor(
+        Iterator<Map.Entry<byte[], RawSubstateBytes>> committed,
+        Iterator<Map.Entry<byte[], RawSubstateBytes>> local,
+        Set<byte[]> downs,
+        Comparator<byte[]> comparator) {
+      this.committed = committed;
+      this.local = local;
+      this.downs = downs;
+      this.comparator = comparator;
+      this.nextCommitted = advanceCommitted();
+      this.nextLocal = local.hasNext() ? local.next() : null;
+    }
+
+    private Map.Entry<byte[], RawSubstateBytes> advanceCommitted() {
+      while (committed.hasNext()) {
+        var next = committed.next();
+        if (!downs.contains(next.getKey())) {
+          return next;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public void close() {
+      // Nothing to release
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextCommitted != null || nextLocal != null;
+    }
+
+    @Override
+    public RawSubstateBytes next() {
+      if (nextCommitted == null && nextLocal == null) {
+        throw new NoSuchElementException();
+      }
+
+      if (nextLocal == null
+          || (nextCommitted != null
+              && comparator.compare(nextCommitted.getKey(), nextLocal.getKey()) <= 0)) {
+        var next = nextCommitted.getValue();
+        nextCommitted = advanceCommitted();
+        return next;
+      }
+
+      var next = nextLocal.getValue();
+      nextLocal = local.hasNext() ? local.next() : null;
+      return next;
+    }
+  }
+}
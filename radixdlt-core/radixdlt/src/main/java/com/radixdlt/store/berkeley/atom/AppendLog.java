@@ -66,6 +66,7 @@ package com.radixdlt.store.berkeley.atom;
 
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.utils.Pair;
+import java.io.Flushable;
 import java.io.IOException;
 import java.util.function.BiConsumer;
 
@@ -77,7 +78,7 @@ import java.util.function.BiConsumer;
  *     [size (64-bit little-endian)] [byte0, byte1, ..., byteN]
  * </pre>
  */
-public interface AppendLog {
+public interface AppendLog extends Flushable {
   /**
    * Open compressed R/W append log.
    *
@@ -138,6 +139,7 @@ public interface AppendLog {
   Pair<byte[], Integer> readChunk(long offset) throws IOException;
 
   /** Force flushing data to disk. */
+  @Override
   void flush() throws IOException;
 
   /** Close append log. */
@@ -79,6 +79,8 @@ import com.radixdlt.hotstuff.bft.BFTNode;
 import com.radixdlt.ledger.AccumulatorState;
 import com.radixdlt.ledger.LedgerAccumulatorVerifier;
 import com.radixdlt.ledger.LedgerUpdate;
+import com.radixdlt.network.p2p.NodeId;
+import com.radixdlt.network.p2p.PeerLinkStatistics;
 import com.radixdlt.network.p2p.PeersView;
 import com.radixdlt.sync.SyncState.IdleState;
 import com.radixdlt.sync.SyncState.SyncCheckState;
@@ -96,10 +98,13 @@ import com.radixdlt.sync.messages.remote.SyncResponse;
 import com.radixdlt.sync.validation.RemoteSyncResponseSignaturesVerifier;
 import com.radixdlt.sync.validation.RemoteSyncResponseValidatorSetVerifier;
 import com.radixdlt.utils.Pair;
+import com.radixdlt.utils.TimeSupplier;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -126,6 +131,9 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
   private final SyncConfig syncConfig;
   private final SystemCounters systemCounters;
   private final PeersView peersView;
+  private final PeerLinkStatistics peerLinkStatistics;
+  private final TimeSupplier timeSupplier;
+  private final Random random;
   private final Comparator<AccumulatorState> accComparator;
   private final RemoteSyncResponseValidatorSetVerifier validatorSetVerifier;
   private final RemoteSyncResponseSignaturesVerifier signaturesVerifier;
@@ -135,6 +143,9 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
 
   private final ImmutableMap<Pair<? extends Class<?>, ? extends Class<?>>, Handler<?, ?>> handlers;
 
+  // Times the outstanding status and sync requests were sent at, per peer
+  private final Map<BFTNode, Long> requestsSentAt = new HashMap<>();
+
   private SyncState syncState;
 
   @Inject
@@ -148,6 +159,9 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
       SyncConfig syncConfig,
       SystemCounters systemCounters,
       PeersView peersView,
+      PeerLinkStatistics peerLinkStatistics,
+      TimeSupplier timeSupplier,
+      Random random,
       Comparator<AccumulatorState> accComparator,
       RemoteSyncResponseValidatorSetVerifier validatorSetVerifier,
       RemoteSyncResponseSignaturesVerifier signaturesVerifier,
@@ -165,6 +179,9 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
     this.syncConfig = Objects.requireNonNull(syncConfig);
     this.systemCounters = Objects.requireNonNull(systemCounters);
     this.peersView = Objects.requireNonNull(peersView);
+    this.peerLinkStatistics = Objects.requireNonNull(peerLinkStatistics);
+    this.timeSupplier = Objects.requireNonNull(timeSupplier);
+    this.random = Objects.requireNonNull(random);
     this.accComparator = Objects.requireNonNull(accComparator);
     this.validatorSetVerifier = Objects.requireNonNull(validatorSetVerifier);
     this.signaturesVerifier = Objects.requireNonNull(signaturesVerifier);
@@ -274,7 +291,13 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
         "LocalSync: Initializing sync check, about to ask {} peers for their status",
         peersToAsk.size());
 
-    peersToAsk.forEach(peer -> statusRequestDispatcher.dispatch(peer, StatusRequest.create()));
+    this.requestsSentAt.clear();
+    final var now = timeSupplier.currentTime();
+    peersToAsk.forEach(
+        peer -> {
+          this.requestsSentAt.put(peer, now);
+          statusRequestDispatcher.dispatch(peer, StatusRequest.create());
+        });
     this.syncCheckReceiveStatusTimeoutDispatcher.dispatch(
         SyncCheckReceiveStatusTimeout.create(), this.syncConfig.syncCheckReceiveStatusTimeout());
 
@@ -282,11 +305,11 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
   }
 
   private ImmutableSet<BFTNode> choosePeersForSyncCheck() {
-    final var allPeers = this.peersView.peers().collect(Collectors.toList());
-    Collections.shuffle(allPeers);
-    return allPeers.stream()
+    final var allPeers =
+        this.peersView.peers().map(PeersView.PeerInfo::bftNode).collect(Collectors.toList());
+    Collections.shuffle(allPeers, random);
+    return this.peerLinkStatistics.rankByLatency(allPeers, random).stream()
         .limit(this.syncConfig.syncCheckMaxPeers())
-        .map(PeersView.PeerInfo::bftNode)
         .collect(ImmutableSet.toImmutableSet());
   }
 
@@ -302,6 +325,12 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
       return currentState; // already got the response from this peer
     }
 
+    final var requestSentAt = this.requestsSentAt.remove(peer);
+    if (requestSentAt != null) {
+      this.peerLinkStatistics.recordRoundTrip(
+          NodeId.fromPublicKey(peer.getKey()), timeSupplier.currentTime() - requestSentAt);
+    }
+
     final var newState = currentState.withStatusResponse(peer, statusResponse);
 
     if (newState.gotAllResponses()) {
@@ -340,7 +369,12 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
                       .map(Map.Entry::getKey)
                       .collect(ImmutableList.toImmutableList());
 
-              return this.startSync(currentState, candidatePeers, maxPeerHeader);
+              // ask the closest of them first
+              final var rankedCandidatePeers =
+                  ImmutableList.copyOf(
+                      this.peerLinkStatistics.rankByLatency(candidatePeers, random));
+
+              return this.startSync(currentState, rankedCandidatePeers, maxPeerHeader);
             })
         .orElseGet(
             () -> {
@@ -350,6 +384,9 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
   }
 
   private SyncState processSyncCheckReceiveStatusTimeout(SyncCheckState currentState) {
+    // the peers that haven't responded by now won't get a round trip sample
+    this.requestsSentAt.clear();
+
     if (!currentState.responses().isEmpty()) {
       // we didn't get all the responses but we have some, try to sync with what we have
       return this.processPeerStatusResponsesAndStartSyncIfNeeded(currentState);
@@ -406,6 +443,7 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
     final var currentHeader = currentState.getCurrentHeader();
 
     final var requestId = requestIdCounter.incrementAndGet();
+    this.requestsSentAt.put(peer, timeSupplier.currentTime());
     this.syncRequestDispatcher.dispatch(peer, SyncRequest.create(currentHeader.toDto()));
     this.syncRequestTimeoutDispatcher.dispatch(
         SyncRequestTimeout.create(peer, requestId), this.syncConfig.syncRequestTimeout());
@@ -429,6 +467,18 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
       return currentState;
     }
 
+    final var requestSentAt = this.requestsSentAt.remove(sender);
+    if (requestSentAt != null) {
+      final var responseBytes =
+          syncResponse.getTxnsAndProof().getTxns().stream()
+              .mapToLong(txn -> txn.getPayload().length)
+              .sum();
+      this.peerLinkStatistics.recordTransfer(
+          NodeId.fromPublicKey(sender.getKey()),
+          timeSupplier.currentTime() - requestSentAt,
+          responseBytes);
+    }
+
     // TODO: check validity of response
     if (syncResponse.getTxnsAndProof().getTxns().isEmpty()) {
       log.warn("LocalSync: Received empty sync response from {}", sender);
@@ -489,6 +539,8 @@ public final class LocalSyncServiceImpl implements LocalSyncService {
 
     log.trace("LocalSync: Sync request timeout from peer {}", syncRequestTimeout.getPeer());
 
+    this.requestsSentAt.remove(syncRequestTimeout.getPeer());
+
     return this.processSync(
         currentState.clearPendingRequest().removeCandidate(syncRequestTimeout.getPeer()));
   }
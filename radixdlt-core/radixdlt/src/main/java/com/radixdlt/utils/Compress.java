@@ -67,6 +67,7 @@ package com.radixdlt.utils;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import org.xerial.snappy.Snappy;
 import org.xerial.snappy.SnappyFramedInputStream;
 import org.xerial.snappy.SnappyFramedOutputStream;
@@ -108,4 +109,16 @@ public class Compress {
       return os.toByteArray();
     }
   }
+
+  /**
+   * Returns a stream which decompresses the input as it is read. Only as much of the input as is
+   * needed for the bytes read is decompressed.
+   *
+   * @param input source data to decompress
+   * @return stream of decompressed data
+   * @throws IOException if the input doesn't start with a valid stream header
+   */
+  public static InputStream uncompressedStream(byte[] input) throws IOException {
+    return new SnappyFramedInputStream(new ByteArrayInputStream(input));
+  }
 }
@@ -69,22 +69,31 @@ import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.TypeLiteral;
+import com.radixdlt.DefaultSerialization;
 import com.radixdlt.RadixNodeModule;
 import com.radixdlt.api.EndStateApiServer;
 import com.radixdlt.api.PrimaryApiServer;
+import com.radixdlt.api.VirtualThreadDispatchHandler;
+import com.radixdlt.counters.StartupProfiler;
+import com.radixdlt.counters.StartupProfiler.Phase;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.environment.Runners;
+import com.radixdlt.environment.rx.EventRecorder;
 import com.radixdlt.hotstuff.bft.BFTNode;
 import com.radixdlt.hotstuff.bft.Self;
 import com.radixdlt.hotstuff.epoch.EpochChange;
 import com.radixdlt.modules.ModuleRunner;
+import com.radixdlt.network.p2p.addressbook.AddressBook;
 import com.radixdlt.network.p2p.transport.PeerServerBootstrap;
 import com.radixdlt.properties.RuntimeProperties;
+import com.radixdlt.store.DatabaseEnvironment;
+import com.radixdlt.store.DatabaseStatsCollector;
 import com.radixdlt.store.berkeley.BerkeleyAddressBookPersistence;
 import com.radixdlt.store.berkeley.BerkeleyLedgerEntryStore;
 import com.radixdlt.store.berkeley.BerkeleySafetyStateStore;
 import com.radixdlt.utils.MemoryLeakDetector;
 import io.undertow.Undertow;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
@@ -93,6 +102,7 @@ import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Properties;
 import org.apache.commons.cli.ParseException;
 import org.apache.logging.log4j.LogManager;
@@ -198,11 +208,48 @@ public final class Radix {
 
   public static void start(RuntimeProperties properties) {
     long start = System.currentTimeMillis();
-    var injector = Guice.createInjector(new RadixNodeModule(properties));
-
+    var startupProfiler = new StartupProfiler();
+    // Independent of the node configuration, so can be initialised while the injector is created
+    var serializationReady =
+        startupProfiler.timeAsync(Phase.SERIALIZATION, DefaultSerialization::getInstance);
+    var injector =
+        startupProfiler.time(
+            Phase.INJECTOR,
+            () ->
+                Guice.createInjector(
+                    new RadixNodeModule(properties),
+                    binder -> binder.bind(StartupProfiler.class).toInstance(startupProfiler)));
+    StartupProfiler.await(serializationReady);
+
+    // Resolved on this thread, as concurrent provisioning of shared singletons isn't safe
+    startupProfiler.time(Phase.ADDRESS_BOOK, () -> injector.getInstance(AddressBook.class));
     final Map<String, ModuleRunner> moduleRunners =
-        injector.getInstance(Key.get(new TypeLiteral<Map<String, ModuleRunner>>() {}));
+        startupProfiler.time(
+            Phase.NODE_GRAPH,
+            () -> injector.getInstance(Key.get(new TypeLiteral<Map<String, ModuleRunner>>() {})));
+
+    startupProfiler.time(Phase.RUNNERS, () -> startRunners(injector, moduleRunners));
+
+    final BFTNode self = injector.getInstance(Key.get(BFTNode.class, Self.class));
+    long finish = System.currentTimeMillis();
+    var systemCounters = injector.getInstance(SystemCounters.class);
+    systemCounters.set(SystemCounters.CounterType.STARTUP_TIME_MS, finish - start);
+    startupProfiler.export(systemCounters);
+
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(injector)));
+
+    log.info("Node '{}' started successfully in {} seconds", self, (finish - start) / 1000);
+    log.info("Startup phases: {}", startupProfiler);
+
+    if (injector.getInstance(Key.get(EpochChange.class)).isShutdown()) {
+      log.warn(
+          """
+                The time of the Olympia network has come to an end. It will no longer process any transactions.
+                Run the Babylon node to continue your Radix journey!""");
+    }
+  }
 
+  private static void startRunners(Injector injector, Map<String, ModuleRunner> moduleRunners) {
     final var p2pNetworkRunner = moduleRunners.get(Runners.P2P_NETWORK);
     p2pNetworkRunner.start();
 
@@ -233,21 +280,7 @@ public final class Radix {
     final var consensusRunner = moduleRunners.get(Runners.CONSENSUS);
     consensusRunner.start();
 
-    final BFTNode self = injector.getInstance(Key.get(BFTNode.class, Self.class));
-    long finish = System.currentTimeMillis();
-    var systemCounters = injector.getInstance(SystemCounters.class);
-    systemCounters.set(SystemCounters.CounterType.STARTUP_TIME_MS, finish - start);
-
-    Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(injector)));
-
-    log.info("Node '{}' started successfully in {} seconds", self, (finish - start) / 1000);
-
-    if (injector.getInstance(Key.get(EpochChange.class)).isShutdown()) {
-      log.warn(
-          """
-                The time of the Olympia network has come to an end. It will no longer process any transactions.
-                Run the Babylon node to continue your Radix journey!""");
-    }
+    injector.getInstance(DatabaseStatsCollector.class).start();
   }
 
   private static void shutdown(Injector injector) {
@@ -259,6 +292,21 @@ public final class Radix {
         .getInstance(Key.get(new TypeLiteral<Map<String, ModuleRunner>>() {}))
         .forEach((k, moduleRunner) -> moduleRunner.stop());
 
+    try {
+      var recorder = injector.getInstance(Key.get(new TypeLiteral<Optional<EventRecorder>>() {}));
+      if (recorder.orElse(null) instanceof Closeable closeable) {
+        closeable.close();
+      }
+    } catch (Exception e) {
+      // no-op
+    }
+
+    try {
+      injector.getInstance(DatabaseStatsCollector.class).stop();
+    } catch (Exception e) {
+      // no-op
+    }
+
     try {
       injector.getInstance(BerkeleyAddressBookPersistence.class).close();
     } catch (Exception e) {
@@ -277,12 +325,26 @@ public final class Radix {
       // no-op
     }
 
+    try {
+      injector.getInstance(DatabaseEnvironment.class).stop();
+    } catch (Exception e) {
+      // no-op
+    }
+
     try {
       injector.getInstance(Key.get(Undertow.class, PrimaryApiServer.class)).stop();
     } catch (Exception e) {
       // no-op
     }
 
+    try {
+      injector
+          .getInstance(Key.get(new TypeLiteral<Optional<VirtualThreadDispatchHandler>>() {}))
+          .ifPresent(VirtualThreadDispatchHandler::close);
+    } catch (Exception e) {
+      // no-op
+    }
+
     try {
       injector.getInstance(Key.get(Undertow.class, EndStateApiServer.class)).stop();
     } catch (Exception e) {
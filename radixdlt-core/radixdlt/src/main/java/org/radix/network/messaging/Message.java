@@ -85,6 +85,9 @@ public abstract class Message extends BasicContainer {
 
   private long instance = Message.instances.incrementAndGet();
 
+  // Compressed wire encoding, only kept when retainWireEncoding() is true
+  private volatile byte[] wireBytes;
+
   @JsonProperty("timestamp")
   @DsonOutput(value = {Output.API, Output.PERSIST})
   private final long timestamp;
@@ -97,6 +100,25 @@ public abstract class Message extends BasicContainer {
     return this.timestamp;
   }
 
+  /**
+   * Whether the compressed wire encoding of this message should be kept once computed. Messages
+   * that are sent to many peers can override this to avoid serializing them again for every send.
+   */
+  protected boolean retainWireEncoding() {
+    return false;
+  }
+
+  public byte[] toCompressedWireBytes(Serialization serialization) throws IOException {
+    var bytes = this.wireBytes;
+    if (bytes == null) {
+      bytes = Compress.compress(serialization.toDson(this, Output.WIRE));
+      if (retainWireEncoding()) {
+        this.wireBytes = bytes;
+      }
+    }
+    return bytes;
+  }
+
   public byte[] toByteArray(Serialization serialization) throws IOException {
     byte[] bytes = serialization.toDson(this, Output.WIRE);
     byte[] data = Compress.compress(bytes);
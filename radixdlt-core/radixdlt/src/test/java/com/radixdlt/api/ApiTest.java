@@ -73,6 +73,7 @@ import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Scopes;
 import com.google.inject.multibindings.Multibinder;
+import com.radixdlt.api.core.balances.BerkeleyAccountBalanceStore;
 import com.radixdlt.api.core.openapitools.JSON;
 import com.radixdlt.api.core.openapitools.model.NetworkIdentifier;
 import com.radixdlt.api.core.reconstruction.BerkeleyRecoverableProcessedTxnStore;
@@ -109,6 +110,8 @@ import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.ExceptionHandler;
 import io.undertow.util.HeaderMap;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
@@ -155,9 +158,11 @@ public abstract class ApiTest {
               @Override
               protected void configure() {
                 bind(BerkeleyRecoverableProcessedTxnStore.class).in(Scopes.SINGLETON);
-                Multibinder.newSetBinder(binder(), BerkeleyAdditionalStore.class)
-                    .addBinding()
-                    .to(BerkeleyRecoverableProcessedTxnStore.class);
+                bind(BerkeleyAccountBalanceStore.class).in(Scopes.SINGLETON);
+                var additionalStores =
+                    Multibinder.newSetBinder(binder(), BerkeleyAdditionalStore.class);
+                additionalStores.addBinding().to(BerkeleyRecoverableProcessedTxnStore.class);
+                additionalStores.addBinding().to(BerkeleyAccountBalanceStore.class);
                 bindConstant()
                     .annotatedWith(DatabaseLocation.class)
                     .to(folder.getRoot().getAbsolutePath());
@@ -220,8 +225,14 @@ public abstract class ApiTest {
   }
 
   private HttpServerExchange exchange(byte[] request, Sender sender) {
+    return exchange(request, sender, new ByteArrayOutputStream());
+  }
+
+  private HttpServerExchange exchange(
+      byte[] request, Sender sender, ByteArrayOutputStream responseStream) {
     var httpServerExchange = mock(HttpServerExchange.class);
     when(httpServerExchange.getInputStream()).thenReturn(new ByteArrayInputStream(request));
+    when(httpServerExchange.getOutputStream()).thenReturn(responseStream);
     when(httpServerExchange.isInIoThread()).thenReturn(false);
     when(httpServerExchange.getResponseHeaders()).thenReturn(new HeaderMap());
     when(httpServerExchange.getResponseSender()).thenReturn(sender);
@@ -266,18 +277,12 @@ public abstract class ApiTest {
       HttpHandler handler, byte[] requestBytes, Class<T> responseClass) throws Exception {
     var objectMapper = JSON.getDefault().getMapper();
     var sender = mock(Sender.class);
-    var response = new AtomicReference<String>();
-    doAnswer(
-            invocation -> {
-              response.set(invocation.getArgument(0));
-              return null;
-            })
-        .when(sender)
-        .send(anyString());
-    handler.handleRequest(exchange(requestBytes, sender));
-    var deserializedResponse = objectMapper.readValue(response.get(), responseClass);
+    var responseStream = new ByteArrayOutputStream();
+    handler.handleRequest(exchange(requestBytes, sender, responseStream));
+    var response = responseStream.toString(StandardCharsets.UTF_8);
+    var deserializedResponse = objectMapper.readValue(response, responseClass);
     if (deserializedResponse == null) {
-      throw new IllegalStateException("Unexpected response: " + response.get());
+      throw new IllegalStateException("Unexpected response: " + response);
     }
     return deserializedResponse;
   }
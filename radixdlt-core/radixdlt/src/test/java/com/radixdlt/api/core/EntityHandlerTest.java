@@ -65,9 +65,12 @@
 package com.radixdlt.api.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 import com.google.inject.Inject;
 import com.radixdlt.api.ApiTest;
+import com.radixdlt.api.core.balances.AccountBalanceType;
+import com.radixdlt.api.core.balances.BerkeleyAccountBalanceStore;
 import com.radixdlt.api.core.handlers.EntityHandler;
 import com.radixdlt.api.core.model.CoreModelMapper;
 import com.radixdlt.api.core.model.SubstateTypeMapping;
@@ -90,17 +93,20 @@ import com.radixdlt.api.core.openapitools.model.ValidatorBFTData;
 import com.radixdlt.api.core.openapitools.model.ValidatorData;
 import com.radixdlt.api.core.openapitools.model.ValidatorMetadata;
 import com.radixdlt.api.core.openapitools.model.ValidatorSystemMetadata;
+import com.radixdlt.application.system.state.StakeOwnershipBucket;
 import com.radixdlt.atom.SubstateTypeId;
 import com.radixdlt.identifiers.REAddr;
 import com.radixdlt.ledger.VerifiedTxnsAndProof;
 import com.radixdlt.statecomputer.checkpoint.Genesis;
 import com.radixdlt.utils.Bytes;
+import com.radixdlt.utils.UInt384;
 import org.junit.Test;
 
 // TODO: Refactor so that every entity is just a parameter in a parametrized test
 public class EntityHandlerTest extends ApiTest {
   @Inject private EntityHandler sut;
   @Inject private CoreModelMapper coreModelMapper;
+  @Inject private BerkeleyAccountBalanceStore accountBalanceStore;
   @Inject @Genesis private VerifiedTxnsAndProof genesis;
 
   @Test
@@ -194,6 +200,25 @@ public class EntityHandlerTest extends ApiTest {
             coreModelMapper.stakeUnitAmount(selfKey(), getStakeAmount().toSubunits()));
   }
 
+  @Test
+  public void account_balances_are_aggregated_from_genesis() throws Exception {
+    // Arrange
+    start();
+
+    // Act
+    var balances =
+        accountBalanceStore.getBalances(
+            REAddr.ofPubKeyAccount(selfKey()), AccountBalanceType.STAKE_OWNERSHIP);
+
+    // Assert
+    assertThat(accountBalanceStore.isAt(genesis.getProof().getStateVersion())).isTrue();
+    assertThat(balances)
+        .containsExactly(
+            entry(
+                StakeOwnershipBucket.from(selfKey(), REAddr.ofPubKeyAccount(selfKey())),
+                UInt384.from(getStakeAmount().toSubunits())));
+  }
+
   @Test
   public void retrieve_validator_entity_on_genesis() throws Exception {
     // Arrange
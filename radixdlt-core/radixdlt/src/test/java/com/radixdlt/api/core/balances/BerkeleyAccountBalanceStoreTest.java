@@ -0,0 +1,408 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.api.core.balances;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.radixdlt.application.system.state.StakeOwnership;
+import com.radixdlt.application.system.state.StakeOwnershipBucket;
+import com.radixdlt.application.tokens.state.AccountBucket;
+import com.radixdlt.application.tokens.state.ExittingOwnershipBucket;
+import com.radixdlt.application.tokens.state.PreparedUnstakeOwnership;
+import com.radixdlt.application.tokens.ResourceInBucket;
+import com.radixdlt.application.tokens.state.TokensInAccount;
+import com.radixdlt.constraintmachine.Particle;
+import com.radixdlt.constraintmachine.REProcessedTxn;
+import com.radixdlt.constraintmachine.REStateUpdate;
+import com.radixdlt.constraintmachine.SubstateIndex;
+import com.radixdlt.constraintmachine.SystemMapKey;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.crypto.ECPublicKey;
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.engine.RadixEngineReader;
+import com.radixdlt.hotstuff.LedgerHeader;
+import com.radixdlt.hotstuff.LedgerProof;
+import com.radixdlt.hotstuff.TimestampedECDSASignatures;
+import com.radixdlt.hotstuff.bft.View;
+import com.radixdlt.identifiers.REAddr;
+import com.radixdlt.ledger.AccumulatorState;
+import com.radixdlt.statecomputer.LedgerAndBFTProof;
+import com.radixdlt.store.DatabaseEnvironment;
+import com.radixdlt.utils.UInt256;
+import com.radixdlt.utils.UInt384;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BerkeleyAccountBalanceStoreTest {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private final REAddr xrd = REAddr.ofNativeToken();
+  private final REAddr alice = REAddr.ofPubKeyAccount(ECKeyPair.generateNew().getPublicKey());
+  private final REAddr bob = REAddr.ofPubKeyAccount(ECKeyPair.generateNew().getPublicKey());
+  private final ECPublicKey validator = ECKeyPair.generateNew().getPublicKey();
+
+  private DatabaseEnvironment dbEnv;
+  private BerkeleyAccountBalanceStore sut;
+
+  @Before
+  public void setup() {
+    dbEnv = new DatabaseEnvironment(folder.getRoot().getAbsolutePath(), 1_000_000L);
+    sut = new BerkeleyAccountBalanceStore();
+    sut.open(dbEnv);
+    commit(1, up(new TokensInAccount(alice, xrd, amount(100))));
+  }
+
+  @After
+  public void teardown() {
+    sut.close();
+    dbEnv.stop();
+  }
+
+  @Test
+  public void token_transfer_moves_balance_between_accounts() {
+    commit(
+        2,
+        down(new TokensInAccount(alice, xrd, amount(100))),
+        up(new TokensInAccount(bob, xrd, amount(30))),
+        up(new TokensInAccount(alice, xrd, amount(70))));
+
+    assertThat(sut.isAt(2)).isTrue();
+    assertThat(sut.getBalances(alice, AccountBalanceType.TOKENS))
+        .containsExactly(entry(AccountBucket.from(xrd, alice), UInt384.from(70)));
+    assertThat(sut.getBalances(bob, AccountBalanceType.TOKENS))
+        .containsExactly(entry(AccountBucket.from(xrd, bob), UInt384.from(30)));
+  }
+
+  @Test
+  public void stake_and_unstake_move_balance_between_types() {
+    commit(
+        2,
+        down(new TokensInAccount(alice, xrd, amount(100))),
+        up(new TokensInAccount(alice, xrd, amount(60))),
+        up(new StakeOwnership(validator, alice, amount(40))));
+    commit(
+        3,
+        down(new StakeOwnership(validator, alice, amount(40))),
+        up(new StakeOwnership(validator, alice, amount(10))),
+        up(new PreparedUnstakeOwnership(validator, alice, amount(30))));
+
+    assertThat(sut.isAt(3)).isTrue();
+    assertThat(sut.getBalances(alice, AccountBalanceType.TOKENS))
+        .containsExactly(entry(AccountBucket.from(xrd, alice), UInt384.from(60)));
+    assertThat(sut.getBalances(alice, AccountBalanceType.STAKE_OWNERSHIP))
+        .containsExactly(entry(StakeOwnershipBucket.from(validator, alice), UInt384.from(10)));
+    assertThat(sut.getBalances(alice, AccountBalanceType.PREPARED_UNSTAKE))
+        .containsExactly(entry(new ExittingOwnershipBucket(alice, validator), UInt384.from(30)));
+  }
+
+  @Test
+  public void fully_spent_balance_is_removed() {
+    commit(
+        2,
+        down(new TokensInAccount(alice, xrd, amount(100))),
+        up(new TokensInAccount(bob, xrd, amount(100))));
+
+    assertThat(sut.getBalances(alice, AccountBalanceType.TOKENS)).isEmpty();
+  }
+
+  @Test
+  public void aborted_txn_does_not_advance_state_version_or_balances() {
+    var transfer =
+        txn(
+            down(new TokensInAccount(alice, xrd, amount(100))),
+            up(new TokensInAccount(bob, xrd, amount(100))));
+
+    var dbTxn = dbEnv.getEnvironment().beginTransaction(null, null);
+    sut.process(dbTxn, transfer, 2, k -> Optional.empty());
+    assertThat(sut.isAt(1)).isTrue();
+    dbTxn.abort();
+    sut.onAbort();
+
+    assertThat(sut.isAt(1)).isTrue();
+    assertThat(sut.getBalances(alice, AccountBalanceType.TOKENS))
+        .containsExactly(entry(AccountBucket.from(xrd, alice), UInt384.from(100)));
+    assertThat(sut.getBalances(bob, AccountBalanceType.TOKENS)).isEmpty();
+
+    // The same state version can then be processed again
+    commit(2, transfer);
+    assertThat(sut.isAt(2)).isTrue();
+    assertThat(sut.getBalances(bob, AccountBalanceType.TOKENS))
+        .containsExactly(entry(AccountBucket.from(xrd, bob), UInt384.from(100)));
+  }
+
+  @Test
+  public void several_txns_in_one_ledger_transaction_are_applied_on_commit() {
+    var dbTxn = dbEnv.getEnvironment().beginTransaction(null, null);
+    sut.process(
+        dbTxn,
+        txn(
+            down(new TokensInAccount(alice, xrd, amount(100))),
+            up(new TokensInAccount(bob, xrd, amount(100)))),
+        2,
+        k -> Optional.empty());
+    sut.process(
+        dbTxn,
+        txn(
+            down(new TokensInAccount(bob, xrd, amount(100))),
+            up(new TokensInAccount(alice, xrd, amount(100)))),
+        3,
+        k -> Optional.empty());
+    assertThat(sut.isAt(1)).isTrue();
+    dbTxn.commit();
+    sut.onCommit();
+
+    assertThat(sut.isAt(3)).isTrue();
+    assertThat(sut.getBalances(alice, AccountBalanceType.TOKENS))
+        .containsExactly(entry(AccountBucket.from(xrd, alice), UInt384.from(100)));
+  }
+
+  @Test
+  public void store_opened_on_existing_ledger_is_rebuilt_from_substates() throws IOException {
+    var existingLedgerEnv =
+        new DatabaseEnvironment(folder.newFolder().getAbsolutePath(), 1_000_000L);
+    var store = new BerkeleyAccountBalanceStore();
+    store.open(existingLedgerEnv);
+    try {
+      assertThat(store.isAt(5)).isFalse();
+
+      var rebuilt =
+          store.rebuildIfBehind(
+              ledgerAt(
+                  5,
+                  new TokensInAccount(alice, xrd, amount(60)),
+                  new TokensInAccount(alice, xrd, amount(40)),
+                  new TokensInAccount(bob, xrd, amount(25)),
+                  new StakeOwnership(validator, alice, amount(10)),
+                  new PreparedUnstakeOwnership(validator, bob, amount(5))));
+
+      assertThat(rebuilt).isTrue();
+      assertThat(store.isAt(5)).isTrue();
+      assertThat(store.getBalances(alice, AccountBalanceType.TOKENS))
+          .containsExactly(entry(AccountBucket.from(xrd, alice), UInt384.from(100)));
+      assertThat(store.getBalances(bob, AccountBalanceType.TOKENS))
+          .containsExactly(entry(AccountBucket.from(xrd, bob), UInt384.from(25)));
+      assertThat(store.getBalances(alice, AccountBalanceType.STAKE_OWNERSHIP))
+          .containsExactly(entry(StakeOwnershipBucket.from(validator, alice), UInt384.from(10)));
+      assertThat(store.getBalances(bob, AccountBalanceType.PREPARED_UNSTAKE))
+          .containsExactly(entry(new ExittingOwnershipBucket(bob, validator), UInt384.from(5)));
+
+      // Later transactions are then aggregated incrementally
+      var dbTxn = existingLedgerEnv.getEnvironment().beginTransaction(null, null);
+      store.process(
+          dbTxn,
+          txn(
+              down(new TokensInAccount(bob, xrd, amount(25))),
+              up(new TokensInAccount(alice, xrd, amount(25)))),
+          6,
+          k -> Optional.empty());
+      dbTxn.commit();
+      store.onCommit();
+      assertThat(store.isAt(6)).isTrue();
+      assertThat(store.getBalances(alice, AccountBalanceType.TOKENS))
+          .containsExactly(entry(AccountBucket.from(xrd, alice), UInt384.from(125)));
+      assertThat(store.getBalances(bob, AccountBalanceType.TOKENS)).isEmpty();
+    } finally {
+      store.close();
+      existingLedgerEnv.stop();
+    }
+  }
+
+  @Test
+  public void rebuilt_state_version_is_kept_across_restarts() throws IOException {
+    var location = folder.newFolder().getAbsolutePath();
+    var existingLedgerEnv = new DatabaseEnvironment(location, 1_000_000L);
+    var store = new BerkeleyAccountBalanceStore();
+    store.open(existingLedgerEnv);
+    store.rebuildIfBehind(ledgerAt(5, new TokensInAccount(alice, xrd, amount(100))));
+    store.close();
+    existingLedgerEnv.stop();
+
+    existingLedgerEnv = new DatabaseEnvironment(location, 1_000_000L);
+    store = new BerkeleyAccountBalanceStore();
+    store.open(existingLedgerEnv);
+    try {
+      assertThat(store.isAt(5)).isTrue();
+      assertThat(store.rebuildIfBehind(ledgerAt(5))).isFalse();
+      assertThat(store.getBalances(alice, AccountBalanceType.TOKENS))
+          .containsExactly(entry(AccountBucket.from(xrd, alice), UInt384.from(100)));
+    } finally {
+      store.close();
+      existingLedgerEnv.stop();
+    }
+  }
+
+  @Test
+  public void store_at_ledger_state_version_is_not_rebuilt() {
+    assertThat(sut.rebuildIfBehind(ledgerAt(1, new TokensInAccount(bob, xrd, amount(100)))))
+        .isFalse();
+
+    assertThat(sut.getBalances(alice, AccountBalanceType.TOKENS))
+        .containsExactly(entry(AccountBucket.from(xrd, alice), UInt384.from(100)));
+    assertThat(sut.getBalances(bob, AccountBalanceType.TOKENS)).isEmpty();
+  }
+
+  @Test
+  public void store_behind_the_ledger_is_rebuilt_from_scratch() {
+    var rebuilt = sut.rebuildIfBehind(ledgerAt(3, new TokensInAccount(bob, xrd, amount(100))));
+
+    assertThat(rebuilt).isTrue();
+    assertThat(sut.isAt(3)).isTrue();
+    assertThat(sut.getBalances(alice, AccountBalanceType.TOKENS)).isEmpty();
+    assertThat(sut.getBalances(bob, AccountBalanceType.TOKENS))
+        .containsExactly(entry(AccountBucket.from(xrd, bob), UInt384.from(100)));
+  }
+
+  private void commit(long stateVersion, REStateUpdate... updates) {
+    commit(stateVersion, txn(updates));
+  }
+
+  private void commit(long stateVersion, REProcessedTxn txn) {
+    var dbTxn = dbEnv.getEnvironment().beginTransaction(null, null);
+    sut.process(dbTxn, txn, stateVersion, k -> Optional.empty());
+    dbTxn.commit();
+    sut.onCommit();
+  }
+
+  private static REProcessedTxn txn(REStateUpdate... updates) {
+    var txn = mock(REProcessedTxn.class);
+    when(txn.stateUpdates()).thenAnswer(i -> List.of(updates).stream());
+    return txn;
+  }
+
+  private static REStateUpdate up(Particle substate) {
+    return update(substate, true);
+  }
+
+  private static REStateUpdate down(Particle substate) {
+    return update(substate, false);
+  }
+
+  private static REStateUpdate update(Particle substate, boolean bootUp) {
+    var update = mock(REStateUpdate.class);
+    when(update.getParsed()).thenReturn(substate);
+    when(update.isBootUp()).thenReturn(bootUp);
+    return update;
+  }
+
+  // A reader of a ledger at the given state version holding the given substates
+  private static RadixEngineReader<LedgerAndBFTProof> ledgerAt(
+      long stateVersion, ResourceInBucket... substates) {
+    var accumulatorState = new AccumulatorState(stateVersion, HashUtils.zero256());
+    var header = LedgerHeader.create(1, View.of(1), accumulatorState, 0);
+    var proof = new LedgerProof(HashUtils.zero256(), header, new TimestampedECDSASignatures());
+    return new RadixEngineReader<>() {
+      @Override
+      public LedgerAndBFTProof getMetadata() {
+        return LedgerAndBFTProof.create(proof);
+      }
+
+      @Override
+      public Optional<Particle> get(SystemMapKey mapKey) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public <K, T extends ResourceInBucket> Map<K, UInt384> reduceResources(
+          Class<T> c, Function<T, K> keyMapper) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public <K, T extends ResourceInBucket> Map<K, UInt384> reduceResources(
+          SubstateIndex<T> index, Function<T, K> keyMapper, Predicate<T> predicate) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public <U, T extends Particle> U reduce(
+          Class<T> c, U identity, BiFunction<U, T, U> accumulator) {
+        var u = identity;
+        for (var substate : substates) {
+          if (c.isInstance(substate)) {
+            u = accumulator.apply(u, c.cast(substate));
+          }
+        }
+        return u;
+      }
+    };
+  }
+
+  private static UInt256 amount(long amount) {
+    return UInt256.from(amount);
+  }
+}
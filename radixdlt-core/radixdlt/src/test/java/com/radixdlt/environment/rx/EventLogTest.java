@@ -0,0 +1,155 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.environment.rx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.hotstuff.bft.BFTNode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class EventLogTest {
+  private final BFTNode node1 = BFTNode.create(ECKeyPair.generateNew().getPublicKey());
+  private final BFTNode node2 = BFTNode.create(ECKeyPair.generateNew().getPublicKey());
+
+  @Test
+  public void written_records_are_read_back_in_order() throws IOException {
+    var records =
+        List.of(
+            EventLogRecord.remote(1_000L, "Proposal", node1, new byte[] {1, 2, 3}),
+            EventLogRecord.timer(5_000_000_000L, "ScheduledLocalTimeout"),
+            EventLogRecord.remote(4_000_000_000L, "Vote", node2, new byte[300]),
+            EventLogRecord.remote(6_000_000_000L, "Vote", node1, new byte[0]),
+            EventLogRecord.timer(6_000_000_001L, "ScheduledLocalTimeout"));
+
+    var read = readBack(write(records));
+
+    assertThat(read).hasSize(records.size());
+    for (int i = 0; i < records.size(); i++) {
+      assertThat(read.get(i).timestampNanos()).isEqualTo(records.get(i).timestampNanos());
+      assertThat(read.get(i).kind()).isEqualTo(records.get(i).kind());
+      assertThat(read.get(i).eventType()).isEqualTo(records.get(i).eventType());
+      assertThat(read.get(i).origin()).isEqualTo(records.get(i).origin());
+      assertThat(read.get(i).payload()).isEqualTo(records.get(i).payload());
+    }
+  }
+
+  @Test
+  public void repeated_event_types_and_origins_are_only_written_once() throws IOException {
+    var first = write(List.of(EventLogRecord.remote(1L, "Vote", node1, new byte[0])));
+    var second =
+        write(
+            List.of(
+                EventLogRecord.remote(1L, "Vote", node1, new byte[0]),
+                EventLogRecord.remote(2L, "Vote", node1, new byte[0])));
+
+    // timestamp delta, kind, event type index, origin index and payload length
+    assertThat(second.length - first.length).isEqualTo(5);
+  }
+
+  @Test
+  public void reading_a_file_which_is_not_an_event_log_fails() {
+    var bytes = new byte[] {'n', 'o', 'p', 'e', 1};
+
+    assertThatThrownBy(() -> new EventLogReader(new ByteArrayInputStream(bytes)))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void reading_a_truncated_record_fails() throws IOException {
+    var bytes =
+        write(List.of(EventLogRecord.remote(1L, "Proposal", node1, new byte[] {1, 2, 3})));
+    var truncated = new byte[bytes.length - 1];
+    System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+    assertThatThrownBy(() -> readBack(truncated)).isInstanceOf(IOException.class);
+  }
+
+  private static byte[] write(List<EventLogRecord> records) throws IOException {
+    var out = new ByteArrayOutputStream();
+    try (var writer = new EventLogWriter(out)) {
+      for (var record : records) {
+        writer.write(record);
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private static List<EventLogRecord> readBack(byte[] bytes) throws IOException {
+    var records = new ArrayList<EventLogRecord>();
+    try (var reader = new EventLogReader(new ByteArrayInputStream(bytes))) {
+      for (var next = reader.next(); next.isPresent(); next = reader.next()) {
+        records.add(next.get());
+      }
+    }
+    return records;
+  }
+}
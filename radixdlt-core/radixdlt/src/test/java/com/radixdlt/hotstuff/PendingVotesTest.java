@@ -154,10 +154,10 @@ public class PendingVotesTest {
   public void when_inserting_valid_timeout_votes__then_tc_is_formed() {
     HashCode vertexId1 = HashUtils.random256();
     HashCode vertexId2 = HashUtils.random256();
-    Vote vote1 = makeSignedVoteFor(mock(BFTNode.class), View.genesis(), vertexId1);
+    Vote vote1 = makeSignedVoteFor(BFTNode.random(), View.genesis(), vertexId1);
     when(vote1.getTimeoutSignature()).thenReturn(Optional.of(mock(ECDSASignature.class)));
     when(vote1.isTimeout()).thenReturn(true);
-    Vote vote2 = makeSignedVoteFor(mock(BFTNode.class), View.genesis(), vertexId2);
+    Vote vote2 = makeSignedVoteFor(BFTNode.random(), View.genesis(), vertexId2);
     when(vote2.getTimeoutSignature()).thenReturn(Optional.of(mock(ECDSASignature.class)));
     when(vote2.isTimeout()).thenReturn(true);
 
@@ -248,10 +248,10 @@ public class PendingVotesTest {
   public void when_submitting_a_duplicate_vote__then_can_be_replaced_if_has_timeout() {
     final var vertexId1 = HashUtils.random256();
     final var vertexId2 = HashUtils.random256();
-    final var vote1 = makeSignedVoteFor(mock(BFTNode.class), View.genesis(), vertexId1);
+    final var vote1 = makeSignedVoteFor(BFTNode.random(), View.genesis(), vertexId1);
     when(vote1.getTimeoutSignature()).thenReturn(Optional.empty());
     when(vote1.isTimeout()).thenReturn(false);
-    final var vote2 = makeSignedVoteFor(mock(BFTNode.class), View.genesis(), vertexId2);
+    final var vote2 = makeSignedVoteFor(BFTNode.random(), View.genesis(), vertexId2);
     when(vote2.getTimeoutSignature()).thenReturn(Optional.of(mock(ECDSASignature.class)));
     when(vote2.isTimeout()).thenReturn(true);
 
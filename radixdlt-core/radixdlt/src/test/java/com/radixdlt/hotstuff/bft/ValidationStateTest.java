@@ -68,7 +68,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 
 import com.google.common.collect.ImmutableList;
+import com.radixdlt.crypto.ECDSASignature;
+import com.radixdlt.utils.UInt128;
 import com.radixdlt.utils.UInt256;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.stream.IntStream;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.Test;
 
@@ -107,4 +112,73 @@ public class ValidationStateTest {
     assertEquals(UInt256.from(67), ValidationState.threshold(UInt256.from(100)));
     assertEquals(UInt256.from(667), ValidationState.threshold(UInt256.from(1000)));
   }
+
+  @Test
+  public void quorum_tracking_carries_across_64_bit_words() {
+    // Each power is 2^63 + 1, so any two signers carry into the high word
+    var power = UInt256.from(UInt128.from(0L, Long.MIN_VALUE + 1));
+    testQuorumTracking(power);
+  }
+
+  @Test
+  public void quorum_tracking_falls_back_for_powers_exceeding_128_bits() {
+    var power = UInt256.from(UInt128.ONE, UInt128.ZERO);
+    testQuorumTracking(power);
+  }
+
+  @Test
+  public void signatures_only_contain_current_signers() {
+    var nodes = IntStream.range(0, 3).mapToObj(i -> BFTNode.random()).toList();
+    var validatorSet =
+        BFTValidatorSet.from(nodes.stream().map(n -> BFTValidator.from(n, UInt256.ONE)));
+    var state = validatorSet.newValidationState();
+
+    assertThat(state.addSignature(nodes.get(0), 1L, ECDSASignature.zeroSignature())).isTrue();
+    assertThat(state.addSignature(nodes.get(0), 2L, ECDSASignature.zeroSignature())).isFalse();
+    assertThat(state.addSignature(BFTNode.random(), 1L, ECDSASignature.zeroSignature()))
+        .isFalse();
+    state.addSignature(nodes.get(2), 3L, ECDSASignature.zeroSignature());
+    state.removeSignature(nodes.get(0));
+
+    assertThat(state.signatures().getSignatures()).containsOnlyKeys(nodes.get(2));
+    assertThat(state.signatures().getSignatures().get(nodes.get(2)).timestamp()).isEqualTo(3L);
+  }
+
+  @Test
+  public void equal_regardless_of_signing_and_validator_set_order() {
+    var nodes = IntStream.range(0, 4).mapToObj(i -> BFTNode.random()).toList();
+    var validators = nodes.stream().map(n -> BFTValidator.from(n, UInt256.ONE)).toList();
+    var reversedValidators = new ArrayList<>(validators);
+    Collections.reverse(reversedValidators);
+    var state = BFTValidatorSet.from(validators).newValidationState();
+    var otherState = BFTValidatorSet.from(reversedValidators).newValidationState();
+
+    state.addSignature(nodes.get(0), 1L, ECDSASignature.zeroSignature());
+    state.addSignature(nodes.get(1), 2L, ECDSASignature.zeroSignature());
+    state.addSignature(nodes.get(3), 3L, ECDSASignature.zeroSignature());
+    otherState.addSignature(nodes.get(3), 3L, ECDSASignature.zeroSignature());
+    otherState.addSignature(nodes.get(0), 1L, ECDSASignature.zeroSignature());
+    otherState.addSignature(nodes.get(1), 2L, ECDSASignature.zeroSignature());
+
+    assertThat(otherState).isEqualTo(state);
+    assertThat(otherState.hashCode()).isEqualTo(state.hashCode());
+    assertThat(otherState.signatures()).isEqualTo(state.signatures());
+  }
+
+  private static void testQuorumTracking(UInt256 power) {
+    var nodes = IntStream.range(0, 4).mapToObj(i -> BFTNode.random()).toList();
+    var validatorSet = BFTValidatorSet.from(nodes.stream().map(n -> BFTValidator.from(n, power)));
+    var state = validatorSet.newValidationState();
+
+    assertThat(state.isEmpty()).isTrue();
+    state.addSignature(nodes.get(0), 1L, ECDSASignature.zeroSignature());
+    state.addSignature(nodes.get(1), 1L, ECDSASignature.zeroSignature());
+    assertThat(state.complete()).isFalse();
+    state.addSignature(nodes.get(2), 1L, ECDSASignature.zeroSignature());
+    assertThat(state.complete()).isTrue();
+    state.removeSignature(nodes.get(1));
+    assertThat(state.complete()).isFalse();
+    state.addSignature(nodes.get(3), 1L, ECDSASignature.zeroSignature());
+    assertThat(state.complete()).isTrue();
+  }
 }
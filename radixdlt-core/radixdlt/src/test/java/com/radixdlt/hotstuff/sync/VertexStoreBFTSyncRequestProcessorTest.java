@@ -0,0 +1,158 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+package com.radixdlt.hotstuff.sync;
+
+import static com.radixdlt.utils.TypedMocks.rmock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.environment.RemoteEventDispatcher;
+import com.radixdlt.hotstuff.HighQC;
+import com.radixdlt.hotstuff.QuorumCertificate;
+import com.radixdlt.hotstuff.bft.BFTNode;
+import com.radixdlt.hotstuff.bft.VerifiedVertex;
+import com.radixdlt.hotstuff.bft.VertexStore;
+import com.radixdlt.hotstuff.bft.View;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class VertexStoreBFTSyncRequestProcessorTest {
+  private VertexStore vertexStore;
+  private QuorumCertificate highestQC;
+  private RemoteEventDispatcher<GetVerticesErrorResponse> errorResponseDispatcher;
+  private RemoteEventDispatcher<GetVerticesResponse> responseDispatcher;
+  private SystemCounters counters;
+  private VertexStoreBFTSyncRequestProcessor processor;
+
+  @Before
+  public void setUp() {
+    this.vertexStore = mock(VertexStore.class);
+    this.highestQC = mock(QuorumCertificate.class);
+    final var highQC = mock(HighQC.class);
+    when(highQC.highestQC()).thenReturn(highestQC);
+    when(vertexStore.highQC()).thenReturn(highQC);
+    when(highestQC.getView()).thenReturn(View.of(1));
+    this.errorResponseDispatcher = rmock(RemoteEventDispatcher.class);
+    this.responseDispatcher = rmock(RemoteEventDispatcher.class);
+    this.counters = mock(SystemCounters.class);
+    this.processor =
+        new VertexStoreBFTSyncRequestProcessor(
+            vertexStore, errorResponseDispatcher, responseDispatcher, counters);
+  }
+
+  @Test
+  public void same_request_in_the_same_view_is_served_from_cache() {
+    final var request = new GetVerticesRequest(HashUtils.random256(), 1);
+    when(vertexStore.getVertices(request.getVertexId(), 1))
+        .thenReturn(Optional.of(ImmutableList.of(mock(VerifiedVertex.class))));
+    final var peer1 = BFTNode.random();
+    final var peer2 = BFTNode.random();
+
+    processor.process(peer1, request);
+    processor.process(peer2, request);
+
+    final var captor = ArgumentCaptor.forClass(GetVerticesResponse.class);
+    verify(responseDispatcher, times(1)).dispatch(eq(peer1), captor.capture());
+    verify(responseDispatcher, times(1)).dispatch(eq(peer2), same(captor.getValue()));
+    verify(vertexStore, times(1)).getVertices(any(), eq(1));
+    verify(counters, times(1)).increment(CounterType.BFT_SYNC_RESPONSE_CACHE_HITS);
+  }
+
+  @Test
+  public void cache_is_cleared_when_the_view_changes() {
+    final var request = new GetVerticesRequest(HashUtils.random256(), 1);
+    when(vertexStore.getVertices(request.getVertexId(), 1))
+        .thenReturn(Optional.of(ImmutableList.of(mock(VerifiedVertex.class))));
+
+    processor.process(BFTNode.random(), request);
+    when(highestQC.getView()).thenReturn(View.of(2));
+    processor.process(BFTNode.random(), request);
+
+    verify(vertexStore, times(2)).getVertices(any(), eq(1));
+    verify(counters, times(0)).increment(CounterType.BFT_SYNC_RESPONSE_CACHE_HITS);
+  }
+
+  @Test
+  public void missing_vertices_are_not_cached() {
+    final var request = new GetVerticesRequest(HashUtils.random256(), 1);
+    when(vertexStore.getVertices(request.getVertexId(), 1)).thenReturn(Optional.empty());
+
+    processor.process(BFTNode.random(), request);
+    processor.process(BFTNode.random(), request);
+
+    verify(vertexStore, times(2)).getVertices(any(), eq(1));
+    verify(errorResponseDispatcher, times(2)).dispatch(any(BFTNode.class), any());
+  }
+}
@@ -65,6 +65,7 @@
 package com.radixdlt.mempool;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -72,15 +73,21 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.radixdlt.application.system.FeeTable;
 import com.radixdlt.application.system.scrypt.Syscall;
 import com.radixdlt.application.tokens.Amount;
+import com.radixdlt.application.tokens.state.TokenResource;
 import com.radixdlt.atom.SubstateId;
+import com.radixdlt.atom.TxAction.CreateMutableToken;
 import com.radixdlt.atom.TxLowLevelBuilder;
 import com.radixdlt.atom.Txn;
+import com.radixdlt.atom.TxnConstructionRequest;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.counters.SystemCounters.CounterType;
 import com.radixdlt.crypto.ECKeyPair;
 import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.engine.RadixEngine;
 import com.radixdlt.environment.deterministic.DeterministicProcessor;
 import com.radixdlt.environment.deterministic.network.ControlledMessage;
 import com.radixdlt.environment.deterministic.network.DeterministicNetwork;
@@ -88,11 +95,14 @@ import com.radixdlt.hotstuff.LedgerProof;
 import com.radixdlt.hotstuff.bft.BFTNode;
 import com.radixdlt.hotstuff.bft.Self;
 import com.radixdlt.hotstuff.bft.View;
+import com.radixdlt.identifiers.AID;
 import com.radixdlt.identifiers.REAddr;
 import com.radixdlt.ledger.AccumulatorState;
 import com.radixdlt.ledger.VerifiedTxnsAndProof;
 import com.radixdlt.modules.SingleNodeAndPeersDeterministicNetworkModule;
 import com.radixdlt.network.p2p.PeersView;
+import com.radixdlt.statecomputer.LedgerAndBFTProof;
+import com.radixdlt.statecomputer.RadixEngineMempool;
 import com.radixdlt.statecomputer.RadixEngineStateComputer;
 import com.radixdlt.statecomputer.checkpoint.Genesis;
 import com.radixdlt.statecomputer.checkpoint.MockedGenesisModule;
@@ -104,7 +114,9 @@ import com.radixdlt.statecomputer.forks.modules.MainnetForksModule;
 import com.radixdlt.store.DatabaseLocation;
 import com.radixdlt.utils.PrivateKeys;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.junit.Ignore;
 import org.junit.Rule;
@@ -114,6 +126,9 @@ import org.junit.rules.TemporaryFolder;
 public class MempoolTest {
   private static final ECKeyPair VALIDATOR_KEY = PrivateKeys.ofNumeric(1);
   private static final int NUM_PEERS = 2;
+  // Only txns creating a token resource pay a fee, so the fee per byte of other txns is zero
+  private static final FeeTable RESOURCE_FEE_TABLE =
+      FeeTable.create(Amount.zero(), Map.of(TokenResource.class, Amount.ofTokens(1)));
 
   @Rule public TemporaryFolder folder = new TemporaryFolder();
 
@@ -122,6 +137,8 @@ public class MempoolTest {
   @Inject private DeterministicProcessor processor;
   @Inject private DeterministicNetwork network;
   @Inject private RadixEngineStateComputer stateComputer;
+  @Inject private RadixEngineMempool mempool;
+  @Inject private RadixEngine<LedgerAndBFTProof> radixEngine;
   @Inject private SystemCounters systemCounters;
   @Inject private PeersView peersView;
   @Inject private CurrentForkView currentForkView;
@@ -129,12 +146,19 @@ public class MempoolTest {
   @Inject @MempoolRelayRepeatDelay private long repeatDelay;
 
   private Injector getInjector() {
+    return getInjector(MempoolConfig.asModule(10, 10, 200, 500, 10));
+  }
+
+  private Injector getInjector(Module mempoolConfigModule) {
+    return getInjector(mempoolConfigModule, RERulesConfig.testingDefault());
+  }
+
+  private Injector getInjector(Module mempoolConfigModule, RERulesConfig rulesConfig) {
     return Guice.createInjector(
         new MainnetForksModule(),
-        new RadixEngineForksLatestOnlyModule(
-            RERulesConfig.testingDefault().removeSigsPerRoundLimit()),
+        new RadixEngineForksLatestOnlyModule(rulesConfig.removeSigsPerRoundLimit()),
         new ForksModule(),
-        MempoolConfig.asModule(10, 10, 200, 500, 10),
+        mempoolConfigModule,
         new SingleNodeAndPeersDeterministicNetworkModule(VALIDATOR_KEY, NUM_PEERS),
         new MockedGenesisModule(
             Set.of(VALIDATOR_KEY.getPublicKey()), Amount.ofTokens(1000), Amount.ofTokens(100)),
@@ -173,6 +197,30 @@ public class MempoolTest {
     return createTxn(keyPair, 1);
   }
 
+  // Pays the resource fee of RESOURCE_FEE_TABLE from the validator's account
+  private Txn createFeePayingTxn(String symbol) throws Exception {
+    var key = VALIDATOR_KEY.getPublicKey();
+    var createToken =
+        new CreateMutableToken(REAddr.ofHashedKey(key, symbol), symbol, symbol, "", "", "", key);
+    var request =
+        TxnConstructionRequest.create()
+            .feePayer(REAddr.ofPubKeyAccount(key))
+            .action(createToken);
+    return radixEngine.construct(request).signAndBuild(VALIDATOR_KEY::sign);
+  }
+
+  private Set<AID> mempoolTxnIds() {
+    return mempool.getData(data -> Set.copyOf(data.keySet()));
+  }
+
+  // Insertion times have millisecond resolution, this makes txns added next strictly younger
+  private static void awaitNextMillisecond() {
+    var now = System.currentTimeMillis();
+    while (System.currentTimeMillis() == now) {
+      Thread.onSpinWait();
+    }
+  }
+
   @Test
   public void add_local_command_to_mempool() throws Exception {
     // Arrange
@@ -283,6 +331,184 @@ public class MempoolTest {
 
     // Assert
     assertThat(systemCounters.get(CounterType.MEMPOOL_CURRENT_SIZE)).isZero();
+    assertThat(systemCounters.get(CounterType.MEMPOOL_REJECTED_STATELESS)).isEqualTo(1);
+  }
+
+  @Test
+  public void add_batch_of_commands_to_mempool() throws Exception {
+    // Arrange
+    getInjector().injectMembers(this);
+    var keyPair = ECKeyPair.generateNew();
+    var txn = createTxn(keyPair, 2);
+    var conflictingTxn = createTxn(keyPair, 1);
+    var otherTxn = createTxn(ECKeyPair.generateNew());
+    var badTxn = Txn.create(new byte[0]);
+
+    // Act
+    var mempoolAdd = MempoolAdd.create(List.of(txn, conflictingTxn, badTxn, otherTxn, txn));
+    processor.handleMessage(getFirstPeer(), mempoolAdd, null);
+
+    // Assert
+    assertThat(systemCounters.get(CounterType.MEMPOOL_CURRENT_SIZE)).isEqualTo(3);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_ADD_SUCCESS)).isEqualTo(3);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_REJECTED_STATELESS)).isEqualTo(1);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_REJECTED_DUPLICATE)).isEqualTo(1);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_REJECTED_STATEFUL)).isZero();
+  }
+
+  @Test
+  public void relayed_batch_drops_commands_already_in_mempool() throws Exception {
+    // Arrange
+    getInjector().injectMembers(this);
+    var knownTxn = createTxn(ECKeyPair.generateNew());
+    processor.handleMessage(getFirstPeer(), MempoolAdd.create(knownTxn), null);
+    var newTxn = createTxn(ECKeyPair.generateNew());
+
+    // Act
+    var mempoolAdd = MempoolAdd.create(List.of(knownTxn, newTxn, knownTxn));
+    processor.handleMessage(getFirstPeer(), mempoolAdd, null);
+
+    // Assert
+    assertThat(mempoolTxnIds()).containsExactlyInAnyOrder(knownTxn.getId(), newTxn.getId());
+    assertThat(systemCounters.get(CounterType.MEMPOOL_ADD_SUCCESS)).isEqualTo(2);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_REJECTED_DUPLICATE)).isEqualTo(2);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_ADD_FAILURE)).isZero();
+  }
+
+  @Test
+  public void full_mempool_evicts_oldest_command_of_equal_fee() throws Exception {
+    // Arrange
+    getInjector().injectMembers(this);
+    var txns = new ArrayList<Txn>();
+    for (int i = 0; i < 10; i++) {
+      var txn = createTxn(ECKeyPair.generateNew());
+      processor.handleMessage(self, MempoolAdd.create(txn), null);
+      txns.add(txn);
+      awaitNextMillisecond();
+    }
+    assertThat(systemCounters.get(CounterType.MEMPOOL_CURRENT_SIZE)).isEqualTo(10);
+
+    // Act
+    var newTxn = createTxn(ECKeyPair.generateNew());
+    processor.handleMessage(self, MempoolAdd.create(newTxn), null);
+
+    // Assert
+    var expected = new ArrayList<AID>();
+    txns.subList(1, txns.size()).forEach(txn -> expected.add(txn.getId()));
+    expected.add(newTxn.getId());
+    assertThat(mempoolTxnIds()).containsExactlyInAnyOrderElementsOf(expected);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_CURRENT_SIZE)).isEqualTo(10);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_ADD_SUCCESS)).isEqualTo(11);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_EVICTED)).isEqualTo(1);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_REJECTED_FULL)).isZero();
+  }
+
+  @Test
+  public void command_evicted_by_a_later_one_in_the_same_batch_is_not_reported_as_added()
+      throws Exception {
+    // Arrange
+    getInjector(MempoolConfig.asModule(1, 10, 200, 500, 10)).injectMembers(this);
+    var txn = createTxn(ECKeyPair.generateNew());
+    var laterTxn = createTxn(ECKeyPair.generateNew());
+
+    // Act
+    var mempoolAdd = MempoolAdd.create(List.of(txn, laterTxn));
+    processor.handleMessage(getFirstPeer(), mempoolAdd, null);
+
+    // Assert
+    assertThat(mempoolTxnIds()).containsExactly(laterTxn.getId());
+    assertThat(systemCounters.get(CounterType.MEMPOOL_ADD_SUCCESS)).isEqualTo(1);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_EVICTED)).isEqualTo(1);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_REJECTED_FULL)).isZero();
+  }
+
+  @Test
+  public void full_mempool_evicts_lower_fee_per_byte_before_older_command() throws Exception {
+    // Arrange
+    getInjector(
+            MempoolConfig.asModule(2, 10, 200, 500, 10),
+            RERulesConfig.testingDefault().overrideFeeTable(RESOURCE_FEE_TABLE))
+        .injectMembers(this);
+    var olderFeePayingTxn = createFeePayingTxn("tokena");
+    processor.handleMessage(self, MempoolAdd.create(olderFeePayingTxn), null);
+    awaitNextMillisecond();
+    var feelessTxn = createTxn(ECKeyPair.generateNew());
+    processor.handleMessage(self, MempoolAdd.create(feelessTxn), null);
+    assertThat(mempoolTxnIds())
+        .containsExactlyInAnyOrder(olderFeePayingTxn.getId(), feelessTxn.getId());
+
+    // Act
+    var feePayingTxn = createFeePayingTxn("tokenb");
+    processor.handleMessage(self, MempoolAdd.create(feePayingTxn), null);
+
+    // Assert
+    assertThat(mempoolTxnIds())
+        .containsExactlyInAnyOrder(olderFeePayingTxn.getId(), feePayingTxn.getId());
+    assertThat(systemCounters.get(CounterType.MEMPOOL_EVICTED)).isEqualTo(1);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_REJECTED_FULL)).isZero();
+  }
+
+  @Test
+  public void full_mempool_rejects_command_with_lower_fee_per_byte() throws Exception {
+    // Arrange
+    getInjector(
+            MempoolConfig.asModule(2, 10, 200, 500, 10),
+            RERulesConfig.testingDefault().overrideFeeTable(RESOURCE_FEE_TABLE))
+        .injectMembers(this);
+    var feePayingTxn1 = createFeePayingTxn("tokena");
+    var feePayingTxn2 = createFeePayingTxn("tokenb");
+    processor.handleMessage(self, MempoolAdd.create(List.of(feePayingTxn1, feePayingTxn2)), null);
+    assertThat(mempoolTxnIds())
+        .containsExactlyInAnyOrder(feePayingTxn1.getId(), feePayingTxn2.getId());
+
+    // Act
+    var feelessTxn = createTxn(ECKeyPair.generateNew());
+
+    // Assert
+    assertThatThrownBy(() -> stateComputer.addToMempool(feelessTxn))
+        .isInstanceOf(MempoolFullException.class);
+    assertThat(mempoolTxnIds())
+        .containsExactlyInAnyOrder(feePayingTxn1.getId(), feePayingTxn2.getId());
+    assertThat(systemCounters.get(CounterType.MEMPOOL_EVICTED)).isZero();
+    assertThat(systemCounters.get(CounterType.MEMPOOL_REJECTED_FULL)).isEqualTo(1);
+  }
+
+  @Test
+  public void command_larger_than_memory_budget_is_rejected() throws Exception {
+    // Arrange
+    getInjector(MempoolConfig.asModule(10, 1, 10, 200, 500, 10)).injectMembers(this);
+    var txn = createTxn(ECKeyPair.generateNew());
+
+    // Act
+    processor.handleMessage(self, MempoolAdd.create(txn), null);
+
+    // Assert
+    assertThat(systemCounters.get(CounterType.MEMPOOL_CURRENT_SIZE)).isZero();
+    assertThat(systemCounters.get(CounterType.MEMPOOL_REJECTED_FULL)).isEqualTo(1);
+  }
+
+  @Test
+  public void mempool_releases_memory_budget_on_commit() throws Exception {
+    // Arrange
+    getInjector().injectMembers(this);
+    ECKeyPair keyPair = ECKeyPair.generateNew();
+    var txn = createTxn(keyPair, 2);
+    processor.handleMessage(self, MempoolAdd.create(txn), null);
+    assertThat(systemCounters.get(CounterType.MEMPOOL_CURRENT_BYTES))
+        .isGreaterThan(txn.getPayload().length);
+
+    // Act
+    var txn2 = createTxn(keyPair, 1);
+    var proof = mock(LedgerProof.class);
+    when(proof.getAccumulatorState())
+        .thenReturn(new AccumulatorState(genesisTxns.getTxns().size() + 1, HashUtils.random256()));
+    when(proof.getStateVersion()).thenReturn((long) genesisTxns.getTxns().size() + 1);
+    when(proof.getView()).thenReturn(View.of(1));
+    stateComputer.commit(VerifiedTxnsAndProof.create(List.of(txn2), proof), null);
+
+    // Assert
+    assertThat(systemCounters.get(CounterType.MEMPOOL_CURRENT_SIZE)).isZero();
+    assertThat(systemCounters.get(CounterType.MEMPOOL_CURRENT_BYTES)).isZero();
   }
 
   @Test
@@ -64,6 +64,7 @@
 
 package com.radixdlt.middleware2.network;
 
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -93,6 +94,7 @@ import com.radixdlt.utils.RandomHasher;
 import io.reactivex.rxjava3.subscribers.TestSubscriber;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 public class MessageCentralValidatorSyncTest {
   private BFTNode self;
@@ -124,6 +126,26 @@ public class MessageCentralValidatorSyncTest {
     verify(messageCentral, times(1)).send(any(), any(GetVerticesResponseMessage.class));
   }
 
+  @Test
+  public void when_send_same_response_to_two_peers__then_the_same_message_is_sent() {
+    VerifiedVertex vertex = mock(VerifiedVertex.class);
+    when(vertex.toSerializable()).thenReturn(mock(UnverifiedVertex.class));
+    GetVerticesResponse response = new GetVerticesResponse(ImmutableList.of(vertex));
+
+    BFTNode node1 = mock(BFTNode.class);
+    when(node1.getKey()).thenReturn(mock(ECPublicKey.class));
+    BFTNode node2 = mock(BFTNode.class);
+    when(node2.getKey()).thenReturn(mock(ECPublicKey.class));
+
+    sync.verticesResponseDispatcher().dispatch(node1, response);
+    sync.verticesResponseDispatcher().dispatch(node2, response);
+
+    ArgumentCaptor<GetVerticesResponseMessage> captor =
+        ArgumentCaptor.forClass(GetVerticesResponseMessage.class);
+    verify(messageCentral, times(2)).send(any(), captor.capture());
+    assertSame(captor.getAllValues().get(0), captor.getAllValues().get(1));
+  }
+
   @Test
   public void when_send_error_response__then_message_central_will_send_error_response() {
     QuorumCertificate qc = mock(QuorumCertificate.class);
@@ -0,0 +1,217 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+package com.radixdlt.middleware2.network;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radixdlt.DefaultSerialization;
+import com.radixdlt.atom.Txn;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.crypto.Hasher;
+import com.radixdlt.hotstuff.LedgerProof;
+import com.radixdlt.hotstuff.Sha256Hasher;
+import com.radixdlt.hotstuff.UnverifiedVertex;
+import com.radixdlt.hotstuff.bft.BFTNode;
+import com.radixdlt.hotstuff.bft.VerifiedVertex;
+import com.radixdlt.hotstuff.bft.View;
+import com.radixdlt.hotstuff.sync.GetVerticesErrorResponse;
+import com.radixdlt.hotstuff.sync.GetVerticesRequest;
+import com.radixdlt.hotstuff.sync.GetVerticesResponse;
+import com.radixdlt.ledger.AccumulatorState;
+import com.radixdlt.ledger.DtoTxnsAndProof;
+import com.radixdlt.mempool.MempoolAdd;
+import com.radixdlt.serialization.DeserializeException;
+import com.radixdlt.serialization.DsonOutput.Output;
+import com.radixdlt.serialization.Serialization;
+import com.radixdlt.sync.messages.remote.LedgerStatusUpdate;
+import com.radixdlt.sync.messages.remote.StatusRequest;
+import com.radixdlt.sync.messages.remote.StatusResponse;
+import com.radixdlt.sync.messages.remote.SyncRequest;
+import com.radixdlt.sync.messages.remote.SyncResponse;
+import com.radixdlt.utils.SerializerTestDataGenerator;
+import java.util.List;
+import org.junit.Test;
+import org.radix.network.messaging.Message;
+
+public class RemoteEventCodecTest {
+  private final Serialization serialization = DefaultSerialization.getInstance();
+  private final Hasher hasher = Sha256Hasher.withDefaultSerialization();
+  private final RemoteEventCodec codec = new RemoteEventCodec(hasher);
+
+  @Test
+  public void proposal_round_trips() throws DeserializeException {
+    var proposal = SerializerTestDataGenerator.randomProposal();
+
+    assertThat(roundTrip(proposal)).isEqualTo(proposal);
+  }
+
+  @Test
+  public void vote_round_trips() throws DeserializeException {
+    var vote = SerializerTestDataGenerator.randomVote();
+
+    assertThat(roundTrip(vote)).isEqualTo(vote);
+  }
+
+  @Test
+  public void get_vertices_request_round_trips() throws DeserializeException {
+    var request = new GetVerticesRequest(HashUtils.random256(), 3);
+
+    assertThat(roundTrip(request)).isEqualTo(request);
+  }
+
+  @Test
+  public void get_vertices_response_round_trips() throws DeserializeException {
+    var vertex =
+        UnverifiedVertex.create(
+            SerializerTestDataGenerator.randomQC(),
+            View.of(7),
+            List.of(txn(1)),
+            BFTNode.create(ECKeyPair.generateNew().getPublicKey()));
+    var vertices = List.of(new VerifiedVertex(vertex, hasher.hash(vertex)));
+    var response = new GetVerticesResponse(vertices);
+
+    var decoded = roundTrip(response);
+
+    assertThat(decoded).isInstanceOf(GetVerticesResponse.class);
+    assertThat(((GetVerticesResponse) decoded).getVertices()).isEqualTo(vertices);
+  }
+
+  @Test
+  public void get_vertices_error_response_round_trips() throws DeserializeException {
+    var request = new GetVerticesRequest(HashUtils.random256(), 3);
+    var response =
+        new GetVerticesErrorResponse(SerializerTestDataGenerator.randomHighQC(), request);
+
+    var decoded = roundTrip(response);
+
+    assertThat(decoded).isInstanceOf(GetVerticesErrorResponse.class);
+    assertThat(((GetVerticesErrorResponse) decoded).highQC()).isEqualTo(response.highQC());
+    assertThat(((GetVerticesErrorResponse) decoded).request()).isEqualTo(request);
+  }
+
+  @Test
+  public void sync_request_round_trips() throws DeserializeException {
+    var request = SyncRequest.create(proof().toDto());
+
+    assertThat(roundTrip(request)).isEqualTo(request);
+  }
+
+  @Test
+  public void sync_response_round_trips() throws DeserializeException {
+    var txnsAndProof =
+        new DtoTxnsAndProof(List.of(txn(1), txn(2)), proof().toDto(), proof().toDto());
+    var response = SyncResponse.create(txnsAndProof);
+
+    assertThat(roundTrip(response)).isEqualTo(response);
+  }
+
+  @Test
+  public void status_request_round_trips() throws DeserializeException {
+    var request = StatusRequest.create();
+
+    assertThat(roundTrip(request)).isEqualTo(request);
+  }
+
+  @Test
+  public void status_response_round_trips() throws DeserializeException {
+    var response = StatusResponse.create(proof());
+
+    assertThat(roundTrip(response)).isEqualTo(response);
+  }
+
+  @Test
+  public void ledger_status_update_round_trips() throws DeserializeException {
+    var update = LedgerStatusUpdate.create(proof());
+
+    assertThat(roundTrip(update)).isEqualTo(update);
+  }
+
+  @Test
+  public void mempool_add_round_trips() throws DeserializeException {
+    var mempoolAdd = MempoolAdd.create(List.of(txn(1), txn(2)));
+
+    assertThat(roundTrip(mempoolAdd)).isEqualTo(mempoolAdd);
+  }
+
+  @Test
+  public void unsupported_event_is_not_encoded() {
+    assertThat(codec.toMessage(new Object())).isEmpty();
+  }
+
+  // Converts the event to the message it is sent in and back, as recorded and replayed
+  private Object roundTrip(Object event) throws DeserializeException {
+    var message = codec.toMessage(event).orElseThrow();
+    var wire = serialization.toDson(message, Output.WIRE);
+    return codec.fromMessage(serialization.fromDson(wire, Message.class)).orElseThrow();
+  }
+
+  private static LedgerProof proof() {
+    return LedgerProof.genesis(new AccumulatorState(0, HashUtils.zero256()), null, 0);
+  }
+
+  private static Txn txn(int value) {
+    return Txn.create(new byte[] {0, 1, 2, (byte) value});
+  }
+}
@@ -83,6 +83,7 @@ public class MessageCentralConfigurationTest {
     when(properties.get(eq("messaging.inbound.queue_max"), anyInt())).thenReturn(100);
     when(properties.get(eq("messaging.outbound.queue_max"), anyInt())).thenReturn(102);
     when(properties.get(eq("messaging.time_to_live"), anyLong())).thenReturn(104L);
+    when(properties.get(eq("messaging.inbound.decoder_threads"), anyInt())).thenReturn(106);
 
     MessageCentralConfiguration config =
         MessageCentralConfiguration.fromRuntimeProperties(properties);
@@ -90,5 +91,6 @@ public class MessageCentralConfigurationTest {
     assertEquals(100, config.messagingInboundQueueMax(-1));
     assertEquals(102, config.messagingOutboundQueueMax(-1));
     assertEquals(104, config.messagingTimeToLive(-1));
+    assertEquals(106, config.messagingInboundDecoderThreads(-1));
   }
 }
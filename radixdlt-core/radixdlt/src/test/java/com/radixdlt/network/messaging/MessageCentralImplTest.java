@@ -79,7 +79,8 @@ import com.radixdlt.networks.Network;
 import com.radixdlt.serialization.Serialization;
 import com.radixdlt.utils.Compress;
 import com.radixdlt.utils.TimeSupplier;
-import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.observers.TestObserver;
 import java.util.Comparator;
 import org.junit.Test;
@@ -120,12 +121,13 @@ public class MessageCentralImplTest {
     when(inboundMessage.message()).thenReturn(Compress.compress("".getBytes()));
     when(inboundMessage.source()).thenReturn(mock(NodeId.class));
 
-    Observable<InboundMessage> inboundMessages =
-        Observable.create(
+    Flowable<InboundMessage> inboundMessages =
+        Flowable.create(
             emitter -> {
               emitter.onNext(inboundMessage);
               emitter.onComplete();
-            });
+            },
+            BackpressureStrategy.BUFFER);
     when(peerManager.messages()).thenReturn(inboundMessages);
 
     when(outboundEventQueueFactory.createEventQueue(anyInt(), any(Comparator.class)))
@@ -140,7 +142,8 @@ public class MessageCentralImplTest {
             outboundEventQueueFactory,
             systemCounters,
             peerControl,
-            Addressing.ofNetwork(Network.LOCALNET));
+            Addressing.ofNetwork(Network.LOCALNET),
+            new InboundDecodingShards(2));
 
     TestObserver<String> observer = TestObserver.create();
 
@@ -154,6 +157,6 @@ public class MessageCentralImplTest {
     observer.await();
 
     // then
-    observer.assertValue(v -> v.startsWith("RxComputationThreadPool"));
+    observer.assertValue(v -> v.startsWith("InboundDecoder"));
   }
 }
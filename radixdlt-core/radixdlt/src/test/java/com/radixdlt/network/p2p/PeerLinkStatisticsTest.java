@@ -0,0 +1,184 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+package com.radixdlt.network.p2p;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.hotstuff.bft.BFTNode;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PeerLinkStatisticsTest {
+  private PeerLinkStatistics sut;
+
+  @Before
+  public void setup() {
+    this.sut = new PeerLinkStatistics();
+  }
+
+  @Test
+  public void should_have_no_link_info_for_unknown_peer() {
+    assertThat(sut.linkInfo(nodeId(createPeer()))).isEmpty();
+  }
+
+  @Test
+  public void should_smooth_round_trip_time_samples() {
+    final var nodeId = nodeId(createPeer());
+
+    sut.recordRoundTrip(nodeId, 100L);
+    sut.recordRoundTrip(nodeId, 20L);
+
+    assertThat(sut.linkInfo(nodeId))
+        .hasValueSatisfying(
+            info -> {
+              // 7/8 * 100ms + 1/8 * 20ms
+              assertThat(info.getRttMicros()).isEqualTo(90_000L);
+              // 3/4 * 50ms + 1/4 * |100ms - 20ms|
+              assertThat(info.getRttVariationMicros()).isEqualTo(57_500L);
+              assertThat(info.getMinRttMicros()).isEqualTo(20_000L);
+              assertThat(info.getBandwidthBytesPerSecond()).isZero();
+              assertThat(info.getSamples()).isEqualTo(2L);
+            });
+  }
+
+  @Test
+  public void should_estimate_bandwidth_from_transfers() {
+    final var nodeId = nodeId(createPeer());
+
+    sut.recordTransfer(nodeId, 500L, 1_000_000L);
+
+    assertThat(sut.linkInfo(nodeId))
+        .hasValueSatisfying(
+            info -> {
+              assertThat(info.getBandwidthBytesPerSecond()).isEqualTo(2_000_000L);
+              assertThat(info.getSamples()).isZero();
+            });
+  }
+
+  @Test
+  public void should_forget_peer() {
+    final var nodeId = nodeId(createPeer());
+    sut.recordRoundTrip(nodeId, 1L);
+
+    sut.forget(nodeId);
+
+    assertThat(sut.linkInfo(nodeId)).isEmpty();
+  }
+
+  @Test
+  public void should_keep_order_when_nothing_is_measured() {
+    final var peers = List.of(createPeer(), createPeer(), createPeer());
+
+    assertThat(sut.rankByLatency(peers, new Random(1L))).containsExactlyElementsOf(peers);
+  }
+
+  @Test
+  public void should_rank_peers_by_latency() {
+    final var near = createPeer();
+    final var unknown = createPeer();
+    final var mid = createPeer();
+    final var far = createPeer();
+    sut.recordRoundTrip(nodeId(near), 10L);
+    sut.recordRoundTrip(nodeId(mid), 100L);
+    sut.recordRoundTrip(nodeId(far), 1000L);
+
+    final var random = new Random(1L);
+    for (int i = 0; i < 100; i++) {
+      final var ranked = sut.rankByLatency(List.of(far, mid, unknown, near), random);
+      // the jitter never exceeds a factor of two, so an order of magnitude always wins
+      assertThat(ranked.get(0)).isEqualTo(near);
+      assertThat(ranked.get(3)).isEqualTo(far);
+      assertThat(ranked).containsExactlyInAnyOrder(far, mid, unknown, near);
+    }
+  }
+
+  @Test
+  public void should_sometimes_prefer_a_slightly_slower_peer() {
+    final var peer1 = createPeer();
+    final var peer2 = createPeer();
+    sut.recordRoundTrip(nodeId(peer1), 10L);
+    sut.recordRoundTrip(nodeId(peer2), 12L);
+
+    final var random = new Random(1L);
+    var peer1First = 0;
+    for (int i = 0; i < 1000; i++) {
+      if (sut.rankByLatency(List.of(peer1, peer2), random).get(0).equals(peer1)) {
+        peer1First++;
+      }
+    }
+
+    assertThat(peer1First).isBetween(500, 999);
+  }
+
+  private static BFTNode createPeer() {
+    return BFTNode.create(ECKeyPair.generateNew().getPublicKey());
+  }
+
+  private static NodeId nodeId(BFTNode peer) {
+    return NodeId.fromPublicKey(peer.getKey());
+  }
+}
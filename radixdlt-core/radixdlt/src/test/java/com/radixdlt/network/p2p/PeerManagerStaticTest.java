@@ -84,7 +84,6 @@ import com.radixdlt.networks.Addressing;
 import com.radixdlt.networks.Network;
 import com.radixdlt.properties.RuntimeProperties;
 import io.reactivex.rxjava3.core.Flowable;
-import io.reactivex.rxjava3.core.Observable;
 import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.cli.ParseException;
@@ -131,8 +130,6 @@ public class PeerManagerStaticTest {
 
     when(peerChanel.getUri()).thenReturn(Optional.of(peer));
     when(peerChanel.inboundMessages()).thenReturn(inboundMessages);
-    when(inboundMessages.toObservable())
-        .thenReturn(cmock(new TypeLiteral<Observable<InboundMessage>>() {}));
     when(peerChanel.isOutbound()).thenReturn(true);
     when(peerChanel.getRemoteNodeId()).thenReturn(peer.getNodeId());
 
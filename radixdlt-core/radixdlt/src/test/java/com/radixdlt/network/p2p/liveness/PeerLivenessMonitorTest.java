@@ -65,6 +65,7 @@
 package com.radixdlt.network.p2p.liveness;
 
 import static com.radixdlt.utils.TypedMocks.rmock;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -84,6 +85,7 @@ import com.radixdlt.network.p2p.NodeId;
 import com.radixdlt.network.p2p.P2PConfig;
 import com.radixdlt.network.p2p.PeerEvent;
 import com.radixdlt.network.p2p.PeerEvent.PeerLostLiveness;
+import com.radixdlt.network.p2p.PeerLinkStatistics;
 import com.radixdlt.network.p2p.PeersView;
 import com.radixdlt.properties.RuntimeProperties;
 import java.util.stream.Stream;
@@ -100,6 +102,7 @@ public class PeerLivenessMonitorTest {
   private RemoteEventDispatcher<Ping> pingEventDispatcher;
   private RemoteEventDispatcher<Pong> pongEventDispatcher;
   private ScheduledEventDispatcher<PeerPingTimeout> pingTimeoutEventDispatcher;
+  private PeerLinkStatistics peerLinkStatistics;
 
   private PeerLivenessMonitor sut;
 
@@ -112,6 +115,7 @@ public class PeerLivenessMonitorTest {
     this.pingEventDispatcher = rmock(RemoteEventDispatcher.class);
     this.pongEventDispatcher = rmock(RemoteEventDispatcher.class);
     this.pingTimeoutEventDispatcher = rmock(ScheduledEventDispatcher.class);
+    this.peerLinkStatistics = new PeerLinkStatistics();
 
     this.sut =
         new PeerLivenessMonitor(
@@ -120,7 +124,9 @@ public class PeerLivenessMonitorTest {
             peerEventDispatcher,
             pingEventDispatcher,
             pongEventDispatcher,
-            pingTimeoutEventDispatcher);
+            pingTimeoutEventDispatcher,
+            peerLinkStatistics,
+            System::currentTimeMillis);
   }
 
   @Test
@@ -165,6 +171,34 @@ public class PeerLivenessMonitorTest {
     verifyNoInteractions(peerEventDispatcher);
   }
 
+  @Test
+  public void should_record_round_trip_time_on_pong() {
+    final var peer1 = BFTNode.create(ECKeyPair.generateNew().getPublicKey());
+    final var nodeId = NodeId.fromPublicKey(peer1.getKey());
+    when(peersView.peers()).thenReturn(Stream.of(PeersView.PeerInfo.fromBftNode(peer1)));
+
+    this.sut.peersLivenessCheckTriggerEventProcessor().process(PeersLivenessCheckTrigger.create());
+    this.sut.pongRemoteEventProcessor().process(peer1, Pong.create());
+    // a second (unsolicited) pong must not produce another sample
+    this.sut.pongRemoteEventProcessor().process(peer1, Pong.create());
+
+    assertThat(peerLinkStatistics.linkInfo(nodeId))
+        .hasValueSatisfying(info -> assertThat(info.getSamples()).isEqualTo(1L));
+  }
+
+  @Test
+  public void should_forget_link_statistics_of_unresponsive_peer() {
+    final var peer1 = BFTNode.create(ECKeyPair.generateNew().getPublicKey());
+    final var nodeId = NodeId.fromPublicKey(peer1.getKey());
+    peerLinkStatistics.recordRoundTrip(nodeId, 1L);
+    when(peersView.peers()).thenReturn(Stream.of(PeersView.PeerInfo.fromBftNode(peer1)));
+
+    this.sut.peersLivenessCheckTriggerEventProcessor().process(PeersLivenessCheckTrigger.create());
+    this.sut.pingTimeoutEventProcessor().process(PeerPingTimeout.create(nodeId));
+
+    assertThat(peerLinkStatistics.linkInfo(nodeId)).isEmpty();
+  }
+
   @Test
   public void should_respond_with_pong_to_ping() {
     final var peer1 = BFTNode.create(ECKeyPair.generateNew().getPublicKey());
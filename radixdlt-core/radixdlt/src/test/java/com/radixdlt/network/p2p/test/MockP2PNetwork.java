@@ -65,6 +65,7 @@
 package com.radixdlt.network.p2p.test;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -81,8 +82,10 @@ import com.radixdlt.networks.Addressing;
 import com.radixdlt.networks.Network;
 import com.radixdlt.serialization.Serialization;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
 import io.netty.channel.socket.SocketChannel;
 import java.security.SecureRandom;
 import java.util.Optional;
@@ -105,7 +108,7 @@ final class MockP2PNetwork {
                         && p.uri.getPort() == serverPeerUri.getPort())
             .findAny();
 
-    final var clientSocketChannel = mock(SocketChannel.class);
+    final var clientSocketChannel = mockSocketChannel();
 
     final var clientChannel =
         new PeerChannel(
@@ -130,7 +133,7 @@ final class MockP2PNetwork {
 
     final var serverPeer = serverPeerOpt.get();
 
-    final var serverSocketChannel = mock(SocketChannel.class);
+    final var serverSocketChannel = mockSocketChannel();
 
     final var serverChannel =
         new PeerChannel(
@@ -147,7 +150,7 @@ final class MockP2PNetwork {
             serverSocketChannel,
             Optional.empty());
 
-    when(clientSocketChannel.writeAndFlush(any()))
+    when(clientSocketChannel.write(any()))
         .thenAnswer(
             inv -> {
               final var rawData = inv.getArgument(0);
@@ -155,7 +158,7 @@ final class MockP2PNetwork {
               return null;
             });
 
-    when(serverSocketChannel.writeAndFlush(any()))
+    when(serverSocketChannel.write(any()))
         .thenAnswer(
             inv -> {
               final var rawData = inv.getArgument(0);
@@ -186,4 +189,22 @@ final class MockP2PNetwork {
     serverChannel.channelActive(null);
     clientChannel.channelActive(null);
   }
+
+  private static SocketChannel mockSocketChannel() {
+    // writes are executed synchronously, on the caller's thread
+    final var eventLoop = mock(EventLoop.class);
+    when(eventLoop.inEventLoop()).thenReturn(true);
+    doAnswer(
+            inv -> {
+              inv.<Runnable>getArgument(0).run();
+              return null;
+            })
+        .when(eventLoop)
+        .execute(any());
+
+    final var socketChannel = mock(SocketChannel.class);
+    when(socketChannel.eventLoop()).thenReturn(eventLoop);
+    when(socketChannel.alloc()).thenReturn(UnpooledByteBufAllocator.DEFAULT);
+    return socketChannel;
+  }
 }
@@ -107,6 +107,7 @@ import com.radixdlt.statecomputer.forks.NewestForkConfig;
 import com.radixdlt.store.DatabaseCacheSize;
 import com.radixdlt.store.DatabaseEnvironment;
 import com.radixdlt.store.DatabaseLocation;
+import com.radixdlt.utils.TimeSupplier;
 import java.io.IOException;
 import java.util.Objects;
 import java.util.stream.IntStream;
@@ -223,6 +224,7 @@ public final class P2PTestNetworkRunner {
                 .toInstance(network.createSender(BFTNode.create(nodeKey.getPublicKey())));
             bind(RuntimeProperties.class).toInstance(properties);
             bind(Serialization.class).toInstance(DefaultSerialization.getInstance());
+            bind(TimeSupplier.class).toInstance(System::currentTimeMillis);
             bind(DeterministicProcessor.class);
             Multibinder.newSetBinder(binder(), StartProcessorOnRunner.class);
             bind(ForkConfig.class)
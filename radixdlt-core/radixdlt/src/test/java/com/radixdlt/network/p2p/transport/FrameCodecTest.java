@@ -65,6 +65,7 @@
 package com.radixdlt.network.p2p.transport;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 
 import com.radixdlt.DefaultSerialization;
 import com.radixdlt.crypto.ECKeyOps;
@@ -105,6 +106,7 @@ public final class FrameCodecTest {
 
       final var baos = new ByteArrayOutputStream();
       source.writeFrame(message, baos);
+      assertEquals(FrameCodec.frameSize(messageLength), baos.size());
       final var readFrame =
           destination.tryReadSingleFrame(Unpooled.wrappedBuffer(baos.toByteArray()));
 
@@ -0,0 +1,166 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.network.p2p.transport;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Ints;
+import com.radixdlt.DefaultSerialization;
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.middleware2.network.GetVerticesRequestMessage;
+import com.radixdlt.middleware2.network.MempoolAddMessage;
+import com.radixdlt.middleware2.network.StatusRequestMessage;
+import com.radixdlt.serialization.DsonOutput.Output;
+import com.radixdlt.serialization.Serialization;
+import com.radixdlt.utils.Compress;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.radix.network.messages.PeerPingMessage;
+import org.radix.network.messaging.Message;
+
+public final class InboundMessageClassifierTest {
+  private final Serialization serialization = DefaultSerialization.getInstance();
+
+  @Test
+  public void messages_are_classified_by_their_serializer_id() throws IOException {
+    assertEquals(
+        InboundMessageClass.BFT_SYNC,
+        classify(new GetVerticesRequestMessage(HashUtils.random256(), 3)));
+    assertEquals(InboundMessageClass.LEDGER_SYNC, classify(new StatusRequestMessage()));
+    assertEquals(
+        InboundMessageClass.MEMPOOL, classify(new MempoolAddMessage(List.of(new byte[] {1, 2}))));
+    assertEquals(InboundMessageClass.DISCOVERY, classify(new PeerPingMessage()));
+  }
+
+  @Test
+  public void consensus_events_are_classified_as_consensus() {
+    assertEquals(
+        InboundMessageClass.CONSENSUS,
+        InboundMessageClass.forSerializerId("message.consensus.event"));
+    assertEquals(
+        InboundMessageClass.BFT_SYNC,
+        InboundMessageClass.forSerializerId("message.consensus.vertices_response"));
+  }
+
+  @Test
+  public void serializer_id_is_found_after_other_properties() throws IOException {
+    // {"a": [1, {"sz": "nested"}], "b": h'0102', "sz": "message.sync.sync_request"}
+    var dson =
+        Bytes.concat(
+            new byte[] {(byte) 0xA3, 0x61, 'a', (byte) 0x82, 0x01, (byte) 0xA1},
+            text("sz"),
+            text("nested"),
+            new byte[] {0x61, 'b', 0x42, 0x01, 0x02},
+            text("sz"),
+            text("message.sync.sync_request"));
+
+    assertEquals(
+        "message.sync.sync_request", InboundMessageClassifier.serializerId(dson).orElseThrow());
+  }
+
+  @Test
+  public void only_the_compressed_data_up_to_the_serializer_id_is_decompressed()
+      throws IOException {
+    // {"sz": "message.sync.sync_request", "x": <incompressible bytes spanning several chunks>}
+    var payload = new byte[256 * 1024];
+    new Random(1234L).nextBytes(payload);
+    var dson =
+        Bytes.concat(
+            new byte[] {(byte) 0xA2},
+            text("sz"),
+            text("message.sync.sync_request"),
+            new byte[] {0x61, 'x', 0x5A},
+            Ints.toByteArray(payload.length),
+            payload);
+    var compressed = Compress.compress(dson);
+    // Corrupt the last chunk, which must not be decompressed
+    compressed[compressed.length - 1] ^= 0x01;
+
+    assertEquals(InboundMessageClass.LEDGER_SYNC, InboundMessageClassifier.classify(compressed));
+  }
+
+  @Test
+  public void malformed_messages_are_classified_as_mempool() throws IOException {
+    assertEquals(InboundMessageClass.MEMPOOL, InboundMessageClassifier.classify(new byte[] {1}));
+    assertEquals(
+        InboundMessageClass.MEMPOOL,
+        InboundMessageClassifier.classify(Compress.compress(new byte[] {(byte) 0xA2, 0x61})));
+  }
+
+  private InboundMessageClass classify(Message message) throws IOException {
+    return InboundMessageClassifier.classify(
+        Compress.compress(serialization.toDson(message, Output.WIRE)));
+  }
+
+  private static byte[] text(String s) {
+    var bytes = s.getBytes(StandardCharsets.UTF_8);
+    return Bytes.concat(new byte[] {0x78, (byte) bytes.length}, bytes);
+  }
+
+}
@@ -0,0 +1,134 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.network.p2p.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.primitives.Bytes;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.counters.SystemCountersImpl;
+import com.radixdlt.network.messaging.InboundMessage;
+import com.radixdlt.network.p2p.NodeId;
+import com.radixdlt.utils.Compress;
+import io.reactivex.rxjava3.core.Flowable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class InboundMessageLanesTest {
+  private static final int LANE_CAPACITY = 2;
+
+  private SystemCounters counters;
+  private InboundMessageLanes lanes;
+
+  @Before
+  public void setup() {
+    this.counters = new SystemCountersImpl();
+    this.lanes = new InboundMessageLanes(LANE_CAPACITY, counters, "channel");
+  }
+
+  @Test
+  public void overflowing_lane_does_not_drop_messages_of_other_classes() throws IOException {
+    var subscriber = lanes.messages().test(0);
+    var mempoolMessage = message("message.mempool.add");
+    var consensusMessage = message("message.consensus.event");
+
+    // The lanes are merged with a prefetch of Flowable.bufferSize()
+    var accepted = Flowable.bufferSize() + LANE_CAPACITY;
+    for (int i = 0; i < accepted + 3; i++) {
+      lanes.offer(mempoolMessage);
+    }
+    lanes.offer(consensusMessage);
+    subscriber.request(Long.MAX_VALUE);
+
+    subscriber.assertValueCount(accepted + 1);
+    assertTrue(subscriber.values().contains(consensusMessage));
+    assertEquals(3, counters.get(CounterType.NETWORKING_TCP_DROPPED_MESSAGES));
+    assertEquals(3, counters.get(CounterType.NETWORKING_TCP_DROPPED_MEMPOOL_MESSAGES));
+    assertEquals(0, counters.get(CounterType.NETWORKING_TCP_DROPPED_CONSENSUS_MESSAGES));
+  }
+
+  @Test
+  public void completing_the_lanes_completes_the_messages() throws IOException {
+    var subscriber = lanes.messages().test();
+    var message = message("p2p.liveness.ping");
+
+    lanes.offer(message);
+    lanes.complete();
+
+    subscriber.assertValues(message).assertComplete();
+  }
+
+  private static InboundMessage message(String serializerId) throws IOException {
+    // {"sz": serializerId}
+    var id = serializerId.getBytes(StandardCharsets.UTF_8);
+    var dson = Bytes.concat(new byte[] {(byte) 0xA1, 0x62, 's', 'z', 0x78, (byte) id.length}, id);
+    return new InboundMessage(0L, mock(NodeId.class), Compress.compress(dson));
+  }
+}
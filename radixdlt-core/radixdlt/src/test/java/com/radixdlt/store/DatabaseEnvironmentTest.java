@@ -0,0 +1,265 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+package com.radixdlt.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.sleepycat.je.Transaction;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class DatabaseEnvironmentTest {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void group_commit_periodically_flushes_registered_logs() throws IOException {
+    var env =
+        new DatabaseEnvironment(
+            folder.getRoot().getAbsolutePath(), 1_000_000L, DatabaseDurability.groupCommit(10));
+    var flushable = mock(Flushable.class);
+    env.addFlushable(flushable);
+
+    verify(flushable, timeout(1000).atLeast(2)).flush();
+
+    env.removeFlushable(flushable);
+    env.stop();
+  }
+
+  @Test
+  public void stop_flushes_registered_logs_in_group_commit_mode() throws IOException {
+    var env =
+        new DatabaseEnvironment(
+            folder.getRoot().getAbsolutePath(), 1_000_000L, DatabaseDurability.groupCommit(60_000));
+    var flushable = mock(Flushable.class);
+    env.addFlushable(flushable);
+
+    env.stop();
+
+    verify(flushable, atLeastOnce()).flush();
+  }
+
+  @Test
+  public void synced_commit_flushes_registered_logs_before_committing() throws IOException {
+    var env =
+        new DatabaseEnvironment(
+            folder.getRoot().getAbsolutePath(), 1_000_000L, DatabaseDurability.groupCommit(60_000));
+    var flushable = mock(Flushable.class);
+    env.addFlushable(flushable);
+    var transaction = mock(Transaction.class);
+
+    env.commitSynced(transaction);
+
+    var inOrder = inOrder(flushable, transaction);
+    inOrder.verify(flushable).flush();
+    inOrder.verify(transaction).commit();
+    env.removeFlushable(flushable);
+    env.stop();
+  }
+
+  @Test
+  public void synced_commit_waits_for_appends_in_progress() throws Exception {
+    var env =
+        new DatabaseEnvironment(
+            folder.getRoot().getAbsolutePath(), 1_000_000L, DatabaseDurability.groupCommit(60_000));
+    var transaction = env.beginSyncedTransaction();
+    var appendLock = env.flushableAppendLock();
+    appendLock.lock();
+
+    var committed =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                env.commitSynced(transaction);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+    Thread.sleep(100);
+    assertThat(committed).isNotDone();
+
+    appendLock.unlock();
+    committed.get(10, TimeUnit.SECONDS);
+    env.stop();
+  }
+
+  @Test
+  public void synced_commit_does_not_flush_registered_logs_in_sync_mode() throws IOException {
+    var env = new DatabaseEnvironment(folder.getRoot().getAbsolutePath(), 1_000_000L);
+    var flushable = mock(Flushable.class);
+    env.addFlushable(flushable);
+    var transaction = mock(Transaction.class);
+
+    env.commitSynced(transaction);
+
+    verify(transaction).commit();
+    verify(flushable, never()).flush();
+    env.removeFlushable(flushable);
+    env.stop();
+  }
+
+  @Test
+  public void commit_flushes_registered_logs_before_committing_in_sync_mode() throws IOException {
+    var env = new DatabaseEnvironment(folder.getRoot().getAbsolutePath(), 1_000_000L);
+    var flushable = mock(Flushable.class);
+    env.addFlushable(flushable);
+    var transaction = mock(Transaction.class);
+
+    env.commit(transaction);
+
+    var inOrder = inOrder(flushable, transaction);
+    inOrder.verify(flushable).flush();
+    inOrder.verify(transaction).commit();
+    env.removeFlushable(flushable);
+    env.stop();
+  }
+
+  @Test
+  public void commit_does_not_flush_registered_logs_between_group_syncs() throws IOException {
+    var env =
+        new DatabaseEnvironment(
+            folder.getRoot().getAbsolutePath(), 1_000_000L, DatabaseDurability.groupCommit(60_000));
+    var flushable = mock(Flushable.class);
+    env.addFlushable(flushable);
+    var transaction = mock(Transaction.class);
+
+    env.commit(transaction);
+
+    verify(transaction).commit();
+    verify(flushable, never()).flush();
+    env.removeFlushable(flushable);
+    env.stop();
+  }
+
+  @Test
+  public void commit_does_not_wait_for_sync_in_progress_but_flushes_registered_logs()
+      throws Exception {
+    var env =
+        new DatabaseEnvironment(
+            folder.getRoot().getAbsolutePath(), 1_000_000L, DatabaseDurability.groupCommit(60_000));
+    var flushing = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var syncFlushable = mock(Flushable.class);
+    doAnswer(
+            invocation -> {
+              flushing.countDown();
+              release.await();
+              return null;
+            })
+        .when(syncFlushable)
+        .flush();
+    env.addFlushable(syncFlushable);
+
+    var synced =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                env.sync();
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+    assertThat(flushing.await(10, TimeUnit.SECONDS)).isTrue();
+    env.removeFlushable(syncFlushable);
+    var flushable = mock(Flushable.class);
+    env.addFlushable(flushable);
+    var transaction = mock(Transaction.class);
+
+    env.commit(transaction);
+
+    var inOrder = inOrder(flushable, transaction);
+    inOrder.verify(flushable).flush();
+    inOrder.verify(transaction).commit();
+    assertThat(synced).isNotDone();
+    release.countDown();
+    synced.get(10, TimeUnit.SECONDS);
+    env.removeFlushable(flushable);
+    env.stop();
+  }
+
+  @Test
+  public void sync_mode_does_not_flush_in_background() throws Exception {
+    var env = new DatabaseEnvironment(folder.getRoot().getAbsolutePath(), 1_000_000L);
+    var flushable = mock(Flushable.class);
+    env.addFlushable(flushable);
+
+    Thread.sleep(50);
+    env.stop();
+
+    verify(flushable, never()).flush();
+  }
+}
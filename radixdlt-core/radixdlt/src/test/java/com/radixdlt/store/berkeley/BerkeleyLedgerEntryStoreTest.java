@@ -75,6 +75,7 @@ import com.radixdlt.DefaultSerialization;
 import com.radixdlt.atom.CloseableCursor;
 import com.radixdlt.atom.Txn;
 import com.radixdlt.constraintmachine.REProcessedTxn;
+import com.radixdlt.counters.StartupProfiler;
 import com.radixdlt.counters.SystemCountersImpl;
 import com.radixdlt.crypto.HashUtils;
 import com.radixdlt.engine.RadixEngineException;
@@ -82,6 +83,7 @@ import com.radixdlt.hotstuff.LedgerHeader;
 import com.radixdlt.hotstuff.LedgerProof;
 import com.radixdlt.hotstuff.TimestampedECDSASignatures;
 import com.radixdlt.hotstuff.bft.View;
+import com.radixdlt.hotstuff.safety.SafetyState;
 import com.radixdlt.identifiers.AID;
 import com.radixdlt.ledger.AccumulatorState;
 import com.radixdlt.statecomputer.LedgerAndBFTProof;
@@ -89,13 +91,21 @@ import com.radixdlt.statecomputer.forks.CandidateForkConfig;
 import com.radixdlt.statecomputer.forks.CandidateForkVote;
 import com.radixdlt.statecomputer.forks.ForkVotingResult;
 import com.radixdlt.statecomputer.forks.RERulesConfig;
+import com.radixdlt.store.DatabaseDurability;
 import com.radixdlt.store.DatabaseEnvironment;
 import com.radixdlt.store.StoreConfig;
+import java.io.File;
+import java.io.Flushable;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -117,7 +127,8 @@ public final class BerkeleyLedgerEntryStoreTest {
                 dir.getRoot().getAbsolutePath(), (long) (Runtime.getRuntime().maxMemory() * 0.125)),
             new StoreConfig(1000),
             new SystemCountersImpl(0L),
-            Set.of());
+            Set.of(),
+            new StartupProfiler());
   }
 
   @Test
@@ -225,11 +236,92 @@ public final class BerkeleyLedgerEntryStoreTest {
     }
   }
 
-  private void storeMetadataWithForks(long epoch, ImmutableSet<ForkVotingResult> forkVotingResults)
+  @Test
+  public void committed_txns_are_served_with_their_stored_ids() throws RadixEngineException {
+    final var ids = new ArrayList<AID>();
+    for (long version = 1; version <= 3; version++) {
+      ids.add(storeMetadataWithForks(version, ImmutableSet.of()));
+    }
+
+    final var txns = sut.getCommittedTxns(0, 3);
+    assertEquals(3, txns.size());
+    for (int i = 0; i < txns.size(); i++) {
+      assertEquals(ids.get(i), txns.get(i).getId());
+    }
+  }
+
+  @Test
+  public void ledger_recovers_from_unsynced_log_after_synced_safety_commit_in_group_commit_mode()
+      throws Exception {
+    final var root = dir.newFolder();
+    final var ledgerFile = root.toPath().resolve("radix.ledger");
+    final var flushedLength = new AtomicLong();
+    // Records how much of the transaction log has been flushed, as it is flushed before this
+    final Flushable recorder = () -> flushedLength.set(Files.size(ledgerFile));
+
+    final var env = groupCommitEnvironment(root);
+    final var ledger = ledgerStore(env);
+    env.addFlushable(recorder);
+    final var ids = new ArrayList<AID>();
+    for (long version = 1; version <= 3; version++) {
+      ids.add(storeMetadataWithForks(ledger, version, ImmutableSet.of()));
+    }
+    final var safetyStore =
+        new BerkeleySafetyStateStore(
+            env, DefaultSerialization.getInstance(), new SystemCountersImpl(0L));
+    safetyStore.commitState(new SafetyState(View.of(1L), Optional.empty()));
+
+    // Simulate losing everything in the transaction log that was never flushed
+    env.removeFlushable(recorder);
+    safetyStore.close();
+    ledger.close();
+    env.stop();
+    try (var channel = FileChannel.open(ledgerFile, StandardOpenOption.WRITE)) {
+      channel.truncate(flushedLength.get());
+    }
+
+    final var reopenedEnv = groupCommitEnvironment(root);
+    final var reopened = ledgerStore(reopenedEnv);
+    final var txns = reopened.getCommittedTxns(0, 3);
+    assertEquals(3, txns.size());
+    for (int i = 0; i < txns.size(); i++) {
+      assertEquals(ids.get(i), txns.get(i).getId());
+    }
+    reopened.close();
+    reopenedEnv.stop();
+  }
+
+  private static DatabaseEnvironment groupCommitEnvironment(File root) {
+    return new DatabaseEnvironment(
+        root.getAbsolutePath(),
+        (long) (Runtime.getRuntime().maxMemory() * 0.125),
+        DatabaseDurability.groupCommit(60_000));
+  }
+
+  private static BerkeleyLedgerEntryStore ledgerStore(DatabaseEnvironment env) {
+    return new BerkeleyLedgerEntryStore(
+        DefaultSerialization.getInstance(),
+        env,
+        new StoreConfig(1000),
+        new SystemCountersImpl(0L),
+        Set.of(),
+        new StartupProfiler());
+  }
+
+  private AID storeMetadataWithForks(long epoch, ImmutableSet<ForkVotingResult> forkVotingResults)
+      throws RadixEngineException {
+    return storeMetadataWithForks(sut, epoch, forkVotingResults);
+  }
+
+  private static AID storeMetadataWithForks(
+      BerkeleyLedgerEntryStore store,
+      long epoch,
+      ImmutableSet<ForkVotingResult> forkVotingResults)
       throws RadixEngineException {
     final var fakeTx = mock(REProcessedTxn.class);
     final var txn = mock(Txn.class);
-    when(txn.getId()).thenReturn(AID.from(HashUtils.random256().asBytes()));
+    final var aid = AID.from(HashUtils.random256().asBytes());
+    when(txn.getId()).thenReturn(aid);
     when(fakeTx.getTxn()).thenReturn(txn);
     when(fakeTx.getGroupedStateUpdates()).thenReturn(List.of());
     when(txn.getPayload()).thenReturn(HashUtils.random256().asBytes());
@@ -248,12 +340,13 @@ public final class BerkeleyLedgerEntryStoreTest {
                     new TimestampedECDSASignatures(Map.of())))
             .withForksVotingResults(forkVotingResults);
 
-    sut.transaction(
+    store.transaction(
         tx -> {
           tx.storeTxn(fakeTx);
           tx.storeMetadata(proof1);
           return null;
         });
+    return aid;
   }
 
   private <T> List<T> cursorToList(CloseableCursor<T> cursor) {
@@ -91,7 +91,7 @@ import org.mockito.ArgumentCaptor;
 public class BerkeleySafetyStateStoreTest {
 
   @Test
-  public void should_be_able_to_restore_committed_state() {
+  public void should_be_able_to_restore_committed_state() throws Exception {
     final var db = mock(Database.class);
     final var env = mock(Environment.class);
     final var dbEnv = mock(DatabaseEnvironment.class);
@@ -106,6 +106,7 @@ public class BerkeleySafetyStateStoreTest {
     final var safetyState = new SafetyState(randomView(), Optional.of(randomVote()));
 
     when(env.beginTransaction(any(), any())).thenReturn(tx);
+    when(dbEnv.beginSyncedTransaction()).thenReturn(tx);
 
     when(db.put(any(), any(), any())).thenReturn(OperationStatus.SUCCESS);
 
@@ -114,7 +115,7 @@ public class BerkeleySafetyStateStoreTest {
     store.commitState(safetyState);
 
     verify(db, times(1)).put(any(), any(), entryCaptor.capture());
-    verify(tx, times(1)).commit();
+    verify(dbEnv, times(1)).commitSynced(tx);
     verifyNoMoreInteractions(tx);
 
     final var cursor = mock(Cursor.class);
@@ -0,0 +1,161 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+package com.radixdlt.store.berkeley;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.Streams;
+import com.radixdlt.atom.CloseableCursor;
+import com.radixdlt.atom.SubstateId;
+import com.radixdlt.atom.SubstateTypeId;
+import com.radixdlt.constraintmachine.RawSubstateBytes;
+import com.radixdlt.identifiers.AID;
+import java.util.List;
+import org.junit.Test;
+
+public class EpochBoundaryIndexTest {
+  private final EpochBoundaryIndex index =
+      new EpochBoundaryIndex(
+          typeByte -> BerkeleyLedgerEntryStore.indexKeyLength((byte) typeByte));
+
+  private static RawSubstateBytes substate(SubstateTypeId type, int keyByte, int index) {
+    var data = new byte[BerkeleyLedgerEntryStore.indexKeyLength(type.id()) + 8];
+    data[0] = type.id();
+    data[2] = (byte) keyByte;
+    return new RawSubstateBytes(SubstateId.ofSubstate(AID.ZERO, index).asBytes(), data);
+  }
+
+  private static List<RawSubstateBytes> read(CloseableCursor<RawSubstateBytes> cursor) {
+    try (cursor) {
+      return Streams.stream(cursor).toList();
+    }
+  }
+
+  private List<RawSubstateBytes> read(SubstateTypeId type, EpochBoundaryIndex.Writes writes) {
+    var prefix = new byte[] {type.id()};
+    var reverse = BerkeleyLedgerEntryStore.isReverseIndexed(type.id());
+    return read(index.openCursor(prefix, reverse, writes).orElseThrow());
+  }
+
+  @Test
+  public void untracked_types_are_not_covered() {
+    assertThat(index.openCursor(new byte[] {SubstateTypeId.TOKENS.id()}, false, null)).isEmpty();
+  }
+
+  @Test
+  public void entries_are_ordered_by_index_key_then_substate_id() {
+    var a = substate(SubstateTypeId.PREPARED_STAKE, 2, 0);
+    var b = substate(SubstateTypeId.PREPARED_STAKE, 1, 1);
+    var c = substate(SubstateTypeId.PREPARED_STAKE, 1, 2);
+    index.load(a);
+    index.load(c);
+    index.load(b);
+    index.load(substate(SubstateTypeId.EXITING_STAKE, 0, 3));
+
+    assertThat(read(SubstateTypeId.PREPARED_STAKE, null)).containsExactly(b, c, a);
+  }
+
+  @Test
+  public void reverse_indexed_types_are_read_in_descending_order() {
+    var low = substate(SubstateTypeId.VALIDATOR_STAKE_DATA, 1, 0);
+    var high = substate(SubstateTypeId.VALIDATOR_STAKE_DATA, 2, 1);
+    index.load(low);
+    index.load(high);
+
+    assertThat(read(SubstateTypeId.VALIDATOR_STAKE_DATA, null)).containsExactly(high, low);
+  }
+
+  @Test
+  public void uncommitted_writes_are_only_visible_within_their_transaction_until_applied() {
+    var committed = substate(SubstateTypeId.PREPARED_STAKE, 1, 0);
+    var downed = substate(SubstateTypeId.PREPARED_STAKE, 3, 1);
+    var upped = substate(SubstateTypeId.PREPARED_STAKE, 2, 2);
+    var upThenDowned = substate(SubstateTypeId.PREPARED_STAKE, 4, 3);
+    index.load(committed);
+    index.load(downed);
+
+    var writes = index.newWrites();
+    index.bootUp(writes, upped);
+    index.bootUp(writes, upThenDowned);
+    index.shutDown(writes, SubstateId.fromBytes(downed.getId()));
+    index.shutDown(writes, SubstateId.fromBytes(upThenDowned.getId()));
+
+    assertThat(read(SubstateTypeId.PREPARED_STAKE, writes)).containsExactly(committed, upped);
+    assertThat(read(SubstateTypeId.PREPARED_STAKE, null)).containsExactly(committed, downed);
+
+    index.apply(writes);
+
+    assertThat(read(SubstateTypeId.PREPARED_STAKE, null)).containsExactly(committed, upped);
+    assertThat(index.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void prefixes_longer_than_the_index_key_are_not_covered() {
+    var length = BerkeleyLedgerEntryStore.indexKeyLength(SubstateTypeId.VALIDATOR_BFT_DATA.id());
+    var prefix = new byte[length + 1];
+    prefix[0] = SubstateTypeId.VALIDATOR_BFT_DATA.id();
+
+    assertThat(index.openCursor(prefix, false, null)).isEmpty();
+  }
+}
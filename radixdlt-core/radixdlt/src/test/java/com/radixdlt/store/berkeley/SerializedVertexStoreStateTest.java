@@ -61,19 +61,161 @@
  * Work. You assume all risks associated with Your use of the Work and the exercise of
  * permissions under this License.
  */
-
 package com.radixdlt.store.berkeley;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
 import com.google.common.hash.HashCode;
+import com.radixdlt.DefaultSerialization;
+import com.radixdlt.atom.Txn;
+import com.radixdlt.crypto.ECKeyPair;
 import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.hotstuff.BFTHeader;
+import com.radixdlt.hotstuff.HighQC;
+import com.radixdlt.hotstuff.LedgerHeader;
+import com.radixdlt.hotstuff.QuorumCertificate;
+import com.radixdlt.hotstuff.TimeoutCertificate;
+import com.radixdlt.hotstuff.TimestampedECDSASignature;
+import com.radixdlt.hotstuff.TimestampedECDSASignatures;
+import com.radixdlt.hotstuff.UnverifiedVertex;
+import com.radixdlt.hotstuff.VoteData;
+import com.radixdlt.hotstuff.bft.BFTNode;
+import com.radixdlt.hotstuff.bft.BFTValidator;
+import com.radixdlt.hotstuff.bft.BFTValidatorSet;
+import com.radixdlt.hotstuff.bft.View;
+import com.radixdlt.ledger.AccumulatorState;
+import com.radixdlt.serialization.DeserializeException;
+import com.radixdlt.serialization.DsonOutput.Output;
+import com.radixdlt.utils.UInt256;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Before;
 import org.junit.Test;
 
 public class SerializedVertexStoreStateTest {
+  private static final long EPOCH = 3;
+
+  private final CompactProofCodec codec = new CompactProofCodec(DefaultSerialization.getInstance());
+  private List<ECKeyPair> keys;
+  private LongFunction<Optional<List<BFTNode>>> signersOfEpoch;
+
+  @Before
+  public void setup() {
+    keys = IntStream.range(0, 10).mapToObj(i -> ECKeyPair.generateNew()).toList();
+    var validatorSet =
+        BFTValidatorSet.from(
+            keys.stream()
+                .map(k -> BFTValidator.from(BFTNode.create(k.getPublicKey()), UInt256.ONE))
+                .collect(Collectors.toList()));
+    var signers = CompactProofCodec.signerOrder(validatorSet);
+    signersOfEpoch = epoch -> epoch == EPOCH ? Optional.of(signers) : Optional.empty();
+  }
+
   @Test
   public void equalsContract() {
     EqualsVerifier.forClass(SerializedVertexStoreState.class)
         .withPrefabValues(HashCode.class, HashUtils.random256(), HashUtils.random256())
         .verify();
   }
+
+  @Test
+  public void compact_encoding_round_trips_losslessly() throws DeserializeException {
+    var state = stateSignedBy(keys.subList(0, 7));
+
+    var encoded = codec.encode(state, signersOfEpoch).orElseThrow();
+
+    assertThat(CompactProofCodec.isCompact(encoded)).isTrue();
+    assertThat(codec.decodeVertexStoreState(encoded, signersOfEpoch)).isEqualTo(state);
+  }
+
+  @Test
+  public void compact_encoding_is_smaller_than_dson() {
+    var state = stateSignedBy(keys);
+
+    var encoded = codec.encode(state, signersOfEpoch).orElseThrow();
+    var dson = DefaultSerialization.getInstance().toDson(state, Output.ALL);
+
+    assertThat(CompactProofCodec.isCompact(dson)).isFalse();
+    assertThat(encoded.length).isLessThan(dson.length);
+  }
+
+  @Test
+  public void unsigned_state_is_encoded_without_validators() throws DeserializeException {
+    var genesis = UnverifiedVertex.createGenesis(ledgerHeader(0));
+    var state =
+        new SerializedVertexStoreState(
+            HighQC.from(genesis.getQC()), genesis, ImmutableList.of(), null);
+    LongFunction<Optional<List<BFTNode>>> noValidators = epoch -> Optional.empty();
+
+    var encoded = codec.encode(state, noValidators).orElseThrow();
+
+    assertThat(codec.decodeVertexStoreState(encoded, noValidators)).isEqualTo(state);
+  }
+
+  @Test
+  public void state_with_signer_outside_of_validator_set_is_not_encoded() {
+    var state = stateSignedBy(List.of(keys.get(0), ECKeyPair.generateNew()));
+
+    assertThat(codec.encode(state, signersOfEpoch)).isEmpty();
+  }
+
+  @Test
+  public void state_with_signatures_of_unknown_epoch_is_not_encoded() {
+    var state = stateSignedBy(keys);
+
+    assertThat(codec.encode(state, epoch -> Optional.empty())).isEmpty();
+  }
+
+  private SerializedVertexStoreState stateSignedBy(List<ECKeyPair> signingKeys) {
+    var root = UnverifiedVertex.createGenesis(ledgerHeader(0));
+    var committedQC = qc(1, signingKeys);
+    var first = UnverifiedVertex.create(committedQC, View.of(2), List.of(), proposer());
+    var highestQC = qc(2, signingKeys);
+    var second =
+        UnverifiedVertex.create(
+            highestQC, View.of(3), List.of(Txn.create(new byte[] {1, 2, 3})), proposer());
+    var highestTC = new TimeoutCertificate(EPOCH, View.of(4), signedBy(signingKeys));
+    var highQC = HighQC.from(highestQC, committedQC, Optional.of(highestTC));
+    assertThat(highQC.highestCommittedQC()).isNotEqualTo(highQC.highestQC());
+    assertThat(highQC.highestTC()).isPresent();
+
+    return new SerializedVertexStoreState(
+        highQC, root, ImmutableList.of(first, second), highestTC);
+  }
+
+  private BFTNode proposer() {
+    return BFTNode.create(keys.get(0).getPublicKey());
+  }
+
+  private static QuorumCertificate qc(long view, List<ECKeyPair> signingKeys) {
+    var voteData = new VoteData(header(view), header(view - 1), null);
+    return new QuorumCertificate(voteData, signedBy(signingKeys));
+  }
+
+  private static BFTHeader header(long view) {
+    return new BFTHeader(View.of(view), HashUtils.random256(), ledgerHeader(view));
+  }
+
+  private static LedgerHeader ledgerHeader(long view) {
+    var accumulatorState = new AccumulatorState(view, HashUtils.random256());
+    return LedgerHeader.create(EPOCH, View.of(view), accumulatorState, 1_000_000L + view);
+  }
+
+  private static TimestampedECDSASignatures signedBy(List<ECKeyPair> signingKeys) {
+    var signatures = new HashMap<BFTNode, TimestampedECDSASignature>();
+    for (int i = 0; i < signingKeys.size(); i++) {
+      var key = signingKeys.get(i);
+      var signature = key.sign(HashUtils.random256().asBytes());
+      signatures.put(
+          BFTNode.create(key.getPublicKey()),
+          TimestampedECDSASignature.from(1_000_000L + i, signature));
+    }
+    return new TimestampedECDSASignatures(signatures);
+  }
 }
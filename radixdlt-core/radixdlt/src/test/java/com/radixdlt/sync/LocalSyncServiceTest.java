@@ -93,6 +93,7 @@ import com.radixdlt.ledger.DtoTxnsAndProof;
 import com.radixdlt.ledger.LedgerAccumulatorVerifier;
 import com.radixdlt.ledger.LedgerUpdate;
 import com.radixdlt.ledger.VerifiedTxnsAndProof;
+import com.radixdlt.network.p2p.PeerLinkStatistics;
 import com.radixdlt.network.p2p.PeersView;
 import com.radixdlt.network.p2p.PeersView.PeerInfo;
 import com.radixdlt.sync.LocalSyncService.InvalidSyncResponseHandler;
@@ -108,8 +109,10 @@ import com.radixdlt.sync.messages.remote.SyncRequest;
 import com.radixdlt.sync.messages.remote.SyncResponse;
 import com.radixdlt.sync.validation.RemoteSyncResponseSignaturesVerifier;
 import com.radixdlt.sync.validation.RemoteSyncResponseValidatorSetVerifier;
+import com.radixdlt.utils.TimeSupplier;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Random;
 import java.util.stream.Stream;
 import org.junit.Before;
 import org.junit.Test;
@@ -161,6 +164,9 @@ public class LocalSyncServiceTest {
             syncConfig,
             systemCounters,
             peersView,
+            new PeerLinkStatistics(),
+            mock(TimeSupplier.class),
+            new Random(12345L),
             accComparator,
             validatorSetVerifier,
             signaturesVerifier,
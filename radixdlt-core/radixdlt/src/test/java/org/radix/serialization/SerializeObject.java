@@ -64,6 +64,7 @@
 
 package org.radix.serialization;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assume.assumeFalse;
@@ -74,6 +75,9 @@ import com.radixdlt.serialization.DeserializeException;
 import com.radixdlt.serialization.DsonOutput.Output;
 import com.radixdlt.serialization.Polymorphic;
 import com.radixdlt.serialization.Serialization;
+import com.radixdlt.serialization.codec.DsonCodecs;
+import com.radixdlt.serialization.core.ClasspathScanningSerializationPolicy;
+import com.radixdlt.serialization.core.ClasspathScanningSerializerIds;
 import java.lang.reflect.Method;
 import java.util.function.Supplier;
 import org.apache.logging.log4j.Level;
@@ -99,6 +103,8 @@ public abstract class SerializeObject<T> extends RadixTest {
         LogManager.getLogger(ClassScanningSerializerIds.class).getName(), Level.INFO);
   }
 
+  private static Serialization jacksonSerialization;
+
   private final Class<T> cls;
   private final Supplier<T> factory;
 
@@ -172,6 +178,32 @@ public abstract class SerializeObject<T> extends RadixTest {
     testEncodeDecode(factory.get(), cls, getSerialization(), Output.WIRE);
   }
 
+  @Test
+  public void testGeneratedCodecsMatchJackson() throws DeserializeException {
+    Serialization s = getSerialization();
+    Serialization jackson = getJacksonSerialization();
+    T initialObj = factory.get();
+    for (Output output : Output.values()) {
+      byte[] expected = jackson.toDson(initialObj, output);
+      assertArrayEquals(output.name(), expected, s.toDson(initialObj, output));
+    }
+    if (!Polymorphic.class.isAssignableFrom(cls)) {
+      byte[] dson = jackson.toDson(initialObj, Output.ALL);
+      assertEquals(jackson.fromDson(dson, this.cls), s.fromDson(dson, this.cls));
+    }
+  }
+
+  private static synchronized Serialization getJacksonSerialization() {
+    if (jacksonSerialization == null) {
+      jacksonSerialization =
+          Serialization.create(
+              ClasspathScanningSerializerIds.create(),
+              ClasspathScanningSerializationPolicy.create(),
+              DsonCodecs.none());
+    }
+    return jacksonSerialization;
+  }
+
   private void checkPolymorphic() {
     assumeFalse("Not applicable for polymorphic classes", Polymorphic.class.isAssignableFrom(cls));
   }
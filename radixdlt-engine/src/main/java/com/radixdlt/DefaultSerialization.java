@@ -64,28 +64,39 @@
 
 package com.radixdlt;
 
+import com.google.common.base.Stopwatch;
 import com.radixdlt.serialization.Serialization;
-import com.radixdlt.serialization.core.ClasspathScanningSerializationPolicy;
-import com.radixdlt.serialization.core.ClasspathScanningSerializerIds;
+import com.radixdlt.serialization.core.RegistrySerializationPolicy;
+import com.radixdlt.serialization.core.RegistrySerializerIds;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public final class DefaultSerialization {
+  private static final Logger log = LogManager.getLogger();
 
   private DefaultSerialization() {
     throw new IllegalStateException("Can't construct");
   }
 
   private static class LazyHolder {
-    static final Serialization INSTANCE =
-        Serialization.create(
-            ClasspathScanningSerializerIds.create(), ClasspathScanningSerializationPolicy.create());
+    static final Serialization INSTANCE = create();
+
+    private static Serialization create() {
+      var stopwatch = Stopwatch.createStarted();
+      var serialization =
+          Serialization.create(
+              RegistrySerializerIds.create(), RegistrySerializationPolicy.create());
+      log.info("Serialization initialised in {}ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+      return serialization;
+    }
   }
 
   /**
-   * A singleton created using {@link ClasspathScanningSerializerIds} and {@link
-   * ClasspathScanningSerializationPolicy}
+   * A singleton created using {@link RegistrySerializerIds} and {@link RegistrySerializationPolicy}
    *
-   * @return A singleton created using {@link ClasspathScanningSerializerIds} and {@link
-   *     ClasspathScanningSerializationPolicy},
+   * @return A singleton created using {@link RegistrySerializerIds} and {@link
+   *     RegistrySerializationPolicy},
    */
   public static Serialization getInstance() {
     return LazyHolder.INSTANCE;
@@ -72,20 +72,39 @@ import java.util.Objects;
 
 public final class Txn {
   private final byte[] payload;
-  private final AID id;
+  // Lazily computed, racy single-check is fine as AID is immutable
+  private AID id;
 
-  private Txn(byte[] payload) {
+  private Txn(byte[] payload, AID id) {
     this.payload = Objects.requireNonNull(payload);
-    this.id = AID.from(HashUtils.transactionIdHash(payload).asBytes());
+    this.id = id;
   }
 
+  /**
+   * Creates a transaction from its payload. The transaction id is computed on first access, so
+   * contexts which never look at the id (or which re-verify the payload anyway) don't pay for the
+   * hash.
+   */
   @JsonCreator
   public static Txn create(byte[] payload) {
-    return new Txn(payload);
+    return new Txn(payload, null);
+  }
+
+  /**
+   * Creates a transaction whose id has already been computed, e.g. one read back from the ledger
+   * store alongside its persisted id. The id is trusted and is NOT checked against the payload.
+   */
+  public static Txn createWithKnownId(byte[] payload, AID id) {
+    return new Txn(payload, Objects.requireNonNull(id));
   }
 
   public AID getId() {
-    return id;
+    var result = id;
+    if (result == null) {
+      result = AID.from(HashUtils.transactionIdHash(payload).asBytes());
+      id = result;
+    }
+    return result;
   }
 
   @JsonValue
@@ -95,7 +114,7 @@ public final class Txn {
 
   @Override
   public int hashCode() {
-    return Objects.hash(id);
+    return Objects.hash(getId());
   }
 
   @Override
@@ -105,11 +124,11 @@ public final class Txn {
     }
 
     Txn other = (Txn) o;
-    return Objects.equals(this.id, other.id);
+    return Objects.equals(this.getId(), other.getId());
   }
 
   @Override
   public String toString() {
-    return String.format("%s{id=%s}", this.getClass().getSimpleName(), this.id);
+    return String.format("%s{id=%s}", this.getClass().getSimpleName(), this.getId());
   }
 }
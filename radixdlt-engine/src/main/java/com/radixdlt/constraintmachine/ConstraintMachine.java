@@ -311,11 +311,19 @@ public final class ConstraintMachine {
     }
   }
 
-  private Procedure loadProcedure(ReducerState reducerState, OpSignature opSignature)
+  private static Class<? extends ReducerState> reducerStateClass(ReducerState reducerState) {
+    return reducerState != null ? reducerState.getClass() : VoidReducerState.class;
+  }
+
+  private Procedure loadProcedure(
+      ReducerState reducerState, REOp op, Class<? extends Particle> substateClass)
+      throws MissingProcedureException {
+    return this.procedures.dispatch(reducerStateClass(reducerState), op, substateClass);
+  }
+
+  private Procedure loadSystemCallProcedure(ReducerState reducerState)
       throws MissingProcedureException {
-    var reducerStateClass = reducerState != null ? reducerState.getClass() : VoidReducerState.class;
-    var key = ProcedureKey.of(reducerStateClass, opSignature);
-    return this.procedures.getProcedure(key);
+    return this.procedures.dispatchSystemCall(reducerStateClass(reducerState));
   }
 
   /**
@@ -382,8 +390,7 @@ public final class ConstraintMachine {
 
         if (inst.getMicroOp() == REInstruction.REMicroOp.SYSCALL) {
           CallData callData = inst.getData();
-          var opSignature = OpSignature.ofMethod(inst.getMicroOp().getOp(), REAddr.ofSystem());
-          var methodProcedure = loadProcedure(reducerState, opSignature);
+          var methodProcedure = loadSystemCallProcedure(reducerState);
           reducerState =
               callProcedure(methodProcedure, callData, reducerState, readableAddrs, context);
         } else if (inst.getMicroOp().getOp() == REOp.READ) {
@@ -403,9 +410,8 @@ public final class ConstraintMachine {
           } else {
             throw new IllegalStateException("Unknown read op " + inst.getMicroOp());
           }
-          var eventId =
-              OpSignature.ofSubstateUpdate(inst.getMicroOp().getOp(), nextParticle.getClass());
-          var methodProcedure = loadProcedure(reducerState, eventId);
+          var methodProcedure =
+              loadProcedure(reducerState, inst.getMicroOp().getOp(), nextParticle.getClass());
           reducerState =
               callProcedure(methodProcedure, nextParticle, reducerState, readableAddrs, context);
           expectEnd = reducerState == null;
@@ -445,9 +451,8 @@ public final class ConstraintMachine {
               };
           var substateIterator = new IndexedSubstateIterator<>(index, iterator);
           try {
-            var eventId =
-                OpSignature.ofSubstateUpdate(inst.getMicroOp().getOp(), index.getSubstateClass());
-            var methodProcedure = loadProcedure(reducerState, eventId);
+            var methodProcedure =
+                loadProcedure(reducerState, inst.getMicroOp().getOp(), index.getSubstateClass());
             reducerState =
                 callProcedure(
                     methodProcedure, substateIterator, reducerState, readableAddrs, context);
@@ -494,8 +499,7 @@ public final class ConstraintMachine {
           var typeByte = deserialization.classToByte(nextParticle.getClass());
           stateUpdates.add(
               REStateUpdate.of(op, instIndex, substateId, typeByte, nextParticle, substateBuffer));
-          var eventId = OpSignature.ofSubstateUpdate(op, nextParticle.getClass());
-          var methodProcedure = loadProcedure(reducerState, eventId);
+          var methodProcedure = loadProcedure(reducerState, op, nextParticle.getClass());
           reducerState =
               callProcedure(methodProcedure, nextParticle, reducerState, readableAddrs, context);
           expectEnd = reducerState == null;
@@ -504,8 +508,7 @@ public final class ConstraintMachine {
           stateUpdates = new ArrayList<>();
 
           if (reducerState != null) {
-            var eventId = OpSignature.ofSubstateUpdate(inst.getMicroOp().getOp(), null);
-            var methodProcedure = loadProcedure(reducerState, eventId);
+            var methodProcedure = loadProcedure(reducerState, inst.getMicroOp().getOp(), null);
             reducerState =
                 callProcedure(methodProcedure, reducerState, reducerState, readableAddrs, context);
           }
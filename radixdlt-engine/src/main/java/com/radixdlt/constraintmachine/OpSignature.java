@@ -80,6 +80,10 @@ public final class OpSignature {
     return op;
   }
 
+  Object type() {
+    return type;
+  }
+
   public static OpSignature ofSubstateUpdate(REOp op, Class<? extends Particle> particleClass) {
     return new OpSignature(op, particleClass);
   }
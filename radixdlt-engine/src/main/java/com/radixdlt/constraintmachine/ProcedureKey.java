@@ -80,6 +80,10 @@ public final class ProcedureKey {
     return new ProcedureKey(currentState, opSignature);
   }
 
+  Class<? extends ReducerState> currentState() {
+    return currentState;
+  }
+
   public OpSignature opSignature() {
     return opSignature;
   }
@@ -65,15 +65,79 @@
 package com.radixdlt.constraintmachine;
 
 import com.radixdlt.constraintmachine.exceptions.MissingProcedureException;
+import com.radixdlt.identifiers.REAddr;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * The set of procedures available to the constraint machine.
+ *
+ * <p>On construction the procedures are also compiled into dense dispatch tables: every reducer
+ * state class gets a row of procedures indexed by {@code op ordinal * rowWidth + substate
+ * ordinal}, where substate classes are assigned ordinals starting at {@link
+ * #FIRST_SUBSTATE_ORDINAL}. Rows and ordinals are resolved through {@link ClassValue}s so that
+ * instruction dispatch in the constraint machine requires neither a key allocation nor a hash
+ * lookup.
+ */
 public final class Procedures {
+  private static final int NO_SUBSTATE_ORDINAL = 0;
+  private static final int SYSTEM_CALL_ORDINAL = 1;
+  private static final int FIRST_SUBSTATE_ORDINAL = 2;
+  private static final int MISSING_ORDINAL = -1;
+  private static final int OP_COUNT = REOp.values().length;
+  private static final Procedure[] EMPTY_ROW = new Procedure[0];
+  private static final REAddr SYSTEM_ADDR = REAddr.ofSystem();
+
   private final Map<ProcedureKey, Procedure> procedures;
+  private final ClassValue<Integer> substateOrdinals;
+  private final ClassValue<Procedure[]> dispatchRows;
+  private final int rowWidth;
 
   public Procedures(Map<ProcedureKey, Procedure> procedures) {
     this.procedures = procedures;
+
+    var ordinals = new HashMap<Class<?>, Integer>();
+    for (var key : procedures.keySet()) {
+      if (key.opSignature().type() instanceof Class<?> substateClass) {
+        ordinals.putIfAbsent(substateClass, FIRST_SUBSTATE_ORDINAL + ordinals.size());
+      }
+    }
+    this.rowWidth = FIRST_SUBSTATE_ORDINAL + ordinals.size();
+
+    var rows = new HashMap<Class<?>, Procedure[]>();
+    for (var e : procedures.entrySet()) {
+      var opSignature = e.getKey().opSignature();
+      var type = opSignature.type();
+      final int ordinal;
+      if (type == null) {
+        ordinal = NO_SUBSTATE_ORDINAL;
+      } else if (type instanceof Class<?> substateClass) {
+        ordinal = ordinals.get(substateClass);
+      } else if (SYSTEM_ADDR.equals(type)) {
+        ordinal = SYSTEM_CALL_ORDINAL;
+      } else {
+        // Only reachable through getProcedure()
+        continue;
+      }
+
+      var row =
+          rows.computeIfAbsent(e.getKey().currentState(), c -> new Procedure[OP_COUNT * rowWidth]);
+      row[opSignature.op().ordinal() * rowWidth + ordinal] = e.getValue();
+    }
+
+    this.substateOrdinals = classLookup(Map.copyOf(ordinals), MISSING_ORDINAL);
+    this.dispatchRows = classLookup(Map.copyOf(rows), EMPTY_ROW);
+  }
+
+  private static <T> ClassValue<T> classLookup(Map<Class<?>, T> values, T defaultValue) {
+    return new ClassValue<>() {
+      @Override
+      protected T computeValue(Class<?> type) {
+        return values.getOrDefault(type, defaultValue);
+      }
+    };
   }
 
   public static Procedures empty() {
@@ -95,4 +159,48 @@ public final class Procedures {
     }
     return procedure;
   }
+
+  /**
+   * Looks up the procedure for a substate update (or {@link REOp#END} if {@code substateClass} is
+   * null) through the dispatch tables. Equivalent to {@link #getProcedure(ProcedureKey)} with
+   * {@link OpSignature#ofSubstateUpdate(REOp, Class)}.
+   */
+  public Procedure dispatch(
+      Class<? extends ReducerState> reducerStateClass,
+      REOp op,
+      Class<? extends Particle> substateClass)
+      throws MissingProcedureException {
+    var ordinal =
+        substateClass == null ? NO_SUBSTATE_ORDINAL : substateOrdinals.get(substateClass);
+    var procedure = lookup(reducerStateClass, op, ordinal);
+    if (procedure == null) {
+      throw new MissingProcedureException(
+          ProcedureKey.of(reducerStateClass, OpSignature.ofSubstateUpdate(op, substateClass)));
+    }
+    return procedure;
+  }
+
+  /**
+   * Looks up the procedure for a system call through the dispatch tables. Equivalent to {@link
+   * #getProcedure(ProcedureKey)} with {@link OpSignature#ofMethod(REOp, REAddr)} on the system
+   * address.
+   */
+  public Procedure dispatchSystemCall(Class<? extends ReducerState> reducerStateClass)
+      throws MissingProcedureException {
+    var procedure = lookup(reducerStateClass, REOp.SYSCALL, SYSTEM_CALL_ORDINAL);
+    if (procedure == null) {
+      throw new MissingProcedureException(
+          ProcedureKey.of(reducerStateClass, OpSignature.ofMethod(REOp.SYSCALL, SYSTEM_ADDR)));
+    }
+    return procedure;
+  }
+
+  private Procedure lookup(Class<? extends ReducerState> reducerStateClass, REOp op, int ordinal) {
+    if (ordinal == MISSING_ORDINAL) {
+      return null;
+    }
+    var row = dispatchRows.get(reducerStateClass);
+    var index = op.ordinal() * rowWidth + ordinal;
+    return index < row.length ? row[index] : null;
+  }
 }
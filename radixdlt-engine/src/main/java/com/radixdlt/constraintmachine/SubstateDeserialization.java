@@ -67,28 +67,33 @@ package com.radixdlt.constraintmachine;
 import com.radixdlt.atomos.SubstateDefinition;
 import com.radixdlt.engine.parser.exceptions.SubstateDeserializationException;
 import com.radixdlt.serialization.DeserializeException;
-import com.radixdlt.utils.functional.Functions;
 import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 public final class SubstateDeserialization {
-  private final Map<Byte, SubstateDefinition<? extends Particle>> byteToDeserializer;
+  // Indexed by unsigned type byte
+  private final SubstateDefinition<? extends Particle>[] byteToDeserializer;
   private final Map<Class<? extends Particle>, Byte> classToTypeByte;
 
   public SubstateDeserialization(Collection<SubstateDefinition<? extends Particle>> definitions) {
-    this.byteToDeserializer =
-        definitions.stream()
-            .collect(Collectors.toMap(SubstateDefinition::typeByte, Functions::identity));
+    this.byteToDeserializer = new SubstateDefinition<?>[256];
+    for (var definition : definitions) {
+      var index = Byte.toUnsignedInt(definition.typeByte());
+      if (byteToDeserializer[index] != null) {
+        throw new IllegalStateException("Duplicate substate type byte: " + definition.typeByte());
+      }
+      byteToDeserializer[index] = definition;
+    }
     this.classToTypeByte =
         definitions.stream()
             .collect(
                 Collectors.toMap(SubstateDefinition::substateClass, SubstateDefinition::typeByte));
   }
 
-  public Class<? extends Particle> byteToClass(Byte typeByte) throws DeserializeException {
-    var definition = byteToDeserializer.get(typeByte);
+  public Class<? extends Particle> byteToClass(byte typeByte) throws DeserializeException {
+    var definition = byteToDeserializer[Byte.toUnsignedInt(typeByte)];
     if (definition == null) {
       throw new DeserializeException("Unknown substate byte type: " + typeByte);
     }
@@ -113,7 +118,7 @@ public final class SubstateDeserialization {
 
   public Particle deserialize(ByteBuffer buf) throws DeserializeException {
     var typeByte = buf.get();
-    var deserializer = byteToDeserializer.get(typeByte);
+    var deserializer = byteToDeserializer[Byte.toUnsignedInt(typeByte)];
     if (deserializer == null) {
       throw new DeserializeException("Unknown byte type: " + typeByte);
     }
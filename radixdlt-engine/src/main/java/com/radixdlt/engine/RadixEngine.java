@@ -70,6 +70,7 @@ import com.google.common.base.Stopwatch;
 import com.radixdlt.application.system.construction.FeeReserveCompleteException;
 import com.radixdlt.application.tokens.ResourceInBucket;
 import com.radixdlt.atom.CloseableCursor;
+import com.radixdlt.atom.MemoizingSubstateStore;
 import com.radixdlt.atom.REConstructor;
 import com.radixdlt.atom.SubstateId;
 import com.radixdlt.atom.SubstateStore;
@@ -102,6 +103,7 @@ import com.radixdlt.store.EngineStore;
 import com.radixdlt.store.TransientEngineStore;
 import com.radixdlt.utils.UInt256;
 import com.radixdlt.utils.UInt384;
+import com.radixdlt.utils.UInt384Accumulator;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -110,7 +112,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -120,10 +122,13 @@ import org.apache.logging.log4j.Logger;
 /** Top Level Class for the Radix Engine, a real-time, shardable, distributed state machine. */
 public final class RadixEngine<M> {
   private static final Logger logger = LogManager.getLogger();
+  private static final int MAX_FEE_CONSTRUCTION_TRIES = 5;
+
   private final EngineStore<M> engineStore;
   private final Object stateUpdateEngineLock = new Object();
   private final List<RadixEngineBranch<M>> branches = new ArrayList<>();
   private final int maxMessageLen;
+  private final AtomicLong feeConstructionRetries = new AtomicLong();
 
   private REParser parser;
   private SubstateSerialization serialization;
@@ -286,6 +291,20 @@ public final class RadixEngine<M> {
       assertNotDeleted();
       return engine.construct(request);
     }
+
+    /**
+     * Verifies each of the transactions against the state of this branch, within a single store
+     * transaction. Unlike {@link #execute(List)} the transactions aren't stored, so each one is
+     * verified independently of the others and a rejected transaction doesn't fail the batch.
+     *
+     * @param txns transactions to verify
+     * @return the verification result of each transaction, in order
+     */
+    public List<TxnVerificationResult> verifyEach(List<PreparsedTxn> txns)
+        throws RadixEngineException {
+      assertNotDeleted();
+      return engine.verifyEach(txns, PermissionLevel.USER);
+    }
   }
 
   public void deleteBranches() {
@@ -313,37 +332,78 @@ public final class RadixEngine<M> {
     }
   }
 
-  private Optional<ECPublicKey> getSignedByKey(ParsedTxn parsedTxn, ExecutionContext context)
-      throws AuthorizationException {
-    if (!context.skipAuthorization() && context.permissionLevel() != PermissionLevel.SYSTEM) {
-      var payloadHashAndSigMaybe = parsedTxn.getPayloadHashAndSig();
-      if (payloadHashAndSigMaybe.isPresent()) {
-        var payloadHashAndSig = payloadHashAndSigMaybe.get();
-        var hash = payloadHashAndSig.getFirst();
-        var sig = payloadHashAndSig.getSecond();
-        var pubKey =
-            ECPublicKey.recoverFrom(hash, sig)
-                .orElseThrow(() -> new AuthorizationException("Invalid signature"));
-        // TODO: do we still need this verify?
-        if (!pubKey.verify(hash, sig)) {
-          throw new AuthorizationException("Invalid signature");
-        }
+  private static boolean requiresAuthorization(ExecutionContext context) {
+    return !context.skipAuthorization() && context.permissionLevel() != PermissionLevel.SYSTEM;
+  }
 
-        return Optional.of(pubKey);
+  private static Optional<ECPublicKey> recoverSigningKey(ParsedTxn parsedTxn)
+      throws AuthorizationException {
+    var payloadHashAndSigMaybe = parsedTxn.getPayloadHashAndSig();
+    if (payloadHashAndSigMaybe.isPresent()) {
+      var payloadHashAndSig = payloadHashAndSigMaybe.get();
+      var hash = payloadHashAndSig.getFirst();
+      var sig = payloadHashAndSig.getSecond();
+      var pubKey =
+          ECPublicKey.recoverFrom(hash, sig)
+              .orElseThrow(() -> new AuthorizationException("Invalid signature"));
+      // TODO: do we still need this verify?
+      if (!pubKey.verify(hash, sig)) {
+        throw new AuthorizationException("Invalid signature");
       }
+
+      return Optional.of(pubKey);
     }
 
     return Optional.empty();
   }
 
+  private Optional<ECPublicKey> getSignedByKey(ParsedTxn parsedTxn, ExecutionContext context)
+      throws AuthorizationException {
+    return requiresAuthorization(context) ? recoverSigningKey(parsedTxn) : Optional.empty();
+  }
+
+  /**
+   * Runs the stateless part of the verification of a user transaction: parsing and signature
+   * recovery. This method doesn't access the engine store and is safe to call concurrently.
+   *
+   * @param txn transaction to parse
+   * @return the parsed transaction, to be verified with {@link RadixEngineBranch#verifyEach}
+   */
+  public PreparsedTxn preparse(Txn txn) throws TxnParseException, AuthorizationException {
+    var currentParser = this.parser;
+    var parsedTxn = currentParser.parse(txn);
+    return new PreparsedTxn(parsedTxn, recoverSigningKey(parsedTxn), currentParser);
+  }
+
   private REProcessedTxn verify(
       EngineStore.EngineStoreInTransaction<M> engineStoreInTransaction,
       Txn txn,
       ExecutionContext context)
       throws AuthorizationException, TxnParseException, ConstraintMachineException {
-
     var parsedTxn = parser.parse(txn);
     var signedByKey = getSignedByKey(parsedTxn, context);
+    return verify(engineStoreInTransaction, parsedTxn, signedByKey, context);
+  }
+
+  private REProcessedTxn verify(
+      EngineStore.EngineStoreInTransaction<M> engineStoreInTransaction,
+      PreparsedTxn preparsedTxn,
+      ExecutionContext context)
+      throws AuthorizationException, TxnParseException, ConstraintMachineException {
+    if (preparsedTxn.parser() != this.parser || !requiresAuthorization(context)) {
+      // parsed by a parser of a previous fork
+      return verify(engineStoreInTransaction, preparsedTxn.txn(), context);
+    }
+    return verify(
+        engineStoreInTransaction, preparsedTxn.parsedTxn(), preparsedTxn.signedBy(), context);
+  }
+
+  private REProcessedTxn verify(
+      EngineStore.EngineStoreInTransaction<M> engineStoreInTransaction,
+      ParsedTxn parsedTxn,
+      Optional<ECPublicKey> signedByKey,
+      ExecutionContext context)
+      throws ConstraintMachineException {
     signedByKey.ifPresent(context::setKey);
 
     context.setDisableResourceAllocAndDestroy(parsedTxn.disableResourceAllocAndDestroy());
@@ -394,6 +454,37 @@ public final class RadixEngine<M> {
     }
   }
 
+  private List<TxnVerificationResult> verifyEach(
+      List<PreparsedTxn> txns, PermissionLevel permissionLevel) throws RadixEngineException {
+    if (txns.isEmpty()) {
+      return List.of();
+    }
+
+    if (isShutDown) {
+      throw new RadixEngineException(
+          0, txns.size(), txns.get(0).txn(), new RadixEngineIsShutdownException());
+    }
+
+    synchronized (stateUpdateEngineLock) {
+      return engineStore.transaction(
+          store -> {
+            var results = new ArrayList<TxnVerificationResult>(txns.size());
+            for (int i = 0; i < txns.size(); i++) {
+              var txn = txns.get(i);
+              // Same allowance as executeInternal gives to non-commits
+              var context = new ExecutionContext(txn.txn(), permissionLevel, false, 1000);
+              try {
+                results.add(new TxnVerificationResult.Accepted(verify(store, txn, context)));
+              } catch (TxnParseException | AuthorizationException | ConstraintMachineException e) {
+                var exception = new RadixEngineException(i, txns.size(), txn.txn(), e);
+                results.add(new TxnVerificationResult.Rejected(exception));
+              }
+            }
+            return results;
+          });
+    }
+  }
+
   private RadixEngineResult<M> executeInternal(
       EngineStore.EngineStoreInTransaction<M> engineStoreInTransaction,
       List<Txn> txns,
@@ -475,24 +566,7 @@ public final class RadixEngine<M> {
     }
 
     synchronized (stateUpdateEngineLock) {
-      SubstateStore filteredStore =
-          new SubstateStore() {
-            @Override
-            public CloseableCursor<RawSubstateBytes> openIndexedCursor(SubstateIndex<?> index) {
-              return engineStore
-                  .openIndexedCursor(index)
-                  .filter(i -> !avoid.contains(SubstateId.fromBytes(i.getId())));
-            }
-
-            @Override
-            public Optional<RawSubstateBytes> get(SystemMapKey key) {
-              return engineStore.get(key);
-            }
-          };
-
-      var txBuilder =
-          TxBuilder.newBuilder(
-              filteredStore, constraintMachine.getDeserialization(), serialization, maxMessageLen);
+      var txBuilder = newTxBuilder(filteredStore(avoid));
 
       executable.execute(txBuilder);
 
@@ -500,6 +574,27 @@ public final class RadixEngine<M> {
     }
   }
 
+  private SubstateStore filteredStore(Set<SubstateId> avoid) {
+    return new SubstateStore() {
+      @Override
+      public CloseableCursor<RawSubstateBytes> openIndexedCursor(SubstateIndex<?> index) {
+        return engineStore
+            .openIndexedCursor(index)
+            .filter(i -> !avoid.contains(SubstateId.fromBytes(i.getId())));
+      }
+
+      @Override
+      public Optional<RawSubstateBytes> get(SystemMapKey key) {
+        return engineStore.get(key);
+      }
+    };
+  }
+
+  private TxBuilder newTxBuilder(SubstateStore store) {
+    return TxBuilder.newBuilder(
+        store, constraintMachine.getDeserialization(), serialization, maxMessageLen);
+  }
+
   // This method is used only in tests
   public TxBuilder construct(TxAction action) throws TxBuilderException {
     return construct(TxnConstructionRequest.create().action(action));
@@ -535,67 +630,83 @@ public final class RadixEngine<M> {
       REAddr feePayer,
       BiFunction<UInt256, UInt256, TxBuilderException> notEnoughFeesExceptionSupplier)
       throws TxBuilderException {
-    int maxTries = 5;
-    var perByteFee = this.actionConstructors.getPerByteFee().orElse(UInt256.ZERO);
-    var feeGuess =
-        new AtomicReference<>(perByteFee.multiply(UInt256.from(100))); // Close to minimum size
-    for (int i = 0; i < maxTries; i++) {
-      try {
-        return construct(
-            txBuilder -> {
-              if (disableResourceAllocAndDestroy) {
-                txBuilder.toLowLevelBuilder().disableResourceAllocAndDestroy();
-              }
+    return constructWithFees(
+        (txBuilder, fee) -> {
+          if (disableResourceAllocAndDestroy) {
+            txBuilder.toLowLevelBuilder().disableResourceAllocAndDestroy();
+          }
 
-              txBuilder.putFeeReserve(
-                  feePayer,
-                  feeGuess.get(),
-                  available -> notEnoughFeesExceptionSupplier.apply(feeGuess.get(), available));
-              txBuilder.end();
-
-              executable.execute(txBuilder);
-              this.actionConstructors.construct(new FeeReserveComplete(feePayer), txBuilder);
-            });
-      } catch (FeeReserveCompleteException e) {
-        feeGuess.set(e.getExpectedFee());
-      }
-    }
+          txBuilder.putFeeReserve(
+              feePayer, fee, available -> notEnoughFeesExceptionSupplier.apply(fee, available));
+          txBuilder.end();
 
-    throw new FeeConstructionException(maxTries);
+          executable.execute(txBuilder);
+          this.actionConstructors.construct(new FeeReserveComplete(feePayer), txBuilder);
+        },
+        Set.of());
   }
 
   private TxBuilder constructWithFees(TxnConstructionRequest request, REAddr feePayer)
       throws TxBuilderException {
-    int maxTries = 5;
-    var perByteFee = this.actionConstructors.getPerByteFee().orElse(UInt256.ZERO);
-    var feeGuess =
-        new AtomicReference<>(perByteFee.multiply(UInt256.from(100))); // Close to minimum size
-    for (int i = 0; i < maxTries; i++) {
-      try {
-        return construct(
-            txBuilder -> {
-              if (request.isDisableResourceAllocAndDestroy()) {
-                txBuilder.toLowLevelBuilder().disableResourceAllocAndDestroy();
-              }
+    return constructWithFees(
+        (txBuilder, fee) -> {
+          if (request.isDisableResourceAllocAndDestroy()) {
+            txBuilder.toLowLevelBuilder().disableResourceAllocAndDestroy();
+          }
 
-              this.actionConstructors.construct(
-                  new FeeReservePut(feePayer, feeGuess.get()), txBuilder);
-              for (var action : request.getActions()) {
-                this.actionConstructors.construct(action, txBuilder);
-              }
-              var msg = request.getMsg();
-              if (msg.isPresent()) {
-                txBuilder.message(msg.get());
-              }
-              this.actionConstructors.construct(new FeeReserveComplete(feePayer), txBuilder);
-            },
-            request.getSubstatesToAvoid());
-      } catch (FeeReserveCompleteException e) {
-        feeGuess.set(e.getExpectedFee());
+          this.actionConstructors.construct(new FeeReservePut(feePayer, fee), txBuilder);
+          for (var action : request.getActions()) {
+            this.actionConstructors.construct(action, txBuilder);
+          }
+          var msg = request.getMsg();
+          if (msg.isPresent()) {
+            txBuilder.message(msg.get());
+          }
+          this.actionConstructors.construct(new FeeReserveComplete(feePayer), txBuilder);
+        },
+        request.getSubstatesToAvoid());
+  }
+
+  private interface FeePayingTxBuilderExecutable {
+    void execute(TxBuilder txBuilder, UInt256 fee) throws TxBuilderException;
+  }
+
+  /**
+   * The size based fee is only known once the transaction has been built, so the transaction is
+   * built with a guessed fee first and, if the guess falls short, rebuilt with the exact fee
+   * reported by {@link FeeReserveCompleteException}. As the size does not depend on the fee, the
+   * rebuild practically always succeeds. All attempts share a single hold of the engine lock and
+   * the substates read by earlier attempts, so a rebuild neither re-runs index scans nor waits for
+   * the lock again.
+   */
+  private TxBuilder constructWithFees(
+      FeePayingTxBuilderExecutable executable, Set<SubstateId> avoid) throws TxBuilderException {
+    if (isShutDown) {
+      throw new EngineShutdownTxBuilderException();
+    }
+
+    var perByteFee = this.actionConstructors.getPerByteFee().orElse(UInt256.ZERO);
+    var feeGuess = perByteFee.multiply(UInt256.from(100)); // Close to minimum size
+    synchronized (stateUpdateEngineLock) {
+      var store = new MemoizingSubstateStore(filteredStore(avoid));
+      for (int i = 0; i < MAX_FEE_CONSTRUCTION_TRIES; i++) {
+        var txBuilder = newTxBuilder(store);
+        try {
+          executable.execute(txBuilder, feeGuess);
+          return txBuilder;
+        } catch (FeeReserveCompleteException e) {
+          feeConstructionRetries.incrementAndGet();
+          feeGuess = e.getExpectedFee();
+        }
       }
     }
 
-    throw new FeeConstructionException(maxTries);
+    throw new FeeConstructionException(MAX_FEE_CONSTRUCTION_TRIES);
+  }
+
+  /** Number of times a transaction had to be rebuilt as its fee had been guessed short. */
+  public long getFeeConstructionRetries() {
+    return feeConstructionRetries.get();
   }
 
   public REParser getParser() {
@@ -650,27 +761,26 @@ public final class RadixEngine<M> {
             public <K, T extends ResourceInBucket> Map<K, UInt384> reduceResources(
                 Class<T> c, Function<T, K> keyMapper) {
               var deserialization = constraintMachine.getDeserialization();
-              return reduce(
-                  deserialization.index(c),
-                  new HashMap<>(),
-                  (m, t) -> {
-                    m.merge(keyMapper.apply(t), UInt384.from(t.amount()), UInt384::add);
-                    return m;
-                  });
+              return reduceResources(deserialization.index(c), keyMapper, t -> true);
             }
 
             @Override
             public <K, T extends ResourceInBucket> Map<K, UInt384> reduceResources(
                 SubstateIndex<T> index, Function<T, K> keyMapper, Predicate<T> predicate) {
-              return reduce(
-                  index,
-                  new HashMap<>(),
-                  (m, t) -> {
-                    if (predicate.test(t)) {
-                      m.merge(keyMapper.apply(t), UInt384.from(t.amount()), UInt384::add);
-                    }
-                    return m;
-                  });
+              Map<K, UInt384Accumulator> sums =
+                  reduce(
+                      index,
+                      new HashMap<>(),
+                      (m, t) -> {
+                        if (predicate.test(t)) {
+                          m.computeIfAbsent(keyMapper.apply(t), k -> UInt384Accumulator.zero())
+                              .add(t.amount());
+                        }
+                        return m;
+                      });
+              var result = new HashMap<K, UInt384>(sums.size());
+              sums.forEach((k, sum) -> result.put(k, sum.toUInt384()));
+              return result;
             }
 
             @SuppressWarnings("unchecked")
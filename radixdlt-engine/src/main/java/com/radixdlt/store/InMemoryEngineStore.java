@@ -82,17 +82,27 @@ import com.radixdlt.constraintmachine.exceptions.VirtualSubstateAlreadyDownExcep
 import com.radixdlt.engine.RadixEngineException;
 import com.radixdlt.identifiers.REAddr;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.function.Supplier;
 
 public final class InMemoryEngineStore<M> implements EngineStore<M> {
+  private static final byte[] NO_ID = new byte[0];
+  private static final Comparator<RawSubstateBytes> SUBSTATE_ORDER =
+      Comparator.comparing(RawSubstateBytes::getData, UnsignedBytes.lexicographicalComparator())
+          .thenComparing(RawSubstateBytes::getId, UnsignedBytes.lexicographicalComparator());
+
   public static final class Store<M> {
     private final Map<SubstateId, REStateUpdate> storedState = new HashMap<>();
+    // Booted up substates ordered by data, so that index prefixes map onto contiguous ranges.
+    // Concurrent so that cursors can be iterated without holding the lock or copying.
+    private final NavigableSet<RawSubstateBytes> upSubstates =
+        new ConcurrentSkipListSet<>(SUBSTATE_ORDER);
     private final Map<REAddr, Supplier<ByteBuffer>> resources = new HashMap<>();
     private final Map<SystemMapKey, RawSubstateBytes> maps = new HashMap<>();
     private M metadata = null;
@@ -121,7 +131,13 @@ public final class InMemoryEngineStore<M> implements EngineStore<M> {
               txn.stateUpdates()
                   .forEach(
                       update -> {
-                        store.storedState.put(update.getId(), update);
+                        var previous = store.storedState.put(update.getId(), update);
+                        if (previous != null && previous.isBootUp()) {
+                          store.upSubstates.remove(previous.getRawSubstateBytes());
+                        }
+                        if (update.isBootUp()) {
+                          store.upSubstates.add(update.getRawSubstateBytes());
+                        }
 
                         // FIXME: Superhack
                         if (update.isBootUp()) {
@@ -215,25 +231,33 @@ public final class InMemoryEngineStore<M> implements EngineStore<M> {
     return store.metadata;
   }
 
+  /**
+   * Returns the booted up substates matching the index, in descending order of their data. The
+   * cursor is a weakly consistent view of the store: it doesn't copy the matching substates, and
+   * may or may not reflect transactions stored while it is being iterated.
+   */
   @Override
   public CloseableCursor<RawSubstateBytes> openIndexedCursor(SubstateIndex<?> index) {
-    final List<RawSubstateBytes> substates = new ArrayList<>();
-    synchronized (lock) {
-      for (var i : store.storedState.values()) {
-        if (!i.isBootUp()) {
-          continue;
-        }
-        if (!index.test(i.getRawSubstateBytes())) {
-          continue;
-        }
-        substates.add(i.getRawSubstateBytes());
+    var prefix = index.getPrefix();
+    var from = new RawSubstateBytes(NO_ID, prefix);
+    var range =
+        prefixUpperBound(prefix)
+            .map(to -> store.upSubstates.subSet(from, true, new RawSubstateBytes(NO_ID, to), false))
+            .orElseGet(() -> store.upSubstates.tailSet(from, true));
+
+    return CloseableCursor.wrapIterator(range.descendingIterator());
+  }
+
+  /** The smallest byte string greater than every byte string starting with the prefix. */
+  private static Optional<byte[]> prefixUpperBound(byte[] prefix) {
+    for (int i = prefix.length - 1; i >= 0; i--) {
+      if (prefix[i] != (byte) 0xff) {
+        var upperBound = Arrays.copyOf(prefix, i + 1);
+        upperBound[i]++;
+        return Optional.of(upperBound);
       }
     }
-    substates.sort(
-        Comparator.comparing(
-            RawSubstateBytes::getData, UnsignedBytes.lexicographicalComparator().reversed()));
-
-    return CloseableCursor.wrapIterator(substates.iterator());
+    return Optional.empty();
   }
 
   @Override
@@ -414,4 +414,28 @@ public class TxnSizeFeeTest {
             .get(AccountBucket.from(REAddr.ofNativeToken(), accountAddr));
     assertThat(refund).isEqualTo(expectedRefund);
   }
+
+  @Test
+  public void fee_payer_transaction_is_rebuilt_once_with_the_exact_fee() throws Exception {
+    // Arrange
+    var nextKey = ECKeyPair.generateNew();
+    var to = REAddr.ofPubKeyAccount(nextKey.getPublicKey());
+
+    // Act
+    var transfer =
+        this.engine
+            .construct(
+                TxnConstructionRequest.create()
+                    .feePayer(accountAddr)
+                    .action(
+                        new TransferToken(REAddr.ofNativeToken(), accountAddr, to, UInt256.TWO)))
+            .signAndBuild(key::sign);
+
+    // Assert
+    assertThat(this.engine.getFeeConstructionRetries()).isEqualTo(1L);
+    var result = this.engine.execute(List.of(transfer));
+    var expectedFee =
+        costPerByte.toSubunits().multiply(UInt256.from(transfer.getPayload().length));
+    assertThat(result.getProcessedTxn().getFeePaid()).isEqualTo(expectedFee);
+  }
 }
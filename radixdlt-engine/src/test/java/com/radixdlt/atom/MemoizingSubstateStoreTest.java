@@ -0,0 +1,159 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.atom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.Lists;
+import com.radixdlt.constraintmachine.Particle;
+import com.radixdlt.constraintmachine.RawSubstateBytes;
+import com.radixdlt.constraintmachine.SubstateIndex;
+import com.radixdlt.constraintmachine.SystemMapKey;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MemoizingSubstateStoreTest {
+  private final SubstateIndex<?> index = SubstateIndex.create((byte) 1, Particle.class);
+  private final List<RawSubstateBytes> substates =
+      List.of(substate(1), substate(2), substate(3), substate(4));
+  private SubstateStore underlying;
+  private MemoizingSubstateStore store;
+
+  @Before
+  public void setup() {
+    underlying = mock(SubstateStore.class);
+    when(underlying.openIndexedCursor(any())).thenAnswer(i -> CloseableCursor.of(substates));
+    store = new MemoizingSubstateStore(underlying);
+  }
+
+  @Test
+  public void reading_an_index_again_does_not_go_back_to_the_store() {
+    try (var cursor = store.openIndexedCursor(index)) {
+      assertThat(Lists.newArrayList(cursor)).isEqualTo(substates);
+    }
+    try (var cursor = store.openIndexedCursor(index)) {
+      assertThat(Lists.newArrayList(cursor)).isEqualTo(substates);
+    }
+
+    verify(underlying, times(1)).openIndexedCursor(index);
+  }
+
+  @Test
+  public void reading_past_the_remembered_part_of_an_index_continues_from_the_store() {
+    try (var cursor = store.openIndexedCursor(index)) {
+      assertThat(cursor.next()).isEqualTo(substates.get(0));
+      assertThat(cursor.next()).isEqualTo(substates.get(1));
+    }
+
+    try (var cursor = store.openIndexedCursor(index)) {
+      assertThat(Lists.newArrayList(cursor)).isEqualTo(substates);
+    }
+  }
+
+  @Test
+  public void interleaved_cursors_over_the_same_index_see_all_substates() {
+    try (var first = store.openIndexedCursor(index);
+        var second = store.openIndexedCursor(index)) {
+      assertThat(first.next()).isEqualTo(substates.get(0));
+      assertThat(second.next()).isEqualTo(substates.get(0));
+      assertThat(second.next()).isEqualTo(substates.get(1));
+      assertThat(second.next()).isEqualTo(substates.get(2));
+      assertThat(first.next()).isEqualTo(substates.get(1));
+      assertThat(first.next()).isEqualTo(substates.get(2));
+      assertThat(first.next()).isEqualTo(substates.get(3));
+      assertThat(first.hasNext()).isFalse();
+      assertThat(second.next()).isEqualTo(substates.get(3));
+      assertThat(second.hasNext()).isFalse();
+    }
+  }
+
+  @Test
+  public void values_are_only_read_once_including_missing_ones() {
+    var present = SystemMapKey.create(new byte[] {1});
+    var missing = SystemMapKey.create(new byte[] {2});
+    var value = substate(5);
+    when(underlying.get(present)).thenReturn(Optional.of(value));
+    when(underlying.get(missing)).thenReturn(Optional.empty());
+
+    for (int i = 0; i < 2; i++) {
+      assertThat(store.get(present)).containsSame(value);
+      assertThat(store.get(missing)).isEmpty();
+    }
+
+    verify(underlying, times(1)).get(present);
+    verify(underlying, times(1)).get(missing);
+  }
+
+  private static RawSubstateBytes substate(int id) {
+    return new RawSubstateBytes(new byte[] {(byte) id}, new byte[] {(byte) id, 0});
+  }
+}
@@ -0,0 +1,145 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.constraintmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.radixdlt.constraintmachine.exceptions.MissingProcedureException;
+import com.radixdlt.identifiers.REAddr;
+import java.util.Map;
+import org.junit.Test;
+
+public class ProceduresTest {
+  private static final class TestParticle implements Particle {}
+
+  private static final class OtherParticle implements Particle {}
+
+  private static final class TestReducerState implements ReducerState {}
+
+  private static ProcedureKey key(
+      Class<? extends ReducerState> state, REOp op, Class<? extends Particle> substateClass) {
+    return ProcedureKey.of(state, OpSignature.ofSubstateUpdate(op, substateClass));
+  }
+
+  @Test
+  public void dispatch_matches_procedure_map() throws Exception {
+    var up = mock(Procedure.class);
+    var down = mock(Procedure.class);
+    var end = mock(Procedure.class);
+    var syscall = mock(Procedure.class);
+    var syscallKey =
+        ProcedureKey.of(
+            VoidReducerState.class, OpSignature.ofMethod(REOp.SYSCALL, REAddr.ofSystem()));
+    var procedures =
+        new Procedures(
+            Map.of(
+                key(VoidReducerState.class, REOp.UP, TestParticle.class), up,
+                key(TestReducerState.class, REOp.DOWN, OtherParticle.class), down,
+                key(TestReducerState.class, REOp.END, null), end,
+                syscallKey, syscall));
+
+    assertThat(procedures.dispatch(VoidReducerState.class, REOp.UP, TestParticle.class))
+        .isSameAs(up);
+    assertThat(procedures.dispatch(TestReducerState.class, REOp.DOWN, OtherParticle.class))
+        .isSameAs(down);
+    assertThat(procedures.dispatch(TestReducerState.class, REOp.END, null)).isSameAs(end);
+    assertThat(procedures.dispatchSystemCall(VoidReducerState.class)).isSameAs(syscall);
+  }
+
+  @Test
+  public void dispatch_of_unknown_combination_throws_missing_procedure() {
+    var up = mock(Procedure.class);
+    var procedures =
+        new Procedures(Map.of(key(VoidReducerState.class, REOp.UP, TestParticle.class), up));
+
+    assertThatThrownBy(
+            () -> procedures.dispatch(VoidReducerState.class, REOp.DOWN, TestParticle.class))
+        .isInstanceOf(MissingProcedureException.class);
+    assertThatThrownBy(
+            () -> procedures.dispatch(TestReducerState.class, REOp.UP, TestParticle.class))
+        .isInstanceOf(MissingProcedureException.class);
+    assertThatThrownBy(
+            () -> procedures.dispatch(VoidReducerState.class, REOp.UP, OtherParticle.class))
+        .isInstanceOf(MissingProcedureException.class);
+    assertThatThrownBy(() -> procedures.dispatchSystemCall(VoidReducerState.class))
+        .isInstanceOf(MissingProcedureException.class);
+  }
+
+  @Test
+  public void combined_procedures_are_dispatchable() throws Exception {
+    var up = mock(Procedure.class);
+    var end = mock(Procedure.class);
+    var first =
+        new Procedures(Map.of(key(VoidReducerState.class, REOp.UP, TestParticle.class), up));
+    var second = new Procedures(Map.of(key(TestReducerState.class, REOp.END, null), end));
+
+    var combined = first.combine(second);
+
+    assertThat(combined.dispatch(VoidReducerState.class, REOp.UP, TestParticle.class)).isSameAs(up);
+    assertThat(combined.dispatch(TestReducerState.class, REOp.END, null)).isSameAs(end);
+  }
+}
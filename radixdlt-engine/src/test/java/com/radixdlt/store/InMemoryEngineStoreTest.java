@@ -0,0 +1,165 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radixdlt.atom.SubstateId;
+import com.radixdlt.constraintmachine.REOp;
+import com.radixdlt.constraintmachine.REProcessedTxn;
+import com.radixdlt.constraintmachine.REStateUpdate;
+import com.radixdlt.constraintmachine.RawSubstateBytes;
+import com.radixdlt.constraintmachine.SubstateIndex;
+import com.radixdlt.identifiers.AID;
+import com.radixdlt.utils.Bytes;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class InMemoryEngineStoreTest {
+  private final InMemoryEngineStore<Void> store = new InMemoryEngineStore<>();
+  private int nextIndex = 0;
+
+  private REStateUpdate update(REOp op, SubstateId id, byte... data) {
+    return REStateUpdate.of(op, 0, id, data[0], null, () -> ByteBuffer.wrap(data));
+  }
+
+  private SubstateId up(byte... data) throws Exception {
+    var id = SubstateId.ofSubstate(AID.ZERO, nextIndex++);
+    store(update(REOp.UP, id, data));
+    return id;
+  }
+
+  private void store(REStateUpdate update) throws Exception {
+    var txn = new REProcessedTxn(null, null, List.of(List.of(update)), List.of());
+    store.transaction(
+        s -> {
+          s.storeTxn(txn);
+          return null;
+        });
+  }
+
+  private List<String> read(byte... prefix) {
+    var result = new ArrayList<String>();
+    try (var cursor = store.openIndexedCursor(SubstateIndex.create(prefix, null))) {
+      cursor.forEachRemaining(s -> result.add(Bytes.toHexString(s.getData())));
+    }
+    return result;
+  }
+
+  @Test
+  public void indexed_cursor_returns_prefixed_substates_in_descending_order() throws Exception {
+    up((byte) 1, (byte) 2);
+    up((byte) 1, (byte) 1, (byte) 5);
+    up((byte) 2, (byte) 0);
+    up((byte) 1, (byte) 1);
+    up((byte) 0, (byte) 9);
+
+    assertThat(read((byte) 1)).containsExactly("0102", "010105", "0101");
+    assertThat(read((byte) 1, (byte) 1)).containsExactly("010105", "0101");
+    assertThat(read()).hasSize(5);
+  }
+
+  @Test
+  public void indexed_cursor_handles_prefix_without_upper_bound() throws Exception {
+    up((byte) 0xff, (byte) 0xff, (byte) 1);
+    up((byte) 0xff, (byte) 0xfe);
+    up((byte) 0xfe, (byte) 0xff);
+
+    assertThat(read((byte) 0xff, (byte) 0xff)).containsExactly("ffff01");
+    assertThat(read((byte) 0xff)).containsExactly("ffff01", "fffe");
+  }
+
+  @Test
+  public void shut_down_substates_are_removed_from_index() throws Exception {
+    up((byte) 1, (byte) 1);
+    var id = up((byte) 1, (byte) 2);
+
+    store(update(REOp.DOWN, id, (byte) 1, (byte) 2));
+
+    assertThat(read((byte) 1)).containsExactly("0101");
+    assertThat(store.contains(id)).isTrue();
+  }
+
+  @Test
+  public void substates_with_equal_data_are_all_returned() throws Exception {
+    up((byte) 1, (byte) 1);
+    up((byte) 1, (byte) 1);
+
+    assertThat(read((byte) 1)).containsExactly("0101", "0101");
+  }
+
+  @Test
+  public void cursor_returns_raw_substate_ids() throws Exception {
+    var id = up((byte) 3);
+
+    try (var cursor = store.openIndexedCursor(SubstateIndex.create(new byte[] {3}, null))) {
+      RawSubstateBytes substate = cursor.next();
+      assertThat(SubstateId.fromBytes(substate.getId())).isEqualTo(id);
+      assertThat(cursor.hasNext()).isFalse();
+    }
+  }
+}
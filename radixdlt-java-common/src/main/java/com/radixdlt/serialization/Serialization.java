@@ -74,6 +74,8 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.radixdlt.serialization.DsonOutput.Output;
+import com.radixdlt.serialization.codec.DsonCodecs;
+import com.radixdlt.serialization.mapper.DsonCodecModule;
 import com.radixdlt.serialization.mapper.JacksonCborMapper;
 import com.radixdlt.serialization.mapper.JacksonJsonMapper;
 import java.io.IOException;
@@ -101,7 +103,21 @@ public class Serialization {
    * @return A new instance of {@link Serialization}.
    */
   public static Serialization create(SerializerIds idLookup, SerializationPolicy policy) {
-    return new Serialization(idLookup, policy);
+    return new Serialization(idLookup, policy, DsonCodecs.fromClasspath());
+  }
+
+  /**
+   * Create a new instance of {@link Serialization} with the specified IDs, policy and generated
+   * DSON codecs. Classes without a usable codec are serialized with Jackson.
+   *
+   * @param idLookup The {@link SerializerIds} to use for class and property lookup.
+   * @param policy The {@link SerializationPolicy} to use for determining serialization outputs.
+   * @param codecs The {@link DsonCodecs} to use for DSON serialization.
+   * @return A new instance of {@link Serialization}.
+   */
+  public static Serialization create(
+      SerializerIds idLookup, SerializationPolicy policy, DsonCodecs codecs) {
+    return new Serialization(idLookup, policy, codecs);
   }
 
   private final ImmutableMap<Output, JacksonCborMapper> dsonMappers;
@@ -115,6 +131,10 @@ public class Serialization {
   // Constructor set up to be dependency injection capable at some future date
   @VisibleForTesting
   Serialization(SerializerIds idLookup, SerializationPolicy policy) {
+    this(idLookup, policy, DsonCodecs.fromClasspath());
+  }
+
+  private Serialization(SerializerIds idLookup, SerializationPolicy policy, DsonCodecs codecs) {
     this.idLookup = idLookup;
 
     EnumSet<Output> availableOutputs = EnumSet.allOf(Output.class);
@@ -155,6 +175,16 @@ public class Serialization {
     }
 
     dsonMappers = dsonBuilder.build();
+    dsonMappers.forEach(
+        (output, mapper) -> {
+          var includedFields =
+              switch (output) {
+                case NONE -> ImmutableMap.<Class<?>, ImmutableSet<String>>of();
+                case ALL -> ImmutableMap.copyOf(allFields);
+                default -> policy.getIncludedFields(output);
+              };
+          mapper.registerModule(DsonCodecModule.create(codecs, output, idLookup, includedFields));
+        });
 
     ImmutableMap.Builder<Output, JacksonJsonMapper> jsonBuilder = ImmutableMap.builder();
 
@@ -0,0 +1,709 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.serialization.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.ValueInstantiationException;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.radixdlt.identifiers.AID;
+import com.radixdlt.identifiers.EUID;
+import com.radixdlt.identifiers.REAddr;
+import com.radixdlt.serialization.DsonOutput.Output;
+import com.radixdlt.serialization.SerializerConstants;
+import com.radixdlt.serialization.mapper.JacksonCodecConstants;
+import com.radixdlt.serialization.mapper.RadixCBORGenerator;
+import com.radixdlt.utils.Instants;
+import com.radixdlt.utils.Longs;
+import com.radixdlt.utils.UInt256;
+import com.radixdlt.utils.UInt384;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Runtime support for generated {@link DsonCodec} implementations. Values are written and read
+ * exactly as the serializers and deserializers registered in {@link
+ * com.radixdlt.serialization.mapper.JacksonCborMapper} would write and read them.
+ */
+public final class DsonCodecSupport {
+  private static final int ALL_OUTPUTS =
+      mask(Output.HASH, Output.API, Output.WIRE, Output.PERSIST);
+
+  private DsonCodecSupport() {
+    throw new IllegalStateException("Can't construct");
+  }
+
+  /**
+   * Returns a bit mask for the specified concrete output modes.
+   *
+   * @param outputs the output modes
+   * @return the bit mask for the output modes
+   */
+  public static int mask(Output... outputs) {
+    int mask = 0;
+    for (Output output : outputs) {
+      mask |= 1 << output.ordinal();
+    }
+    return mask;
+  }
+
+  /**
+   * Returns the bit mask of the concrete output modes for the specified output mode, expanding
+   * {@link Output#ALL} and {@link Output#NONE}.
+   *
+   * @param output the output mode
+   * @return the bit mask to test property masks against
+   */
+  public static int outputMask(Output output) {
+    switch (output) {
+      case NONE:
+        return 0;
+      case ALL:
+        return ALL_OUTPUTS;
+      default:
+        return 1 << output.ordinal();
+    }
+  }
+
+  /**
+   * Returns the names of the properties included in the specified output.
+   *
+   * @param names the property names
+   * @param masks the output masks of the properties, in the same order as {@code names}
+   * @param output the output mode
+   * @return the names of the properties included in the output
+   */
+  public static Set<String> includedProperties(String[] names, int[] masks, Output output) {
+    final int outputMask = outputMask(output);
+    var builder = ImmutableSet.<String>builder();
+    for (int i = 0; i < names.length; i++) {
+      if ((masks[i] & outputMask) != 0) {
+        builder.add(names[i]);
+      }
+    }
+    return builder.build();
+  }
+
+  // Writing
+
+  public static void write(JsonGenerator gen, byte[] value) throws IOException {
+    writePrefixed(gen, JacksonCodecConstants.BYTES_VALUE, value);
+  }
+
+  public static void write(JsonGenerator gen, long[] value) throws IOException {
+    writePrefixed(gen, JacksonCodecConstants.LONGS_VALUE, Longs.toBytes(value));
+  }
+
+  public static void write(JsonGenerator gen, EUID value) throws IOException {
+    writePrefixed(gen, JacksonCodecConstants.EUID_VALUE, value.toByteArray());
+  }
+
+  public static void write(JsonGenerator gen, HashCode value) throws IOException {
+    writePrefixed(gen, JacksonCodecConstants.HASH_VALUE, value.asBytes());
+  }
+
+  public static void write(JsonGenerator gen, UInt256 value) throws IOException {
+    writePrefixed(gen, JacksonCodecConstants.U20_VALUE, value.toByteArray());
+  }
+
+  public static void write(JsonGenerator gen, UInt384 value) throws IOException {
+    writePrefixed(gen, JacksonCodecConstants.U30_VALUE, value.toByteArray());
+  }
+
+  public static void write(JsonGenerator gen, REAddr value) throws IOException {
+    writePrefixed(gen, JacksonCodecConstants.RRI_VALUE, value.getBytes());
+  }
+
+  public static void write(JsonGenerator gen, AID value) throws IOException {
+    writePrefixed(gen, JacksonCodecConstants.AID_VALUE, value.getBytes());
+  }
+
+  public static void write(JsonGenerator gen, Instant value) throws IOException {
+    writePrefixed(gen, JacksonCodecConstants.INSTANT_VALUE, Instants.toBytes(value));
+  }
+
+  /**
+   * Writes a value using the codec if it supports the output mode, otherwise using Jackson.
+   *
+   * @param gen the generator to write to
+   * @param provider the provider to use if the value is delegated to Jackson
+   * @param output the output mode
+   * @param codec the codec for the class of the value
+   * @param value the value to write
+   * @throws IOException if an error occurs writing the value
+   */
+  public static <T> void write(
+      JsonGenerator gen, SerializerProvider provider, Output output, DsonCodec<T> codec, T value)
+      throws IOException {
+    if (codec.supports(output)) {
+      codec.encode(value, output, gen, provider);
+    } else {
+      provider.defaultSerializeValue(value, gen);
+    }
+  }
+
+  /**
+   * Writes a value using the serializer Jackson would use for the runtime class of the value.
+   *
+   * @param gen the generator to write to
+   * @param provider the provider to find the serializer with
+   * @param value the value to write
+   * @throws IOException if an error occurs writing the value
+   */
+  public static void writeDelegated(JsonGenerator gen, SerializerProvider provider, Object value)
+      throws IOException {
+    provider.defaultSerializeValue(value, gen);
+  }
+
+  /**
+   * Returns {@code true} if the value would be suppressed by {@code JsonInclude.Include.NON_EMPTY}
+   * when written by Jackson.
+   *
+   * @param provider the provider to find the serializer with
+   * @param value the value to check
+   * @return {@code true} if the value is considered empty
+   * @throws IOException if no serializer can be found for the value
+   */
+  public static boolean isEmptyDelegated(SerializerProvider provider, Object value)
+      throws IOException {
+    return value == null || provider.findValueSerializer(value.getClass()).isEmpty(provider, value);
+  }
+
+  /**
+   * Returns the entries of a map in the order Jackson writes them with {@code
+   * SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS} enabled.
+   *
+   * @param map the map to return the entries for
+   * @return the ordered entries of the map
+   */
+  public static <V> Set<Map.Entry<String, V>> orderedEntries(Map<String, V> map) {
+    if (map instanceof SortedMap) {
+      return map.entrySet();
+    }
+    return new TreeMap<>(map).entrySet();
+  }
+
+  private static void writePrefixed(JsonGenerator gen, byte prefix, byte[] value)
+      throws IOException {
+    if (gen instanceof RadixCBORGenerator) {
+      ((RadixCBORGenerator) gen).writePrefixedBinary(prefix, value);
+    } else {
+      byte[] bytes = new byte[1 + value.length];
+      bytes[0] = prefix;
+      System.arraycopy(value, 0, bytes, 1, value.length);
+      gen.writeBinary(bytes);
+    }
+  }
+
+  // Reading
+
+  /**
+   * Positions the parser on the first property name of an object, or the end of an empty object.
+   *
+   * @param p the parser
+   * @param ctxt the deserialization context
+   * @param type the class being deserialized
+   * @return the current token, either {@link JsonToken#FIELD_NAME} or {@link JsonToken#END_OBJECT}
+   * @throws IOException if the parser is not positioned on an object
+   */
+  public static JsonToken startObject(JsonParser p, DeserializationContext ctxt, Class<?> type)
+      throws IOException {
+    JsonToken t = p.currentToken();
+    if (t == JsonToken.START_OBJECT) {
+      return p.nextToken();
+    }
+    if (t == JsonToken.FIELD_NAME || t == JsonToken.END_OBJECT) {
+      return t;
+    }
+    ctxt.handleUnexpectedToken(type, p);
+    throw JsonMappingException.from(p, "Expected object for " + type.getName());
+  }
+
+  /**
+   * Checks that the parser is positioned on the start of an array or object.
+   *
+   * @param p the parser
+   * @param ctxt the deserialization context
+   * @param token the expected token
+   * @param type the class being deserialized
+   * @throws IOException if the parser is not positioned on the expected token
+   */
+  public static void expect(
+      JsonParser p, DeserializationContext ctxt, JsonToken token, Class<?> type)
+      throws IOException {
+    if (p.currentToken() != token) {
+      ctxt.handleUnexpectedToken(type, p);
+      throw JsonMappingException.from(p, "Expected " + token + " for " + type.getName());
+    }
+  }
+
+  /**
+   * Checks that an element read for an immutable collection or map is not {@code null}.
+   *
+   * @param p the parser
+   * @param value the element
+   * @return the element
+   * @throws JsonMappingException if the element is {@code null}
+   */
+  public static <T> T nonNull(JsonParser p, T value) throws JsonMappingException {
+    if (value == null) {
+      throw JsonMappingException.from(p, "Null value in immutable collection");
+    }
+    return value;
+  }
+
+  public static long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+    switch (p.currentTokenId()) {
+      case JsonTokenId.ID_NUMBER_INT:
+        return p.getLongValue();
+      case JsonTokenId.ID_NULL:
+        return 0L;
+      default:
+        Long value = ctxt.readValue(p, Long.TYPE);
+        return value == null ? 0L : value;
+    }
+  }
+
+  public static int readInt(JsonParser p, DeserializationContext ctxt) throws IOException {
+    switch (p.currentTokenId()) {
+      case JsonTokenId.ID_NUMBER_INT:
+        return p.getIntValue();
+      case JsonTokenId.ID_NULL:
+        return 0;
+      default:
+        Integer value = ctxt.readValue(p, Integer.TYPE);
+        return value == null ? 0 : value;
+    }
+  }
+
+  public static boolean readBoolean(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    switch (p.currentTokenId()) {
+      case JsonTokenId.ID_TRUE:
+        return true;
+      case JsonTokenId.ID_FALSE:
+      case JsonTokenId.ID_NULL:
+        return false;
+      default:
+        Boolean value = ctxt.readValue(p, Boolean.TYPE);
+        return value != null && value;
+    }
+  }
+
+  public static Long readLongObject(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    switch (p.currentTokenId()) {
+      case JsonTokenId.ID_NUMBER_INT:
+        return p.getLongValue();
+      case JsonTokenId.ID_NULL:
+        return null;
+      default:
+        return ctxt.readValue(p, Long.class);
+    }
+  }
+
+  public static Integer readIntegerObject(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    switch (p.currentTokenId()) {
+      case JsonTokenId.ID_NUMBER_INT:
+        return p.getIntValue();
+      case JsonTokenId.ID_NULL:
+        return null;
+      default:
+        return ctxt.readValue(p, Integer.class);
+    }
+  }
+
+  public static Boolean readBooleanObject(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    switch (p.currentTokenId()) {
+      case JsonTokenId.ID_TRUE:
+        return Boolean.TRUE;
+      case JsonTokenId.ID_FALSE:
+        return Boolean.FALSE;
+      case JsonTokenId.ID_NULL:
+        return null;
+      default:
+        return ctxt.readValue(p, Boolean.class);
+    }
+  }
+
+  public static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+    switch (p.currentTokenId()) {
+      case JsonTokenId.ID_STRING:
+        return p.getText();
+      case JsonTokenId.ID_NULL:
+        return null;
+      default:
+        return ctxt.readValue(p, String.class);
+    }
+  }
+
+  public static byte[] readBytes(JsonParser p) throws IOException {
+    return readPrefixed(p, JacksonCodecConstants.BYTES_VALUE, byte[].class);
+  }
+
+  public static long[] readLongs(JsonParser p) throws IOException {
+    byte[] bytes = readPrefixed(p, JacksonCodecConstants.LONGS_VALUE, long[].class);
+    return bytes == null ? null : Longs.fromBytes(bytes);
+  }
+
+  public static EUID readEuid(JsonParser p) throws IOException {
+    byte[] bytes = readPrefixed(p, JacksonCodecConstants.EUID_VALUE, EUID.class);
+    return bytes == null ? null : new EUID(bytes);
+  }
+
+  public static HashCode readHash(JsonParser p) throws IOException {
+    byte[] bytes = readPrefixed(p, JacksonCodecConstants.HASH_VALUE, HashCode.class);
+    return bytes == null ? null : HashCode.fromBytes(bytes);
+  }
+
+  public static UInt256 readUInt256(JsonParser p) throws IOException {
+    byte[] bytes = readPrefixed(p, JacksonCodecConstants.U20_VALUE, UInt256.class);
+    return bytes == null ? null : UInt256.from(bytes);
+  }
+
+  public static UInt384 readUInt384(JsonParser p) throws IOException {
+    byte[] bytes = readPrefixed(p, JacksonCodecConstants.U30_VALUE, UInt384.class);
+    return bytes == null ? null : UInt384.from(bytes);
+  }
+
+  public static REAddr readAddr(JsonParser p) throws IOException {
+    byte[] bytes = readPrefixed(p, JacksonCodecConstants.RRI_VALUE, REAddr.class);
+    return bytes == null ? null : REAddr.of(bytes);
+  }
+
+  public static AID readAid(JsonParser p) throws IOException {
+    byte[] bytes = readPrefixed(p, JacksonCodecConstants.AID_VALUE, AID.class);
+    return bytes == null ? null : AID.from(bytes);
+  }
+
+  public static Instant readInstant(JsonParser p) throws IOException {
+    byte[] bytes = readPrefixed(p, JacksonCodecConstants.INSTANT_VALUE, Instant.class);
+    return bytes == null ? null : Instants.fromBytes(bytes);
+  }
+
+  /**
+   * Reads a value using the codec, or returns {@code null} for a null value.
+   *
+   * @param p the parser
+   * @param ctxt the deserialization context
+   * @param codec the codec for the class of the value
+   * @return the value read, or {@code null}
+   * @throws IOException if an error occurs reading the value
+   */
+  public static <T> T read(JsonParser p, DeserializationContext ctxt, DsonCodec<T> codec)
+      throws IOException {
+    return p.currentToken() == JsonToken.VALUE_NULL ? null : codec.decode(p, ctxt);
+  }
+
+  /**
+   * Reads a value using the deserializer Jackson would use for the specified class, or returns
+   * {@code null} for a null value.
+   *
+   * @param p the parser
+   * @param ctxt the deserialization context
+   * @param type the class of the value
+   * @return the value read, or {@code null}
+   * @throws IOException if an error occurs reading the value
+   */
+  public static <T> T readDelegated(JsonParser p, DeserializationContext ctxt, Class<T> type)
+      throws IOException {
+    return p.currentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, type);
+  }
+
+  private static byte[] readPrefixed(JsonParser p, byte prefix, Class<?> type)
+      throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    byte[] bytes = p.getBinaryValue();
+    if (bytes == null || bytes.length == 0 || bytes[0] != prefix) {
+      throw new InvalidFormatException(p, "Expecting " + prefix, bytes, type);
+    }
+    return Arrays.copyOfRange(bytes, 1, bytes.length);
+  }
+
+  /**
+   * Checks the serializer ID read from the {@code "sz"} property, as Jackson's type deserializer
+   * would have done before handing over to the bean deserializer.
+   *
+   * @param ctxt the deserialization context
+   * @param type the class being deserialized
+   * @param expected the serializer ID of the class
+   * @param actual the serializer ID read, or {@code null} if absent
+   * @throws IOException if the serializer ID is absent or does not match
+   */
+  public static void checkSerializerId(
+      DeserializationContext ctxt, Class<?> type, String expected, String actual)
+      throws IOException {
+    if (actual == null) {
+      var message = "missing type id property '" + SerializerConstants.SERIALIZER_NAME + "'";
+      throw ctxt.missingTypeIdException(ctxt.constructType(type), message);
+    }
+    if (!expected.equals(actual)) {
+      throw ctxt.invalidTypeIdException(
+          ctxt.constructType(type), actual, "expected serializer id '" + expected + "'");
+    }
+  }
+
+  /**
+   * Reports a missing required creator property in the same way as Jackson.
+   *
+   * @param ctxt the deserialization context
+   * @param type the class being deserialized
+   * @param name the name of the missing property
+   * @param index the index of the property in the creator
+   * @throws IOException always
+   */
+  public static void missingRequired(
+      DeserializationContext ctxt, Class<?> type, String name, int index) throws IOException {
+    ctxt.reportInputMismatch(
+        type, "Missing required creator property '%s' (index %d)", name, index);
+  }
+
+  /**
+   * Wraps an exception thrown by a creator in the same way as Jackson.
+   *
+   * @param ctxt the deserialization context
+   * @param type the class being deserialized
+   * @param t the exception thrown by the creator
+   * @return the exception to throw
+   */
+  public static JsonMappingException instantiationFailed(
+      DeserializationContext ctxt, Class<?> type, Throwable t) {
+    if (t instanceof InvocationTargetException && t.getCause() != null) {
+      t = t.getCause();
+    }
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    if (t instanceof JsonMappingException) {
+      return (JsonMappingException) t;
+    }
+    var message =
+        String.format(
+            "Cannot construct instance of %s, problem: %s", type.getName(), t.getMessage());
+    return ValueInstantiationException.from(
+        ctxt.getParser(),
+        message,
+        ctxt.constructType(type),
+        t);
+  }
+
+  // Member access
+
+  /**
+   * Returns a handle reading the specified field, typed as {@code (target)type}.
+   *
+   * @param target the class the codec is for
+   * @param declaringClass the binary name of the class declaring the field
+   * @param name the name of the field
+   * @param type the type of the field
+   * @return a method handle reading the field
+   */
+  public static MethodHandle getter(
+      Class<?> target, String declaringClass, String name, Class<?> type) {
+    try {
+      var field = declaring(target, declaringClass).getDeclaredField(name);
+      return unreflect(field, f -> MethodHandles.lookup().unreflectGetter(f))
+          .asType(MethodType.methodType(type, target));
+    } catch (NoSuchFieldException e) {
+      throw new IllegalStateException("No field " + name + " in " + declaringClass, e);
+    }
+  }
+
+  /**
+   * Returns a handle writing the specified field, typed as {@code (target,type)void}. Final
+   * fields are written in the same way as Jackson writes them.
+   *
+   * @param target the class the codec is for
+   * @param declaringClass the binary name of the class declaring the field
+   * @param name the name of the field
+   * @param type the type of the field
+   * @return a method handle writing the field
+   */
+  public static MethodHandle setter(
+      Class<?> target, String declaringClass, String name, Class<?> type) {
+    try {
+      var field = declaring(target, declaringClass).getDeclaredField(name);
+      return unreflect(field, f -> MethodHandles.lookup().unreflectSetter(f))
+          .asType(MethodType.methodType(void.class, target, type));
+    } catch (NoSuchFieldException e) {
+      throw new IllegalStateException("No field " + name + " in " + declaringClass, e);
+    }
+  }
+
+  /**
+   * Returns a handle invoking the specified no-argument method, typed as {@code (target)type}.
+   *
+   * @param target the class the codec is for
+   * @param declaringClass the binary name of the class declaring the method
+   * @param name the name of the method
+   * @param type the return type of the method
+   * @return a method handle invoking the method
+   */
+  public static MethodHandle invoker(
+      Class<?> target, String declaringClass, String name, Class<?> type) {
+    try {
+      var method = declaring(target, declaringClass).getDeclaredMethod(name);
+      return unreflect(method, m -> MethodHandles.lookup().unreflect(m))
+          .asType(MethodType.methodType(type, target));
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("No method " + name + " in " + declaringClass, e);
+    }
+  }
+
+  /**
+   * Returns a handle invoking the specified constructor, typed as {@code (params)target}.
+   *
+   * @param target the class to construct
+   * @param params the parameter types of the constructor
+   * @return a method handle invoking the constructor
+   */
+  public static MethodHandle constructor(Class<?> target, Class<?>... params) {
+    try {
+      var constructor = target.getDeclaredConstructor(params);
+      return unreflect(constructor, c -> MethodHandles.lookup().unreflectConstructor(c));
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("No creator constructor in " + target.getName(), e);
+    }
+  }
+
+  /**
+   * Returns a handle invoking the specified static factory method, typed as {@code
+   * (params)target}.
+   *
+   * @param target the class to construct
+   * @param name the name of the factory method
+   * @param params the parameter types of the factory method
+   * @return a method handle invoking the factory method
+   */
+  public static MethodHandle factory(Class<?> target, String name, Class<?>... params) {
+    try {
+      var method = target.getDeclaredMethod(name, params);
+      return unreflect(method, m -> MethodHandles.lookup().unreflect(m))
+          .asType(MethodType.methodType(target, params));
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("No creator method " + name + " in " + target.getName(), e);
+    }
+  }
+
+  /**
+   * Rethrows a {@link Throwable} caught from a method handle invocation.
+   *
+   * @param t the throwable caught
+   * @return never returns normally, declared to allow {@code throw rethrow(t)}
+   */
+  public static RuntimeException rethrow(Throwable t) {
+    if (t instanceof RuntimeException) {
+      throw (RuntimeException) t;
+    }
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    throw new IllegalStateException(t);
+  }
+
+  private static Class<?> declaring(Class<?> target, String declaringClass) {
+    for (Class<?> cls = target; cls != null; cls = cls.getSuperclass()) {
+      if (cls.getName().equals(declaringClass)) {
+        return cls;
+      }
+    }
+    throw new IllegalStateException(declaringClass + " is not a superclass of " + target.getName());
+  }
+
+  private interface Unreflector<T extends AccessibleObject> {
+    MethodHandle unreflect(T member) throws IllegalAccessException;
+  }
+
+  private static <T extends AccessibleObject> MethodHandle unreflect(
+      T member, Unreflector<T> unreflector) {
+    try {
+      member.setAccessible(true);
+      return unreflector.unreflect(member);
+    } catch (IllegalAccessException | RuntimeException e) {
+      throw new IllegalStateException("Can't access " + member, e);
+    }
+  }
+}
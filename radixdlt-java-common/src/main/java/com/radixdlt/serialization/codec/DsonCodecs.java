@@ -0,0 +1,175 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.serialization.codec;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Registry of the {@link DsonCodec}s available for serialization. Codecs are generated at build
+ * time and registered as {@link ServiceLoader} providers of {@link DsonCodec}.
+ */
+public final class DsonCodecs {
+  private static final Logger log = LogManager.getLogger();
+
+  /**
+   * System property that can be set to {@code false} to disable generated codecs and use the
+   * reflective Jackson path for all classes.
+   */
+  public static final String ENABLED_PROPERTY = "com.radixdlt.serialization.codecs.enabled";
+
+  private static final DsonCodecs NONE = new DsonCodecs(ImmutableMap.of());
+
+  private final ImmutableMap<Class<?>, DsonCodec<?>> codecs;
+
+  private DsonCodecs(ImmutableMap<Class<?>, DsonCodec<?>> codecs) {
+    this.codecs = codecs;
+  }
+
+  /**
+   * Returns a registry without any codecs, so that all classes are handled by Jackson.
+   *
+   * @return an empty registry
+   */
+  public static DsonCodecs none() {
+    return NONE;
+  }
+
+  /**
+   * Returns a registry of the specified codecs.
+   *
+   * @param codecs the codecs to register
+   * @return a registry of the specified codecs
+   * @throws IllegalArgumentException if more than one codec is specified for a class
+   */
+  public static DsonCodecs of(Collection<? extends DsonCodec<?>> codecs) {
+    var builder = ImmutableMap.<Class<?>, DsonCodec<?>>builder();
+    codecs.forEach(codec -> builder.put(codec.type(), codec));
+    return new DsonCodecs(builder.build());
+  }
+
+  /**
+   * Returns a registry of all codecs registered as service providers on the class path, unless
+   * disabled using the {@link #ENABLED_PROPERTY} system property.
+   *
+   * @return a registry of the codecs found on the class path
+   */
+  public static DsonCodecs fromClasspath() {
+    if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+      log.info("Generated DSON codecs disabled by {}", ENABLED_PROPERTY);
+      return none();
+    }
+    Map<Class<?>, DsonCodec<?>> found = new HashMap<>();
+    var providers =
+        ServiceLoader.load(DsonCodec.class, DsonCodecs.class.getClassLoader()).iterator();
+    while (true) {
+      try {
+        if (!providers.hasNext()) {
+          break;
+        }
+        DsonCodec<?> codec = providers.next();
+        if (found.putIfAbsent(codec.type(), codec) != null) {
+          log.warn("Ignoring duplicate DSON codec for {}", codec.type().getName());
+        }
+      } catch (ServiceConfigurationError | LinkageError | RuntimeException e) {
+        // Class is left to Jackson
+        log.warn("Unable to load DSON codec", e);
+      }
+    }
+    log.debug("Loaded {} generated DSON codecs", found.size());
+    return new DsonCodecs(ImmutableMap.copyOf(found));
+  }
+
+  /**
+   * Returns the codec for the specified exact class.
+   *
+   * @param cls the class to find the codec for
+   * @return the codec, or {@code null} if there is no codec for the class
+   */
+  @SuppressWarnings("unchecked")
+  public <T> DsonCodec<T> codecFor(Class<T> cls) {
+    return (DsonCodec<T>) codecs.get(cls);
+  }
+
+  /**
+   * Returns all registered codecs.
+   *
+   * @return all registered codecs
+   */
+  public Collection<DsonCodec<?>> all() {
+    return codecs.values();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s[%s codecs]", getClass().getSimpleName(), codecs.size());
+  }
+}
@@ -100,7 +100,7 @@ public final class ClasspathScanningSerializerIds extends ClassScanningSerialize
     super(scanForSerializable());
   }
 
-  private static Set<Class<?>> scanForSerializable() {
+  static Set<Class<?>> scanForSerializable() {
     ConfigurationBuilder config =
         new ConfigurationBuilder()
             .setUrls(ClasspathHelper.forJavaClassPath())
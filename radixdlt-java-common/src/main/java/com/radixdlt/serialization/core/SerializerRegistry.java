@@ -0,0 +1,202 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.serialization.core;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.radixdlt.serialization.SerializerConstants;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Source of the serializable classes in the core system, as listed in the {@value #REGISTRY_FILE}
+ * resources written at build time by the serialization annotation processor.
+ *
+ * <p>If no registry resources are found, for example when running from an IDE which does not run
+ * annotation processors, the class path is scanned instead. Setting the {@link #VERIFY_PROPERTY}
+ * system property to {@code true} scans the class path in addition to reading the registry, and
+ * fails if any annotated class is missing from the registry.
+ */
+public final class SerializerRegistry {
+  private static final Logger log = LogManager.getLogger();
+
+  /** Location of the registry resources. One binary class name per line. */
+  public static final String REGISTRY_FILE = "META-INF/radixdlt/serializer-registry";
+
+  /**
+   * System property that can be set to {@code true} to check the build time registry against a
+   * scan of the class path.
+   */
+  public static final String VERIFY_PROPERTY = "com.radixdlt.serialization.registry.verify";
+
+  private SerializerRegistry() {
+    throw new IllegalStateException("Can't construct");
+  }
+
+  private static class LazyHolder {
+    static final Set<Class<?>> CLASSES = load(SerializerRegistry.class.getClassLoader());
+  }
+
+  /**
+   * Returns the serializable classes found by the first call to this method. Subsequent calls
+   * return the same set.
+   *
+   * @return the serializable classes
+   * @throws IllegalStateException if a registered class can't be loaded, or if verification is
+   *     enabled and the registry is incomplete
+   */
+  public static Set<Class<?>> serializableClasses() {
+    return LazyHolder.CLASSES;
+  }
+
+  @VisibleForTesting
+  static Set<Class<?>> load(ClassLoader classLoader) {
+    var stopwatch = Stopwatch.createStarted();
+    var registered = readRegistry(classLoader);
+    if (registered.isEmpty()) {
+      var scanned = ClasspathScanningSerializerIds.scanForSerializable();
+      log.info(
+          "No {} found, scanned class path for {} serializable classes in {}ms",
+          REGISTRY_FILE,
+          scanned.size(),
+          stopwatch.elapsed(TimeUnit.MILLISECONDS));
+      return ImmutableSet.copyOf(scanned);
+    }
+    if (Boolean.parseBoolean(System.getProperty(VERIFY_PROPERTY, "false"))) {
+      verify(registered, ClasspathScanningSerializerIds.scanForSerializable());
+    }
+    log.info(
+        "Loaded {} serializable classes from {} in {}ms",
+        registered.size(),
+        REGISTRY_FILE,
+        stopwatch.elapsed(TimeUnit.MILLISECONDS));
+    return registered;
+  }
+
+  @VisibleForTesting
+  static void verify(Set<Class<?>> registered, Set<Class<?>> scanned) {
+    // Scanning also returns unannotated subclasses of annotated classes, which are not serializable
+    var missing =
+        Sets.difference(scanned, registered).stream()
+            .filter(cls -> cls.isAnnotationPresent(SerializerConstants.SERIALIZER_ID_ANNOTATION))
+            .filter(cls -> !cls.isInterface())
+            .map(Class::getName)
+            .sorted()
+            .collect(Collectors.toList());
+    if (!missing.isEmpty()) {
+      throw new IllegalStateException(
+          String.format("Serializable classes missing from %s: %s", REGISTRY_FILE, missing));
+    }
+    log.info("Verified {} serializable classes against class path scan", registered.size());
+  }
+
+  private static Set<Class<?>> readRegistry(ClassLoader classLoader) {
+    var classes = new LinkedHashSet<Class<?>>();
+    try {
+      for (URL url : Collections.list(classLoader.getResources(REGISTRY_FILE))) {
+        for (String name : readClassNames(url)) {
+          classes.add(loadClass(name, classLoader, url));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read " + REGISTRY_FILE, e);
+    }
+    return Collections.unmodifiableSet(classes);
+  }
+
+  private static List<String> readClassNames(URL url) throws IOException {
+    try (var reader =
+        new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+      return reader
+          .lines()
+          .map(String::trim)
+          .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static Class<?> loadClass(String name, ClassLoader classLoader, URL source) {
+    try {
+      return Class.forName(name, false, classLoader);
+    } catch (ClassNotFoundException | LinkageError e) {
+      throw new IllegalStateException(
+          String.format("Unable to load serializable class %s listed in %s", name, source), e);
+    }
+  }
+}
@@ -0,0 +1,181 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.serialization.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.radixdlt.serialization.DsonOutput.Output;
+import com.radixdlt.serialization.SerializerIds;
+import com.radixdlt.serialization.codec.DsonCodec;
+import com.radixdlt.serialization.codec.DsonCodecs;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Jackson module registering generated {@link DsonCodec}s as the serializers and deserializers of
+ * their classes for a single DSON output mode. Codecs whose output does not match the serializer
+ * IDs and fields in use are left out, so that their classes fall back to the reflective Jackson
+ * path.
+ */
+public final class DsonCodecModule extends SimpleModule {
+  private static final long serialVersionUID = -3516846378232315816L;
+
+  private DsonCodecModule() {
+    super("DsonCodecModule");
+  }
+
+  /**
+   * Create a module with the codecs that can be used for the specified output mode.
+   *
+   * @param codecs the available codecs
+   * @param output the output mode of the mapper the module is registered with
+   * @param idLookup the {@link SerializerIds} in use
+   * @param includedFields the fields included in the output mode for each class
+   * @return a freshly created module
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static DsonCodecModule create(
+      DsonCodecs codecs,
+      Output output,
+      SerializerIds idLookup,
+      ImmutableMap<Class<?>, ImmutableSet<String>> includedFields) {
+    var module = new DsonCodecModule();
+    for (DsonCodec codec : codecs.all()) {
+      if (!Objects.equals(idLookup.getIdForClass(codec.type()), codec.serializerId())) {
+        continue;
+      }
+      module.addDeserializer(codec.type(), new DsonCodecDeserializer<>(codec));
+      if (codec.supports(output)
+          && codec
+              .includedProperties(output)
+              .equals(includedFields.getOrDefault(codec.type(), ImmutableSet.of()))) {
+        module.addSerializer(codec.type(), new DsonCodecSerializer<>(codec, output));
+      }
+    }
+    return module;
+  }
+
+  private static final class DsonCodecSerializer<T> extends StdSerializer<T> {
+    private static final long serialVersionUID = 7271497093163627853L;
+    private final transient DsonCodec<T> codec;
+    private final Output output;
+
+    DsonCodecSerializer(DsonCodec<T> codec, Output output) {
+      super(codec.type());
+      this.codec = codec;
+      this.output = output;
+    }
+
+    @Override
+    public void serialize(T value, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      codec.encode(value, output, gen, provider);
+    }
+
+    @Override
+    public void serializeWithType(
+        T value, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+        throws IOException {
+      serialize(value, gen, provider);
+    }
+  }
+
+  private static final class DsonCodecDeserializer<T> extends StdDeserializer<T> {
+    private static final long serialVersionUID = -6316498453853311470L;
+    private final transient DsonCodec<T> codec;
+
+    DsonCodecDeserializer(DsonCodec<T> codec) {
+      super(codec.type());
+      this.codec = codec;
+    }
+
+    @Override
+    public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      try {
+        return codec.decode(p, ctxt);
+      } catch (RuntimeException e) {
+        throw JsonMappingException.from(p, e.getMessage(), e);
+      }
+    }
+
+    @Override
+    public Object deserializeWithType(
+        JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+        throws IOException {
+      // The codec checks the serializer ID itself, no need to buffer tokens looking for it
+      return deserialize(p, ctxt);
+    }
+  }
+}
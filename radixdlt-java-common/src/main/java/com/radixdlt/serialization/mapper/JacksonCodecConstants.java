@@ -65,21 +65,21 @@
 package com.radixdlt.serialization.mapper;
 
 /** Constants for DSON protocol encoded in CBOR/JSON. */
-final class JacksonCodecConstants {
+public final class JacksonCodecConstants {
   private JacksonCodecConstants() {
     throw new IllegalStateException("Can't construct");
   }
 
   // Encodings for CBOR mappings
-  static final byte BYTES_VALUE = 0x01;
-  static final byte EUID_VALUE = 0x02;
-  static final byte HASH_VALUE = 0x03;
-  static final byte U20_VALUE = 0x05; // 0x20 byte = 256 bit unsigned int
-  static final byte RRI_VALUE = 0x06;
-  static final byte U30_VALUE = 0x07; // 0x30 byte = 384 bit unsigned int
-  static final byte AID_VALUE = 0x08;
-  static final byte LONGS_VALUE = 0x09;
-  static final byte INSTANT_VALUE = 0x0A;
+  public static final byte BYTES_VALUE = 0x01;
+  public static final byte EUID_VALUE = 0x02;
+  public static final byte HASH_VALUE = 0x03;
+  public static final byte U20_VALUE = 0x05; // 0x20 byte = 256 bit unsigned int
+  public static final byte RRI_VALUE = 0x06;
+  public static final byte U30_VALUE = 0x07; // 0x30 byte = 384 bit unsigned int
+  public static final byte AID_VALUE = 0x08;
+  public static final byte LONGS_VALUE = 0x09;
+  public static final byte INSTANT_VALUE = 0x0A;
 
   // Type tag prefixes used in strings for JSON mappings
   static final int STR_VALUE_LEN = 5;
@@ -905,6 +905,22 @@ public class RadixCBORGenerator extends GeneratorBase {
     _writeBytes(data, offset, len);
   }
 
+  /**
+   * Writes a binary value consisting of the specified type prefix followed by the specified data.
+   * The output is identical to calling {@link #writeBinary(byte[])} with a prefixed copy of the
+   * data, but avoids allocating the copy.
+   *
+   * @param prefix the type prefix byte
+   * @param data the data following the prefix
+   * @throws IOException if an error occurs writing the value
+   */
+  public void writePrefixedBinary(byte prefix, byte[] data) throws IOException {
+    _verifyValueWrite("write Binary value");
+    _writeLengthMarker(PREFIX_TYPE_BYTES, data.length + 1);
+    _writeByte(prefix);
+    _writeBytes(data, 0, data.length);
+  }
+
   @Override
   public int writeBinary(InputStream data, int dataLength) throws IOException {
     /*
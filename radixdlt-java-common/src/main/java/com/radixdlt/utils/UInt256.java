@@ -61,7 +61,6 @@
  * Work. You assume all risks associated with Your use of the Work and the exercise of
  * permissions under this License.
  */
-
 package com.radixdlt.utils;
 
 import static com.radixdlt.errors.ApiErrors.UNABLE_TO_PARSE_UINT;
@@ -88,40 +87,46 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
   public static final int BYTES = UInt128.BYTES * 2;
 
   /** A constant holding the minimum value an {@code Int256} can have, 0. */
-  public static final UInt256 MIN_VALUE = new UInt256(UInt128.ZERO, UInt128.ZERO);
+  public static final UInt256 MIN_VALUE = new UInt256(0L, 0L, 0L, 0L);
 
   /** Highest bit. */
-  public static final UInt256 HIGH_BIT = new UInt256(UInt128.HIGH_BIT, UInt128.ZERO);
+  public static final UInt256 HIGH_BIT = new UInt256(Long.MIN_VALUE, 0L, 0L, 0L);
 
   /** A constant holding the maximum value an {@code Int256} can have, 2<sup>256</sup>-1. */
-  public static final UInt256 MAX_VALUE = new UInt256(UInt128.MAX_VALUE, UInt128.MAX_VALUE);
+  public static final UInt256 MAX_VALUE = new UInt256(-1L, -1L, -1L, -1L);
 
   // Some commonly used values
-  public static final UInt256 ZERO = new UInt256(UInt128.ZERO, UInt128.ZERO);
-  public static final UInt256 ONE = new UInt256(UInt128.ZERO, UInt128.ONE);
-  public static final UInt256 TWO = new UInt256(UInt128.ZERO, UInt128.TWO);
-  public static final UInt256 THREE = new UInt256(UInt128.ZERO, UInt128.THREE);
-  public static final UInt256 FOUR = new UInt256(UInt128.ZERO, UInt128.FOUR);
-  public static final UInt256 FIVE = new UInt256(UInt128.ZERO, UInt128.FIVE);
-  public static final UInt256 SIX = new UInt256(UInt128.ZERO, UInt128.SIX);
-  public static final UInt256 SEVEN = new UInt256(UInt128.ZERO, UInt128.SEVEN);
-  public static final UInt256 EIGHT = new UInt256(UInt128.ZERO, UInt128.EIGHT);
-  public static final UInt256 NINE = new UInt256(UInt128.ZERO, UInt128.NINE);
-  public static final UInt256 TEN = new UInt256(UInt128.ZERO, UInt128.TEN);
+  public static final UInt256 ZERO = new UInt256(0L, 0L, 0L, 0L);
+  public static final UInt256 ONE = new UInt256(0L, 0L, 0L, 1L);
+  public static final UInt256 TWO = new UInt256(0L, 0L, 0L, 2L);
+  public static final UInt256 THREE = new UInt256(0L, 0L, 0L, 3L);
+  public static final UInt256 FOUR = new UInt256(0L, 0L, 0L, 4L);
+  public static final UInt256 FIVE = new UInt256(0L, 0L, 0L, 5L);
+  public static final UInt256 SIX = new UInt256(0L, 0L, 0L, 6L);
+  public static final UInt256 SEVEN = new UInt256(0L, 0L, 0L, 7L);
+  public static final UInt256 EIGHT = new UInt256(0L, 0L, 0L, 8L);
+  public static final UInt256 NINE = new UInt256(0L, 0L, 0L, 9L);
+  public static final UInt256 TEN = new UInt256(0L, 0L, 0L, 10L);
 
   // Numbers in order.  This is used by factory methods.
   private static final UInt256[] numbers = {
     ZERO, ONE, TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE, TEN
   };
 
-  // Mask of int bits as a long
-  private static final long INT_MASK = (1L << Integer.SIZE) - 1L;
+  // Divisors below this bound can use single limb division
+  private static final long SHORT_DIVISOR_BOUND = 1L << Integer.SIZE;
 
-  // The actual value.
+  // The actual value, as four unsigned 64-bit limbs, w3 being the most significant.
+  // Keeping the limbs flat in one object avoids the allocation and indirection of
+  // composing UInt128 values, and allows arithmetic directly on longs.
+  // @PackageLocalForTest
+  final long w3;
   // @PackageLocalForTest
-  final UInt128 high;
+  final long w2;
   // @PackageLocalForTest
-  final UInt128 low;
+  final long w1;
+  // @PackageLocalForTest
+  final long w0;
 
   /**
    * Factory method for materialising an {@link UInt256} from a {@code short} value.
@@ -151,7 +156,7 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return {@code value} as an {@link UInt256} type.
    */
   public static UInt256 from(long value) {
-    return from(UInt128.from(value));
+    return new UInt256(0L, 0L, 0L, value);
   }
 
   /**
@@ -162,7 +167,7 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return the specified value as an {@link UInt256} type.
    */
   public static UInt256 from(UInt128 value) {
-    return from(UInt128.ZERO, value);
+    return new UInt256(0L, 0L, value.getHigh(), value.getLow());
   }
 
   /**
@@ -173,7 +178,7 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return the specified values as an {@link UInt256} type.
    */
   public static UInt256 from(UInt128 high, UInt128 low) {
-    return new UInt256(high, low);
+    return new UInt256(high.getHigh(), high.getLow(), low.getHigh(), low.getLow());
   }
 
   /**
@@ -210,9 +215,11 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @see #toByteArray()
    */
   public static UInt256 from(byte[] bytes, int offset) {
-    UInt128 high = UInt128.from(bytes, offset);
-    UInt128 low = UInt128.from(bytes, offset + UInt128.BYTES);
-    return from(high, low);
+    return new UInt256(
+        Longs.fromByteArray(bytes, offset),
+        Longs.fromByteArray(bytes, offset + Long.BYTES),
+        Longs.fromByteArray(bytes, offset + 2 * Long.BYTES),
+        Longs.fromByteArray(bytes, offset + 3 * Long.BYTES));
   }
 
   /**
@@ -275,24 +282,41 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
     return newBytes;
   }
 
-  private UInt256(UInt128 high, UInt128 low) {
-    this.high = Objects.requireNonNull(high);
-    this.low = Objects.requireNonNull(low);
+  // Reads limb i (0 being the least significant) from the end of a most-significant-first array
+  private static long trailingLimb(byte[] bytes, int i) {
+    int end = bytes.length - i * Long.BYTES;
+    int start = Math.max(end - Long.BYTES, 0);
+    long value = 0L;
+    for (int j = start; j < end; j++) {
+      value = (value << Byte.SIZE) | (bytes[j] & 0xFFL);
+    }
+    return value;
+  }
+
+  // Builds a value from least significant first limbs, as used by UIntLimbs
+  static UInt256 fromLimbs(long[] limbs) {
+    return new UInt256(limbs[3], limbs[2], limbs[1], limbs[0]);
+  }
+
+  // Least significant first limbs, as used by UIntLimbs
+  long[] toLimbs() {
+    return new long[] {w0, w1, w2, w3};
+  }
+
+  UInt256(long w3, long w2, long w1, long w0) {
+    this.w3 = w3;
+    this.w2 = w2;
+    this.w1 = w1;
+    this.w0 = w0;
   }
 
   @VisibleForTesting
   UInt256(byte[] bytes) {
-    int[] ints = new int[BYTES / Integer.BYTES];
-    int intIndex = ints.length;
-    int intLen = Math.min(bytes.length, Integer.BYTES);
-    int byteIndex = bytes.length - intLen;
-    while (intIndex > 0 && intLen > 0) {
-      ints[--intIndex] = Ints.fromByteArray(bytes, byteIndex, intLen);
-      intLen = Math.min(byteIndex, Integer.BYTES);
-      byteIndex -= intLen;
-    }
-    this.high = UInt128.from(ints[0], ints[1], ints[2], ints[3]);
-    this.low = UInt128.from(ints[4], ints[5], ints[6], ints[7]);
+    this(
+        trailingLimb(bytes, 3),
+        trailingLimb(bytes, 2),
+        trailingLimb(bytes, 1),
+        trailingLimb(bytes, 0));
   }
 
   /**
@@ -315,8 +339,10 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return The passed-in value of {@code bytes}.
    */
   public byte[] toByteArray(byte[] bytes, int offset) {
-    this.high.toByteArray(bytes, offset);
-    this.low.toByteArray(bytes, offset + UInt128.BYTES);
+    Longs.copyTo(this.w3, bytes, offset);
+    Longs.copyTo(this.w2, bytes, offset + Long.BYTES);
+    Longs.copyTo(this.w1, bytes, offset + 2 * Long.BYTES);
+    Longs.copyTo(this.w0, bytes, offset + 3 * Long.BYTES);
     return bytes;
   }
 
@@ -327,30 +353,7 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return An {@link UInt256} with the value {@code this + other}.
    */
   public UInt256 add(UInt256 other) {
-    long partial0 = (this.low.low & INT_MASK) + (other.low.low & INT_MASK);
-    long partial1 =
-        (this.low.midLow & INT_MASK) + (other.low.midLow & INT_MASK) + (partial0 >>> Integer.SIZE);
-    long partial2 =
-        (this.low.midHigh & INT_MASK)
-            + (other.low.midHigh & INT_MASK)
-            + (partial1 >>> Integer.SIZE);
-    long partial3 =
-        (this.low.high & INT_MASK) + (other.low.high & INT_MASK) + (partial2 >>> Integer.SIZE);
-    long partial4 =
-        (this.high.low & INT_MASK) + (other.high.low & INT_MASK) + (partial3 >>> Integer.SIZE);
-    long partial5 =
-        (this.high.midLow & INT_MASK)
-            + (other.high.midLow & INT_MASK)
-            + (partial4 >>> Integer.SIZE);
-    long partial6 =
-        (this.high.midHigh & INT_MASK)
-            + (other.high.midHigh & INT_MASK)
-            + (partial5 >>> Integer.SIZE);
-    long partial7 =
-        (this.high.high & INT_MASK) + (other.high.high & INT_MASK) + (partial6 >>> Integer.SIZE);
-    return UInt256.from(
-        UInt128.from((int) partial7, (int) partial6, (int) partial5, (int) partial4),
-        UInt128.from((int) partial3, (int) partial2, (int) partial1, (int) partial0));
+    return add(other.w3, other.w2, other.w1, other.w0);
   }
 
   /**
@@ -360,20 +363,20 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return An {@link UInt256} with the value {@code this + other}.
    */
   public UInt256 add(UInt128 other) {
-    long partial0 = (this.low.low & INT_MASK) + (other.low & INT_MASK);
-    long partial1 =
-        (this.low.midLow & INT_MASK) + (other.midLow & INT_MASK) + (partial0 >>> Integer.SIZE);
-    long partial2 =
-        (this.low.midHigh & INT_MASK) + (other.midHigh & INT_MASK) + (partial1 >>> Integer.SIZE);
-    long partial3 =
-        (this.low.high & INT_MASK) + (other.high & INT_MASK) + (partial2 >>> Integer.SIZE);
-    long partial4 = (this.high.low & INT_MASK) + (partial3 >>> Integer.SIZE);
-    long partial5 = (this.high.midLow & INT_MASK) + (partial4 >>> Integer.SIZE);
-    long partial6 = (this.high.midHigh & INT_MASK) + (partial5 >>> Integer.SIZE);
-    long partial7 = (this.high.high & INT_MASK) + (partial6 >>> Integer.SIZE);
-    return UInt256.from(
-        UInt128.from((int) partial7, (int) partial6, (int) partial5, (int) partial4),
-        UInt128.from((int) partial3, (int) partial2, (int) partial1, (int) partial0));
+    return add(0L, 0L, other.getHigh(), other.getLow());
+  }
+
+  private UInt256 add(long o3, long o2, long o1, long o0) {
+    long r0 = this.w0 + o0;
+    long c = UIntLimbs.carry(r0, o0);
+    long t = this.w1 + o1;
+    long r1 = t + c;
+    c = UIntLimbs.carry(t, o1) | UIntLimbs.carry(r1, t);
+    t = this.w2 + o2;
+    long r2 = t + c;
+    c = UIntLimbs.carry(t, o2) | UIntLimbs.carry(r2, t);
+    long r3 = this.w3 + o3 + c;
+    return new UInt256(r3, r2, r1, r0);
   }
 
   /**
@@ -383,26 +386,7 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return An {@link UInt256} with the value {@code this - other}.
    */
   public UInt256 subtract(UInt256 other) {
-    long partial0 = (this.low.low & INT_MASK) - (other.low.low & INT_MASK);
-    long partial1 =
-        (this.low.midLow & INT_MASK) - (other.low.midLow & INT_MASK) + (partial0 >> Integer.SIZE);
-    long partial2 =
-        (this.low.midHigh & INT_MASK) - (other.low.midHigh & INT_MASK) + (partial1 >> Integer.SIZE);
-    long partial3 =
-        (this.low.high & INT_MASK) - (other.low.high & INT_MASK) + (partial2 >> Integer.SIZE);
-    long partial4 =
-        (this.high.low & INT_MASK) - (other.high.low & INT_MASK) + (partial3 >> Integer.SIZE);
-    long partial5 =
-        (this.high.midLow & INT_MASK) - (other.high.midLow & INT_MASK) + (partial4 >> Integer.SIZE);
-    long partial6 =
-        (this.high.midHigh & INT_MASK)
-            - (other.high.midHigh & INT_MASK)
-            + (partial5 >> Integer.SIZE);
-    long partial7 =
-        (this.high.high & INT_MASK) - (other.high.high & INT_MASK) + (partial6 >> Integer.SIZE);
-    return UInt256.from(
-        UInt128.from((int) partial7, (int) partial6, (int) partial5, (int) partial4),
-        UInt128.from((int) partial3, (int) partial2, (int) partial1, (int) partial0));
+    return subtract(other.w3, other.w2, other.w1, other.w0);
   }
 
   /**
@@ -412,20 +396,18 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return An {@link UInt256} with the value {@code this - other}.
    */
   public UInt256 subtract(UInt128 other) {
-    long partial0 = (this.low.low & INT_MASK) - (other.low & INT_MASK);
-    long partial1 =
-        (this.low.midLow & INT_MASK) - (other.midLow & INT_MASK) + (partial0 >> Integer.SIZE);
-    long partial2 =
-        (this.low.midHigh & INT_MASK) - (other.midHigh & INT_MASK) + (partial1 >> Integer.SIZE);
-    long partial3 =
-        (this.low.high & INT_MASK) - (other.high & INT_MASK) + (partial2 >> Integer.SIZE);
-    long partial4 = (this.high.low & INT_MASK) + (partial3 >> Integer.SIZE);
-    long partial5 = (this.high.midLow & INT_MASK) + (partial4 >> Integer.SIZE);
-    long partial6 = (this.high.midHigh & INT_MASK) + (partial5 >> Integer.SIZE);
-    long partial7 = (this.high.high & INT_MASK) + (partial6 >> Integer.SIZE);
-    return UInt256.from(
-        UInt128.from((int) partial7, (int) partial6, (int) partial5, (int) partial4),
-        UInt128.from((int) partial3, (int) partial2, (int) partial1, (int) partial0));
+    return subtract(0L, 0L, other.getHigh(), other.getLow());
+  }
+
+  private UInt256 subtract(long o3, long o2, long o1, long o0) {
+    long r0 = this.w0 - o0;
+    long b = UIntLimbs.borrow(this.w0, o0, 0L);
+    long r1 = this.w1 - o1 - b;
+    b = UIntLimbs.borrow(this.w1, o1, b);
+    long r2 = this.w2 - o2 - b;
+    b = UIntLimbs.borrow(this.w2, o2, b);
+    long r3 = this.w3 - o3 - b;
+    return new UInt256(r3, r2, r1, r0);
   }
 
   /**
@@ -434,9 +416,11 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return This number incremented by one.
    */
   public UInt256 increment() {
-    UInt128 l = this.low.increment();
-    UInt128 h = l.isZero() ? this.high.increment() : this.high;
-    return UInt256.from(h, l);
+    long r0 = this.w0 + 1;
+    long r1 = r0 == 0 ? this.w1 + 1 : this.w1;
+    long r2 = (r0 | r1) == 0 ? this.w2 + 1 : this.w2;
+    long r3 = (r0 | r1 | r2) == 0 ? this.w3 + 1 : this.w3;
+    return new UInt256(r3, r2, r1, r0);
   }
 
   /**
@@ -445,9 +429,11 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return This number decremented by one.
    */
   public UInt256 decrement() {
-    UInt128 l = this.low.decrement();
-    UInt128 h = this.low.isZero() ? this.high.decrement() : this.high;
-    return UInt256.from(h, l);
+    long r0 = this.w0 - 1;
+    long r1 = this.w0 == 0 ? this.w1 - 1 : this.w1;
+    long r2 = (this.w0 | this.w1) == 0 ? this.w2 - 1 : this.w2;
+    long r3 = (this.w0 | this.w1 | this.w2) == 0 ? this.w3 - 1 : this.w3;
+    return new UInt256(r3, r2, r1, r0);
   }
 
   /**
@@ -457,111 +443,50 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return The result {@code this * multiplicand}.
    */
   public UInt256 multiply(UInt256 multiplicand) {
-    // I appreciate that this looks like a wall of code, and it is,
-    // but the underlying algorithm is long multiplication base 2^32.
-
-    long llowlow = (multiplicand.low.low & INT_MASK);
-    long partial00 = (this.low.low & INT_MASK) * llowlow;
-    long partial01 = (this.low.midLow & INT_MASK) * llowlow + (partial00 >>> Integer.SIZE);
-    long partial02 = (this.low.midHigh & INT_MASK) * llowlow + (partial01 >>> Integer.SIZE);
-    long partial03 = (this.low.high & INT_MASK) * llowlow + (partial02 >>> Integer.SIZE);
-    long partial04 = (this.high.low & INT_MASK) * llowlow + (partial03 >>> Integer.SIZE);
-    long partial05 = (this.high.midLow & INT_MASK) * llowlow + (partial04 >>> Integer.SIZE);
-    long partial06 = (this.high.midHigh & INT_MASK) * llowlow + (partial05 >>> Integer.SIZE);
-    long partial07 = (this.high.high & INT_MASK) * llowlow + (partial06 >>> Integer.SIZE);
-
-    long llowmidlow = (multiplicand.low.midLow & INT_MASK);
-    long partial10 = (this.low.low & INT_MASK) * llowmidlow;
-    long partial11 = (this.low.midLow & INT_MASK) * llowmidlow + (partial10 >>> Integer.SIZE);
-    long partial12 = (this.low.midHigh & INT_MASK) * llowmidlow + (partial11 >>> Integer.SIZE);
-    long partial13 = (this.low.high & INT_MASK) * llowmidlow + (partial12 >>> Integer.SIZE);
-    long partial14 = (this.high.low & INT_MASK) * llowmidlow + (partial13 >>> Integer.SIZE);
-    long partial15 = (this.high.midLow & INT_MASK) * llowmidlow + (partial14 >>> Integer.SIZE);
-    long partial16 = (this.high.midHigh & INT_MASK) * llowmidlow + (partial15 >>> Integer.SIZE);
-
-    long llowmidhigh = (multiplicand.low.midHigh & INT_MASK);
-    long partial20 = (this.low.low & INT_MASK) * llowmidhigh;
-    long partial21 = (this.low.midLow & INT_MASK) * llowmidhigh + (partial20 >>> Integer.SIZE);
-    long partial22 = (this.low.midHigh & INT_MASK) * llowmidhigh + (partial21 >>> Integer.SIZE);
-    long partial23 = (this.low.high & INT_MASK) * llowmidhigh + (partial22 >>> Integer.SIZE);
-    long partial24 = (this.high.low & INT_MASK) * llowmidhigh + (partial23 >>> Integer.SIZE);
-    long partial25 = (this.high.midLow & INT_MASK) * llowmidhigh + (partial24 >>> Integer.SIZE);
-
-    long llowhigh = (multiplicand.low.high & INT_MASK);
-    long partial30 = (this.low.low & INT_MASK) * llowhigh;
-    long partial31 = (this.low.midLow & INT_MASK) * llowhigh + (partial30 >>> Integer.SIZE);
-    long partial32 = (this.low.midHigh & INT_MASK) * llowhigh + (partial31 >>> Integer.SIZE);
-    long partial33 = (this.low.high & INT_MASK) * llowhigh + (partial32 >>> Integer.SIZE);
-    long partial34 = (this.high.low & INT_MASK) * llowhigh + (partial33 >>> Integer.SIZE);
-
-    long lhighlow = (multiplicand.high.low & INT_MASK);
-    long partial40 = (this.low.low & INT_MASK) * lhighlow;
-    long partial41 = (this.low.midLow & INT_MASK) * lhighlow + (partial40 >>> Integer.SIZE);
-    long partial42 = (this.low.midHigh & INT_MASK) * lhighlow + (partial41 >>> Integer.SIZE);
-    long partial43 = (this.low.high & INT_MASK) * lhighlow + (partial42 >>> Integer.SIZE);
-
-    long lhighmidlow = (multiplicand.high.midLow & INT_MASK);
-    long partial50 = (this.low.low & INT_MASK) * lhighmidlow;
-    long partial51 = (this.low.midLow & INT_MASK) * lhighmidlow + (partial50 >>> Integer.SIZE);
-    long partial52 = (this.low.midHigh & INT_MASK) * lhighmidlow + (partial51 >>> Integer.SIZE);
-
-    long lhighmidhigh = (multiplicand.high.midHigh & INT_MASK);
-    long partial60 = (this.low.low & INT_MASK) * lhighmidhigh;
-    long partial61 = (this.low.midLow & INT_MASK) * lhighmidhigh + (partial60 >>> Integer.SIZE);
-
-    long partial70 = (this.low.low & INT_MASK) * (multiplicand.high.high & INT_MASK);
-
-    long i0 = (partial00 & INT_MASK);
-    long i1 = (partial10 & INT_MASK) + (partial01 & INT_MASK);
-    long i2 =
-        (partial20 & INT_MASK)
-            + (partial11 & INT_MASK)
-            + (partial02 & INT_MASK)
-            + (i1 >>> Integer.SIZE);
-    long i3 =
-        (partial30 & INT_MASK)
-            + (partial21 & INT_MASK)
-            + (partial12 & INT_MASK)
-            + (partial03 & INT_MASK)
-            + (i2 >>> Integer.SIZE);
-    long i4 =
-        (partial40 & INT_MASK)
-            + (partial31 & INT_MASK)
-            + (partial22 & INT_MASK)
-            + (partial13 & INT_MASK)
-            + (partial04 & INT_MASK)
-            + (i3 >>> Integer.SIZE);
-    long i5 =
-        (partial50 & INT_MASK)
-            + (partial41 & INT_MASK)
-            + (partial32 & INT_MASK)
-            + (partial23 & INT_MASK)
-            + (partial14 & INT_MASK)
-            + (partial05 & INT_MASK)
-            + (i4 >>> Integer.SIZE);
-    long i6 =
-        (partial60 & INT_MASK)
-            + (partial51 & INT_MASK)
-            + (partial42 & INT_MASK)
-            + (partial33 & INT_MASK)
-            + (partial24 & INT_MASK)
-            + (partial15 & INT_MASK)
-            + (partial06 & INT_MASK)
-            + (i5 >>> Integer.SIZE);
-    long i7 =
-        (partial70 & INT_MASK)
-            + (partial61 & INT_MASK)
-            + (partial52 & INT_MASK)
-            + (partial43 & INT_MASK)
-            + (partial34 & INT_MASK)
-            + (partial25 & INT_MASK)
-            + (partial16 & INT_MASK)
-            + (partial07 & INT_MASK)
-            + (i6 >>> Integer.SIZE);
-
-    return UInt256.from(
-        UInt128.from((int) i7, (int) i6, (int) i5, (int) i4),
-        UInt128.from((int) i3, (int) i2, (int) i1, (int) i0));
+    // Schoolbook long multiplication base 2^64, truncated to 256 bits.
+    final long a0 = this.w0;
+    final long a1 = this.w1;
+    final long a2 = this.w2;
+    final long a3 = this.w3;
+    final long b0 = multiplicand.w0;
+    final long b1 = multiplicand.w1;
+    final long b2 = multiplicand.w2;
+    final long b3 = multiplicand.w3;
+
+    // a * b0
+    long r0 = a0 * b0;
+    long carry = UIntLimbs.multiplyHigh(a0, b0);
+    long p = a1 * b0;
+    long r1 = p + carry;
+    carry = UIntLimbs.multiplyHigh(a1, b0) + UIntLimbs.carry(r1, p);
+    p = a2 * b0;
+    long r2 = p + carry;
+    carry = UIntLimbs.multiplyHigh(a2, b0) + UIntLimbs.carry(r2, p);
+    long r3 = a3 * b0 + carry;
+
+    // a * b1, shifted one limb
+    p = a0 * b1;
+    long s = r1 + p;
+    carry = UIntLimbs.multiplyHigh(a0, b1) + UIntLimbs.carry(s, p);
+    r1 = s;
+    p = a1 * b1;
+    s = r2 + p;
+    long high = UIntLimbs.multiplyHigh(a1, b1) + UIntLimbs.carry(s, p);
+    r2 = s + carry;
+    carry = high + UIntLimbs.carry(r2, s);
+    r3 += a2 * b1 + carry;
+
+    // a * b2, shifted two limbs
+    p = a0 * b2;
+    s = r2 + p;
+    carry = UIntLimbs.multiplyHigh(a0, b2) + UIntLimbs.carry(s, p);
+    r2 = s;
+    r3 += a1 * b2 + carry;
+
+    // a * b3, shifted three limbs
+    r3 += a0 * b3;
+
+    return new UInt256(r3, r2, r1, r0);
   }
 
   /**
@@ -575,9 +500,21 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
     if (divisor.isZero()) {
       throw new IllegalArgumentException("Can't divide by zero");
     }
-    BigInteger q = new BigInteger(1, this.toByteArray());
-    BigInteger d = new BigInteger(1, divisor.toByteArray());
-    return new UInt256(q.divide(d).toByteArray());
+    if (divisor.isShortDivisor()) {
+      long d = divisor.w0;
+      long q3 = UIntLimbs.divideLimb(0L, this.w3, d);
+      long r = this.w3 - q3 * d;
+      long q2 = UIntLimbs.divideLimb(r, this.w2, d);
+      r = this.w2 - q2 * d;
+      long q1 = UIntLimbs.divideLimb(r, this.w1, d);
+      r = this.w1 - q1 * d;
+      long q0 = UIntLimbs.divideLimb(r, this.w0, d);
+      return new UInt256(q3, q2, q1, q0);
+    }
+    if (compareTo(divisor) < 0) {
+      return ZERO;
+    }
+    return fromLimbs(UIntLimbs.divide(toLimbs(), divisor.toLimbs(), false));
   }
 
   /**
@@ -590,9 +527,24 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
     if (divisor.isZero()) {
       throw new IllegalArgumentException("Can't divide by zero");
     }
-    BigInteger q = new BigInteger(1, this.toByteArray());
-    BigInteger d = new BigInteger(1, divisor.toByteArray());
-    return new UInt256(q.remainder(d).toByteArray());
+    if (divisor.isShortDivisor()) {
+      long d = divisor.w0;
+      long r = this.w3 - UIntLimbs.divideLimb(0L, this.w3, d) * d;
+      r = this.w2 - UIntLimbs.divideLimb(r, this.w2, d) * d;
+      r = this.w1 - UIntLimbs.divideLimb(r, this.w1, d) * d;
+      r = this.w0 - UIntLimbs.divideLimb(r, this.w0, d) * d;
+      return from(r);
+    }
+    if (compareTo(divisor) < 0) {
+      return this;
+    }
+    return fromLimbs(UIntLimbs.divide(toLimbs(), divisor.toLimbs(), true));
+  }
+
+  // True if this value fits into a single 32-bit digit
+  private boolean isShortDivisor() {
+    return (this.w3 | this.w2 | this.w1) == 0
+        && Long.compareUnsigned(this.w0, SHORT_DIVISOR_BOUND) < 0;
   }
 
   /**
@@ -656,12 +608,11 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return The result of shifting {@code this} left one bit.
    */
   public UInt256 shiftLeft() {
-    UInt128 h = this.high.shiftLeft();
-    if (this.low.isHighBitSet()) {
-      h = h.or(UInt128.ONE);
-    }
-    UInt128 l = this.low.shiftLeft();
-    return UInt256.from(h, l);
+    return new UInt256(
+        (this.w3 << 1) | (this.w2 >>> 63),
+        (this.w2 << 1) | (this.w1 >>> 63),
+        (this.w1 << 1) | (this.w0 >>> 63),
+        this.w0 << 1);
   }
 
   /**
@@ -677,15 +628,25 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
     } else if (n < 0) {
       return shiftRight(-n); // -ve left shift is right shift
     }
-    UInt128 h = (n >= UInt128.SIZE) ? this.low : this.high;
-    UInt128 l = (n >= UInt128.SIZE) ? UInt128.ZERO : this.low;
-    int r = n % UInt128.SIZE;
-    if (r > 0) {
-      UInt128 c = l.shiftRight(UInt128.SIZE - r);
-      h = h.shiftLeft(r).or(c);
-      l = l.shiftLeft(r);
+    long r3 = this.w3;
+    long r2 = this.w2;
+    long r1 = this.w1;
+    long r0 = this.w0;
+    for (int limbs = n / Long.SIZE; limbs > 0; limbs--) {
+      r3 = r2;
+      r2 = r1;
+      r1 = r0;
+      r0 = 0L;
+    }
+    int bits = n % Long.SIZE;
+    if (bits > 0) {
+      int carryBits = Long.SIZE - bits;
+      r3 = (r3 << bits) | (r2 >>> carryBits);
+      r2 = (r2 << bits) | (r1 >>> carryBits);
+      r1 = (r1 << bits) | (r0 >>> carryBits);
+      r0 <<= bits;
     }
-    return UInt256.from(h, l);
+    return new UInt256(r3, r2, r1, r0);
   }
 
   /**
@@ -694,12 +655,11 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return The result of arithmetic shifting {@code this} right one bit.
    */
   public UInt256 shiftRight() {
-    UInt128 h = this.high.shiftRight();
-    UInt128 l = this.low.shiftRight();
-    if (this.high.isOdd()) {
-      l = l.or(UInt128.HIGH_BIT);
-    }
-    return UInt256.from(h, l);
+    return new UInt256(
+        this.w3 >>> 1,
+        (this.w2 >>> 1) | (this.w3 << 63),
+        (this.w1 >>> 1) | (this.w2 << 63),
+        (this.w0 >>> 1) | (this.w1 << 63));
   }
 
   /**
@@ -715,15 +675,25 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
     } else if (n < 0) {
       return shiftLeft(-n); // -ve right shift is left shift
     }
-    UInt128 h = (n >= UInt128.SIZE) ? UInt128.ZERO : this.high;
-    UInt128 l = (n >= UInt128.SIZE) ? this.high : this.low;
-    int r = n % UInt128.SIZE;
-    if (r > 0) {
-      UInt128 c = h.shiftLeft(UInt128.SIZE - r);
-      h = h.shiftRight(r);
-      l = l.shiftRight(r).or(c);
+    long r3 = this.w3;
+    long r2 = this.w2;
+    long r1 = this.w1;
+    long r0 = this.w0;
+    for (int limbs = n / Long.SIZE; limbs > 0; limbs--) {
+      r0 = r1;
+      r1 = r2;
+      r2 = r3;
+      r3 = 0L;
+    }
+    int bits = n % Long.SIZE;
+    if (bits > 0) {
+      int carryBits = Long.SIZE - bits;
+      r0 = (r0 >>> bits) | (r1 << carryBits);
+      r1 = (r1 >>> bits) | (r2 << carryBits);
+      r2 = (r2 >>> bits) | (r3 << carryBits);
+      r3 >>>= bits;
     }
-    return UInt256.from(h, l);
+    return new UInt256(r3, r2, r1, r0);
   }
 
   /**
@@ -732,14 +702,20 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return The logical inverse of {@code this}.
    */
   public UInt256 invert() {
-    return UInt256.from(this.high.invert(), this.low.invert());
+    return new UInt256(~this.w3, ~this.w2, ~this.w1, ~this.w0);
   }
 
   @Override
   public int compareTo(UInt256 n) {
-    int cmp = this.high.compareTo(n.high);
+    int cmp = Long.compareUnsigned(this.w3, n.w3);
     if (cmp == 0) {
-      cmp = this.low.compareTo(n.low);
+      cmp = Long.compareUnsigned(this.w2, n.w2);
+      if (cmp == 0) {
+        cmp = Long.compareUnsigned(this.w1, n.w1);
+        if (cmp == 0) {
+          cmp = Long.compareUnsigned(this.w0, n.w0);
+        }
+      }
     }
     return cmp;
   }
@@ -750,7 +726,7 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return the most significant word.
    */
   public UInt128 getHigh() {
-    return this.high;
+    return UInt128.from(this.w3, this.w2);
   }
 
   /**
@@ -759,7 +735,7 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return the least significant word.
    */
   public UInt128 getLow() {
-    return this.low;
+    return UInt128.from(this.w1, this.w0);
   }
 
   /**
@@ -769,7 +745,8 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return {@code this | other}
    */
   public UInt256 or(UInt256 other) {
-    return UInt256.from(this.high.or(other.high), this.low.or(other.low));
+    return new UInt256(
+        this.w3 | other.w3, this.w2 | other.w2, this.w1 | other.w1, this.w0 | other.w0);
   }
 
   /**
@@ -779,7 +756,8 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return {@code this & other}
    */
   public UInt256 and(UInt256 other) {
-    return UInt256.from(this.high.and(other.high), this.low.and(other.low));
+    return new UInt256(
+        this.w3 & other.w3, this.w2 & other.w2, this.w1 & other.w1, this.w0 & other.w0);
   }
 
   /**
@@ -789,7 +767,8 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return {@code this ^ other}
    */
   public UInt256 xor(UInt256 other) {
-    return UInt256.from(this.high.xor(other.high), this.low.xor(other.low));
+    return new UInt256(
+        this.w3 ^ other.w3, this.w2 ^ other.w2, this.w1 ^ other.w1, this.w0 ^ other.w0);
   }
 
   /**
@@ -811,9 +790,14 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    *     is equal to zero.
    */
   public int numberOfLeadingZeros() {
-    return this.high.isZero()
-        ? UInt128.SIZE + this.low.numberOfLeadingZeros()
-        : this.high.numberOfLeadingZeros();
+    if (this.w3 != 0) {
+      return Long.numberOfLeadingZeros(this.w3);
+    } else if (this.w2 != 0) {
+      return Long.SIZE + Long.numberOfLeadingZeros(this.w2);
+    } else if (this.w1 != 0) {
+      return 2 * Long.SIZE + Long.numberOfLeadingZeros(this.w1);
+    }
+    return 3 * Long.SIZE + Long.numberOfLeadingZeros(this.w0);
   }
 
   /**
@@ -822,7 +806,7 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return {@code true} if the {@link UInt128} has its high bit set.
    */
   public boolean isHighBitSet() {
-    return this.high.isHighBitSet();
+    return this.w3 < 0;
   }
 
   /**
@@ -831,7 +815,7 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return {@code true} if {@code this} is zero.
    */
   public boolean isZero() {
-    return this.high.isZero() && this.low.isZero();
+    return (this.w3 | this.w2 | this.w1 | this.w0) == 0;
   }
 
   /**
@@ -840,7 +824,7 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return {@code true} if {@code this} is an even number.
    */
   public boolean isEven() {
-    return (this.low.low & 1) == 0;
+    return (this.w0 & 1) == 0;
   }
 
   /**
@@ -849,12 +833,15 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
    * @return {@code true} if {@code this} is an odd number.
    */
   public boolean isOdd() {
-    return (this.low.low & 1) != 0;
+    return (this.w0 & 1) != 0;
   }
 
   @Override
   public int hashCode() {
-    return this.high.hashCode() * 31 + this.low.hashCode();
+    int hash = Long.hashCode(this.w3);
+    hash = hash * 31 + Long.hashCode(this.w2);
+    hash = hash * 31 + Long.hashCode(this.w1);
+    return hash * 31 + Long.hashCode(this.w0);
   }
 
   @Override
@@ -865,7 +852,10 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
     }
     if (obj instanceof UInt256) {
       UInt256 other = (UInt256) obj;
-      return Objects.equals(this.high, other.high) && Objects.equals(this.low, other.low);
+      return this.w3 == other.w3
+          && this.w2 == other.w2
+          && this.w1 == other.w1
+          && this.w0 == other.w0;
     }
     return false;
   }
@@ -921,7 +911,7 @@ public final class UInt256 implements Comparable<UInt256>, Serializable {
     UInt256 r = UInt256.from(radix);
     while (!n.isZero()) {
       UInt256 digit = n.remainder(r);
-      sb.append(Character.forDigit(digit.low.low, radix));
+      sb.append(Character.forDigit((int) digit.w0, radix));
       n = n.divide(r);
     }
     return sb.reverse().toString();
@@ -61,7 +61,6 @@
  * Work. You assume all risks associated with Your use of the Work and the exercise of
  * permissions under this License.
  */
-
 package com.radixdlt.utils;
 
 import static com.radixdlt.errors.ApiErrors.UNABLE_TO_PARSE_UINT;
@@ -83,37 +82,48 @@ public final class UInt384 implements Comparable<UInt384> {
   public static final int BYTES = UInt128.BYTES + UInt256.BYTES;
 
   /** A constant holding the minimum value a {@code UInt384} can have, 0. */
-  public static final UInt384 MIN_VALUE = new UInt384(UInt128.ZERO, UInt256.ZERO);
+  public static final UInt384 MIN_VALUE = new UInt384(0L, 0L, 0L, 0L, 0L, 0L);
 
   /** Highest bit. */
-  public static final UInt384 HIGH_BIT = new UInt384(UInt128.HIGH_BIT, UInt256.ZERO);
+  public static final UInt384 HIGH_BIT = new UInt384(Long.MIN_VALUE, 0L, 0L, 0L, 0L, 0L);
 
   /** A constant holding the maximum value an {@code Int256} can have, 2<sup>384</sup>-1. */
-  public static final UInt384 MAX_VALUE = new UInt384(UInt128.MAX_VALUE, UInt256.MAX_VALUE);
+  public static final UInt384 MAX_VALUE = new UInt384(-1L, -1L, -1L, -1L, -1L, -1L);
 
   // Some commonly used values
-  public static final UInt384 ZERO = new UInt384(UInt128.ZERO, UInt256.ZERO);
-  public static final UInt384 ONE = new UInt384(UInt128.ZERO, UInt256.ONE);
-  public static final UInt384 TWO = new UInt384(UInt128.ZERO, UInt256.TWO);
-  public static final UInt384 THREE = new UInt384(UInt128.ZERO, UInt256.THREE);
-  public static final UInt384 FOUR = new UInt384(UInt128.ZERO, UInt256.FOUR);
-  public static final UInt384 FIVE = new UInt384(UInt128.ZERO, UInt256.FIVE);
-  public static final UInt384 SIX = new UInt384(UInt128.ZERO, UInt256.SIX);
-  public static final UInt384 SEVEN = new UInt384(UInt128.ZERO, UInt256.SEVEN);
-  public static final UInt384 EIGHT = new UInt384(UInt128.ZERO, UInt256.EIGHT);
-  public static final UInt384 NINE = new UInt384(UInt128.ZERO, UInt256.NINE);
-  public static final UInt384 TEN = new UInt384(UInt128.ZERO, UInt256.TEN);
+  public static final UInt384 ZERO = new UInt384(0L, 0L, 0L, 0L, 0L, 0L);
+  public static final UInt384 ONE = new UInt384(0L, 0L, 0L, 0L, 0L, 1L);
+  public static final UInt384 TWO = new UInt384(0L, 0L, 0L, 0L, 0L, 2L);
+  public static final UInt384 THREE = new UInt384(0L, 0L, 0L, 0L, 0L, 3L);
+  public static final UInt384 FOUR = new UInt384(0L, 0L, 0L, 0L, 0L, 4L);
+  public static final UInt384 FIVE = new UInt384(0L, 0L, 0L, 0L, 0L, 5L);
+  public static final UInt384 SIX = new UInt384(0L, 0L, 0L, 0L, 0L, 6L);
+  public static final UInt384 SEVEN = new UInt384(0L, 0L, 0L, 0L, 0L, 7L);
+  public static final UInt384 EIGHT = new UInt384(0L, 0L, 0L, 0L, 0L, 8L);
+  public static final UInt384 NINE = new UInt384(0L, 0L, 0L, 0L, 0L, 9L);
+  public static final UInt384 TEN = new UInt384(0L, 0L, 0L, 0L, 0L, 10L);
 
   // Numbers in order.  This is used by factory methods.
   private static final UInt384[] numbers = {
     ZERO, ONE, TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE, TEN
   };
 
-  // The actual value.
+  // Divisors below this bound can use single limb division
+  private static final long SHORT_DIVISOR_BOUND = 1L << Integer.SIZE;
+
+  // The actual value, as six unsigned 64-bit limbs, w5 being the most significant.
+  // @PackageLocalForTest
+  final long w5;
+  // @PackageLocalForTest
+  final long w4;
   // @PackageLocalForTest
-  final UInt128 high;
+  final long w3;
   // @PackageLocalForTest
-  final UInt256 low;
+  final long w2;
+  // @PackageLocalForTest
+  final long w1;
+  // @PackageLocalForTest
+  final long w0;
 
   /**
    * Factory method for materialising an {@link UInt384} from a {@code short} value.
@@ -143,7 +153,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return {@code value} as an {@link UInt384} type.
    */
   public static UInt384 from(long value) {
-    return from(UInt128.from(value));
+    return new UInt384(0L, 0L, 0L, 0L, 0L, value);
   }
 
   /**
@@ -154,7 +164,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return the specified value as an {@link UInt384} type.
    */
   public static UInt384 from(UInt128 value) {
-    return from(UInt256.from(value));
+    return new UInt384(0L, 0L, 0L, 0L, value.getHigh(), value.getLow());
   }
 
   /**
@@ -165,7 +175,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return the specified value as an {@link UInt384} type.
    */
   public static UInt384 from(UInt256 value) {
-    return from(UInt128.ZERO, value);
+    return new UInt384(0L, 0L, value.w3, value.w2, value.w1, value.w0);
   }
 
   /**
@@ -177,7 +187,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return the specified values as an {@link UInt384} type.
    */
   public static UInt384 from(UInt128 high, UInt256 low) {
-    return new UInt384(high, low);
+    return new UInt384(high.getHigh(), high.getLow(), low.w3, low.w2, low.w1, low.w0);
   }
 
   /**
@@ -214,9 +224,13 @@ public final class UInt384 implements Comparable<UInt384> {
    * @see #toByteArray()
    */
   public static UInt384 from(byte[] bytes, int offset) {
-    UInt128 high = UInt128.from(bytes, offset);
-    UInt256 low = UInt256.from(bytes, offset + UInt128.BYTES);
-    return from(high, low);
+    return new UInt384(
+        Longs.fromByteArray(bytes, offset),
+        Longs.fromByteArray(bytes, offset + Long.BYTES),
+        Longs.fromByteArray(bytes, offset + 2 * Long.BYTES),
+        Longs.fromByteArray(bytes, offset + 3 * Long.BYTES),
+        Longs.fromByteArray(bytes, offset + 4 * Long.BYTES),
+        Longs.fromByteArray(bytes, offset + 5 * Long.BYTES));
   }
 
   /**
@@ -278,9 +292,23 @@ public final class UInt384 implements Comparable<UInt384> {
     return newBytes;
   }
 
-  private UInt384(UInt128 high, UInt256 low) {
-    this.high = Objects.requireNonNull(high);
-    this.low = Objects.requireNonNull(low);
+  // Builds a value from least significant first limbs, as used by UIntLimbs
+  static UInt384 fromLimbs(long[] limbs) {
+    return new UInt384(limbs[5], limbs[4], limbs[3], limbs[2], limbs[1], limbs[0]);
+  }
+
+  // Least significant first limbs, as used by UIntLimbs
+  long[] toLimbs() {
+    return new long[] {w0, w1, w2, w3, w4, w5};
+  }
+
+  UInt384(long w5, long w4, long w3, long w2, long w1, long w0) {
+    this.w5 = w5;
+    this.w4 = w4;
+    this.w3 = w3;
+    this.w2 = w2;
+    this.w1 = w1;
+    this.w0 = w0;
   }
 
   /**
@@ -303,8 +331,12 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return The passed-in value of {@code bytes}.
    */
   public byte[] toByteArray(byte[] bytes, int offset) {
-    this.high.toByteArray(bytes, offset);
-    this.low.toByteArray(bytes, offset + UInt128.BYTES);
+    Longs.copyTo(this.w5, bytes, offset);
+    Longs.copyTo(this.w4, bytes, offset + Long.BYTES);
+    Longs.copyTo(this.w3, bytes, offset + 2 * Long.BYTES);
+    Longs.copyTo(this.w2, bytes, offset + 3 * Long.BYTES);
+    Longs.copyTo(this.w1, bytes, offset + 4 * Long.BYTES);
+    Longs.copyTo(this.w0, bytes, offset + 5 * Long.BYTES);
     return bytes;
   }
 
@@ -315,23 +347,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return An {@link UInt384} with the value {@code this + other}.
    */
   public UInt384 add(UInt384 other) {
-    UInt256 newLow = this.low.add(other.low);
-    // Hacker's Delight section 2-13:
-    // "The following branch-free code can be used to compute the
-    // overflow predicate for unsigned add/subtract, with the result
-    // being in the sign position."
-    // Note that the use of method calls and the ternary operator
-    // very likely precludes this from being branch-free in java.
-    UInt128 carry =
-        this.low
-                .shiftRight()
-                .add(other.low.shiftRight())
-                .add(this.low.and(other.low).and(UInt256.ONE))
-                .isHighBitSet()
-            ? UInt128.ONE
-            : UInt128.ZERO;
-    UInt128 newHigh = this.high.add(other.high).add(carry);
-    return UInt384.from(newHigh, newLow);
+    return add(other.w5, other.w4, other.w3, other.w2, other.w1, other.w0);
   }
 
   /**
@@ -341,22 +357,26 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return An {@link UInt384} with the value {@code this + other}.
    */
   public UInt384 add(UInt256 other) {
-    UInt256 newLow = this.low.add(other);
-    // Hacker's Delight section 2-13:
-    // "The following branch-free code can be used to compute the
-    // overflow predicate for unsigned add/subtract, with the result
-    // being in the sign position."
-    // Note that the use of method calls and the ternary operator
-    // very likely precludes this from being branch-free in java.
-    UInt128 newHigh =
-        this.low
-                .shiftRight()
-                .add(other.low.shiftRight())
-                .add(this.low.and(other).and(UInt256.ONE))
-                .isHighBitSet()
-            ? this.high.increment()
-            : this.high;
-    return UInt384.from(newHigh, newLow);
+    return add(0L, 0L, other.w3, other.w2, other.w1, other.w0);
+  }
+
+  private UInt384 add(long o5, long o4, long o3, long o2, long o1, long o0) {
+    long r0 = this.w0 + o0;
+    long c = UIntLimbs.carry(r0, o0);
+    long t = this.w1 + o1;
+    long r1 = t + c;
+    c = UIntLimbs.carry(t, o1) | UIntLimbs.carry(r1, t);
+    t = this.w2 + o2;
+    long r2 = t + c;
+    c = UIntLimbs.carry(t, o2) | UIntLimbs.carry(r2, t);
+    t = this.w3 + o3;
+    long r3 = t + c;
+    c = UIntLimbs.carry(t, o3) | UIntLimbs.carry(r3, t);
+    t = this.w4 + o4;
+    long r4 = t + c;
+    c = UIntLimbs.carry(t, o4) | UIntLimbs.carry(r4, t);
+    long r5 = this.w5 + o5 + c;
+    return new UInt384(r5, r4, r3, r2, r1, r0);
   }
 
   /**
@@ -366,23 +386,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return An {@link UInt384} with the value {@code this - other}.
    */
   public UInt384 subtract(UInt384 other) {
-    UInt256 newLow = this.low.subtract(other.low);
-    // Hacker's Delight section 2-13:
-    // "The following branch-free code can be used to compute the
-    // overflow predicate for unsigned add/subtract, with the result
-    // being in the sign position."
-    // Note that the use of method calls and the ternary operator
-    // very likely precludes this from being branch-free in java.
-    UInt128 carry =
-        this.low
-                .shiftRight()
-                .subtract(other.low.shiftRight())
-                .subtract(this.low.invert().and(other.low).and(UInt256.ONE))
-                .isHighBitSet()
-            ? UInt128.ONE
-            : UInt128.ZERO;
-    UInt128 newHigh = this.high.subtract(other.high).subtract(carry);
-    return UInt384.from(newHigh, newLow);
+    return subtract(other.w5, other.w4, other.w3, other.w2, other.w1, other.w0);
   }
 
   /**
@@ -392,22 +396,22 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return An {@link UInt384} with the value {@code this - other}.
    */
   public UInt384 subtract(UInt256 other) {
-    UInt256 newLow = this.low.subtract(other);
-    // Hacker's Delight section 2-13:
-    // "The following branch-free code can be used to compute the
-    // overflow predicate for unsigned add/subtract, with the result
-    // being in the sign position."
-    // Note that the use of method calls and the ternary operator
-    // very likely precludes this from being branch-free in java.
-    UInt128 newHigh =
-        this.low
-                .shiftRight()
-                .subtract(other.low.shiftRight())
-                .subtract(this.low.invert().and(other).and(UInt256.ONE))
-                .isHighBitSet()
-            ? this.high.decrement()
-            : this.high;
-    return UInt384.from(newHigh, newLow);
+    return subtract(0L, 0L, other.w3, other.w2, other.w1, other.w0);
+  }
+
+  private UInt384 subtract(long o5, long o4, long o3, long o2, long o1, long o0) {
+    long r0 = this.w0 - o0;
+    long b = UIntLimbs.borrow(this.w0, o0, 0L);
+    long r1 = this.w1 - o1 - b;
+    b = UIntLimbs.borrow(this.w1, o1, b);
+    long r2 = this.w2 - o2 - b;
+    b = UIntLimbs.borrow(this.w2, o2, b);
+    long r3 = this.w3 - o3 - b;
+    b = UIntLimbs.borrow(this.w3, o3, b);
+    long r4 = this.w4 - o4 - b;
+    b = UIntLimbs.borrow(this.w4, o4, b);
+    long r5 = this.w5 - o5 - b;
+    return new UInt384(r5, r4, r3, r2, r1, r0);
   }
 
   /**
@@ -416,9 +420,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return This number incremented by one.
    */
   public UInt384 increment() {
-    UInt256 l = this.low.increment();
-    UInt128 h = l.isZero() ? this.high.increment() : this.high;
-    return UInt384.from(h, l);
+    return add(0L, 0L, 0L, 0L, 0L, 1L);
   }
 
   /**
@@ -427,9 +429,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return This number decremented by one.
    */
   public UInt384 decrement() {
-    UInt256 l = this.low.decrement();
-    UInt128 h = this.low.isZero() ? this.high.decrement() : this.high;
-    return UInt384.from(h, l);
+    return subtract(0L, 0L, 0L, 0L, 0L, 1L);
   }
 
   /**
@@ -439,19 +439,99 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return The result {@code this * multiplicand}.
    */
   public UInt384 multiply(UInt384 multiplicand) {
-    // Russian peasant
-    UInt384 result = UInt384.ZERO;
-    UInt384 multiplier = this;
-
-    while (!multiplicand.isZero()) {
-      if (multiplicand.isOdd()) {
-        result = result.add(multiplier);
-      }
-
-      multiplier = multiplier.shiftLeft();
-      multiplicand = multiplicand.shiftRight();
-    }
-    return result;
+    // Schoolbook long multiplication base 2^64, truncated to 384 bits.
+    final long a0 = this.w0;
+    final long a1 = this.w1;
+    final long a2 = this.w2;
+    final long a3 = this.w3;
+    final long a4 = this.w4;
+    final long a5 = this.w5;
+    final long b0 = multiplicand.w0;
+    final long b1 = multiplicand.w1;
+    final long b2 = multiplicand.w2;
+    final long b3 = multiplicand.w3;
+    final long b4 = multiplicand.w4;
+    final long b5 = multiplicand.w5;
+
+    // a * b0
+    long r0 = a0 * b0;
+    long carry = UIntLimbs.multiplyHigh(a0, b0);
+    long p = a1 * b0;
+    long r1 = p + carry;
+    carry = UIntLimbs.multiplyHigh(a1, b0) + UIntLimbs.carry(r1, p);
+    p = a2 * b0;
+    long r2 = p + carry;
+    carry = UIntLimbs.multiplyHigh(a2, b0) + UIntLimbs.carry(r2, p);
+    p = a3 * b0;
+    long r3 = p + carry;
+    carry = UIntLimbs.multiplyHigh(a3, b0) + UIntLimbs.carry(r3, p);
+    p = a4 * b0;
+    long r4 = p + carry;
+    carry = UIntLimbs.multiplyHigh(a4, b0) + UIntLimbs.carry(r4, p);
+    long r5 = a5 * b0 + carry;
+
+    // a * b1, shifted one limb
+    p = a0 * b1;
+    long s = r1 + p;
+    carry = UIntLimbs.multiplyHigh(a0, b1) + UIntLimbs.carry(s, p);
+    r1 = s;
+    p = a1 * b1;
+    s = r2 + p;
+    long high = UIntLimbs.multiplyHigh(a1, b1) + UIntLimbs.carry(s, p);
+    r2 = s + carry;
+    carry = high + UIntLimbs.carry(r2, s);
+    p = a2 * b1;
+    s = r3 + p;
+    high = UIntLimbs.multiplyHigh(a2, b1) + UIntLimbs.carry(s, p);
+    r3 = s + carry;
+    carry = high + UIntLimbs.carry(r3, s);
+    p = a3 * b1;
+    s = r4 + p;
+    high = UIntLimbs.multiplyHigh(a3, b1) + UIntLimbs.carry(s, p);
+    r4 = s + carry;
+    carry = high + UIntLimbs.carry(r4, s);
+    r5 += a4 * b1 + carry;
+
+    // a * b2, shifted two limbs
+    p = a0 * b2;
+    s = r2 + p;
+    carry = UIntLimbs.multiplyHigh(a0, b2) + UIntLimbs.carry(s, p);
+    r2 = s;
+    p = a1 * b2;
+    s = r3 + p;
+    high = UIntLimbs.multiplyHigh(a1, b2) + UIntLimbs.carry(s, p);
+    r3 = s + carry;
+    carry = high + UIntLimbs.carry(r3, s);
+    p = a2 * b2;
+    s = r4 + p;
+    high = UIntLimbs.multiplyHigh(a2, b2) + UIntLimbs.carry(s, p);
+    r4 = s + carry;
+    carry = high + UIntLimbs.carry(r4, s);
+    r5 += a3 * b2 + carry;
+
+    // a * b3, shifted three limbs
+    p = a0 * b3;
+    s = r3 + p;
+    carry = UIntLimbs.multiplyHigh(a0, b3) + UIntLimbs.carry(s, p);
+    r3 = s;
+    p = a1 * b3;
+    s = r4 + p;
+    high = UIntLimbs.multiplyHigh(a1, b3) + UIntLimbs.carry(s, p);
+    r4 = s + carry;
+    carry = high + UIntLimbs.carry(r4, s);
+    r5 += a2 * b3 + carry;
+
+    // a * b4, shifted four limbs
+    p = a0 * b4;
+    s = r4 + p;
+    carry = UIntLimbs.multiplyHigh(a0, b4) + UIntLimbs.carry(s, p);
+    r4 = s;
+    r5 += a1 * b4 + carry;
+
+    // a * b5, shifted five limbs
+    r5 += a0 * b5;
+
+    return new UInt384(r5, r4, r3, r2, r1, r0);
   }
 
   /**
@@ -461,19 +541,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return The result {@code this * multiplicand}.
    */
   public UInt384 multiply(UInt256 multiplicand) {
-    // Russian peasant
-    UInt384 result = UInt384.ZERO;
-    UInt384 multiplier = this;
-
-    while (!multiplicand.isZero()) {
-      if (multiplicand.isOdd()) {
-        result = result.add(multiplier);
-      }
-
-      multiplier = multiplier.shiftLeft();
-      multiplicand = multiplicand.shiftRight();
-    }
-    return result;
+    return multiply(UInt384.from(multiplicand));
   }
 
   /**
@@ -487,22 +555,25 @@ public final class UInt384 implements Comparable<UInt384> {
     if (divisor.isZero()) {
       throw new IllegalArgumentException("Can't divide by zero");
     }
-    UInt384 q = UInt384.ZERO;
-    UInt384 r = UInt384.ZERO;
-    UInt384 n = this;
-    for (int i = 0; i < SIZE; ++i) {
-      r = r.shiftLeft();
-      q = q.shiftLeft();
-      if (n.high.isHighBitSet()) {
-        r = r.or(UInt384.ONE);
-      }
-      n = n.shiftLeft();
-      if (r.compareTo(divisor) >= 0) {
-        r = r.subtract(divisor);
-        q = q.or(UInt384.ONE);
-      }
+    if (divisor.isShortDivisor()) {
+      long d = divisor.w0;
+      long q5 = UIntLimbs.divideLimb(0L, this.w5, d);
+      long r = this.w5 - q5 * d;
+      long q4 = UIntLimbs.divideLimb(r, this.w4, d);
+      r = this.w4 - q4 * d;
+      long q3 = UIntLimbs.divideLimb(r, this.w3, d);
+      r = this.w3 - q3 * d;
+      long q2 = UIntLimbs.divideLimb(r, this.w2, d);
+      r = this.w2 - q2 * d;
+      long q1 = UIntLimbs.divideLimb(r, this.w1, d);
+      r = this.w1 - q1 * d;
+      long q0 = UIntLimbs.divideLimb(r, this.w0, d);
+      return new UInt384(q5, q4, q3, q2, q1, q0);
     }
-    return q;
+    if (compareTo(divisor) < 0) {
+      return ZERO;
+    }
+    return fromLimbs(UIntLimbs.divide(toLimbs(), divisor.toLimbs(), false));
   }
 
   /**
@@ -513,25 +584,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @throws IllegalArgumentException if {@code divisor} is zero
    */
   public UInt384 divide(UInt256 divisor) {
-    if (divisor.isZero()) {
-      throw new IllegalArgumentException("Can't divide by zero");
-    }
-    UInt384 q = UInt384.ZERO;
-    UInt384 r = UInt384.ZERO;
-    UInt384 n = this;
-    for (int i = 0; i < SIZE; ++i) {
-      r = r.shiftLeft();
-      q = q.shiftLeft();
-      if (n.high.isHighBitSet()) {
-        r = r.or(UInt384.ONE);
-      }
-      n = n.shiftLeft();
-      if (!r.high.isZero() || (r.low.compareTo(divisor) >= 0)) {
-        r = r.subtract(divisor);
-        q = q.or(UInt384.ONE);
-      }
-    }
-    return q;
+    return divide(UInt384.from(divisor));
   }
 
   /**
@@ -544,19 +597,26 @@ public final class UInt384 implements Comparable<UInt384> {
     if (divisor.isZero()) {
       throw new IllegalArgumentException("Can't divide by zero");
     }
-    UInt384 r = UInt384.ZERO;
-    UInt384 n = this;
-    for (int i = 0; i < SIZE; ++i) {
-      r = r.shiftLeft();
-      if (n.high.isHighBitSet()) {
-        r = r.or(UInt384.ONE);
-      }
-      n = n.shiftLeft();
-      if (r.compareTo(divisor) >= 0) {
-        r = r.subtract(divisor);
-      }
+    if (divisor.isShortDivisor()) {
+      long d = divisor.w0;
+      long r = this.w5 - UIntLimbs.divideLimb(0L, this.w5, d) * d;
+      r = this.w4 - UIntLimbs.divideLimb(r, this.w4, d) * d;
+      r = this.w3 - UIntLimbs.divideLimb(r, this.w3, d) * d;
+      r = this.w2 - UIntLimbs.divideLimb(r, this.w2, d) * d;
+      r = this.w1 - UIntLimbs.divideLimb(r, this.w1, d) * d;
+      r = this.w0 - UIntLimbs.divideLimb(r, this.w0, d) * d;
+      return from(r);
+    }
+    if (compareTo(divisor) < 0) {
+      return this;
     }
-    return r;
+    return fromLimbs(UIntLimbs.divide(toLimbs(), divisor.toLimbs(), true));
+  }
+
+  // True if this value fits into a single 32-bit digit
+  private boolean isShortDivisor() {
+    return (this.w5 | this.w4 | this.w3 | this.w2 | this.w1) == 0
+        && Long.compareUnsigned(this.w0, SHORT_DIVISOR_BOUND) < 0;
   }
 
   /**
@@ -614,18 +674,23 @@ public final class UInt384 implements Comparable<UInt384> {
     return res;
   }
 
+  /**
+   * Shifts {@code this} left 1 bit. A zero bit is moved into the rightmost bit.
+   *
+   * @return The result of shifting {@code this} left one bit.
   /**
    * Shifts {@code this} left 1 bit. A zero bit is moved into the rightmost bit.
    *
    * @return The result of shifting {@code this} left one bit.
    */
   public UInt384 shiftLeft() {
-    UInt128 h = this.high.shiftLeft();
-    if (this.low.isHighBitSet()) {
-      h = h.or(UInt128.ONE);
-    }
-    UInt256 l = this.low.shiftLeft();
-    return UInt384.from(h, l);
+    return new UInt384(
+        (this.w5 << 1) | (this.w4 >>> 63),
+        (this.w4 << 1) | (this.w3 >>> 63),
+        (this.w3 << 1) | (this.w2 >>> 63),
+        (this.w2 << 1) | (this.w1 >>> 63),
+        (this.w1 << 1) | (this.w0 >>> 63),
+        this.w0 << 1);
   }
 
   /**
@@ -641,29 +706,46 @@ public final class UInt384 implements Comparable<UInt384> {
     } else if (n < 0) {
       return shiftRight(-n); // -ve left shift is right shift
     }
-    UInt256 h = (n >= UInt256.SIZE) ? this.low : UInt256.from(this.high);
-    UInt256 l = (n >= UInt256.SIZE) ? UInt256.ZERO : this.low;
-    int r = n % UInt256.SIZE;
-    if (r > 0) {
-      UInt256 c = l.shiftRight(UInt256.SIZE - r);
-      h = h.shiftLeft(r).or(c);
-      l = l.shiftLeft(r);
+    long r5 = this.w5;
+    long r4 = this.w4;
+    long r3 = this.w3;
+    long r2 = this.w2;
+    long r1 = this.w1;
+    long r0 = this.w0;
+    for (int limbs = n / Long.SIZE; limbs > 0; limbs--) {
+      r5 = r4;
+      r4 = r3;
+      r3 = r2;
+      r2 = r1;
+      r1 = r0;
+      r0 = 0L;
     }
-    return UInt384.from(h.low, l);
+    int bits = n % Long.SIZE;
+    if (bits > 0) {
+      int carryBits = Long.SIZE - bits;
+      r5 = (r5 << bits) | (r4 >>> carryBits);
+      r4 = (r4 << bits) | (r3 >>> carryBits);
+      r3 = (r3 << bits) | (r2 >>> carryBits);
+      r2 = (r2 << bits) | (r1 >>> carryBits);
+      r1 = (r1 << bits) | (r0 >>> carryBits);
+      r0 <<= bits;
+    }
+    return new UInt384(r5, r4, r3, r2, r1, r0);
   }
 
   /**
-   * Shifts {@code this} right 1 bit. A zero bit is moved into the into the left bit.
+   * Shifts {@code this} right 1 bit. A zero bit is moved into the into the leftmost bit.
    *
    * @return The result of arithmetic shifting {@code this} right one bit.
    */
   public UInt384 shiftRight() {
-    UInt128 h = this.high.shiftRight();
-    UInt256 l = this.low.shiftRight();
-    if (this.high.isOdd()) {
-      l = l.or(UInt256.HIGH_BIT);
-    }
-    return UInt384.from(h, l);
+    return new UInt384(
+        this.w5 >>> 1,
+        (this.w4 >>> 1) | (this.w5 << 63),
+        (this.w3 >>> 1) | (this.w4 << 63),
+        (this.w2 >>> 1) | (this.w3 << 63),
+        (this.w1 >>> 1) | (this.w2 << 63),
+        (this.w0 >>> 1) | (this.w1 << 63));
   }
 
   /**
@@ -679,15 +761,31 @@ public final class UInt384 implements Comparable<UInt384> {
     } else if (n < 0) {
       return shiftLeft(-n); // -ve right shift is left shift
     }
-    UInt256 h = (n >= UInt256.SIZE) ? UInt256.ZERO : UInt256.from(this.high);
-    UInt256 l = (n >= UInt256.SIZE) ? UInt256.from(this.high) : this.low;
-    int r = n % UInt256.SIZE;
-    if (r > 0) {
-      UInt256 c = h.shiftLeft(UInt256.SIZE - r);
-      h = h.shiftRight(r);
-      l = l.shiftRight(r).or(c);
+    long r5 = this.w5;
+    long r4 = this.w4;
+    long r3 = this.w3;
+    long r2 = this.w2;
+    long r1 = this.w1;
+    long r0 = this.w0;
+    for (int limbs = n / Long.SIZE; limbs > 0; limbs--) {
+      r0 = r1;
+      r1 = r2;
+      r2 = r3;
+      r3 = r4;
+      r4 = r5;
+      r5 = 0L;
+    }
+    int bits = n % Long.SIZE;
+    if (bits > 0) {
+      int carryBits = Long.SIZE - bits;
+      r0 = (r0 >>> bits) | (r1 << carryBits);
+      r1 = (r1 >>> bits) | (r2 << carryBits);
+      r2 = (r2 >>> bits) | (r3 << carryBits);
+      r3 = (r3 >>> bits) | (r4 << carryBits);
+      r4 = (r4 >>> bits) | (r5 << carryBits);
+      r5 >>>= bits;
     }
-    return UInt384.from(h.low, l);
+    return new UInt384(r5, r4, r3, r2, r1, r0);
   }
 
   /**
@@ -696,14 +794,26 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return The logical inverse of {@code this}.
    */
   public UInt384 invert() {
-    return UInt384.from(this.high.invert(), this.low.invert());
+    return new UInt384(~this.w5, ~this.w4, ~this.w3, ~this.w2, ~this.w1, ~this.w0);
   }
 
   @Override
   public int compareTo(UInt384 n) {
-    int cmp = this.high.compareTo(n.high);
+    int cmp = Long.compareUnsigned(this.w5, n.w5);
     if (cmp == 0) {
-      cmp = this.low.compareTo(n.low);
+      cmp = Long.compareUnsigned(this.w4, n.w4);
+      if (cmp == 0) {
+        cmp = Long.compareUnsigned(this.w3, n.w3);
+        if (cmp == 0) {
+          cmp = Long.compareUnsigned(this.w2, n.w2);
+          if (cmp == 0) {
+            cmp = Long.compareUnsigned(this.w1, n.w1);
+            if (cmp == 0) {
+              cmp = Long.compareUnsigned(this.w0, n.w0);
+            }
+          }
+        }
+      }
     }
     return cmp;
   }
@@ -714,7 +824,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return the most significant half-word.
    */
   public UInt128 getHigh() {
-    return this.high;
+    return UInt128.from(this.w5, this.w4);
   }
 
   /**
@@ -723,7 +833,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return the least significant word.
    */
   public UInt256 getLow() {
-    return this.low;
+    return new UInt256(this.w3, this.w2, this.w1, this.w0);
   }
 
   /**
@@ -733,7 +843,13 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return {@code this | other}
    */
   public UInt384 or(UInt384 other) {
-    return UInt384.from(this.high.or(other.high), this.low.or(other.low));
+    return new UInt384(
+        this.w5 | other.w5,
+        this.w4 | other.w4,
+        this.w3 | other.w3,
+        this.w2 | other.w2,
+        this.w1 | other.w1,
+        this.w0 | other.w0);
   }
 
   /**
@@ -743,7 +859,13 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return {@code this & other}
    */
   public UInt384 and(UInt384 other) {
-    return UInt384.from(this.high.and(other.high), this.low.and(other.low));
+    return new UInt384(
+        this.w5 & other.w5,
+        this.w4 & other.w4,
+        this.w3 & other.w3,
+        this.w2 & other.w2,
+        this.w1 & other.w1,
+        this.w0 & other.w0);
   }
 
   /**
@@ -753,7 +875,13 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return {@code this ^ other}
    */
   public UInt384 xor(UInt384 other) {
-    return UInt384.from(this.high.xor(other.high), this.low.xor(other.low));
+    return new UInt384(
+        this.w5 ^ other.w5,
+        this.w4 ^ other.w4,
+        this.w3 ^ other.w3,
+        this.w2 ^ other.w2,
+        this.w1 ^ other.w1,
+        this.w0 ^ other.w0);
   }
 
   /**
@@ -775,9 +903,18 @@ public final class UInt384 implements Comparable<UInt384> {
    *     is equal to zero.
    */
   public int numberOfLeadingZeros() {
-    return this.high.isZero()
-        ? UInt128.SIZE + this.low.numberOfLeadingZeros()
-        : this.high.numberOfLeadingZeros();
+    if (this.w5 != 0) {
+      return Long.numberOfLeadingZeros(this.w5);
+    } else if (this.w4 != 0) {
+      return Long.SIZE + Long.numberOfLeadingZeros(this.w4);
+    } else if (this.w3 != 0) {
+      return 2 * Long.SIZE + Long.numberOfLeadingZeros(this.w3);
+    } else if (this.w2 != 0) {
+      return 3 * Long.SIZE + Long.numberOfLeadingZeros(this.w2);
+    } else if (this.w1 != 0) {
+      return 4 * Long.SIZE + Long.numberOfLeadingZeros(this.w1);
+    }
+    return 5 * Long.SIZE + Long.numberOfLeadingZeros(this.w0);
   }
 
   /**
@@ -786,7 +923,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return {@code true} if the {@link UInt128} has its high bit set.
    */
   public boolean isHighBitSet() {
-    return this.high.isHighBitSet();
+    return this.w5 < 0;
   }
 
   /**
@@ -795,7 +932,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return {@code true} if {@code this} is zero.
    */
   public boolean isZero() {
-    return this.high.isZero() && this.low.isZero();
+    return (this.w5 | this.w4 | this.w3 | this.w2 | this.w1 | this.w0) == 0;
   }
 
   /**
@@ -804,7 +941,7 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return {@code true} if {@code this} is an even number.
    */
   public boolean isEven() {
-    return this.low.isEven();
+    return (this.w0 & 1) == 0;
   }
 
   /**
@@ -813,12 +950,17 @@ public final class UInt384 implements Comparable<UInt384> {
    * @return {@code true} if {@code this} is an odd number.
    */
   public boolean isOdd() {
-    return this.low.isOdd();
+    return (this.w0 & 1) != 0;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(this.high) * 31 + Objects.hashCode(this.low);
+    int hash = Long.hashCode(this.w5);
+    hash = hash * 31 + Long.hashCode(this.w4);
+    hash = hash * 31 + Long.hashCode(this.w3);
+    hash = hash * 31 + Long.hashCode(this.w2);
+    hash = hash * 31 + Long.hashCode(this.w1);
+    return hash * 31 + Long.hashCode(this.w0);
   }
 
   @Override
@@ -830,7 +972,12 @@ public final class UInt384 implements Comparable<UInt384> {
 
     if (obj instanceof UInt384) {
       UInt384 other = (UInt384) obj;
-      return Objects.equals(this.high, other.high) && Objects.equals(this.low, other.low);
+      return this.w5 == other.w5
+          && this.w4 == other.w4
+          && this.w3 == other.w3
+          && this.w2 == other.w2
+          && this.w1 == other.w1
+          && this.w0 == other.w0;
     }
     return false;
   }
@@ -881,7 +1028,7 @@ public final class UInt384 implements Comparable<UInt384> {
     UInt384 r = UInt384.from(radix);
     while (!n.isZero()) {
       UInt384 digit = n.remainder(r);
-      sb.append(Character.forDigit(digit.low.low.low, radix));
+      sb.append(Character.forDigit((int) digit.w0, radix));
       n = n.divide(r);
     }
     return sb.reverse().toString();
@@ -0,0 +1,160 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.utils;
+
+import com.radixdlt.SecurityCritical;
+import com.radixdlt.SecurityCritical.SecurityKind;
+
+/**
+ * A mutable 384-bit unsigned accumulator for summing {@link UInt256} and {@link UInt384} values,
+ * for example when reducing balances, without allocating an intermediate value for every step.
+ * Additions wrap around on overflow in the same way as {@link UInt384#add(UInt384)}.
+ *
+ * <p>Instances are not thread safe.
+ */
+@SecurityCritical(SecurityKind.NUMERIC)
+public final class UInt384Accumulator {
+  // As in UInt384, w5 is the most significant limb
+  private long w5;
+  private long w4;
+  private long w3;
+  private long w2;
+  private long w1;
+  private long w0;
+
+  private UInt384Accumulator() {}
+
+  /** Returns a new accumulator with a value of zero. */
+  public static UInt384Accumulator zero() {
+    return new UInt384Accumulator();
+  }
+
+  /**
+   * Adds {@code value} to this accumulator.
+   *
+   * @param value The addend.
+   * @return {@code this}
+   */
+  public UInt384Accumulator add(UInt256 value) {
+    return add(0L, 0L, value.w3, value.w2, value.w1, value.w0);
+  }
+
+  /**
+   * Adds {@code value} to this accumulator.
+   *
+   * @param value The addend.
+   * @return {@code this}
+   */
+  public UInt384Accumulator add(UInt384 value) {
+    return add(value.w5, value.w4, value.w3, value.w2, value.w1, value.w0);
+  }
+
+  private UInt384Accumulator add(long o5, long o4, long o3, long o2, long o1, long o0) {
+    long r = this.w0 + o0;
+    long c = UIntLimbs.carry(r, o0);
+    this.w0 = r;
+    long t = this.w1 + o1;
+    r = t + c;
+    c = UIntLimbs.carry(t, o1) | UIntLimbs.carry(r, t);
+    this.w1 = r;
+    t = this.w2 + o2;
+    r = t + c;
+    c = UIntLimbs.carry(t, o2) | UIntLimbs.carry(r, t);
+    this.w2 = r;
+    t = this.w3 + o3;
+    r = t + c;
+    c = UIntLimbs.carry(t, o3) | UIntLimbs.carry(r, t);
+    this.w3 = r;
+    t = this.w4 + o4;
+    r = t + c;
+    c = UIntLimbs.carry(t, o4) | UIntLimbs.carry(r, t);
+    this.w4 = r;
+    this.w5 += o5 + c;
+    return this;
+  }
+
+  /**
+   * Returns {@code true} if the accumulated value is zero.
+   *
+   * @return {@code true} if the accumulated value is zero.
+   */
+  public boolean isZero() {
+    return (this.w5 | this.w4 | this.w3 | this.w2 | this.w1 | this.w0) == 0;
+  }
+
+  /**
+   * Returns the accumulated value.
+   *
+   * @return the accumulated value as an immutable {@link UInt384}.
+   */
+  public UInt384 toUInt384() {
+    return new UInt384(this.w5, this.w4, this.w3, this.w2, this.w1, this.w0);
+  }
+
+  @Override
+  public String toString() {
+    return toUInt384().toString();
+  }
+}
@@ -0,0 +1,246 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.utils;
+
+/**
+ * Arithmetic helpers for the flat 64-bit limb representations used by {@link UInt256} and {@link
+ * UInt384}. Limbs are unsigned; arrays of limbs are least significant limb first.
+ */
+final class UIntLimbs {
+  // Mask of int bits as a long
+  private static final long INT_MASK = (1L << Integer.SIZE) - 1L;
+
+  private UIntLimbs() {
+    throw new IllegalStateException("Can't construct");
+  }
+
+  /** Returns the carry out of {@code sum = addend + x}, that is 1 if the addition wrapped. */
+  static long carry(long sum, long addend) {
+    return Long.compareUnsigned(sum, addend) < 0 ? 1L : 0L;
+  }
+
+  /** Returns the borrow out of {@code a - b - borrowIn}, where {@code borrowIn} is 0 or 1. */
+  static long borrow(long a, long b, long borrowIn) {
+    var cmp = Long.compareUnsigned(a, b);
+    return (cmp < 0 || (cmp == 0 && borrowIn != 0)) ? 1L : 0L;
+  }
+
+  /** Returns the most significant 64 bits of the unsigned 128-bit product {@code a * b}. */
+  static long multiplyHigh(long a, long b) {
+    return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+  }
+
+  /**
+   * Divides the unsigned 128-bit value {@code (remainder, limb)} by {@code divisor}, which must be
+   * less than 2<sup>32</sup> and greater than {@code remainder}. The new remainder can be
+   * recovered as {@code limb - quotient * divisor}.
+   */
+  static long divideLimb(long remainder, long limb, long divisor) {
+    long n = (remainder << Integer.SIZE) | (limb >>> Integer.SIZE);
+    long qh = Long.divideUnsigned(n, divisor);
+    n = ((n - qh * divisor) << Integer.SIZE) | (limb & INT_MASK);
+    return (qh << Integer.SIZE) | Long.divideUnsigned(n, divisor);
+  }
+
+  /**
+   * Unsigned long division of {@code dividend} by {@code divisor} using Knuth's algorithm D on 32
+   * bit digits. The divisor must be non-zero.
+   *
+   * @return the quotient, or the remainder if {@code remainder} is true, as an array of the same
+   *     length as {@code dividend}
+   */
+  static long[] divide(long[] dividend, long[] divisor, boolean remainder) {
+    var u = toDigits(dividend);
+    var v = toDigits(divisor);
+    int m = significantDigits(u);
+    int n = significantDigits(v);
+    if (n == 0) {
+      throw new IllegalArgumentException("Can't divide by zero");
+    }
+
+    var result = new long[dividend.length];
+    if (m < n) {
+      return remainder ? copyOf(dividend, result) : result;
+    }
+
+    var q = new int[m - n + 1];
+    var r = new int[n];
+    if (n == 1) {
+      long d = v[0] & INT_MASK;
+      long k = 0;
+      for (int j = m - 1; j >= 0; j--) {
+        long num = (k << Integer.SIZE) | (u[j] & INT_MASK);
+        q[j] = (int) Long.divideUnsigned(num, d);
+        k = num - (q[j] & INT_MASK) * d;
+      }
+      r[0] = (int) k;
+    } else {
+      divideNormalized(u, m, v, n, q, r);
+    }
+
+    return fromDigits(remainder ? r : q, result);
+  }
+
+  // Algorithm D, after "Hacker's Delight" divmnu, for n >= 2 and m >= n
+  private static void divideNormalized(int[] u, int m, int[] v, int n, int[] q, int[] r) {
+    final long b = 1L << Integer.SIZE;
+
+    // Normalize so that the top digit of the divisor has its high bit set
+    int s = Integer.numberOfLeadingZeros(v[n - 1]);
+    var vn = new int[n];
+    for (int i = n - 1; i > 0; i--) {
+      vn[i] = (v[i] << s) | (int) ((v[i - 1] & INT_MASK) >>> (Integer.SIZE - s));
+    }
+    vn[0] = v[0] << s;
+
+    var un = new int[m + 1];
+    un[m] = (int) ((u[m - 1] & INT_MASK) >>> (Integer.SIZE - s));
+    for (int i = m - 1; i > 0; i--) {
+      un[i] = (u[i] << s) | (int) ((u[i - 1] & INT_MASK) >>> (Integer.SIZE - s));
+    }
+    un[0] = u[0] << s;
+
+    long vTop = vn[n - 1] & INT_MASK;
+    long vNext = vn[n - 2] & INT_MASK;
+    for (int j = m - n; j >= 0; j--) {
+      // Estimate the quotient digit and correct it to be at most one too large
+      long num = ((un[j + n] & INT_MASK) << Integer.SIZE) | (un[j + n - 1] & INT_MASK);
+      long qhat = Long.divideUnsigned(num, vTop);
+      long rhat = num - qhat * vTop;
+      while (qhat >= b
+          || Long.compareUnsigned(
+                  qhat * vNext, (rhat << Integer.SIZE) | (un[j + n - 2] & INT_MASK))
+              > 0) {
+        qhat--;
+        rhat += vTop;
+        if (rhat >= b) {
+          break;
+        }
+      }
+
+      // Multiply and subtract
+      long k = 0;
+      long t;
+      for (int i = 0; i < n; i++) {
+        long p = qhat * (vn[i] & INT_MASK);
+        t = (un[i + j] & INT_MASK) - k - (p & INT_MASK);
+        un[i + j] = (int) t;
+        k = (p >>> Integer.SIZE) - (t >> Integer.SIZE);
+      }
+      t = (un[j + n] & INT_MASK) - k;
+      un[j + n] = (int) t;
+
+      q[j] = (int) qhat;
+      if (t < 0) {
+        // Subtracted too much, add back
+        q[j]--;
+        k = 0;
+        for (int i = 0; i < n; i++) {
+          t = (un[i + j] & INT_MASK) + (vn[i] & INT_MASK) + k;
+          un[i + j] = (int) t;
+          k = t >>> Integer.SIZE;
+        }
+        un[j + n] += (int) k;
+      }
+    }
+
+    // Unnormalize the remainder
+    for (int i = 0; i < n - 1; i++) {
+      r[i] =
+          (int)
+              (((un[i] & INT_MASK) >>> s) | ((un[i + 1] & INT_MASK) << (Integer.SIZE - s)));
+    }
+    r[n - 1] = (int) ((un[n - 1] & INT_MASK) >>> s);
+  }
+
+  private static int[] toDigits(long[] limbs) {
+    var digits = new int[limbs.length * 2];
+    for (int i = 0; i < limbs.length; i++) {
+      digits[2 * i] = (int) limbs[i];
+      digits[2 * i + 1] = (int) (limbs[i] >>> Integer.SIZE);
+    }
+    return digits;
+  }
+
+  private static long[] fromDigits(int[] digits, long[] limbs) {
+    for (int i = 0; i < digits.length; i++) {
+      limbs[i / 2] |= (digits[i] & INT_MASK) << ((i % 2) * Integer.SIZE);
+    }
+    return limbs;
+  }
+
+  private static int significantDigits(int[] digits) {
+    int n = digits.length;
+    while (n > 0 && digits[n - 1] == 0) {
+      n--;
+    }
+    return n;
+  }
+
+  private static long[] copyOf(long[] from, long[] to) {
+    System.arraycopy(from, 0, to, 0, from.length);
+    return to;
+  }
+}
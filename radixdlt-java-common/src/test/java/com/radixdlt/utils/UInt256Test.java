@@ -75,6 +75,7 @@ import com.google.common.math.BigIntegerMath;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.Random;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.Test;
 
@@ -220,19 +221,19 @@ public class UInt256Test {
       when_performing_subtraction_underflowing_between_words__the_correct_value_is_returned() {
     // Test subtraction with carry.
     UInt256 carry1 = UInt256.from(UInt128.ONE, UInt128.ZERO).subtract(UInt256.ONE);
-    assertEquals(UInt128.ZERO, carry1.high);
-    assertEquals(UInt128.MAX_VALUE, carry1.low);
+    assertEquals(UInt128.ZERO, carry1.getHigh());
+    assertEquals(UInt128.MAX_VALUE, carry1.getLow());
     UInt256 carry2 = UInt256.ZERO.subtract(UInt256.ONE); // underflow
-    assertEquals(UInt128.MAX_VALUE, carry2.high);
-    assertEquals(UInt128.MAX_VALUE, carry2.low);
+    assertEquals(UInt128.MAX_VALUE, carry2.getHigh());
+    assertEquals(UInt128.MAX_VALUE, carry2.getLow());
 
     // also with half-subtract methods
     UInt256 carry3 = UInt256.from(UInt128.ONE, UInt128.ZERO).subtract(UInt128.ONE);
-    assertEquals(UInt128.ZERO, carry3.high);
-    assertEquals(UInt128.MAX_VALUE, carry3.low);
+    assertEquals(UInt128.ZERO, carry3.getHigh());
+    assertEquals(UInt128.MAX_VALUE, carry3.getLow());
     UInt256 carry4 = UInt256.ZERO.subtract(UInt128.ONE); // underflow
-    assertEquals(UInt128.MAX_VALUE, carry4.high);
-    assertEquals(UInt128.MAX_VALUE, carry4.low);
+    assertEquals(UInt128.MAX_VALUE, carry4.getHigh());
+    assertEquals(UInt128.MAX_VALUE, carry4.getLow());
   }
 
   @Test
@@ -270,6 +271,26 @@ public class UInt256Test {
     assertEquals(UInt256.from(12345678L / 13L), UInt256.from(12345678L).divide(UInt256.from(13L)));
   }
 
+  @Test
+  public void when_multiplying_and_dividing_random_values__the_result_matches_big_integer() {
+    var random = new Random(0x5EED);
+    var modulus = BigInteger.ONE.shiftLeft(UInt256.SIZE);
+    for (int i = 0; i < 10_000; ++i) {
+      var a = new BigInteger(random.nextInt(UInt256.SIZE + 1), random);
+      var b = new BigInteger(random.nextInt(UInt256.SIZE + 1), random).add(BigInteger.ONE);
+      if (b.bitLength() > UInt256.SIZE) {
+        // Incrementing the maximum value overflows, so it can't be represented
+        continue;
+      }
+      var x = UInt256.from(a.toString());
+      var y = UInt256.from(b.toString());
+
+      assertEquals(a.multiply(b).mod(modulus).toString(), x.multiply(y).toString());
+      assertEquals(a.divide(b).toString(), x.divide(y).toString());
+      assertEquals(a.remainder(b).toString(), x.remainder(y).toString());
+    }
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void when_dividing_by_zero__an_exception_is_thrown() {
     UInt256.ONE.divide(UInt256.ZERO);
@@ -556,7 +577,7 @@ public class UInt256Test {
 
   @Test
   public void equalsContract() {
-    EqualsVerifier.forClass(UInt256.class).withNonnullFields("high", "low").verify();
+    EqualsVerifier.forClass(UInt256.class).verify();
   }
 
   /** Test div 0. */
@@ -618,9 +639,9 @@ public class UInt256Test {
   }
 
   private static void assertEqualToLong(long expectedValue, UInt256 testValue) {
-    assertEquals(0, testValue.high.getHigh());
-    assertEquals(0, testValue.high.getLow());
-    assertEquals(0, testValue.low.getHigh());
-    assertEquals(expectedValue, testValue.low.getLow());
+    assertEquals(0, testValue.w3);
+    assertEquals(0, testValue.w2);
+    assertEquals(0, testValue.w1);
+    assertEquals(expectedValue, testValue.w0);
   }
 }
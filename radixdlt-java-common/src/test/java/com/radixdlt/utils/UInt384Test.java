@@ -75,6 +75,7 @@ import com.google.common.math.BigIntegerMath;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.Random;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.Test;
 
@@ -199,19 +200,19 @@ public class UInt384Test {
       when_performing_subtraction_underflowing_between_words__the_correct_value_is_returned() {
     // Test subtraction with carry.
     UInt384 carry1 = UInt384.from(UInt128.ONE, UInt256.ZERO).subtract(UInt384.ONE);
-    assertEquals(UInt128.ZERO, carry1.high);
-    assertEquals(UInt256.MAX_VALUE, carry1.low);
+    assertEquals(UInt128.ZERO, carry1.getHigh());
+    assertEquals(UInt256.MAX_VALUE, carry1.getLow());
     UInt384 carry2 = UInt384.ZERO.subtract(UInt384.ONE); // underflow
-    assertEquals(UInt128.MAX_VALUE, carry2.high);
-    assertEquals(UInt256.MAX_VALUE, carry2.low);
+    assertEquals(UInt128.MAX_VALUE, carry2.getHigh());
+    assertEquals(UInt256.MAX_VALUE, carry2.getLow());
 
     // also with half-subtract methods
     UInt384 carry3 = UInt384.from(UInt128.ONE, UInt256.ZERO).subtract(UInt256.ONE);
-    assertEquals(UInt128.ZERO, carry3.high);
-    assertEquals(UInt256.MAX_VALUE, carry3.low);
+    assertEquals(UInt128.ZERO, carry3.getHigh());
+    assertEquals(UInt256.MAX_VALUE, carry3.getLow());
     UInt384 carry4 = UInt384.ZERO.subtract(UInt256.ONE); // underflow
-    assertEquals(UInt128.MAX_VALUE, carry4.high);
-    assertEquals(UInt256.MAX_VALUE, carry4.low);
+    assertEquals(UInt128.MAX_VALUE, carry4.getHigh());
+    assertEquals(UInt256.MAX_VALUE, carry4.getLow());
   }
 
   @Test
@@ -262,6 +263,26 @@ public class UInt384Test {
     assertEquals(UInt384.from(12345678L / 13L), UInt384.from(12345678L).divide(UInt384.from(13L)));
   }
 
+  @Test
+  public void when_multiplying_and_dividing_random_values__the_result_matches_big_integer() {
+    var random = new Random(0x5EED);
+    var modulus = BigInteger.ONE.shiftLeft(UInt384.SIZE);
+    for (int i = 0; i < 10_000; ++i) {
+      var a = new BigInteger(random.nextInt(UInt384.SIZE + 1), random);
+      var b = new BigInteger(random.nextInt(UInt384.SIZE + 1), random).add(BigInteger.ONE);
+      if (b.bitLength() > UInt384.SIZE) {
+        // Incrementing the maximum value overflows, so it can't be represented
+        continue;
+      }
+      var x = UInt384.from(a.toString());
+      var y = UInt384.from(b.toString());
+
+      assertEquals(a.multiply(b).mod(modulus).toString(), x.multiply(y).toString());
+      assertEquals(a.divide(b).toString(), x.divide(y).toString());
+      assertEquals(a.remainder(b).toString(), x.remainder(y).toString());
+    }
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void when_dividing_by_zero__an_exception_is_thrown() {
     UInt384.ONE.divide(UInt384.ZERO);
@@ -639,6 +660,6 @@ public class UInt384Test {
     assertEquals(UInt128.ZERO, testValue.getHigh());
     assertEquals(UInt128.ZERO, testValue.getLow().getHigh());
     assertEquals(0L, testValue.getLow().getHigh().getHigh());
-    assertEquals(expectedValue, testValue.low.low.getLow());
+    assertEquals(expectedValue, testValue.getLow().getLow().getLow());
   }
 }
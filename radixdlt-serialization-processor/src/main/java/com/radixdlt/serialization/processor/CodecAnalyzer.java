@@ -0,0 +1,666 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.serialization.processor;
+
+import com.radixdlt.serialization.processor.CodecModel.Access;
+import com.radixdlt.serialization.processor.CodecModel.Container;
+import com.radixdlt.serialization.processor.CodecModel.Creator;
+import com.radixdlt.serialization.processor.CodecModel.Kind;
+import com.radixdlt.serialization.processor.CodecModel.Param;
+import com.radixdlt.serialization.processor.CodecModel.Property;
+import com.radixdlt.serialization.processor.CodecModel.Settable;
+import com.radixdlt.serialization.processor.CodecModel.ValueType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Decides whether a {@code @SerializerId2} class can be handled by a generated codec, and builds
+ * the {@link CodecModel} for it.
+ *
+ * <p>A codec is only generated where the behaviour of the Jackson configuration used for DSON can
+ * be reproduced exactly: final, non-generic classes with a single properties-based {@code
+ * JsonCreator}, whose properties are declared with {@code @JsonProperty} and {@code @DsonOutput}
+ * only, and whose property types are understood. Any other class is left to Jackson.
+ */
+final class CodecAnalyzer {
+  static final String SERIALIZER_ID2 = "com.radixdlt.serialization.SerializerId2";
+  static final String DSON_OUTPUT = "com.radixdlt.serialization.DsonOutput";
+  static final String SERIALIZER_DUMMY = "com.radixdlt.serialization.SerializerDummy";
+  static final String SERIALIZER_NAME = "sz";
+  static final String CODEC_SUFFIX = "DsonCodec";
+
+  private static final String JACKSON_PREFIX = "com.fasterxml.jackson.";
+  private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+  private static final String JSON_CREATOR = "com.fasterxml.jackson.annotation.JsonCreator";
+  private static final List<String> OUTPUTS = List.of("HASH", "API", "WIRE", "PERSIST");
+
+  private static final Map<String, Kind> SCALARS =
+      Map.ofEntries(
+          Map.entry("java.lang.Long", Kind.LONG_OBJECT),
+          Map.entry("java.lang.Integer", Kind.INTEGER_OBJECT),
+          Map.entry("java.lang.Boolean", Kind.BOOLEAN_OBJECT),
+          Map.entry("java.lang.String", Kind.STRING),
+          Map.entry("com.radixdlt.identifiers.EUID", Kind.EUID),
+          Map.entry("com.google.common.hash.HashCode", Kind.HASH),
+          Map.entry("com.radixdlt.utils.UInt256", Kind.UINT256),
+          Map.entry("com.radixdlt.utils.UInt384", Kind.UINT384),
+          Map.entry("com.radixdlt.identifiers.REAddr", Kind.READDR),
+          Map.entry("com.radixdlt.identifiers.AID", Kind.AID),
+          Map.entry("java.time.Instant", Kind.INSTANT),
+          Map.entry(SERIALIZER_DUMMY, Kind.DUMMY));
+
+  private static final Map<String, Container> CONTAINERS =
+      Map.of(
+          "java.util.List", Container.LIST,
+          "java.util.Collection", Container.COLLECTION,
+          "java.util.Set", Container.SET,
+          "com.google.common.collect.ImmutableList", Container.IMMUTABLE_LIST,
+          "com.google.common.collect.ImmutableSet", Container.IMMUTABLE_SET,
+          "java.util.Map", Container.MAP,
+          "com.google.common.collect.ImmutableMap", Container.IMMUTABLE_MAP);
+
+  /** Thrown when a class can't be handled by a generated codec. */
+  static final class UnsupportedException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    UnsupportedException(String message) {
+      super(message, null, false, false);
+    }
+  }
+
+  private final Elements elements;
+  private final Types types;
+  private final Set<TypeElement> roundTypes;
+  private final Map<TypeElement, Optional<CodecModel>> analyzed = new HashMap<>();
+  private final Map<TypeElement, String> reasons = new HashMap<>();
+  private final Set<TypeElement> inProgress = new HashSet<>();
+
+  CodecAnalyzer(ProcessingEnvironment env, Set<TypeElement> roundTypes) {
+    this.elements = env.getElementUtils();
+    this.types = env.getTypeUtils();
+    this.roundTypes = roundTypes;
+  }
+
+  /**
+   * Analyze a class, returning the model of its codec if one can be generated.
+   *
+   * @param type the class to analyze
+   * @return the codec model, or empty if the class is left to Jackson
+   */
+  Optional<CodecModel> analyze(TypeElement type) {
+    var result = analyzed.get(type);
+    if (result == null) {
+      inProgress.add(type);
+      try {
+        result = Optional.of(build(type));
+      } catch (UnsupportedException e) {
+        reasons.put(type, e.getMessage());
+        result = Optional.empty();
+      } finally {
+        inProgress.remove(type);
+      }
+      analyzed.put(type, result);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the reason why no codec is generated for a class.
+   *
+   * @param type the class
+   * @return the reason, or {@code null} if a codec is generated
+   */
+  String reason(TypeElement type) {
+    return reasons.get(type);
+  }
+
+  static String codecSimpleName(TypeElement type) {
+    var name = new StringBuilder(type.getSimpleName());
+    var e = type.getEnclosingElement();
+    for (; e instanceof TypeElement; e = e.getEnclosingElement()) {
+      name.insert(0, '_').insert(0, e.getSimpleName());
+    }
+    return name.append(CODEC_SUFFIX).toString();
+  }
+
+  String codecName(TypeElement type) {
+    var pkg = elements.getPackageOf(type).getQualifiedName().toString();
+    return pkg.isEmpty() ? codecSimpleName(type) : pkg + "." + codecSimpleName(type);
+  }
+
+  private CodecModel build(TypeElement type) throws UnsupportedException {
+    if (type.getKind() != ElementKind.CLASS
+        || !type.getModifiers().contains(Modifier.FINAL)
+        || !type.getTypeParameters().isEmpty()) {
+      throw new UnsupportedException("not a final, non-generic class");
+    }
+    if (type.getEnclosingElement() instanceof TypeElement
+        && !type.getModifiers().contains(Modifier.STATIC)) {
+      throw new UnsupportedException("inner class");
+    }
+    var pkg = elements.getPackageOf(type);
+    if (!isNameableFrom(type, pkg)) {
+      throw new UnsupportedException("class is not accessible from its package");
+    }
+    var serializerId = stringValue(annotation(type, SERIALIZER_ID2), "value");
+
+    var hierarchy = new ArrayList<TypeElement>();
+    for (TypeElement cls = type; cls != null; cls = superclass(cls)) {
+      hierarchy.add(cls);
+    }
+    checkInterfaces(type, new HashSet<>());
+
+    var properties = new ArrayList<Property>();
+    var fieldProperties = new HashMap<String, VariableElement>();
+    var seenMethods = new HashSet<String>();
+    for (TypeElement cls : hierarchy) {
+      checkAnnotations(cls, Set.of(SERIALIZER_ID2));
+      for (VariableElement field : ElementFilter.fieldsIn(cls.getEnclosedElements())) {
+        checkAnnotations(field, Set.of(JSON_PROPERTY, DSON_OUTPUT));
+        var jsonProperty = annotation(field, JSON_PROPERTY);
+        var dsonOutput = annotation(field, DSON_OUTPUT);
+        if (jsonProperty == null && dsonOutput == null) {
+          continue;
+        }
+        var name = propertyName(field, jsonProperty, dsonOutput);
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+          throw new UnsupportedException("static property " + name);
+        }
+        var valueType = resolve(field.asType(), pkg);
+        checkDummy(name, valueType);
+        properties.add(
+            new Property(
+                name,
+                outputs(dsonOutput),
+                true,
+                field.getSimpleName().toString(),
+                binaryName(cls),
+                isAccessible(field, cls, pkg) ? Access.DIRECT : Access.HANDLE,
+                valueType));
+        fieldProperties.put(name, field);
+      }
+      for (ExecutableElement method : ElementFilter.methodsIn(cls.getEnclosedElements())) {
+        checkAnnotations(
+            method,
+            cls == type
+                ? Set.of(JSON_PROPERTY, DSON_OUTPUT, JSON_CREATOR)
+                : Set.of(JSON_PROPERTY, DSON_OUTPUT));
+        var jsonProperty = annotation(method, JSON_PROPERTY);
+        var dsonOutput = annotation(method, DSON_OUTPUT);
+        var getterLike = method.getParameters().isEmpty();
+        if (jsonProperty == null && dsonOutput == null) {
+          if (getterLike && !method.getModifiers().contains(Modifier.STATIC)) {
+            seenMethods.add(method.getSimpleName().toString());
+          }
+          continue;
+        }
+        var name = propertyName(method, jsonProperty, dsonOutput);
+        if (method.getModifiers().contains(Modifier.STATIC)
+            || !getterLike
+            || method.getReturnType().getKind() == TypeKind.VOID
+            || !method.getTypeParameters().isEmpty()) {
+          throw new UnsupportedException("property " + name + " is not a getter");
+        }
+        if (!seenMethods.add(method.getSimpleName().toString())) {
+          throw new UnsupportedException("property " + name + " is overridden");
+        }
+        var valueType = resolve(method.getReturnType(), pkg);
+        checkDummy(name, valueType);
+        properties.add(
+            new Property(
+                name,
+                outputs(dsonOutput),
+                false,
+                method.getSimpleName().toString(),
+                binaryName(cls),
+                isAccessible(method, cls, pkg) ? Access.DIRECT : Access.HANDLE,
+                valueType));
+      }
+    }
+    var names = new HashSet<String>();
+    for (Property property : properties) {
+      if (!names.add(property.name())) {
+        throw new UnsupportedException("duplicate property " + property.name());
+      }
+    }
+    // Jackson sorts properties by name, creator properties are not sorted first
+    properties.sort(Comparator.comparing(Property::name));
+
+    var creator = creator(type, pkg);
+    var creatorNames = new HashSet<String>();
+    creator.params().forEach(param -> creatorNames.add(param.name()));
+
+    var settables = new ArrayList<Settable>();
+    for (Property property : properties) {
+      if (creatorNames.contains(property.name())) {
+        continue;
+      }
+      if (property.isField()) {
+        if (property.valueType().kind() == Kind.DUMMY) {
+          // Placeholder for the serializer ID, never read back
+          continue;
+        }
+        var field = fieldProperties.get(property.name());
+        var direct =
+            property.access() == Access.DIRECT && !field.getModifiers().contains(Modifier.FINAL);
+        settables.add(
+            new Settable(
+                property.name(),
+                property.member(),
+                property.declaringClass(),
+                direct ? Access.DIRECT : Access.HANDLE,
+                property.valueType()));
+      } else if (property.valueType().container() != Container.NONE) {
+        // Jackson would use the getter to populate the returned collection
+        throw new UnsupportedException("setterless collection property " + property.name());
+      }
+    }
+    return new CodecModel(type, serializerId, List.copyOf(properties), creator, settables);
+  }
+
+  private Creator creator(TypeElement type, PackageElement pkg) throws UnsupportedException {
+    var creators = new ArrayList<ExecutableElement>();
+    for (Element e : type.getEnclosedElements()) {
+      if ((e.getKind() == ElementKind.CONSTRUCTOR || e.getKind() == ElementKind.METHOD)
+          && annotation(e, JSON_CREATOR) != null) {
+        creators.add((ExecutableElement) e);
+      }
+    }
+    if (creators.isEmpty()) {
+      return defaultCreator(type);
+    }
+    if (creators.size() != 1) {
+      throw new UnsupportedException("requires at most one @JsonCreator");
+    }
+    var creator = creators.get(0);
+    checkAnnotations(creator, Set.of(JSON_CREATOR));
+    var mode = annotationValue(annotation(creator, JSON_CREATOR), "mode");
+    if (mode != null && !Set.of("DEFAULT", "PROPERTIES").contains(mode.getValue().toString())) {
+      throw new UnsupportedException("unsupported creator mode " + mode.getValue());
+    }
+    if (!creator.getTypeParameters().isEmpty()) {
+      throw new UnsupportedException("generic creator");
+    }
+    String method = null;
+    if (creator.getKind() == ElementKind.METHOD) {
+      if (!creator.getModifiers().contains(Modifier.STATIC)
+          || !types.isSameType(creator.getReturnType(), type.asType())) {
+        throw new UnsupportedException("creator method must be static and return the class");
+      }
+      method = creator.getSimpleName().toString();
+    }
+    var params = new ArrayList<Param>();
+    var names = new HashSet<String>();
+    for (VariableElement param : creator.getParameters()) {
+      checkAnnotations(param, Set.of(JSON_PROPERTY));
+      var jsonProperty = annotation(param, JSON_PROPERTY);
+      var name = jsonProperty == null ? "" : stringValue(jsonProperty, "value");
+      if (name.isEmpty() || !names.add(name)) {
+        throw new UnsupportedException("creator parameters must have unique property names");
+      }
+      if (name.equals(SERIALIZER_NAME)) {
+        throw new UnsupportedException("serializer placeholder as creator parameter");
+      }
+      var required = annotationValue(jsonProperty, "required");
+      var valueType = resolve(param.asType(), pkg);
+      if (valueType.kind() == Kind.DUMMY) {
+        throw new UnsupportedException("serializer placeholder as creator parameter");
+      }
+      params.add(
+          new Param(name, required != null && (Boolean) required.getValue(), valueType));
+    }
+    var access =
+        creator.getModifiers().contains(Modifier.PRIVATE) ? Access.HANDLE : Access.DIRECT;
+    return new Creator(method, access, List.copyOf(params));
+  }
+
+  // Without an explicit creator Jackson uses the no-args constructor, whatever its visibility
+  private Creator defaultCreator(TypeElement type) throws UnsupportedException {
+    ExecutableElement noArgs = null;
+    for (ExecutableElement ctor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      for (VariableElement param : ctor.getParameters()) {
+        if (!param.getAnnotationMirrors().isEmpty()) {
+          throw new UnsupportedException("implicit property-based creator");
+        }
+      }
+      if (ctor.getParameters().isEmpty()) {
+        noArgs = ctor;
+      }
+    }
+    if (noArgs == null) {
+      throw new UnsupportedException("no @JsonCreator or no-args constructor");
+    }
+    var access = noArgs.getModifiers().contains(Modifier.PRIVATE) ? Access.HANDLE : Access.DIRECT;
+    return new Creator(null, access, List.of());
+  }
+
+  private ValueType resolve(TypeMirror type, PackageElement pkg) throws UnsupportedException {
+    if (type.getKind() == TypeKind.DECLARED) {
+      var declared = (DeclaredType) type;
+      var element = (TypeElement) declared.asElement();
+      var container = CONTAINERS.get(element.getQualifiedName().toString());
+      if (container != null) {
+        var args = declared.getTypeArguments();
+        var expected = container.isMap() ? 2 : 1;
+        if (args.size() != expected) {
+          throw new UnsupportedException("raw container type " + type);
+        }
+        if (container.isMap() && !isType(args.get(0), "java.lang.String")) {
+          throw new UnsupportedException("map with non-string keys " + type);
+        }
+        var elementType = args.get(expected - 1);
+        var element1 = resolveScalar(elementType, pkg);
+        if (element1.kind().isPrimitive() || element1.kind() == Kind.DUMMY) {
+          throw new UnsupportedException("unsupported element type " + type);
+        }
+        return new ValueType(type, container, element1.kind(), elementType, element1.codec());
+      }
+    }
+    return resolveScalar(type, pkg);
+  }
+
+  private ValueType resolveScalar(TypeMirror type, PackageElement pkg)
+      throws UnsupportedException {
+    if (type.getKind() == TypeKind.LONG) {
+      return scalar(type, Kind.LONG);
+    }
+    if (type.getKind() == TypeKind.INT) {
+      return scalar(type, Kind.INT);
+    }
+    if (type.getKind() == TypeKind.BOOLEAN) {
+      return scalar(type, Kind.BOOLEAN);
+    }
+    if (type.getKind() == TypeKind.ARRAY) {
+      var component = ((ArrayType) type).getComponentType().getKind();
+      if (component == TypeKind.BYTE) {
+        return scalar(type, Kind.BYTES);
+      }
+      if (component == TypeKind.LONG) {
+        return scalar(type, Kind.LONGS);
+      }
+    }
+    if (type.getKind() != TypeKind.DECLARED) {
+      throw new UnsupportedException("unsupported type " + type);
+    }
+    var declared = (DeclaredType) type;
+    var element = (TypeElement) declared.asElement();
+    var name = element.getQualifiedName().toString();
+    var kind = SCALARS.get(name);
+    if (kind != null) {
+      return scalar(type, kind);
+    }
+    if (!declared.getTypeArguments().isEmpty()
+        || !element.getTypeParameters().isEmpty()
+        || name.equals("java.lang.Object")
+        || name.equals("java.util.Optional")
+        || (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.ENUM)
+        || isSubtype(element, "java.lang.Iterable")
+        || isSubtype(element, "java.util.Map")
+        || !isNameableFrom(element, pkg)) {
+      throw new UnsupportedException("unsupported type " + type);
+    }
+    if (annotation(element, SERIALIZER_ID2) != null && hasCodec(element)) {
+      return new ValueType(type, Container.NONE, Kind.CODEC, type, codecName(element));
+    }
+    return scalar(type, Kind.DELEGATED);
+  }
+
+  private static ValueType scalar(TypeMirror type, Kind kind) {
+    return new ValueType(type, Container.NONE, kind, type, null);
+  }
+
+  private boolean hasCodec(TypeElement element) {
+    if (roundTypes.contains(element)) {
+      return !inProgress.contains(element) && analyze(element).isPresent();
+    }
+    return elements.getTypeElement(codecName(element)) != null;
+  }
+
+  private void checkDummy(String name, ValueType valueType) throws UnsupportedException {
+    var isDummy = valueType.kind() == Kind.DUMMY && valueType.container() == Container.NONE;
+    if (isDummy != name.equals(SERIALIZER_NAME)
+        || (valueType.kind() == Kind.DUMMY && valueType.container() != Container.NONE)) {
+      throw new UnsupportedException("unexpected serializer property " + name);
+    }
+  }
+
+  private void checkInterfaces(TypeElement type, Set<TypeElement> visited)
+      throws UnsupportedException {
+    for (TypeMirror itf : type.getInterfaces()) {
+      var element = (TypeElement) types.asElement(itf);
+      if (visited.add(element)) {
+        checkAnnotations(element, Set.of());
+        for (Element member : element.getEnclosedElements()) {
+          checkAnnotations(member, Set.of());
+        }
+        checkInterfaces(element, visited);
+      }
+    }
+    var superclass = superclass(type);
+    if (superclass != null) {
+      checkInterfaces(superclass, visited);
+    }
+  }
+
+  private void checkAnnotations(Element element, Set<String> allowed)
+      throws UnsupportedException {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      var name =
+          ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+      if ((name.startsWith(JACKSON_PREFIX) || name.equals(DSON_OUTPUT))
+          && !allowed.contains(name)) {
+        throw new UnsupportedException("unsupported annotation @" + name + " on " + element);
+      }
+      if (name.equals(JSON_PROPERTY)) {
+        var access = annotationValue(mirror, "access");
+        if (access != null && !access.getValue().toString().equals("AUTO")) {
+          throw new UnsupportedException("unsupported property access on " + element);
+        }
+      }
+    }
+  }
+
+  private String propertyName(
+      Element element, AnnotationMirror jsonProperty, AnnotationMirror dsonOutput)
+      throws UnsupportedException {
+    if (jsonProperty == null || dsonOutput == null) {
+      throw new UnsupportedException("@JsonProperty and @DsonOutput not paired on " + element);
+    }
+    var name = stringValue(jsonProperty, "value");
+    if (name.isEmpty()) {
+      throw new UnsupportedException("unnamed property " + element);
+    }
+    return name;
+  }
+
+  /** Mirrors {@code DsonOutput.Output.toEnumSet}. */
+  private Set<String> outputs(AnnotationMirror dsonOutput) throws UnsupportedException {
+    var values = new LinkedHashSet<String>();
+    var value = annotationValue(dsonOutput, "value");
+    @SuppressWarnings("unchecked")
+    var list = (List<? extends AnnotationValue>) value.getValue();
+    for (AnnotationValue v : list) {
+      values.add(((VariableElement) v.getValue()).getSimpleName().toString());
+    }
+    var include = annotationValue(dsonOutput, "include");
+    var set = new LinkedHashSet<String>();
+    if (values.contains("NONE") || values.contains("ALL")) {
+      if (list.size() != 1) {
+        throw new UnsupportedException("NONE or ALL combined with other outputs");
+      }
+      if (values.contains("ALL")) {
+        set.addAll(OUTPUTS);
+      }
+    } else {
+      set.addAll(values);
+    }
+    if (include != null && !((Boolean) include.getValue())) {
+      var complement = new LinkedHashSet<>(OUTPUTS);
+      complement.removeAll(set);
+      set = complement;
+    }
+    var result = new LinkedHashSet<String>();
+    for (String output : OUTPUTS) {
+      if (set.contains(output)) {
+        result.add(output);
+      }
+    }
+    return result;
+  }
+
+  private boolean isAccessible(Element member, TypeElement declaring, PackageElement pkg) {
+    var modifiers = member.getModifiers();
+    if (modifiers.contains(Modifier.PRIVATE)) {
+      return false;
+    }
+    return modifiers.contains(Modifier.PUBLIC) || elements.getPackageOf(declaring).equals(pkg);
+  }
+
+  private boolean isNameableFrom(TypeElement type, PackageElement pkg) {
+    for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+      var modifiers = e.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE)
+          || (!modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(e).equals(pkg))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isSubtype(TypeElement element, String name) {
+    var other = elements.getTypeElement(name);
+    return other != null
+        && types.isSubtype(types.erasure(element.asType()), types.erasure(other.asType()));
+  }
+
+  private boolean isType(TypeMirror type, String name) {
+    return type.getKind() == TypeKind.DECLARED
+        && ((TypeElement) ((DeclaredType) type).asElement())
+            .getQualifiedName()
+            .contentEquals(name);
+  }
+
+  private TypeElement superclass(TypeElement type) {
+    var superclass = type.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    var element = (TypeElement) types.asElement(superclass);
+    return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+  }
+
+  String binaryName(TypeElement type) {
+    return elements.getBinaryName(type).toString();
+  }
+
+  static AnnotationMirror annotation(Element element, String name) {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      if (((TypeElement) mirror.getAnnotationType().asElement())
+          .getQualifiedName()
+          .contentEquals(name)) {
+        return mirror;
+      }
+    }
+    return null;
+  }
+
+  private static AnnotationValue annotationValue(AnnotationMirror mirror, String name) {
+    for (var entry : mirror.getElementValues().entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+
+  private static String stringValue(AnnotationMirror mirror, String name) {
+    var value = annotationValue(mirror, name);
+    return value == null ? "" : value.getValue().toString();
+  }
+}
@@ -0,0 +1,190 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.serialization.processor;
+
+import java.util.List;
+import java.util.Set;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+
+/** Model of a DSON codec to be generated for a {@code @SerializerId2} class. */
+record CodecModel(
+    TypeElement type,
+    String serializerId,
+    List<Property> properties,
+    Creator creator,
+    List<Settable> settables) {
+
+  /** How a value is written and read. */
+  enum Kind {
+    LONG,
+    INT,
+    BOOLEAN,
+    LONG_OBJECT,
+    INTEGER_OBJECT,
+    BOOLEAN_OBJECT,
+    STRING,
+    BYTES,
+    LONGS,
+    EUID,
+    HASH,
+    UINT256,
+    UINT384,
+    READDR,
+    AID,
+    INSTANT,
+    DUMMY,
+    CODEC,
+    DELEGATED;
+
+    boolean isPrimitive() {
+      return this == LONG || this == INT || this == BOOLEAN;
+    }
+  }
+
+  /** Container of values, if any. */
+  enum Container {
+    NONE,
+    LIST,
+    COLLECTION,
+    SET,
+    IMMUTABLE_LIST,
+    IMMUTABLE_SET,
+    MAP,
+    IMMUTABLE_MAP;
+
+    boolean isMap() {
+      return this == MAP || this == IMMUTABLE_MAP;
+    }
+  }
+
+  /**
+   * A resolved value type.
+   *
+   * @param type the full declared type
+   * @param container the container, or {@link Container#NONE}
+   * @param kind the kind of the value, or of the container elements
+   * @param elementType the type of the value, or of the container elements
+   * @param codec the qualified name of the codec used for {@link Kind#CODEC} values
+   */
+  record ValueType(
+      TypeMirror type, Container container, Kind kind, TypeMirror elementType, String codec) {}
+
+  /** How a member is accessed from the generated codec. */
+  enum Access {
+    DIRECT,
+    HANDLE
+  }
+
+  /**
+   * A serialized property, read from a field or a no-argument method.
+   *
+   * @param name the property name
+   * @param outputs the names of the concrete output modes the property is included in
+   * @param isField {@code true} for a field, {@code false} for a method
+   * @param member the field or method name
+   * @param declaringClass the binary name of the declaring class
+   * @param access how the member is accessed
+   * @param valueType the type of the property
+   */
+  record Property(
+      String name,
+      Set<String> outputs,
+      boolean isField,
+      String member,
+      String declaringClass,
+      Access access,
+      ValueType valueType) {}
+
+  /**
+   * A {@code @JsonCreator} constructor or static factory method.
+   *
+   * @param method the factory method name, or {@code null} for a constructor
+   * @param access how the creator is invoked
+   * @param params the creator parameters
+   */
+  record Creator(String method, Access access, List<Param> params) {}
+
+  /**
+   * A creator parameter.
+   *
+   * @param name the property name
+   * @param required {@code true} if the property is required
+   * @param valueType the type of the parameter
+   */
+  record Param(String name, boolean required, ValueType valueType) {}
+
+  /**
+   * A field set after construction when present in the input.
+   *
+   * @param name the property name
+   * @param member the field name
+   * @param declaringClass the binary name of the declaring class
+   * @param access how the field is written
+   * @param valueType the type of the field
+   */
+  record Settable(
+      String name, String member, String declaringClass, Access access, ValueType valueType) {}
+}
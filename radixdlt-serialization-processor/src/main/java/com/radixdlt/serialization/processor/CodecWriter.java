@@ -0,0 +1,727 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.serialization.processor;
+
+import com.radixdlt.serialization.processor.CodecModel.Access;
+import com.radixdlt.serialization.processor.CodecModel.Container;
+import com.radixdlt.serialization.processor.CodecModel.Kind;
+import com.radixdlt.serialization.processor.CodecModel.Param;
+import com.radixdlt.serialization.processor.CodecModel.Property;
+import com.radixdlt.serialization.processor.CodecModel.Settable;
+import com.radixdlt.serialization.processor.CodecModel.ValueType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Writes the Java source of a generated codec. All types are referenced by their fully qualified
+ * names so that generated code can't clash with names in the package of the codec.
+ */
+final class CodecWriter {
+  private static final String SUPPORT = "com.radixdlt.serialization.codec.DsonCodecSupport";
+  private static final String OUTPUT = "com.radixdlt.serialization.DsonOutput.Output";
+  private static final String GENERATOR = "com.fasterxml.jackson.core.JsonGenerator";
+  private static final String PARSER = "com.fasterxml.jackson.core.JsonParser";
+  private static final String TOKEN = "com.fasterxml.jackson.core.JsonToken";
+  private static final String PROVIDER = "com.fasterxml.jackson.databind.SerializerProvider";
+  private static final String CONTEXT = "com.fasterxml.jackson.databind.DeserializationContext";
+  private static final String IO_EXCEPTION = "java.io.IOException";
+  private static final String METHOD_HANDLE = "java.lang.invoke.MethodHandle";
+
+  private final CodecModel model;
+  private final String packageName;
+  private final String codecName;
+  private final String target;
+  private final StringBuilder out = new StringBuilder();
+  private final List<String> helpers = new ArrayList<>();
+
+  CodecWriter(CodecModel model, String packageName, String codecName) {
+    this.model = model;
+    this.packageName = packageName;
+    this.codecName = codecName;
+    this.target = model.type().getQualifiedName().toString();
+  }
+
+  String write() {
+    if (!packageName.isEmpty()) {
+      line("package %s;", packageName);
+      line("");
+    }
+    line("/** Generated DSON codec for {@link %s}. */", target);
+    line(
+        "@javax.annotation.processing.Generated(\"%s\")", DsonCodecProcessor.class.getName());
+    line(
+        "public final class %s implements com.radixdlt.serialization.codec.DsonCodec<%s> {",
+        codecName,
+        target);
+    line("  public static final %s INSTANCE = new %s();", codecName, codecName);
+    line("");
+    line("  private static final String SERIALIZER_ID = %s;", literal(model.serializerId()));
+    line(
+        "  private static final boolean WITH_HID ="
+            + " %s.class.isAnnotationPresent(com.radixdlt.serialization.SerializeWithHid.class);",
+        target);
+    writeConstants();
+    line("");
+    line("  public %s() {", codecName);
+    line("    // Stateless, also instantiated by ServiceLoader");
+    line("  }");
+    line("");
+    line("  @Override");
+    line("  public Class<%s> type() {", target);
+    line("    return %s.class;", target);
+    line("  }");
+    line("");
+    line("  @Override");
+    line("  public String serializerId() {");
+    line("    return SERIALIZER_ID;");
+    line("  }");
+    line("");
+    line("  @Override");
+    line("  public boolean supports(%s output) {", OUTPUT);
+    line("    return output != %s.API || !WITH_HID;", OUTPUT);
+    line("  }");
+    line("");
+    line("  @Override");
+    line("  public java.util.Set<String> includedProperties(%s output) {", OUTPUT);
+    line("    return %s.includedProperties(NAMES, MASKS, output);", SUPPORT);
+    line("  }");
+    writeEncode();
+    writeDecode();
+    writeAccessors();
+    helpers.forEach(out::append);
+    line("}");
+    return out.toString();
+  }
+
+  private void writeConstants() {
+    var properties = model.properties();
+    for (int i = 0; i < properties.size(); i++) {
+      var outputs =
+          properties.get(i).outputs().stream()
+              .map(output -> OUTPUT + "." + output)
+              .collect(Collectors.joining(", "));
+      line("  private static final int M%d = %s.mask(%s);", i, SUPPORT, outputs);
+    }
+    line(
+        "  private static final String[] NAMES = {%s};",
+        properties.stream().map(p -> literal(p.name())).collect(Collectors.joining(", ")));
+    var masks = new ArrayList<String>();
+    for (int i = 0; i < properties.size(); i++) {
+      masks.add("M" + i);
+    }
+    line("  private static final int[] MASKS = {%s};", String.join(", ", masks));
+
+    for (int i = 0; i < properties.size(); i++) {
+      var property = properties.get(i);
+      if (property.access() == Access.HANDLE) {
+        line(
+            "  private static final %s G%d = %s.%s(%s.class, %s, %s, %s.class);",
+            METHOD_HANDLE,
+            i,
+            SUPPORT,
+            property.isField() ? "getter" : "invoker",
+            target,
+            literal(property.declaringClass()),
+            literal(property.member()),
+            erasure(property.valueType().type()));
+      }
+    }
+    var settables = model.settables();
+    for (int i = 0; i < settables.size(); i++) {
+      var settable = settables.get(i);
+      if (settable.access() == Access.HANDLE) {
+        line(
+            "  private static final %s S%d = %s.setter(%s.class, %s, %s, %s.class);",
+            METHOD_HANDLE,
+            i,
+            SUPPORT,
+            target,
+            literal(settable.declaringClass()),
+            literal(settable.member()),
+            erasure(settable.valueType().type()));
+      }
+    }
+    var creator = model.creator();
+    if (creator.access() == Access.HANDLE) {
+      var params = new ArrayList<String>();
+      params.add(target + ".class");
+      if (creator.method() != null) {
+        params.add(literal(creator.method()));
+      }
+      creator.params().forEach(param -> params.add(erasure(param.valueType().type()) + ".class"));
+      line(
+          "  private static final %s CREATOR = %s.%s(%s);",
+          METHOD_HANDLE,
+          SUPPORT,
+          creator.method() == null ? "constructor" : "factory",
+          String.join(", ", params));
+    }
+  }
+
+  private void writeEncode() {
+    line("");
+    line("  @Override");
+    line(
+        "  public void encode(%s value, %s output, %s gen, %s provider)",
+        target,
+        OUTPUT,
+        GENERATOR,
+        PROVIDER);
+    line("      throws %s {", IO_EXCEPTION);
+    line("    final int out = %s.outputMask(output);", SUPPORT);
+    line("    gen.writeStartObject(value);");
+    var properties = model.properties();
+    for (int i = 0; i < properties.size(); i++) {
+      var property = properties.get(i);
+      var valueType = property.valueType();
+      var v = "v" + i;
+      line("    if ((M%d & out) != 0) {", i);
+      line("      final %s %s = %s;", typeName(valueType.type()), v, read(property, i));
+      if (valueType.kind() == Kind.DUMMY) {
+        line("      if (%s != null) {", v);
+        line("        gen.writeFieldName(%s);", literal(property.name()));
+        line("        gen.writeString(SERIALIZER_ID);");
+        line("      }");
+      } else if (valueType.kind().isPrimitive()) {
+        line("      gen.writeFieldName(%s);", literal(property.name()));
+        line("      %s", writeScalar(valueType.kind(), valueType.codec(), v));
+      } else {
+        line("      if (%s) {", nonEmpty(valueType, v));
+        line("        gen.writeFieldName(%s);", literal(property.name()));
+        if (valueType.container() == Container.NONE) {
+          line("        %s", writeScalar(valueType.kind(), valueType.codec(), v));
+        } else {
+          var helper = writeContainer("writeP" + i, valueType);
+          line("        %s(gen, provider, output, %s);", helper, v);
+        }
+        line("      }");
+      }
+      line("    }");
+    }
+    line("    gen.writeEndObject();");
+    line("  }");
+  }
+
+  private void writeDecode() {
+    var params = model.creator().params();
+    var settables = model.settables();
+    line("");
+    line("  @Override");
+    line("  public %s decode(%s p, %s ctxt) throws %s {", target, PARSER, CONTEXT, IO_EXCEPTION);
+    for (int i = 0; i < params.size(); i++) {
+      var param = params.get(i);
+      line(
+          "    %s c%d = %s;",
+          typeName(param.valueType().type()),
+          i,
+          defaultValue(param.valueType().type()));
+      if (param.required()) {
+        line("    boolean c%dSeen = false;", i);
+      }
+    }
+    for (int i = 0; i < settables.size(); i++) {
+      var settable = settables.get(i);
+      line(
+          "    %s f%d = %s;",
+          typeName(settable.valueType().type()),
+          i,
+          defaultValue(settable.valueType().type()));
+      line("    boolean f%dSeen = false;", i);
+    }
+    line("    String serializerId = null;");
+    line("    %s t = %s.startObject(p, ctxt, %s.class);", TOKEN, SUPPORT, target);
+    line("    for (; t == %s.FIELD_NAME; t = p.nextToken()) {", TOKEN);
+    line("      final String name = p.currentName();");
+    line("      p.nextToken();");
+    line("      switch (name) {");
+    for (int i = 0; i < params.size(); i++) {
+      var param = params.get(i);
+      line("        case %s:", literal(param.name()));
+      line("          c%d = %s;", i, readValue(param.valueType(), "readC" + i));
+      if (param.required()) {
+        line("          c%dSeen = true;", i);
+      }
+      line("          break;");
+    }
+    for (int i = 0; i < settables.size(); i++) {
+      var settable = settables.get(i);
+      line("        case %s:", literal(settable.name()));
+      line("          f%d = %s;", i, readValue(settable.valueType(), "readF" + i));
+      line("          f%dSeen = true;", i);
+      line("          break;");
+    }
+    line("        case %s:", literal(CodecAnalyzer.SERIALIZER_NAME));
+    line("          serializerId = %s.readString(p, ctxt);", SUPPORT);
+    line("          break;");
+    line("        default:");
+    line("          p.skipChildren();");
+    line("          break;");
+    line("      }");
+    line("    }");
+    line(
+        "    %s.checkSerializerId(ctxt, %s.class, SERIALIZER_ID, serializerId);", SUPPORT, target);
+    for (int i = 0; i < params.size(); i++) {
+      Param param = params.get(i);
+      if (param.required()) {
+        line("    if (!c%dSeen) {", i);
+        line(
+            "      %s.missingRequired(ctxt, %s.class, %s, %d);",
+            SUPPORT,
+            target,
+            literal(param.name()),
+            i);
+        line("    }");
+      }
+    }
+    var args = new ArrayList<String>();
+    for (int i = 0; i < params.size(); i++) {
+      args.add("c" + i);
+    }
+    var creator = model.creator();
+    line("    final %s result;", target);
+    line("    try {");
+    if (creator.access() == Access.HANDLE) {
+      line("      result = (%s) CREATOR.invokeExact(%s);", target, String.join(", ", args));
+      line("    } catch (Throwable e) {");
+    } else {
+      if (creator.method() == null) {
+        line("      result = new %s(%s);", target, String.join(", ", args));
+      } else {
+        line("      result = %s.%s(%s);", target, creator.method(), String.join(", ", args));
+      }
+      line("    } catch (Exception e) {");
+    }
+    line("      throw %s.instantiationFailed(ctxt, %s.class, e);", SUPPORT, target);
+    line("    }");
+    for (int i = 0; i < settables.size(); i++) {
+      Settable settable = settables.get(i);
+      line("    if (f%dSeen) {", i);
+      if (settable.access() == Access.DIRECT) {
+        line("      result.%s = f%d;", settable.member(), i);
+      } else {
+        line("      setF%d(result, f%d);", i, i);
+      }
+      line("    }");
+    }
+    line("    return result;");
+    line("  }");
+  }
+
+  private void writeAccessors() {
+    var properties = model.properties();
+    for (int i = 0; i < properties.size(); i++) {
+      var property = properties.get(i);
+      if (property.access() != Access.HANDLE) {
+        continue;
+      }
+      var type = property.valueType().type();
+      line("");
+      if (isGeneric(type)) {
+        line("  @SuppressWarnings(\"unchecked\")");
+      }
+      line("  private static %s getP%d(%s value) {", typeName(type), i, target);
+      line("    try {");
+      if (isGeneric(type)) {
+        line("      return (%s) (%s) G%d.invokeExact(value);", typeName(type), erasure(type), i);
+      } else {
+        line("      return (%s) G%d.invokeExact(value);", typeName(type), i);
+      }
+      line("    } catch (Throwable e) {");
+      line("      throw %s.rethrow(e);", SUPPORT);
+      line("    }");
+      line("  }");
+    }
+    var settables = model.settables();
+    for (int i = 0; i < settables.size(); i++) {
+      var settable = settables.get(i);
+      if (settable.access() != Access.HANDLE) {
+        continue;
+      }
+      line("");
+      line(
+          "  private static void setF%d(%s value, %s v) {",
+          i,
+          target,
+          typeName(settable.valueType().type()));
+      line("    try {");
+      line("      S%d.invokeExact(value, v);", i);
+      line("    } catch (Throwable e) {");
+      line("      throw %s.rethrow(e);", SUPPORT);
+      line("    }");
+      line("  }");
+    }
+  }
+
+  private String read(Property property, int index) {
+    if (property.access() == Access.HANDLE) {
+      return "getP" + index + "(value)";
+    }
+    return property.isField() ? "value." + property.member() : "value." + property.member() + "()";
+  }
+
+  private static String nonEmpty(ValueType valueType, String v) {
+    if (valueType.container() != Container.NONE) {
+      return v + " != null && !" + v + ".isEmpty()";
+    }
+    return nonEmptyScalar(valueType.kind(), v);
+  }
+
+  private static String nonEmptyScalar(Kind kind, String v) {
+    switch (kind) {
+      case STRING:
+        return v + " != null && !" + v + ".isEmpty()";
+      case DELEGATED:
+        return "!" + SUPPORT + ".isEmptyDelegated(provider, " + v + ")";
+      default:
+        return v + " != null";
+    }
+  }
+
+  private static String writeScalar(Kind kind, String codec, String v) {
+    switch (kind) {
+      case LONG:
+      case INT:
+        return "gen.writeNumber(" + v + ");";
+      case BOOLEAN:
+        return "gen.writeBoolean(" + v + ");";
+      case LONG_OBJECT:
+        return "gen.writeNumber(" + v + ".longValue());";
+      case INTEGER_OBJECT:
+        return "gen.writeNumber(" + v + ".intValue());";
+      case BOOLEAN_OBJECT:
+        return "gen.writeBoolean(" + v + ".booleanValue());";
+      case STRING:
+        return "gen.writeString(" + v + ");";
+      case CODEC:
+        return SUPPORT + ".write(gen, provider, output, " + codec + ".INSTANCE, " + v + ");";
+      case DELEGATED:
+        return SUPPORT + ".writeDelegated(gen, provider, " + v + ");";
+      case DUMMY:
+        throw new IllegalStateException("Serializer placeholder is written separately");
+      default:
+        return SUPPORT + ".write(gen, " + v + ");";
+    }
+  }
+
+  private String readScalar(Kind kind, String codec, TypeMirror type) {
+    switch (kind) {
+      case LONG:
+        return SUPPORT + ".readLong(p, ctxt)";
+      case INT:
+        return SUPPORT + ".readInt(p, ctxt)";
+      case BOOLEAN:
+        return SUPPORT + ".readBoolean(p, ctxt)";
+      case LONG_OBJECT:
+        return SUPPORT + ".readLongObject(p, ctxt)";
+      case INTEGER_OBJECT:
+        return SUPPORT + ".readIntegerObject(p, ctxt)";
+      case BOOLEAN_OBJECT:
+        return SUPPORT + ".readBooleanObject(p, ctxt)";
+      case STRING:
+        return SUPPORT + ".readString(p, ctxt)";
+      case BYTES:
+        return SUPPORT + ".readBytes(p)";
+      case LONGS:
+        return SUPPORT + ".readLongs(p)";
+      case EUID:
+        return SUPPORT + ".readEuid(p)";
+      case HASH:
+        return SUPPORT + ".readHash(p)";
+      case UINT256:
+        return SUPPORT + ".readUInt256(p)";
+      case UINT384:
+        return SUPPORT + ".readUInt384(p)";
+      case READDR:
+        return SUPPORT + ".readAddr(p)";
+      case AID:
+        return SUPPORT + ".readAid(p)";
+      case INSTANT:
+        return SUPPORT + ".readInstant(p)";
+      case CODEC:
+        return SUPPORT + ".read(p, ctxt, " + codec + ".INSTANCE)";
+      case DELEGATED:
+        return SUPPORT + ".readDelegated(p, ctxt, " + erasure(type) + ".class)";
+      default:
+        throw new IllegalStateException("Can't read " + kind);
+    }
+  }
+
+  private String readValue(ValueType valueType, String helperName) {
+    if (valueType.container() == Container.NONE) {
+      return readScalar(valueType.kind(), valueType.codec(), valueType.type());
+    }
+    return readContainer(helperName, valueType) + "(p, ctxt)";
+  }
+
+  private String writeContainer(String name, ValueType valueType) {
+    var element = typeName(valueType.elementType());
+    var h = new StringBuilder();
+    h.append('\n');
+    h.append(
+        String.format(
+            "  private static void %s(%s gen, %s provider, %s output, %s value)%n",
+            name,
+            GENERATOR,
+            PROVIDER,
+            OUTPUT,
+            typeName(valueType.type())));
+    h.append(String.format("      throws %s {%n", IO_EXCEPTION));
+    var write = writeScalar(valueType.kind(), valueType.codec(), "v");
+    if (valueType.container().isMap()) {
+      h.append("    gen.writeStartObject(value);\n");
+      h.append(
+          String.format(
+              "    for (java.util.Map.Entry<String, %s> e : %s.orderedEntries(value)) {%n",
+              element,
+              SUPPORT));
+      h.append(String.format("      final %s v = e.getValue();%n", element));
+      h.append(String.format("      if (%s) {%n", nonEmptyScalar(valueType.kind(), "v")));
+      h.append("        gen.writeFieldName(e.getKey());\n");
+      h.append(String.format("        %s%n", write));
+      h.append("      }\n");
+      h.append("    }\n");
+      h.append("    gen.writeEndObject();\n");
+    } else {
+      h.append("    gen.writeStartArray(value, value.size());\n");
+      h.append(String.format("    for (%s v : value) {%n", element));
+      h.append("      if (v == null) {\n");
+      h.append("        gen.writeNull();\n");
+      h.append("      } else {\n");
+      h.append(String.format("        %s%n", write));
+      h.append("      }\n");
+      h.append("    }\n");
+      h.append("    gen.writeEndArray();\n");
+    }
+    h.append("  }\n");
+    helpers.add(h.toString());
+    return name;
+  }
+
+  private String readContainer(String name, ValueType valueType) {
+    var element = typeName(valueType.elementType());
+    var container = valueType.container();
+    var read = readScalar(valueType.kind(), valueType.codec(), valueType.elementType());
+    var immutable =
+        container == Container.IMMUTABLE_LIST
+            || container == Container.IMMUTABLE_SET
+            || container == Container.IMMUTABLE_MAP;
+    if (immutable) {
+      read = SUPPORT + ".nonNull(p, " + read + ")";
+    }
+    String resultType;
+    String initializer;
+    switch (container) {
+      case LIST:
+      case COLLECTION:
+        resultType = "java.util.ArrayList<" + element + ">";
+        initializer = "new java.util.ArrayList<>()";
+        break;
+      case SET:
+        resultType = "java.util.HashSet<" + element + ">";
+        initializer = "new java.util.HashSet<>()";
+        break;
+      case IMMUTABLE_LIST:
+        resultType = "com.google.common.collect.ImmutableList.Builder<" + element + ">";
+        initializer = "com.google.common.collect.ImmutableList.builder()";
+        break;
+      case IMMUTABLE_SET:
+        resultType = "com.google.common.collect.ImmutableSet.Builder<" + element + ">";
+        initializer = "com.google.common.collect.ImmutableSet.builder()";
+        break;
+      case MAP:
+        resultType = "java.util.LinkedHashMap<String, " + element + ">";
+        initializer = "new java.util.LinkedHashMap<>()";
+        break;
+      case IMMUTABLE_MAP:
+        resultType = "com.google.common.collect.ImmutableMap.Builder<String, " + element + ">";
+        initializer = "com.google.common.collect.ImmutableMap.builder()";
+        break;
+      default:
+        throw new IllegalStateException("Not a container: " + container);
+    }
+    var h = new StringBuilder();
+    h.append('\n');
+    h.append(
+        String.format(
+            "  private static %s %s(%s p, %s ctxt) throws %s {%n",
+            typeName(valueType.type()),
+            name,
+            PARSER,
+            CONTEXT,
+            IO_EXCEPTION));
+    h.append(String.format("    if (p.currentToken() == %s.VALUE_NULL) {%n", TOKEN));
+    h.append("      return null;\n");
+    h.append("    }\n");
+    h.append(
+        String.format(
+            "    %s.expect(p, ctxt, %s.%s, %s.class);%n",
+            SUPPORT,
+            TOKEN,
+            container.isMap() ? "START_OBJECT" : "START_ARRAY",
+            erasure(valueType.type())));
+    h.append(String.format("    final %s result = %s;%n", resultType, initializer));
+    if (container.isMap()) {
+      h.append(
+          String.format(
+              "    for (%s t = p.nextToken(); t == %s.FIELD_NAME; t = p.nextToken()) {%n",
+              TOKEN,
+              TOKEN));
+      h.append("      final String key = p.currentName();\n");
+      h.append("      p.nextToken();\n");
+      h.append(String.format("      result.put(key, %s);%n", read));
+      h.append("    }\n");
+    } else {
+      h.append(String.format("    while (p.nextToken() != %s.END_ARRAY) {%n", TOKEN));
+      h.append(String.format("      result.add(%s);%n", read));
+      h.append("    }\n");
+    }
+    h.append(String.format("    return result%s;%n", immutable ? ".build()" : ""));
+    h.append("  }\n");
+    helpers.add(h.toString());
+    return name;
+  }
+
+  private static String defaultValue(TypeMirror type) {
+    switch (type.getKind()) {
+      case LONG:
+        return "0L";
+      case INT:
+        return "0";
+      case BOOLEAN:
+        return "false";
+      default:
+        return "null";
+    }
+  }
+
+  private static boolean isGeneric(TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED
+        && !((DeclaredType) type).getTypeArguments().isEmpty();
+  }
+
+  static String typeName(TypeMirror type) {
+    switch (type.getKind()) {
+      case ARRAY:
+        return typeName(((ArrayType) type).getComponentType()) + "[]";
+      case DECLARED:
+        var declared = (DeclaredType) type;
+        var name = erasure(type);
+        if (declared.getTypeArguments().isEmpty()) {
+          return name;
+        }
+        return declared.getTypeArguments().stream()
+            .map(CodecWriter::typeName)
+            .collect(Collectors.joining(", ", name + "<", ">"));
+      default:
+        return erasure(type);
+    }
+  }
+
+  static String erasure(TypeMirror type) {
+    switch (type.getKind()) {
+      case ARRAY:
+        return erasure(((ArrayType) type).getComponentType()) + "[]";
+      case DECLARED:
+        return ((javax.lang.model.element.TypeElement) ((DeclaredType) type).asElement())
+            .getQualifiedName()
+            .toString();
+      default:
+        if (type.getKind().isPrimitive()) {
+          return type.getKind().name().toLowerCase(java.util.Locale.ROOT);
+        }
+        throw new IllegalStateException("Unsupported type " + type);
+    }
+  }
+
+  private static String literal(String value) {
+    var sb = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        default:
+          if (c < 0x20 || c > 0x7E) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+  private void line(String format, Object... args) {
+    out.append(args.length == 0 ? format : String.format(format, args)).append('\n');
+  }
+}
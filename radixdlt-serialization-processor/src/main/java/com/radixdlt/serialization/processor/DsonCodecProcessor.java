@@ -0,0 +1,181 @@
+/* Copyright 2021 Radix Publishing Ltd incorporated in Jersey (Channel Islands).
+ *
+ * Licensed under the Radix License, Version 1.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at:
+ *
+ * radixfoundation.org/licenses/LICENSE-v1
+ *
+ * The Licensor hereby grants permission for the Canonical version of the Work to be
+ * published, distributed and used under or by reference to the Licensor’s trademark
+ * Radix ® and use of any unregistered trade names, logos or get-up.
+ *
+ * The Licensor provides the Work (and each Contributor provides its Contributions) on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied,
+ * including, without limitation, any warranties or conditions of TITLE, NON-INFRINGEMENT,
+ * MERCHANTABILITY, or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Whilst the Work is capable of being deployed, used and adopted (instantiated) to create
+ * a distributed ledger it is your responsibility to test and validate the code, together
+ * with all logic and performance of that code under all foreseeable scenarios.
+ *
+ * The Licensor does not make or purport to make and hereby excludes liability for all
+ * and any representation, warranty or undertaking in any form whatsoever, whether express
+ * or implied, to any entity or person, including any representation, warranty or
+ * undertaking, as to the functionality security use, value or other characteristics of
+ * any distributed ledger nor in respect the functioning or value of any tokens which may
+ * be created stored or transferred using the Work. The Licensor does not warrant that the
+ * Work or any use of the Work complies with any law or regulation in any territory where
+ * it may be implemented or used or that it will be appropriate for any specific purpose.
+ *
+ * Neither the licensor nor any current or former employees, officers, directors, partners,
+ * trustees, representatives, agents, advisors, contractors, or volunteers of the Licensor
+ * shall be liable for any direct or indirect, special, incidental, consequential or other
+ * losses of any kind, in tort, contract or otherwise (including but not limited to loss
+ * of revenue, income or profits, or loss of use or data, or loss of reputation, or loss
+ * of any economic or other opportunity of whatsoever nature or howsoever arising), arising
+ * out of or in connection with (without limitation of any use, misuse, of any ledger system
+ * or use made or its functionality or any performance or operation of any code or protocol
+ * caused by bugs or programming or logic errors or otherwise);
+ *
+ * A. any offer, purchase, holding, use, sale, exchange or transmission of any
+ * cryptographic keys, tokens or assets created, exchanged, stored or arising from any
+ * interaction with the Work;
+ *
+ * B. any failure in a transmission or loss of any token or assets keys or other digital
+ * artefacts due to errors in transmission;
+ *
+ * C. bugs, hacks, logic errors or faults in the Work or any communication;
+ *
+ * D. system software or apparatus including but not limited to losses caused by errors
+ * in holding or transmitting tokens by any third-party;
+ *
+ * E. breaches or failure of security including hacker attacks, loss or disclosure of
+ * password, loss of private key, unauthorised use or misuse of such passwords or keys;
+ *
+ * F. any losses including loss of anticipated savings or other benefits resulting from
+ * use of the Work or any changes to the Work (however implemented).
+ *
+ * You are solely responsible for; testing, validating and evaluation of all operation
+ * logic, functionality, security and appropriateness of using the Work for any commercial
+ * or non-commercial purpose and for any reproduction or redistribution by You of the
+ * Work. You assume all risks associated with Your use of the Work and the exercise of
+ * permissions under this License.
+ */
+
+package com.radixdlt.serialization.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a {@code DsonCodec} for every {@code @SerializerId2} class that can be handled without
+ * Jackson's reflective bean machinery, and registers the generated codecs as services so that
+ * {@code Serialization} picks them up at runtime.
+ *
+ * <p>Classes which can't be handled are skipped, and continue to be serialized by Jackson. Pass
+ * {@code -AdsonCodecs.verbose=true} to the compiler to list skipped classes and the reason.
+ */
+@SupportedAnnotationTypes(CodecAnalyzer.SERIALIZER_ID2)
+@SupportedOptions(DsonCodecProcessor.VERBOSE_OPTION)
+public final class DsonCodecProcessor extends AbstractProcessor {
+  static final String VERBOSE_OPTION = "dsonCodecs.verbose";
+
+  private static final String CODEC_INTERFACE = "com.radixdlt.serialization.codec.DsonCodec";
+  private static final String SERVICE_FILE = "META-INF/services/" + CODEC_INTERFACE;
+
+  private final Set<String> generated = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (processingEnv.getElementUtils().getTypeElement(CODEC_INTERFACE) == null) {
+      // Codec runtime is not on the classpath of this module
+      return false;
+    }
+    if (roundEnv.processingOver()) {
+      writeServiceFile();
+      return false;
+    }
+    var annotation = processingEnv.getElementUtils().getTypeElement(CodecAnalyzer.SERIALIZER_ID2);
+    if (annotation == null) {
+      return false;
+    }
+
+    var types = new LinkedHashSet<TypeElement>();
+    for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+      if (element instanceof TypeElement) {
+        types.add((TypeElement) element);
+      }
+    }
+    var analyzer = new CodecAnalyzer(processingEnv, types);
+    for (TypeElement type : types) {
+      var model = analyzer.analyze(type);
+      if (model.isPresent()) {
+        var pkg = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        var writer = new CodecWriter(model.get(), pkg, CodecAnalyzer.codecSimpleName(type));
+        writeCodec(type, analyzer.codecName(type), writer);
+      } else if (isVerbose()) {
+        note(type, "No DSON codec generated for %s: %s", type, analyzer.reason(type));
+      }
+    }
+    return false;
+  }
+
+  private void writeCodec(TypeElement type, String name, CodecWriter writer) {
+    try (Writer out = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+      out.write(writer.write());
+      generated.add(name);
+    } catch (IOException | RuntimeException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR, "Unable to write DSON codec " + name + ": " + e, type);
+    }
+  }
+
+  private void writeServiceFile() {
+    if (generated.isEmpty()) {
+      return;
+    }
+    try {
+      var file =
+          processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+      try (Writer out = file.openWriter()) {
+        for (String name : generated) {
+          out.write(name);
+          out.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(Diagnostic.Kind.ERROR, "Unable to write " + SERVICE_FILE + ": " + e);
+    }
+  }
+
+  private boolean isVerbose() {
+    return Boolean.parseBoolean(processingEnv.getOptions().get(VERBOSE_OPTION));
+  }
+
+  private void note(Element element, String format, Object... args) {
+    processingEnv
+        .getMessager()
+        .printMessage(Diagnostic.Kind.NOTE, String.format(format, args), element);
+  }
+}